@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.IVariableBinding;
+import org.eclipse.jdt.core.dom.MethodInvocation;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
+import org.eclipse.jdt.core.dom.VariableDeclarationStatement;
+
+/**
+ * Runs several {@link HelperVisitor}s in one traversal of an AST. Each node is dispatched to the
+ * visitors that registered a predicate or consumer for its {@link VisitorEnum} kind, so that
+ * visitors that are interested in few kinds of nodes, like those of several clean ups, share one
+ * walk of the AST instead of walking it once each.
+ * <p>
+ * Each visitor sees the same calls as in {@link HelperVisitor#build(ASTNode)}: when its predicate
+ * returns <code>false</code> for a node, it is not called for the children of that node, but its
+ * consumer is still called for the node itself. The traversal only skips a subtree if no visitor is
+ * interested in it. Visitors removed by {@link HelperVisitor#removeVisitor(VisitorEnum)} during the
+ * traversal are no longer called, kinds added during the traversal are ignored. Like
+ * {@link HelperVisitor#build(ASTNode)}, the traversal does not visit Javadoc comments.
+ * </p>
+ *
+ * <pre>
+ * FusedHelperVisitor fused= new FusedHelperVisitor();
+ * fused.add(firstHelperVisitor);
+ * fused.add(secondHelperVisitor);
+ * fused.build(compilationUnit);
+ * </pre>
+ */
+public class FusedHelperVisitor {
+
+	private static final int NODE_TYPE_COUNT= VisitorEnum.stream().mapToInt(VisitorEnum::getValue).max().getAsInt() + 1;
+
+	private static final int ACTIVE= -1;
+
+	private final List<HelperVisitor<?, ?, ?>> visitors= new ArrayList<>();
+
+	/**
+	 * Adds a visitor to the traversal.
+	 *
+	 * @param visitor - HelperVisitor with the predicates and consumers to call
+	 * @return - this FusedHelperVisitor
+	 */
+	public FusedHelperVisitor add(HelperVisitor<?, ?, ?> visitor) {
+		visitors.add(visitor);
+		return this;
+	}
+
+	/**
+	 * Walks the AST once and calls all visitors.
+	 *
+	 * @param node - root of the AST to visit
+	 * @return - this FusedHelperVisitor
+	 */
+	public FusedHelperVisitor build(ASTNode node) {
+		if (!visitors.isEmpty())
+			node.accept(new DispatchingVisitor(visitors));
+		return this;
+	}
+
+	/**
+	 * Returns whether the predicate or consumer of a convenience method like
+	 * {@link HelperVisitor#addMethodInvocation(String, BiPredicate)} applies to a node.
+	 */
+	static boolean matches(VisitorEnum kind, ASTNode node, Object data) {
+		if (data == null)
+			return true;
+		switch (kind) {
+			case MethodInvocation:
+				return ((MethodInvocation) node).getName().getIdentifier().equals(data);
+			case VariableDeclarationStatement:
+				VariableDeclarationFragment fragment= (VariableDeclarationFragment) ((VariableDeclarationStatement) node).fragments().get(0);
+				IVariableBinding binding= fragment.resolveBinding();
+				return binding == null || ((Class<?>) data).getCanonicalName().equals(binding.getType().getErasure().getQualifiedName());
+			default:
+				return true;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static final class DispatchingVisitor extends ASTVisitor {
+
+		private final HelperVisitor<?, ?, ?>[] visitors;
+
+		/** Indices of the visitors with a predicate, by node type */
+		private final int[][] predicateIndices;
+
+		/** Indices of the visitors with a consumer, by node type */
+		private final int[][] consumerIndices;
+
+		/** Depth of the node whose children a visitor skips, or ACTIVE */
+		private final int[] skippedAt;
+
+		private int activeCount;
+
+		private int depth;
+
+		DispatchingVisitor(List<HelperVisitor<?, ?, ?>> visitorList) {
+			super(false);
+			visitors= visitorList.toArray(new HelperVisitor<?, ?, ?>[visitorList.size()]);
+			predicateIndices= new int[NODE_TYPE_COUNT][];
+			consumerIndices= new int[NODE_TYPE_COUNT][];
+			for (VisitorEnum kind : VisitorEnum.values()) {
+				predicateIndices[kind.getValue()]= indicesOf(kind, true);
+				consumerIndices[kind.getValue()]= indicesOf(kind, false);
+			}
+			skippedAt= new int[visitors.length];
+			Arrays.fill(skippedAt, ACTIVE);
+			activeCount= visitors.length;
+		}
+
+		private int[] indicesOf(VisitorEnum kind, boolean predicates) {
+			int[] indices= new int[visitors.length];
+			int count= 0;
+			for (int i= 0; i < visitors.length; i++) {
+				if ((predicates ? visitors[i].predicatemap : visitors[i].consumermap).containsKey(kind))
+					indices[count++]= i;
+			}
+			return count == 0 ? null : Arrays.copyOf(indices, count);
+		}
+
+		@Override
+		public boolean preVisit2(ASTNode node) {
+			depth++;
+			int type= node.getNodeType();
+			int[] indices= type < NODE_TYPE_COUNT ? predicateIndices[type] : null;
+			if (indices != null) {
+				VisitorEnum kind= VisitorEnum.fromNodetype(type);
+				for (int i : indices) {
+					if (skippedAt[i] != ACTIVE)
+						continue;
+					HelperVisitor<?, ?, ?> visitor= visitors[i];
+					BiPredicate<ASTNode, Object> predicate= (BiPredicate<ASTNode, Object>) visitor.predicatemap.get(kind);
+					if (predicate != null && matches(kind, node, visitor.getSupplierData().get(kind)) && !predicate.test(node, visitor.dataholder)) {
+						skippedAt[i]= depth;
+						activeCount--;
+					}
+				}
+			}
+			return activeCount > 0;
+		}
+
+		@Override
+		public void postVisit(ASTNode node) {
+			int type= node.getNodeType();
+			int[] indices= type < NODE_TYPE_COUNT ? consumerIndices[type] : null;
+			if (indices != null) {
+				VisitorEnum kind= VisitorEnum.fromNodetype(type);
+				for (int i : indices) {
+					if (skippedAt[i] != ACTIVE && skippedAt[i] != depth)
+						continue;
+					HelperVisitor<?, ?, ?> visitor= visitors[i];
+					BiConsumer<ASTNode, Object> consumer= (BiConsumer<ASTNode, Object>) visitor.consumermap.get(kind);
+					if (consumer != null && matches(kind, node, visitor.getConsumerData().get(kind)))
+						consumer.accept(node, visitor.dataholder);
+				}
+			}
+			if (activeCount < visitors.length) {
+				for (int i= 0; i < skippedAt.length; i++) {
+					if (skippedAt[i] == depth) {
+						skippedAt[i]= ACTIVE;
+						activeCount++;
+					}
+				}
+			}
+			depth--;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -29,6 +29,7 @@ import org.eclipse.jdt.core.manipulation.JavaManipulation;
 import org.eclipse.jdt.internal.corext.util.TypeFilter;
 
 import org.eclipse.jdt.internal.ui.IJavaStatusConstants;
+import org.eclipse.jdt.internal.ui.text.ChainElementIndex;
 
 /**
  * The main plug-in class to be used in the workbench.
@@ -50,6 +51,10 @@ public class JavaManipulationPlugin extends Plugin implements DebugOptionsListen
 
 	public static boolean DEBUG_TYPE_CONSTRAINTS;
 
+	public static boolean DEBUG_REFACTORING_SEARCH;
+
+	public static boolean DEBUG_RIPPLE_METHOD_INDEX;
+
 	//The shared instance.
 	private static JavaManipulationPlugin fgDefault;
 
@@ -60,6 +65,8 @@ public class JavaManipulationPlugin extends Plugin implements DebugOptionsListen
 	 */
 	private volatile TypeFilter fTypeFilter;
 
+	private volatile ChainElementIndex fChainElementIndex;
+
 	/**
 	 * The constructor.
 	 */
@@ -81,6 +88,11 @@ public class JavaManipulationPlugin extends Plugin implements DebugOptionsListen
 			fTypeFilter.dispose();
 			fTypeFilter= null;
 		}
+
+		if (fChainElementIndex != null) {
+			fChainElementIndex.dispose();
+			fChainElementIndex= null;
+		}
 	}
 
 	/**
@@ -127,6 +139,19 @@ public class JavaManipulationPlugin extends Plugin implements DebugOptionsListen
 		}
 	}
 
+	public ChainElementIndex getChainElementIndex() {
+		ChainElementIndex result= fChainElementIndex;
+		if (result != null) { // First check (no locking)
+			return result;
+		}
+		synchronized(this) {
+			if (fChainElementIndex == null) { // Second check (with locking)
+				fChainElementIndex= new ChainElementIndex();
+			}
+			return fChainElementIndex;
+		}
+	}
+
 	public static void log(Throwable e) {
 		ILog.of(JavaManipulationPlugin.class).log(new Status(IStatus.ERROR, JavaManipulation.ID_PLUGIN, IStatusConstants.INTERNAL_ERROR, JavaManipulationMessages.JavaManipulationMessages_internalError, e));
 	}
@@ -157,5 +182,7 @@ public class JavaManipulationPlugin extends Plugin implements DebugOptionsListen
 	public void optionsChanged(DebugOptions options) {
 		DEBUG_AST_PROVIDER= options.getBooleanOption("org.eclipse.jdt.core.manipulation/debug/ASTProvider", false); //$NON-NLS-1$
 		DEBUG_TYPE_CONSTRAINTS= options.getBooleanOption("org.eclipse.jdt.core.manipulation/debug/TypeConstraints", false); //$NON-NLS-1$
+		DEBUG_REFACTORING_SEARCH= options.getBooleanOption("org.eclipse.jdt.core.manipulation/debug/RefactoringSearch", false); //$NON-NLS-1$
+		DEBUG_RIPPLE_METHOD_INDEX= options.getBooleanOption("org.eclipse.jdt.core.manipulation/debug/RippleMethodIndex", false); //$NON-NLS-1$
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 IBM Corporation and others.
+ * Copyright (c) 2019, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -45,9 +45,12 @@ public abstract class AbstractMultiFixCore extends AbstractCleanUpCore implement
 
 		if (context instanceof MultiFixContext) {
 			return createFix(unit, ((MultiFixContext)context).getProblemLocations());
-		} else {
-			return createFix(unit);
+		} else if (context instanceof IFusedCleanUpCore.FusedContext && this instanceof IFusedCleanUpCore) {
+			FusedCleanUpTraversal traversal= ((IFusedCleanUpCore.FusedContext)context).getTraversal();
+			if (traversal.contains((IFusedCleanUpCore)this))
+				return traversal.createFix((IFusedCleanUpCore)this);
 		}
+		return createFix(unit);
 	}
 
 	protected abstract ICleanUpFixCore createFix(CompilationUnit unit) throws CoreException;
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.fix;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.manipulation.ICleanUpFixCore;
+
+import org.eclipse.jdt.internal.common.FusedHelperVisitor;
+import org.eclipse.jdt.internal.common.HelperVisitor;
+import org.eclipse.jdt.internal.corext.fix.CompilationUnitRewriteOperationsFixCore.CompilationUnitRewriteOperation;
+
+/**
+ * Finds the rewrite operations of several {@link IFusedCleanUpCore}s in one walk of an AST. Each
+ * node is dispatched to the visitors of the clean ups that registered its kind, so that the cost of
+ * a unit does not grow with the number of clean ups that take part.
+ *
+ * @see FusedHelperVisitor
+ */
+public final class FusedCleanUpTraversal {
+
+	private final CompilationUnit fUnit;
+
+	private final Map<IFusedCleanUpCore, List<CompilationUnitRewriteOperation>> fOperations;
+
+	private FusedCleanUpTraversal(CompilationUnit unit, Map<IFusedCleanUpCore, List<CompilationUnitRewriteOperation>> operations) {
+		fUnit= unit;
+		fOperations= operations;
+	}
+
+	/**
+	 * Walks an AST once for all given clean ups that are {@link IFusedCleanUpCore}s or wrap one.
+	 * The other clean ups are ignored.
+	 *
+	 * @param unit the AST to visit
+	 * @param cleanUps the clean ups
+	 * @return the traversal, or <code>null</code> if no clean up takes part
+	 */
+	public static FusedCleanUpTraversal run(CompilationUnit unit, List<?> cleanUps) {
+		Map<IFusedCleanUpCore, List<CompilationUnitRewriteOperation>> operations= new IdentityHashMap<>();
+		FusedHelperVisitor fused= new FusedHelperVisitor();
+		for (Object cleanUp : cleanUps) {
+			IFusedCleanUpCore fusedCleanUp= getFusedCleanUp(cleanUp);
+			if (fusedCleanUp == null || operations.containsKey(fusedCleanUp))
+				continue;
+			List<CompilationUnitRewriteOperation> found= new ArrayList<>();
+			HelperVisitor<?, ?, ?> visitor= fusedCleanUp.createVisitor(unit, found);
+			if (visitor != null) {
+				fused.add(visitor);
+				operations.put(fusedCleanUp, found);
+			}
+		}
+		if (operations.isEmpty())
+			return null;
+
+		fused.build(unit);
+		return new FusedCleanUpTraversal(unit, operations);
+	}
+
+	/**
+	 * Finds the rewrite operations of a single clean up in its own walk of an AST.
+	 *
+	 * @param cleanUp the clean up
+	 * @param unit the AST to visit
+	 * @return the fix, or <code>null</code> if the clean up is disabled or there is nothing to fix
+	 */
+	public static ICleanUpFixCore createFix(IFusedCleanUpCore cleanUp, CompilationUnit unit) {
+		List<CompilationUnitRewriteOperation> operations= new ArrayList<>();
+		HelperVisitor<?, ?, ?> visitor= cleanUp.createVisitor(unit, operations);
+		if (visitor == null)
+			return null;
+
+		visitor.build(unit);
+		return cleanUp.createFix(unit, operations);
+	}
+
+	private static IFusedCleanUpCore getFusedCleanUp(Object cleanUp) {
+		if (cleanUp instanceof AbstractCleanUpCoreWrapper)
+			cleanUp= ((AbstractCleanUpCoreWrapper<?>) cleanUp).cleanUpCore;
+		return cleanUp instanceof IFusedCleanUpCore ? (IFusedCleanUpCore) cleanUp : null;
+	}
+
+	/**
+	 * Returns whether a clean up took part in this traversal.
+	 *
+	 * @param cleanUp the clean up
+	 * @return <code>true</code> if the operations of the clean up have been found
+	 */
+	public boolean contains(IFusedCleanUpCore cleanUp) {
+		return fOperations.containsKey(cleanUp);
+	}
+
+	/**
+	 * Creates the fix of a clean up from the operations found by this traversal.
+	 *
+	 * @param cleanUp a clean up that took part in this traversal
+	 * @return the fix, or <code>null</code> if there is nothing to fix
+	 */
+	public ICleanUpFixCore createFix(IFusedCleanUpCore cleanUp) {
+		return cleanUp.createFix(fUnit, fOperations.get(cleanUp));
+	}
+}
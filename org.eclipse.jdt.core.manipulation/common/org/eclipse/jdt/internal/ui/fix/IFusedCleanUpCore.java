@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.fix;
+
+import java.util.List;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.manipulation.ICleanUpFixCore;
+
+import org.eclipse.jdt.internal.common.HelperVisitor;
+import org.eclipse.jdt.internal.corext.fix.CompilationUnitRewriteOperationsFixCore.CompilationUnitRewriteOperation;
+
+import org.eclipse.jdt.ui.cleanup.CleanUpContext;
+
+/**
+ * A clean up that finds the nodes to fix with a {@link HelperVisitor}. The visitor registers the
+ * kinds of nodes the clean up is interested in, so that it can share one traversal of the AST with
+ * the visitors of other clean ups, see {@link FusedCleanUpTraversal}.
+ */
+public interface IFusedCleanUpCore {
+
+	/**
+	 * A context that carries the operations found by a fused traversal of the AST.
+	 */
+	public static class FusedContext extends CleanUpContext {
+
+		private final FusedCleanUpTraversal fTraversal;
+
+		public FusedContext(ICompilationUnit unit, CompilationUnit ast, FusedCleanUpTraversal traversal) {
+			super(unit, ast);
+			fTraversal= traversal;
+		}
+
+		/**
+		 * @return the traversal of the AST of this context
+		 */
+		public FusedCleanUpTraversal getTraversal() {
+			return fTraversal;
+		}
+	}
+
+	/**
+	 * Creates the visitor that finds the nodes to fix.
+	 *
+	 * @param unit the AST that will be visited
+	 * @param operations the list the visitor adds the rewrite operations to, in the order it finds
+	 *            the nodes
+	 * @return the visitor, or <code>null</code> if the clean up is not enabled
+	 */
+	HelperVisitor<?, ?, ?> createVisitor(CompilationUnit unit, List<CompilationUnitRewriteOperation> operations);
+
+	/**
+	 * Creates the fix for the rewrite operations found by the visitor.
+	 *
+	 * @param unit the AST that was visited
+	 * @param operations the rewrite operations
+	 * @return the fix, or <code>null</code> if there is nothing to fix
+	 */
+	ICleanUpFixCore createFix(CompilationUnit unit, List<CompilationUnitRewriteOperation> operations);
+}
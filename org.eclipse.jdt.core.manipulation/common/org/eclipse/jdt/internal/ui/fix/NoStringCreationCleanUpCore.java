@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020, 2023 Fabrice TIERCELIN and others.
+ * Copyright (c) 2020, 2024 Fabrice TIERCELIN and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,8 +14,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.fix;
 
-import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -23,7 +23,6 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
-import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.Assignment;
 import org.eclipse.jdt.core.dom.ClassInstanceCreation;
 import org.eclipse.jdt.core.dom.CompilationUnit;
@@ -38,6 +37,8 @@ import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
 import org.eclipse.jdt.core.dom.rewrite.ASTRewrite;
 import org.eclipse.jdt.core.manipulation.CleanUpRequirementsCore;
 import org.eclipse.jdt.core.manipulation.ICleanUpFixCore;
+import org.eclipse.jdt.internal.common.HelperVisitor;
+import org.eclipse.jdt.internal.common.ReferenceHolder;
 import org.eclipse.jdt.internal.corext.dom.ASTNodeFactory;
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
@@ -51,7 +52,7 @@ import org.eclipse.text.edits.TextEditGroup;
 /**
  * A fix that removes a String instance from a String literal.
  */
-public class NoStringCreationCleanUpCore extends AbstractMultiFixCore {
+public class NoStringCreationCleanUpCore extends AbstractMultiFixCore implements IFusedCleanUpCore {
 	public NoStringCreationCleanUpCore() {
 		this(Collections.emptyMap());
 	}
@@ -92,45 +93,50 @@ public class NoStringCreationCleanUpCore extends AbstractMultiFixCore {
 
 	@Override
 	protected ICleanUpFixCore createFix(CompilationUnit unit) throws CoreException {
+		return FusedCleanUpTraversal.createFix(this, unit);
+	}
+
+	@Override
+	public HelperVisitor<?, ?, ?> createVisitor(final CompilationUnit unit, final List<CompilationUnitRewriteOperation> rewriteOperations) {
 		if (!isEnabled(CleanUpConstants.NO_STRING_CREATION)) {
 			return null;
 		}
 
-		final List<CompilationUnitRewriteOperation> rewriteOperations= new ArrayList<>();
-
-		unit.accept(new ASTVisitor() {
-			@Override
-			public boolean visit(final ClassInstanceCreation node) {
-				if (ASTNodes.hasType(node, String.class.getCanonicalName()) && node.arguments().size() == 1) {
-					Expression arg0= ASTNodes.getUnparenthesedExpression((Expression)node.arguments().get(0));
-					while (arg0 instanceof ClassInstanceCreation c && ASTNodes.hasType(c, String.class.getCanonicalName()) &&
-							c.arguments().size() == 1) {
-						arg0= ASTNodes.getUnparenthesedExpression((Expression)c.arguments().get(0));
-					}
-					if (ASTNodes.hasType(arg0, String.class.getCanonicalName())) {
-						if (arg0 instanceof StringLiteral || arg0 instanceof InfixExpression) {
+		HelperVisitor<ReferenceHolder<ASTNode, Object>, ASTNode, Object> visitor= new HelperVisitor<>(new HashSet<>(), new ReferenceHolder<>());
+		visitor.addClassInstanceCreation((node, holder) -> {
+			if (ASTNodes.hasType(node, String.class.getCanonicalName()) && node.arguments().size() == 1) {
+				Expression arg0= ASTNodes.getUnparenthesedExpression((Expression)node.arguments().get(0));
+				while (arg0 instanceof ClassInstanceCreation c && ASTNodes.hasType(c, String.class.getCanonicalName()) &&
+						c.arguments().size() == 1) {
+					arg0= ASTNodes.getUnparenthesedExpression((Expression)c.arguments().get(0));
+				}
+				if (ASTNodes.hasType(arg0, String.class.getCanonicalName())) {
+					if (arg0 instanceof StringLiteral || arg0 instanceof InfixExpression) {
+						rewriteOperations.add(new NoStringCreationOperation(node, arg0));
+						return false;
+					} else if (arg0 instanceof MethodInvocation || arg0 instanceof SimpleName) {
+						ASTNode parent= node.getParent();
+						while (parent instanceof ParenthesizedExpression) {
+							parent= parent.getParent();
+						}
+						if (parent instanceof Assignment || parent instanceof VariableDeclarationFragment) {
+							return true;
+						}
+						if (parent instanceof MethodInvocation || parent instanceof FieldAccess) {
 							rewriteOperations.add(new NoStringCreationOperation(node, arg0));
-							return false;
-						} else if (arg0 instanceof MethodInvocation || arg0 instanceof SimpleName) {
-							ASTNode parent= node.getParent();
-							while (parent instanceof ParenthesizedExpression) {
-								parent= parent.getParent();
-							}
-							if (parent instanceof Assignment || parent instanceof VariableDeclarationFragment) {
-								return true;
-							}
-							if (parent instanceof MethodInvocation || parent instanceof FieldAccess) {
-								rewriteOperations.add(new NoStringCreationOperation(node, arg0));
-							}
-							return false;
 						}
+						return false;
 					}
 				}
-
-				return true;
 			}
+
+			return true;
 		});
+		return visitor;
+	}
 
+	@Override
+	public ICleanUpFixCore createFix(final CompilationUnit unit, final List<CompilationUnitRewriteOperation> rewriteOperations) {
 		if (rewriteOperations.isEmpty()) {
 			return null;
 		}
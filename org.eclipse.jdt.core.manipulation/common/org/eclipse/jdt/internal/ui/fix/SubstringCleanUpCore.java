@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Fabrice TIERCELIN and others.
+ * Copyright (c) 2022, 2024 Fabrice TIERCELIN and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,8 +14,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.fix;
 
-import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -25,7 +25,6 @@ import org.eclipse.text.edits.TextEditGroup;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.dom.ASTNode;
-import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.Expression;
 import org.eclipse.jdt.core.dom.MethodInvocation;
@@ -33,6 +32,8 @@ import org.eclipse.jdt.core.dom.rewrite.ASTRewrite;
 import org.eclipse.jdt.core.manipulation.CleanUpRequirementsCore;
 import org.eclipse.jdt.core.manipulation.ICleanUpFixCore;
 
+import org.eclipse.jdt.internal.common.HelperVisitor;
+import org.eclipse.jdt.internal.common.ReferenceHolder;
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
 import org.eclipse.jdt.internal.corext.fix.CompilationUnitRewriteOperationsFixCore;
@@ -49,7 +50,7 @@ import org.eclipse.jdt.internal.ui.text.correction.IProblemLocationCore;
  * <li>The expression must be passive.</li>
  * </ul>
  */
-public class SubstringCleanUpCore extends AbstractMultiFixCore {
+public class SubstringCleanUpCore extends AbstractMultiFixCore implements IFusedCleanUpCore {
 	public SubstringCleanUpCore() {
 		this(Collections.emptyMap());
 	}
@@ -84,32 +85,37 @@ public class SubstringCleanUpCore extends AbstractMultiFixCore {
 
 	@Override
 	public ICleanUpFixCore createFix(final CompilationUnit unit) throws CoreException {
+		return FusedCleanUpTraversal.createFix(this, unit);
+	}
+
+	@Override
+	public HelperVisitor<?, ?, ?> createVisitor(final CompilationUnit unit, final List<CompilationUnitRewriteOperation> rewriteOperations) {
 		if (!isEnabled(CleanUpConstants.SUBSTRING)) {
 			return null;
 		}
 
-		final List<CompilationUnitRewriteOperation> rewriteOperations= new ArrayList<>();
-
-		unit.accept(new ASTVisitor() {
-			@Override
-			public boolean visit(final MethodInvocation visited) {
-				if (ASTNodes.usesGivenSignature(visited, String.class.getCanonicalName(), "substring", int.class.getCanonicalName(), int.class.getCanonicalName())) { //$NON-NLS-1$
-					MethodInvocation endIndex= ASTNodes.as((Expression) visited.arguments().get(1), MethodInvocation.class);
-
-					if (endIndex != null
-							&& endIndex.getExpression() != null
-							&& ASTNodes.usesGivenSignature(endIndex, String.class.getCanonicalName(), "length") //$NON-NLS-1$
-							&& ASTNodes.match(visited.getExpression(), endIndex.getExpression())
-							&& ASTNodes.isPassive(visited.getExpression())) {
-				rewriteOperations.add(new SubstringOperation(visited));
-						return false;
-					}
+		HelperVisitor<ReferenceHolder<ASTNode, Object>, ASTNode, Object> visitor= new HelperVisitor<>(new HashSet<>(), new ReferenceHolder<>());
+		visitor.addMethodInvocation("substring", (visited, holder) -> { //$NON-NLS-1$
+			if (ASTNodes.usesGivenSignature(visited, String.class.getCanonicalName(), "substring", int.class.getCanonicalName(), int.class.getCanonicalName())) { //$NON-NLS-1$
+				MethodInvocation endIndex= ASTNodes.as((Expression) visited.arguments().get(1), MethodInvocation.class);
+
+				if (endIndex != null
+						&& endIndex.getExpression() != null
+						&& ASTNodes.usesGivenSignature(endIndex, String.class.getCanonicalName(), "length") //$NON-NLS-1$
+						&& ASTNodes.match(visited.getExpression(), endIndex.getExpression())
+						&& ASTNodes.isPassive(visited.getExpression())) {
+					rewriteOperations.add(new SubstringOperation(visited));
+					return false;
 				}
-
-				return true;
 			}
+
+			return true;
 		});
+		return visitor;
+	}
 
+	@Override
+	public ICleanUpFixCore createFix(final CompilationUnit unit, final List<CompilationUnitRewriteOperation> rewriteOperations) {
 		if (rewriteOperations.isEmpty()) {
 			return null;
 		}
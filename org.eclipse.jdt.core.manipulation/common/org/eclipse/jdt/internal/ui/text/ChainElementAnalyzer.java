@@ -10,6 +10,7 @@
  */
 package org.eclipse.jdt.internal.ui.text;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -125,13 +126,71 @@ public final class ChainElementAnalyzer {
         return tmp.values();
     }
 
+    /**
+     * Returns the fields and methods declared in a type that may be part of a chain, regardless of
+     * their visibility.
+     *
+     * @param type the type
+     * @param staticOnly <code>true</code> for the static fields and non-void methods,
+     *            <code>false</code> for the instance fields and non-void methods
+     * @return the fields and methods, methods first
+     */
+    static List<IJavaElement> findFieldsAndMethods(final IType type, final boolean staticOnly) {
+        final Predicate<IMethod> methodFilter= staticOnly ? STATIC_NON_VOID_NON_PRIMITIVE_METHODS_ONLY_FILTER : RELEVANT_NON_STATIC_METHODS_ONLY_FILTER;
+        final Predicate<IField> fieldFilter= staticOnly ? STATIC_FIELDS_ONLY_FILTER : NON_STATIC_FIELDS_ONLY_FILTER;
+        final List<IJavaElement> members= new ArrayList<>();
+        try {
+            for (final IMethod method : type.getMethods()) {
+                if (methodFilter.test(method)) {
+                    members.add(method);
+                }
+            }
+        } catch (JavaModelException e) {
+            // ignore
+        }
+        try {
+            for (final IField field : type.getFields()) {
+                if (fieldFilter.test(field)) {
+                    members.add(field);
+                }
+            }
+        } catch (JavaModelException e) {
+            // ignore
+        }
+        return members;
+    }
+
+    /**
+     * Returns whether a field or method can be accessed from the given type.
+     *
+     * @param member the field or method
+     * @param invocationType the type
+     * @return <code>true</code> if <code>member</code> is visible in <code>invocationType</code>
+     */
+    public static boolean canBeSeenBy(final IJavaElement member, final IType invocationType) {
+        if (member instanceof IMethod) {
+            return methodCanBeSeenBy((IMethod) member, invocationType);
+        }
+        return fieldCanBeSeenBy((IField) member, invocationType);
+    }
+
     private static List<IType> findAllSupertypesIncludingArgument(final ChainType type) {
         if ((type.getPrimitiveType() != null)) {
             return Collections.emptyList();
         }
+        return findAllSupertypes(type.getType());
+    }
+
+    /**
+     * Returns a type and all its supertypes, resolved in the project of the type.
+     *
+     * @param type the type
+     * @return the type followed by its supertypes, breadth first
+     */
+    static List<IType> findAllSupertypes(final IType type) {
         final List<IType> supertypes = new LinkedList<>();
         final LinkedList<IType> queue = new LinkedList<>();
-        queue.add(type.getType());
+        queue.add(type);
         while (!queue.isEmpty()) {
             final IType superType = queue.poll();
             if (superType == null || supertypes.contains(superType)) {
@@ -141,11 +200,11 @@ public final class ChainElementAnalyzer {
 			try {
 				String superClass= superType.getSuperclassTypeSignature();
 				if (superClass != null) {
-					IType superClassType= ChainElementAnalyzer.getTypeFromSignature(type.getType().getJavaProject(), superClass, superType);
+					IType superClassType= ChainElementAnalyzer.getTypeFromSignature(type.getJavaProject(), superClass, superType);
 					queue.add(superClassType);
 				}
 				for (final String interfc : superType.getSuperInterfaceTypeSignatures()) {
-					IType interfcType= ChainElementAnalyzer.getTypeFromSignature(type.getType().getJavaProject(), interfc, superType);
+					IType interfcType= ChainElementAnalyzer.getTypeFromSignature(type.getJavaProject(), interfc, superType);
 					queue.add(interfcType);
 				}
 			} catch (JavaModelException e) {
@@ -0,0 +1,320 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * Index of the edges of the chain completion search: for a type S, the fields and methods of S
+ * and its supertypes, together with the types they return. The index is shared by all chain
+ * completion invocations, so that a search only resolves the members of the types that no earlier
+ * search has visited. Entries are dropped when a Java element delta touches a type they were
+ * computed from; classpath changes and added types drop all entries of the affected project.
+ *
+ * @see ChainFinder
+ */
+public final class ChainElementIndex implements IElementChangedListener {
+
+	/** Number of entries after which the index is cleared. */
+	private static final int MAX_ENTRIES= 20000;
+
+	private static final class Member {
+
+		final ChainElement fElement;
+
+		final String fKey;
+
+		Member(ChainElement element, String key) {
+			fElement= element;
+			fKey= key;
+		}
+	}
+
+	private static final class Entry {
+
+		final IJavaProject fProject;
+
+		final List<?> fValue;
+
+		final Set<ITypeRoot> fDependencies;
+
+		Entry(IJavaProject project, List<?> value, Set<ITypeRoot> dependencies) {
+			fProject= project;
+			fValue= value;
+			fDependencies= dependencies;
+		}
+	}
+
+	private final Map<String, Entry> fEntries= new ConcurrentHashMap<>();
+
+	/** The keys of the entries by the type roots they were computed from, guarded by <code>this</code> */
+	private final Map<ITypeRoot, Set<String>> fDependents= new HashMap<>();
+
+	/** Incremented by each change, guarded by <code>this</code> */
+	private long fGeneration;
+
+	/** The generation of the last change of all projects, guarded by <code>this</code> */
+	private long fClearGeneration;
+
+	/** The generations of the last changes by project, guarded by <code>this</code> */
+	private final Map<IJavaProject, Long> fProjectGenerations= new HashMap<>();
+
+	/** The generations of the last changes by type root, guarded by <code>this</code> */
+	private final Map<ITypeRoot, Long> fRootGenerations= new HashMap<>();
+
+	/**
+	 * Creates the index and registers it for Java element changes.
+	 */
+	public ChainElementIndex() {
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	/**
+	 * Unregisters the index and drops all entries.
+	 */
+	public void dispose() {
+		JavaCore.removeElementChangedListener(this);
+		clear();
+	}
+
+	/**
+	 * Returns the given type and all its supertypes, resolved in the project of the type.
+	 *
+	 * @param type the type
+	 * @return the type followed by its supertypes
+	 */
+	@SuppressWarnings("unchecked")
+	public List<IType> getSupertypes(IType type) {
+		String key= "S|" + getKey(type); //$NON-NLS-1$
+		Entry entry= fEntries.get(key);
+		if (entry != null)
+			return (List<IType>) entry.fValue;
+
+		long generation= getGeneration();
+		List<IType> supertypes= Collections.unmodifiableList(ChainElementAnalyzer.findAllSupertypes(type));
+		Set<ITypeRoot> dependencies= new HashSet<>();
+		for (IType supertype : supertypes)
+			addDependency(dependencies, supertype);
+		put(key, new Entry(type.getJavaProject(), supertypes, dependencies), generation);
+		return supertypes;
+	}
+
+	/**
+	 * Returns whether a type is the expected type or one of its subtypes.
+	 *
+	 * @param type the type
+	 * @param expectedType the expected type
+	 * @return <code>true</code> if a value of <code>type</code> can be assigned to
+	 *         <code>expectedType</code>
+	 */
+	public boolean isAssignable(IType type, IType expectedType) {
+		String expected= expectedType.getFullyQualifiedName();
+		for (IType supertype : getSupertypes(type)) {
+			if (supertype.getFullyQualifiedName().equals(expected))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the fields and methods of a type and its supertypes that can be seen from the
+	 * receiver type. Hidden fields and overridden methods are only returned once.
+	 *
+	 * @param type the type
+	 * @param staticOnly <code>true</code> for the static fields and methods, <code>false</code>
+	 *            for the instance fields and methods
+	 * @param receiverType the type in which the chain is inserted
+	 * @return the edges from <code>type</code> to the types of its visible members
+	 */
+	public List<ChainElement> findVisibleFieldsAndMethods(IType type, boolean staticOnly, IType receiverType) {
+		Map<String, ChainElement> visible= new LinkedHashMap<>();
+		for (Member member : getMembers(type, staticOnly)) {
+			if (!visible.containsKey(member.fKey) && ChainElementAnalyzer.canBeSeenBy(member.fElement.getElement(), receiverType))
+				visible.put(member.fKey, member.fElement);
+		}
+		return new ArrayList<>(visible.values());
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Member> getMembers(IType type, boolean staticOnly) {
+		String key= (staticOnly ? "M|static|" : "M|") + getKey(type); //$NON-NLS-1$ //$NON-NLS-2$
+		Entry entry= fEntries.get(key);
+		if (entry != null)
+			return (List<Member>) entry.fValue;
+
+		long generation= getGeneration();
+		List<Member> members= new ArrayList<>();
+		Set<ITypeRoot> dependencies= new HashSet<>();
+		for (IType supertype : getSupertypes(type)) {
+			addDependency(dependencies, supertype);
+			for (IJavaElement element : ChainElementAnalyzer.findFieldsAndMethods(supertype, staticOnly)) {
+				ChainElement edge= new ChainElement(element, false);
+				if (edge.getElementType() == null)
+					continue;
+				String memberKey= element instanceof IMethod ? ((IMethod) element).getKey() : ((IField) element).getKey();
+				members.add(new Member(edge, memberKey));
+				IType returnType= edge.getReturnType().getType();
+				if (returnType != null)
+					addDependency(dependencies, returnType);
+			}
+		}
+		members= Collections.unmodifiableList(members);
+		put(key, new Entry(type.getJavaProject(), members, dependencies), generation);
+		return members;
+	}
+
+	private static String getKey(IType type) {
+		return type.getHandleIdentifier();
+	}
+
+	private static void addDependency(Set<ITypeRoot> dependencies, IType type) {
+		ITypeRoot root= type.getTypeRoot();
+		if (root instanceof ICompilationUnit)
+			root= ((ICompilationUnit) root).getPrimary();
+		if (root != null)
+			dependencies.add(root);
+	}
+
+	private synchronized long getGeneration() {
+		return fGeneration;
+	}
+
+	private synchronized void put(String key, Entry entry, long generation) {
+		if (isChangedSince(entry, generation))
+			return; // computed from a model that has changed since
+		if (fEntries.size() >= MAX_ENTRIES) {
+			fEntries.clear();
+			fDependents.clear();
+		}
+		fEntries.put(key, entry);
+		for (ITypeRoot root : entry.fDependencies)
+			fDependents.computeIfAbsent(root, r -> new HashSet<>()).add(key);
+	}
+
+	private boolean isChangedSince(Entry entry, long generation) {
+		if (fClearGeneration > generation)
+			return true;
+		Long projectGeneration= fProjectGenerations.get(entry.fProject);
+		if (projectGeneration != null && projectGeneration.longValue() > generation)
+			return true;
+		for (ITypeRoot root : entry.fDependencies) {
+			Long rootGeneration= fRootGenerations.get(root);
+			if (rootGeneration != null && rootGeneration.longValue() > generation)
+				return true;
+		}
+		return false;
+	}
+
+	private synchronized void clear() {
+		fClearGeneration= ++fGeneration;
+		fEntries.clear();
+		fDependents.clear();
+		fProjectGenerations.clear();
+		fRootGenerations.clear();
+	}
+
+	private synchronized void removeProject(IJavaProject project) {
+		fProjectGenerations.put(project, Long.valueOf(++fGeneration));
+		fEntries.values().removeIf(entry -> entry.fProject.equals(project));
+		for (Set<String> keys : fDependents.values())
+			keys.retainAll(fEntries.keySet());
+		fDependents.values().removeIf(Set::isEmpty);
+	}
+
+	private synchronized void removeDependents(ITypeRoot root) {
+		fRootGenerations.put(root, Long.valueOf(++fGeneration));
+		Set<String> keys= fDependents.remove(root);
+		if (keys != null)
+			fEntries.keySet().removeAll(keys);
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		processDelta(event.getDelta());
+	}
+
+	private void processDelta(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				if ((delta.getFlags() & IJavaElementDelta.F_CLASSPATH_CHANGED) != 0) {
+					clear();
+					return;
+				}
+				break;
+			case IJavaElement.JAVA_PROJECT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (delta.getFlags() & (IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+					removeProject((IJavaProject) element);
+					return;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED
+						|| (delta.getFlags() & (IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED | IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_REORDER)) != 0) {
+					removeProject(element.getJavaProject());
+					return;
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+			case IJavaElement.CLASS_FILE:
+				if (delta.getKind() == IJavaElementDelta.ADDED || hasAddedType(delta)) {
+					// types that could not be resolved before may resolve now
+					removeProject(element.getJavaProject());
+				} else {
+					ITypeRoot root= (ITypeRoot) element;
+					if (root instanceof ICompilationUnit)
+						root= ((ICompilationUnit) root).getPrimary();
+					else if (root instanceof IClassFile && delta.getKind() == IJavaElementDelta.CHANGED && delta.getFlags() == 0)
+						return;
+					removeDependents(root);
+				}
+				return;
+			default:
+				return;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren())
+			processDelta(child);
+	}
+
+	private static boolean hasAddedType(IJavaElementDelta delta) {
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (child.getElement().getElementType() == IJavaElement.TYPE && (child.getKind() == IJavaElementDelta.ADDED || hasAddedType(child)))
+				return true;
+		}
+		return false;
+	}
+}
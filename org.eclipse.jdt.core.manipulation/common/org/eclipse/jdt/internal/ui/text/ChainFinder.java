@@ -32,9 +32,11 @@ public class ChainFinder {
 
 	private final List<Chain> chains= new LinkedList<>();
 
+	private final ChainElementIndex index;
+
 	private final Map<IJavaElement, ChainElement> edgeCache= new HashMap<>();
 
-	private final Map<String, List<IJavaElement>> fieldsAndMethodsCache= new HashMap<>();
+	private final Map<String, List<ChainElement>> fieldsAndMethodsCache= new HashMap<>();
 
 	private final Map<String, Boolean> assignableCache= new HashMap<>();
 
@@ -42,9 +44,24 @@ public class ChainFinder {
 
 	public ChainFinder(final List<ChainType> expectedTypes, final List<String> excludedTypes,
 			final IType receiverType) {
+		this(expectedTypes, excludedTypes, receiverType, null);
+	}
+
+	/**
+	 * Creates a chain finder that takes the members of the visited types from an index.
+	 *
+	 * @param expectedTypes the types the chains have to end in
+	 * @param excludedTypes the types that must not be part of a chain
+	 * @param receiverType the type in which the chain is inserted
+	 * @param index the index of the members of the visited types, or <code>null</code> to
+	 *            resolve the members in each search
+	 */
+	public ChainFinder(final List<ChainType> expectedTypes, final List<String> excludedTypes,
+			final IType receiverType, final ChainElementIndex index) {
 		this.expectedTypes= expectedTypes;
 		this.excludedTypes= excludedTypes;
 		this.receiverType= receiverType;
+		this.index= index;
 	}
 
 	public void startChainSearch(final List<ChainElement> entrypoints, final int maxChains, final int minDepth,
@@ -136,7 +153,12 @@ public class ChainFinder {
 		}
 		Boolean isAssignable= assignableCache.get(edge.toString() + expectedType.toString());
 		if (isAssignable == null) {
-			isAssignable= ChainElementAnalyzer.isAssignable(edge, expectedType.getType(), expectedDimension);
+			if (index != null) {
+				isAssignable= expectedDimension <= edge.getReturnTypeDimension()
+						&& index.isAssignable(edge.getReturnType().getType(), expectedType.getType());
+			} else {
+				isAssignable= ChainElementAnalyzer.isAssignable(edge, expectedType.getType(), expectedDimension);
+			}
 			assignableCache.put(edge.toString() + expectedType.toString(), isAssignable);
 		}
 		return isAssignable;
@@ -149,24 +171,33 @@ public class ChainFinder {
 			staticOnly= true;
 		}
 
-		for (final IJavaElement element : findAllFieldsAndMethods(currentlyVisitedType, staticOnly)) {
-			final ChainElement newEdge= createEdge(element);
+		for (final ChainElement newEdge : findAllFieldsAndMethods(currentlyVisitedType, staticOnly)) {
 			if (newEdge.getElementType() != null && !chain.contains(newEdge)) {
 				incompleteChains.add(cloneChainAndAppendEdge(chain, newEdge));
 			}
 		}
 	}
 
-	private List<IJavaElement> findAllFieldsAndMethods(final ChainType chainElementType, boolean staticOnly) {
-		List<IJavaElement> cached= fieldsAndMethodsCache.get(chainElementType.toString() + Boolean.toString(staticOnly));
+	private List<ChainElement> findAllFieldsAndMethods(final ChainType chainElementType, boolean staticOnly) {
+		List<ChainElement> cached= fieldsAndMethodsCache.get(chainElementType.toString() + Boolean.toString(staticOnly));
 		if (cached == null) {
 			cached= new LinkedList<>();
-			Collection<IJavaElement> candidates= staticOnly
-					? ChainElementAnalyzer.findAllPublicStaticFieldsAndNonVoidNonPrimitiveStaticMethods(chainElementType, new ChainType(receiverType))
-					: ChainElementAnalyzer.findVisibleInstanceFieldsAndRelevantInstanceMethods(chainElementType, new ChainType(receiverType));
-			for (final IJavaElement e : candidates) {
-				if (!ChainFinder.isFromExcludedType(excludedTypes, e)) {
-					cached.add(e);
+			if (index != null) {
+				if (chainElementType.getType() != null) {
+					for (final ChainElement edge : index.findVisibleFieldsAndMethods(chainElementType.getType(), staticOnly, receiverType)) {
+						if (!ChainFinder.isFromExcludedType(excludedTypes, edge.getElement())) {
+							cached.add(edge);
+						}
+					}
+				}
+			} else {
+				Collection<IJavaElement> candidates= staticOnly
+						? ChainElementAnalyzer.findAllPublicStaticFieldsAndNonVoidNonPrimitiveStaticMethods(chainElementType, new ChainType(receiverType))
+						: ChainElementAnalyzer.findVisibleInstanceFieldsAndRelevantInstanceMethods(chainElementType, new ChainType(receiverType));
+				for (final IJavaElement e : candidates) {
+					if (!ChainFinder.isFromExcludedType(excludedTypes, e)) {
+						cached.add(createEdge(e));
+					}
 				}
 			}
 			fieldsAndMethodsCache.put(chainElementType.toString() + Boolean.toString(staticOnly), cached);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -359,6 +359,7 @@ public final class CorrectionMessages extends NLS {
 	public static String JavaCorrectionProcessor_error_quickfix_message;
 	public static String JavaCorrectionProcessor_error_status;
 	public static String JavaCorrectionProcessor_error_quickassist_message;
+	public static String JavaCorrectionProcessor_processors_dropped;
 	public static String JavaCorrectionProcessor_go_to_closest_using_menu;
 	public static String JavaCorrectionProcessor_go_to_closest_using_key;
 	public static String JavaCorrectionProcessor_go_to_original_using_menu;
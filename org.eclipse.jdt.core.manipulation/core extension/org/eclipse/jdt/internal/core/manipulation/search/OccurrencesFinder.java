@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -102,7 +102,35 @@ public class OccurrencesFinder extends ASTVisitor implements IOccurrencesFinder
 		if (fResult == null) {
 			fResult= new ArrayList<>();
 			fWriteUsages= new HashSet<>();
-			fRoot.accept(this);
+			String key= fTarget.getKey();
+			if (fTargetIsStaticMethodImport || key == null) {
+				fRoot.accept(this);
+			} else {
+				// only the declarations outside of the types are searched, the types are indexed
+				if (fRoot.getPackage() != null)
+					fRoot.getPackage().accept(this);
+				for (Object importDeclaration : fRoot.imports()) {
+					((ASTNode) importDeclaration).accept(this);
+				}
+				if (fRoot.getModule() != null)
+					fRoot.getModule().accept(this);
+				addIndexedUsages(OccurrencesIndex.get(fRoot).getOccurrences(key));
+			}
+		}
+	}
+
+	private void addIndexedUsages(int[] occurrences) {
+		boolean isVariable= fTarget instanceof IVariableBinding;
+		for (int i= 0; i < occurrences.length; i+= 3) {
+			int flag= 0;
+			String description= fReadDescription;
+			if (isVariable) {
+				boolean isWrite= occurrences[i + 2] != 0;
+				flag= isWrite ? F_WRITE_OCCURRENCE : F_READ_OCCURRENCE;
+				if (isWrite)
+					description= fWriteDescription;
+			}
+			fResult.add(new OccurrenceLocation(occurrences[i], occurrences[i + 1], flag, description));
 		}
 	}
 
@@ -297,7 +325,7 @@ public class OccurrencesFinder extends ASTVisitor implements IOccurrencesFinder
 		return false;
 	}
 
-	private SimpleName getSimpleName(Expression expression) {
+	static SimpleName getSimpleName(Expression expression) {
 		if (expression instanceof SimpleName)
 			return ((SimpleName)expression);
 		else if (expression instanceof QualifiedName)
@@ -307,7 +335,7 @@ public class OccurrencesFinder extends ASTVisitor implements IOccurrencesFinder
 		return null;
 	}
 
-	private IBinding getBindingDeclaration(IBinding binding) {
+	static IBinding getBindingDeclaration(IBinding binding) {
 		switch (binding.getKind()) {
 			case IBinding.TYPE :
 				return ((ITypeBinding)binding).getTypeDeclaration();
@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.manipulation.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.Assignment;
+import org.eclipse.jdt.core.dom.ClassInstanceCreation;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.FieldDeclaration;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.IVariableBinding;
+import org.eclipse.jdt.core.dom.Name;
+import org.eclipse.jdt.core.dom.NameQualifiedType;
+import org.eclipse.jdt.core.dom.ParameterizedType;
+import org.eclipse.jdt.core.dom.PostfixExpression;
+import org.eclipse.jdt.core.dom.PrefixExpression;
+import org.eclipse.jdt.core.dom.PrefixExpression.Operator;
+import org.eclipse.jdt.core.dom.QualifiedName;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.SimpleType;
+import org.eclipse.jdt.core.dom.SingleVariableDeclaration;
+import org.eclipse.jdt.core.dom.Type;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
+
+/**
+ * The occurrences of all bindings in the types of an AST, keyed on the key of the binding
+ * declaration. The index records what {@link OccurrencesFinder} would find for each binding, so
+ * that marking the occurrences of another element of the same AST is a lookup rather than a walk
+ * of the whole AST. Import, package and module declarations are not indexed.
+ * <p>
+ * An index is built on first use and shared until the AST is garbage collected or modified.
+ * </p>
+ */
+final class OccurrencesIndex {
+
+	private static final int[] NO_OCCURRENCES= new int[0];
+
+	private static final Map<CompilationUnit, OccurrencesIndex> fgIndexes= new WeakHashMap<>();
+
+	/** Triples of offset, length and write flag, keyed on binding key */
+	private final Map<String, int[]> fOccurrences;
+
+	private final long fModificationCount;
+
+	/**
+	 * Returns the index of an AST, building it if the AST has no index or was modified since it
+	 * was indexed.
+	 *
+	 * @param root the AST, must have bindings
+	 * @return the index
+	 */
+	static OccurrencesIndex get(CompilationUnit root) {
+		long modificationCount= root.getAST().modificationCount();
+		synchronized (fgIndexes) {
+			OccurrencesIndex index= fgIndexes.get(root);
+			if (index == null || index.fModificationCount != modificationCount) {
+				index= new OccurrencesIndex(root, modificationCount);
+				fgIndexes.put(root, index);
+			}
+			return index;
+		}
+	}
+
+	private OccurrencesIndex(CompilationUnit root, long modificationCount) {
+		fModificationCount= modificationCount;
+		Builder builder= new Builder();
+		for (Object type : root.types()) {
+			((ASTNode) type).accept(builder);
+		}
+		fOccurrences= builder.getOccurrences();
+	}
+
+	/**
+	 * Returns the occurrences of a binding in the order of the AST.
+	 *
+	 * @param key the key of the binding declaration
+	 * @return triples of offset, length and write flag (<code>1</code> for a write access)
+	 */
+	int[] getOccurrences(String key) {
+		int[] occurrences= fOccurrences.get(key);
+		return occurrences != null ? occurrences : NO_OCCURRENCES;
+	}
+
+	private static final class Positions {
+
+		int[] fData= new int[6];
+
+		int fSize;
+
+		void add(int offset, int length, int flag) {
+			if (fSize + 3 > fData.length)
+				fData= Arrays.copyOf(fData, fData.length * 2);
+			fData[fSize++]= offset;
+			fData[fSize++]= length;
+			fData[fSize++]= flag;
+		}
+	}
+
+	private static final class Builder extends ASTVisitor {
+
+		private final Map<String, Positions> fPositions= new HashMap<>();
+
+		/** Names that are written to, with the key of the written binding */
+		private final Map<Name, String> fWrites= new HashMap<>();
+
+		/**
+		 * The keys matched by the enclosing qualified names. {@link OccurrencesFinder} does not visit
+		 * the children of a qualified name that matches, so their occurrences of such keys are not
+		 * recorded.
+		 */
+		private final List<String> fMatchedKeys= new ArrayList<>();
+
+		Builder() {
+			super(true);
+		}
+
+		Map<String, int[]> getOccurrences() {
+			Map<String, int[]> occurrences= new HashMap<>(fPositions.size() * 4 / 3 + 1);
+			for (Map.Entry<String, Positions> entry : fPositions.entrySet()) {
+				Positions positions= entry.getValue();
+				occurrences.put(entry.getKey(), Arrays.copyOf(positions.fData, positions.fSize));
+			}
+			return occurrences;
+		}
+
+		private String add(Name node, IBinding binding) {
+			String key= getKey(binding);
+			if (key == null || fMatchedKeys.contains(key))
+				return key;
+			boolean isWrite= key.equals(fWrites.get(node));
+			if (isWrite)
+				fWrites.remove(node);
+			fPositions.computeIfAbsent(key, k -> new Positions()).add(node.getStartPosition(), node.getLength(), isWrite ? 1 : 0);
+			return key;
+		}
+
+		private void addWrite(Name node, IBinding binding) {
+			String key= getKey(binding);
+			if (key != null)
+				fWrites.put(node, key);
+		}
+
+		private static String getKey(IBinding binding) {
+			if (binding == null)
+				return null;
+			return OccurrencesFinder.getBindingDeclaration(binding).getKey();
+		}
+
+		@Override
+		public boolean visit(QualifiedName node) {
+			IBinding binding= node.resolveBinding();
+			String key;
+			if (binding instanceof IVariableBinding && ((IVariableBinding) binding).isField()) {
+				SimpleName name= node.getName();
+				key= add(name, name.resolveBinding());
+			} else {
+				key= add(node, binding);
+			}
+			fMatchedKeys.add(key);
+			return true;
+		}
+
+		@Override
+		public void endVisit(QualifiedName node) {
+			fMatchedKeys.remove(fMatchedKeys.size() - 1);
+		}
+
+		@Override
+		public boolean visit(SimpleName node) {
+			add(node, node.resolveBinding());
+			return true;
+		}
+
+		@Override
+		public boolean visit(ClassInstanceCreation node) {
+			Type type= node.getType();
+			if (type instanceof ParameterizedType) {
+				type= ((ParameterizedType) type).getType();
+			}
+			if (type instanceof SimpleType) {
+				Name name= ((SimpleType) type).getName();
+				if (name instanceof QualifiedName)
+					name= ((QualifiedName) name).getName();
+				add(name, node.resolveConstructorBinding());
+			} else if (type instanceof NameQualifiedType) {
+				Name name= ((NameQualifiedType) type).getName();
+				add(name, node.resolveConstructorBinding());
+			}
+			return true;
+		}
+
+		@Override
+		public boolean visit(Assignment node) {
+			SimpleName name= OccurrencesFinder.getSimpleName(node.getLeftHandSide());
+			if (name != null)
+				addWrite(name, name.resolveBinding());
+			return true;
+		}
+
+		@Override
+		public boolean visit(SingleVariableDeclaration node) {
+			addWrite(node.getName(), node.resolveBinding());
+			return true;
+		}
+
+		@Override
+		public boolean visit(VariableDeclarationFragment node) {
+			if (node.getParent() instanceof FieldDeclaration || node.getInitializer() != null)
+				addWrite(node.getName(), node.resolveBinding());
+			return true;
+		}
+
+		@Override
+		public boolean visit(PrefixExpression node) {
+			PrefixExpression.Operator operator= node.getOperator();
+			if (operator == Operator.INCREMENT || operator == Operator.DECREMENT) {
+				SimpleName name= OccurrencesFinder.getSimpleName(node.getOperand());
+				if (name != null)
+					addWrite(name, name.resolveBinding());
+			}
+			return true;
+		}
+
+		@Override
+		public boolean visit(PostfixExpression node) {
+			SimpleName name= OccurrencesFinder.getSimpleName(node.getOperand());
+			if (name != null)
+				addWrite(name, name.resolveBinding());
+			return true;
+		}
+	}
+}
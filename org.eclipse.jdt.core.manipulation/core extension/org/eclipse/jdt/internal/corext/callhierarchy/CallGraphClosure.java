@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+
+import org.eclipse.jdt.internal.corext.util.ConcurrentTasks;
+
+/**
+ * Computes the transitive callers or callees of a set of members up to a given depth. Each member
+ * is expanded once: the handle identifiers of the members seen so far are kept in a concurrent
+ * set. The expansions run as tasks on a work-stealing pool, each task forks the expansions of the
+ * members it finds. The edges are passed to a consumer as they are found; no
+ * {@link MethodWrapper}s are created.
+ */
+final class CallGraphClosure {
+
+	/** Time to wait for running expansions after the computation has ended, in seconds */
+	private static final long TERMINATION_TIMEOUT= 10;
+
+	private final boolean fCallers;
+
+	private final int fMaxDepth;
+
+	private final ICallGraphConsumer fConsumer;
+
+	private final IJavaSearchScope fSearchScope;
+
+	private final IProgressMonitor fSearchMonitor;
+
+	private final Set<String> fVisited= ConcurrentHashMap.newKeySet();
+
+	/** Guarded by <code>fConsumer</code> */
+	private boolean fStopped;
+
+	/** Guarded by <code>fConsumer</code> */
+	private int fEdgeCount;
+
+	/**
+	 * Expands one member and forks the expansions of the members found.
+	 */
+	private final class ExpandTask extends CountedCompleter<Void> {
+
+		private static final long serialVersionUID= 1L;
+
+		private final IMember fMember;
+
+		private final int fDepth;
+
+		ExpandTask(CountedCompleter<?> completer, IMember member, int depth) {
+			super(completer);
+			fMember= member;
+			fDepth= depth;
+		}
+
+		@Override
+		public void compute() {
+			if (fSearchMonitor.isCanceled())
+				throw new OperationCanceledException();
+			Map<String, MethodCall> calls;
+			if (fCallers)
+				calls= CallerMethodWrapper.searchCallers(fMember, IJavaSearchConstants.REFERENCES, fSearchScope, fSearchMonitor);
+			else
+				calls= CalleeMethodWrapper.findCallees(fMember, null, fSearchMonitor);
+			int depth= fDepth + 1;
+			for (MethodCall call : calls.values()) {
+				IMember other= call.getMember();
+				if (!acceptEdge(fCallers ? other : fMember, fCallers ? fMember : other, depth))
+					break;
+				if (depth < fMaxDepth && fVisited.add(call.getKey())) {
+					addToPendingCount(1);
+					new ExpandTask(this, other, depth).fork();
+				}
+			}
+			tryComplete();
+		}
+	}
+
+	/**
+	 * Forks the expansions of the input members.
+	 */
+	private final class RootTask extends CountedCompleter<Void> {
+
+		private static final long serialVersionUID= 1L;
+
+		private final IMember[] fMembers;
+
+		RootTask(IMember[] members) {
+			fMembers= members;
+		}
+
+		@Override
+		public void compute() {
+			for (IMember member : fMembers) {
+				if (fVisited.add(member.getHandleIdentifier())) {
+					addToPendingCount(1);
+					new ExpandTask(this, member, 0).fork();
+				}
+			}
+			tryComplete();
+		}
+	}
+
+	private CallGraphClosure(boolean callers, int maxDepth, ICallGraphConsumer consumer, IProgressMonitor monitor) {
+		fCallers= callers;
+		fMaxDepth= maxDepth;
+		fConsumer= consumer;
+		fSearchScope= CallHierarchyCore.getDefault().getSearchScope();
+		fSearchMonitor= new ConcurrentTasks.DelegatingCancelMonitor(monitor);
+	}
+
+	/**
+	 * Computes the closure and passes its edges to the consumer.
+	 *
+	 * @param members the input members
+	 * @param callers <code>true</code> to follow callers, <code>false</code> to follow callees
+	 * @param maxDepth the maximum depth of the edges, at least 1
+	 * @param consumer the consumer of the edges
+	 * @param progressMonitor the progress monitor, or <code>null</code>
+	 * @return the number of edges
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	static int compute(IMember[] members, boolean callers, int maxDepth, ICallGraphConsumer consumer, IProgressMonitor progressMonitor) {
+		if (maxDepth < 1)
+			throw new IllegalArgumentException("maxDepth must be positive: " + maxDepth); //$NON-NLS-1$
+		IProgressMonitor monitor= progressMonitor != null ? progressMonitor : new NullProgressMonitor();
+		monitor.beginTask(CallHierarchyMessages.CallGraphClosure_taskname, IProgressMonitor.UNKNOWN);
+		CallGraphClosure closure= new CallGraphClosure(callers, maxDepth, consumer, monitor);
+		ForkJoinPool pool= createPool();
+		try {
+			pool.invoke(closure.new RootTask(members));
+		} finally {
+			closure.stop();
+			pool.shutdownNow();
+			try {
+				pool.awaitTermination(TERMINATION_TIMEOUT, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			monitor.done();
+		}
+		if (monitor.isCanceled())
+			throw new OperationCanceledException();
+		return closure.getEdgeCount();
+	}
+
+	/**
+	 * @return <code>false</code> if the computation has ended and the edge was dropped
+	 */
+	private boolean acceptEdge(IMember caller, IMember callee, int depth) {
+		synchronized (fConsumer) {
+			if (fStopped)
+				return false;
+			fConsumer.acceptEdge(caller, callee, depth);
+			fEdgeCount++;
+			return true;
+		}
+	}
+
+	/**
+	 * Ends the computation. Expansions that are still running no longer report edges.
+	 */
+	private void stop() {
+		synchronized (fConsumer) {
+			fStopped= true;
+		}
+	}
+
+	private int getEdgeCount() {
+		synchronized (fConsumer) {
+			return fEdgeCount;
+		}
+	}
+
+	private static ForkJoinPool createPool() {
+		int threads= Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+		return new ForkJoinPool(threads, pool -> {
+			ForkJoinWorkerThread thread= ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName("Call Graph Closure"); //$NON-NLS-1$
+			return thread;
+		}, null, false);
+	}
+}
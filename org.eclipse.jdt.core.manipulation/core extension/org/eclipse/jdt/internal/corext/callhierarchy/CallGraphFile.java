@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.core.IMember;
+
+/**
+ * Writes the edges of a call graph to a compact file, and reads them back.
+ * <p>
+ * The file starts with a header and holds a sequence of records. A node record declares the
+ * handle identifier of a member the first time it takes part in an edge; the nodes are numbered
+ * in the order they are declared. An edge record refers to the numbers of the caller and the
+ * callee and stores the depth of the edge. Numbers are written as variable-length integers.
+ * </p>
+ *
+ * @since 1.21
+ */
+public final class CallGraphFile implements ICallGraphConsumer, Closeable {
+
+	/**
+	 * Receives the edges read from a call graph file.
+	 */
+	public interface IEdgeReader {
+		/**
+		 * Accepts an edge of the call graph.
+		 *
+		 * @param callerHandle the handle identifier of the calling member
+		 * @param calleeHandle the handle identifier of the called member
+		 * @param depth the distance of the edge from the input members
+		 */
+		void acceptEdge(String callerHandle, String calleeHandle, int depth);
+	}
+
+	private static final int MAGIC= 0x4A434731; // "JCG1"
+
+	private static final int NODE= 0;
+
+	private static final int EDGE= 1;
+
+	private final DataOutputStream fOut;
+
+	private final Map<String, Integer> fNodeIds= new HashMap<>();
+
+	private int fEdgeCount;
+
+	/**
+	 * Creates a file to write a call graph to. An existing file is overwritten.
+	 *
+	 * @param file the file
+	 * @throws IOException if the file cannot be created
+	 */
+	public CallGraphFile(File file) throws IOException {
+		fOut= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+		fOut.writeInt(MAGIC);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws UncheckedIOException if the edge cannot be written
+	 */
+	@Override
+	public void acceptEdge(IMember caller, IMember callee, int depth) {
+		try {
+			int callerId= getNodeId(caller.getHandleIdentifier());
+			int calleeId= getNodeId(callee.getHandleIdentifier());
+			fOut.writeByte(EDGE);
+			writeVarInt(fOut, callerId);
+			writeVarInt(fOut, calleeId);
+			writeVarInt(fOut, depth);
+			fEdgeCount++;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Returns the number of edges written so far.
+	 *
+	 * @return the number of edges
+	 */
+	public int getEdgeCount() {
+		return fEdgeCount;
+	}
+
+	/**
+	 * Returns the number of members that take part in the edges written so far.
+	 *
+	 * @return the number of nodes
+	 */
+	public int getNodeCount() {
+		return fNodeIds.size();
+	}
+
+	@Override
+	public void close() throws IOException {
+		fOut.close();
+	}
+
+	private int getNodeId(String handle) throws IOException {
+		Integer id= fNodeIds.get(handle);
+		if (id == null) {
+			id= Integer.valueOf(fNodeIds.size());
+			fNodeIds.put(handle, id);
+			fOut.writeByte(NODE);
+			fOut.writeUTF(handle);
+		}
+		return id.intValue();
+	}
+
+	/**
+	 * Reads the edges of a call graph file in the order they were written.
+	 *
+	 * @param file the file
+	 * @param reader the reader that is called for each edge
+	 * @throws IOException if the file cannot be read or is not a call graph file
+	 */
+	public static void read(File file, IEdgeReader reader) throws IOException {
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))) {
+			if (in.readInt() != MAGIC)
+				throw new IOException("Not a call graph file: " + file); //$NON-NLS-1$
+			List<String> handles= new ArrayList<>();
+			while (true) {
+				int kind= in.read();
+				if (kind == -1)
+					break;
+				if (kind == NODE) {
+					handles.add(in.readUTF());
+				} else if (kind == EDGE) {
+					String caller= getHandle(handles, readVarInt(in));
+					String callee= getHandle(handles, readVarInt(in));
+					reader.acceptEdge(caller, callee, readVarInt(in));
+				} else {
+					throw new IOException("Corrupt call graph file: " + file); //$NON-NLS-1$
+				}
+			}
+		}
+	}
+
+	private static String getHandle(List<String> handles, int id) throws IOException {
+		if (id < 0 || id >= handles.size())
+			throw new IOException("Undeclared node: " + id); //$NON-NLS-1$
+		return handles.get(id);
+	}
+
+	private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value>>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static int readVarInt(DataInputStream in) throws IOException {
+		int value= 0;
+		for (int shift= 0; shift < 32; shift+= 7) {
+			int b= in.read();
+			if (b == -1)
+				throw new EOFException();
+			value|= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new IOException("Malformed number"); //$NON-NLS-1$
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 IBM Corporation and others.
+ * Copyright (c) 2019, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,12 +17,16 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.callhierarchy;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.StringTokenizer;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 
 import org.eclipse.jdt.core.IJavaElement;
@@ -109,6 +113,64 @@ public class CallHierarchyCore {
         return getRoots(members, false);
     }
 
+	/**
+	 * Computes the transitive callers of the given members, up to the given depth, and passes
+	 * each edge of the resulting call graph to the consumer. Unlike {@link #getCallerRoots(IMember[])},
+	 * no tree of {@link MethodWrapper}s is built, so the graph may be large. Each member is
+	 * expanded once; the expansions run concurrently. The search scope and filters of this call
+	 * hierarchy apply.
+	 *
+	 * @param members the called members
+	 * @param maxDepth the maximum depth of the edges, at least 1
+	 * @param consumer the consumer of the edges
+	 * @param monitor the progress monitor, or <code>null</code>
+	 * @return the number of edges
+	 * @throws org.eclipse.core.runtime.OperationCanceledException if the monitor is canceled
+	 * @since 1.21
+	 */
+	public int computeCallerClosure(IMember[] members, int maxDepth, ICallGraphConsumer consumer, IProgressMonitor monitor) {
+		return CallGraphClosure.compute(members, true, maxDepth, consumer, monitor);
+	}
+
+	/**
+	 * Computes the transitive callees of the given members, up to the given depth, and passes
+	 * each edge of the resulting call graph to the consumer. See
+	 * {@link #computeCallerClosure(IMember[], int, ICallGraphConsumer, IProgressMonitor)}.
+	 *
+	 * @param members the calling members
+	 * @param maxDepth the maximum depth of the edges, at least 1
+	 * @param consumer the consumer of the edges
+	 * @param monitor the progress monitor, or <code>null</code>
+	 * @return the number of edges
+	 * @throws org.eclipse.core.runtime.OperationCanceledException if the monitor is canceled
+	 * @since 1.21
+	 */
+	public int computeCalleeClosure(IMember[] members, int maxDepth, ICallGraphConsumer consumer, IProgressMonitor monitor) {
+		return CallGraphClosure.compute(members, false, maxDepth, consumer, monitor);
+	}
+
+	/**
+	 * Computes the transitive callers or callees of the given members and writes the call graph
+	 * to a {@link CallGraphFile}.
+	 *
+	 * @param members the input members
+	 * @param callers <code>true</code> to follow callers, <code>false</code> to follow callees
+	 * @param maxDepth the maximum depth of the edges, at least 1
+	 * @param file the file to write
+	 * @param monitor the progress monitor, or <code>null</code>
+	 * @return the number of edges
+	 * @throws IOException if the file cannot be written
+	 * @throws org.eclipse.core.runtime.OperationCanceledException if the monitor is canceled
+	 * @since 1.21
+	 */
+	public int writeCallGraph(IMember[] members, boolean callers, int maxDepth, File file, IProgressMonitor monitor) throws IOException {
+		try (CallGraphFile callGraphFile= new CallGraphFile(file)) {
+			return CallGraphClosure.compute(members, callers, maxDepth, callGraphFile, monitor);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
 	private MethodWrapper[] getRoots(IMember[] members, boolean callers) {
 		ArrayList<MethodWrapper> roots= new ArrayList<>();
 		for (IMember member : members) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -88,7 +88,18 @@ class CalleeMethodWrapper extends MethodWrapper {
      */
     @Override
 	protected Map<String, MethodCall> findChildren(IProgressMonitor progressMonitor) {
-    	IMember member= getMember();
+    	return findCallees(getMember(), getMethodCall().getFirstCallLocation(), progressMonitor);
+    }
+
+	/**
+	 * Finds the callees of a member, without creating a wrapper for it.
+	 *
+	 * @param member the calling member
+	 * @param calledAt the location where the member is called, or <code>null</code>
+	 * @param progressMonitor the progress monitor, or <code>null</code>
+	 * @return a map from handle identifier to {@link MethodCall}
+	 */
+	static Map<String, MethodCall> findCallees(IMember member, CallLocation calledAt, IProgressMonitor progressMonitor) {
 		if (member.exists()) {
 			CompilationUnit cu= CallHierarchyCore.getCompilationUnitNode(member, true);
 		    if (progressMonitor != null) {
@@ -96,7 +107,7 @@ class CalleeMethodWrapper extends MethodWrapper {
 		    }
 
 			if (cu != null) {
-				CalleeAnalyzerVisitor visitor = new CalleeAnalyzerVisitor(this.getMethodCall().getFirstCallLocation(), member, cu, progressMonitor);
+				CalleeAnalyzerVisitor visitor = new CalleeAnalyzerVisitor(calledAt, member, cu, progressMonitor);
 
 				cu.accept(visitor);
 				return visitor.getCallees();
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+
+/**
+ * The callers found by earlier searches, shared by all call hierarchies. An entry is keyed on the
+ * handle of the called member together with the search settings it was computed with. Any change
+ * of the Java model, including the reconcile of a working copy, may change the result of a search
+ * and drops all entries.
+ */
+final class CallerCache implements IElementChangedListener {
+
+	/** Number of entries after which the cache is cleared */
+	private static final int MAX_ENTRIES= 5000;
+
+	private static CallerCache fgInstance;
+
+	private static final class Key {
+
+		private final String fHandle;
+
+		private final int fFieldSearchMode;
+
+		private final IJavaSearchScope fScope;
+
+		private final String fFilters;
+
+		Key(CallerMethodWrapper wrapper) {
+			fHandle= wrapper.getMember().getHandleIdentifier();
+			fFieldSearchMode= wrapper.getMember().getElementType() == IJavaElement.FIELD ? wrapper.getFieldSearchMode() : 0;
+			fScope= wrapper.getSearchScope();
+			CallHierarchyCore core= CallHierarchyCore.getDefault();
+			fFilters= core.isFilterEnabled() + core.getFilters() + '|' + core.isFilterTestCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(fHandle, Integer.valueOf(fFieldSearchMode), fFilters);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other= (Key) obj;
+			return fHandle.equals(other.fHandle) && fFieldSearchMode == other.fFieldSearchMode && fFilters.equals(other.fFilters)
+					&& Objects.equals(fScope, other.fScope);
+		}
+	}
+
+	private final Map<Key, Map<String, MethodCall>> fEntries= new HashMap<>();
+
+	/** Incremented by each change of the Java model, guarded by <code>this</code> */
+	private long fGeneration;
+
+	static synchronized CallerCache getDefault() {
+		if (fgInstance == null) {
+			fgInstance= new CallerCache();
+			JavaCore.addElementChangedListener(fgInstance, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		}
+		return fgInstance;
+	}
+
+	/**
+	 * Returns the generation of the Java model. Results computed after this call are only stored
+	 * if the model has not changed since.
+	 *
+	 * @return the current generation
+	 */
+	synchronized long getGeneration() {
+		return fGeneration;
+	}
+
+	/**
+	 * Returns the cached callers of a member.
+	 *
+	 * @param wrapper the wrapper of the called member
+	 * @return a read-only map from handle identifier to {@link MethodCall}, or <code>null</code>
+	 *         if the callers are not cached
+	 */
+	synchronized Map<String, MethodCall> get(CallerMethodWrapper wrapper) {
+		return fEntries.get(new Key(wrapper));
+	}
+
+	/**
+	 * Stores the callers of a member unless the Java model has changed since they were searched.
+	 *
+	 * @param wrapper the wrapper of the called member
+	 * @param callers a map from handle identifier to {@link MethodCall}
+	 * @param generation the generation of the model when the search started
+	 */
+	synchronized void put(CallerMethodWrapper wrapper, Map<String, MethodCall> callers, long generation) {
+		if (generation != fGeneration)
+			return;
+		if (fEntries.size() >= MAX_ENTRIES)
+			fEntries.clear();
+		fEntries.put(new Key(wrapper), Collections.unmodifiableMap(callers));
+	}
+
+	synchronized void remove(CallerMethodWrapper wrapper) {
+		fEntries.remove(new Key(wrapper));
+	}
+
+	@Override
+	public synchronized void elementChanged(ElementChangedEvent event) {
+		fGeneration++;
+		fEntries.clear();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,7 +17,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.callhierarchy;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.core.runtime.CoreException;
@@ -98,13 +101,102 @@ public class CallerMethodWrapper extends MethodWrapper {
 	 */
 	@Override
 	protected Map<String, MethodCall> findChildren(IProgressMonitor progressMonitor) {
+		checkCanceled(progressMonitor);
+		Map<String, MethodCall> callers= CallerSearchEngine.findCallers(Collections.singletonList(this), progressMonitor).get(this);
+		return callers != null ? new HashMap<>(callers) : new HashMap<>(0);
+	}
+
+	/**
+	 * Searches the callers of several members at once, so that they are found in the cache when
+	 * the wrappers or equal wrappers are expanded later. Fields and methods are searched in batches,
+	 * and the batches are searched concurrently.
+	 *
+	 * @param wrappers the wrappers whose callers are searched, wrappers that are not
+	 *            {@link CallerMethodWrapper}s or cannot have children are ignored
+	 * @param progressMonitor the progress monitor, or <code>null</code>
+	 * @throws org.eclipse.core.runtime.OperationCanceledException if the monitor is canceled
+	 * @since 1.21
+	 */
+	public static void prefetchCallers(MethodWrapper[] wrappers, IProgressMonitor progressMonitor) {
+		List<CallerMethodWrapper> callers= new ArrayList<>(wrappers.length);
+		for (MethodWrapper wrapper : wrappers) {
+			if (wrapper instanceof CallerMethodWrapper && !(wrapper instanceof RealCallers) && wrapper.canHaveChildren())
+				callers.add((CallerMethodWrapper) wrapper);
+		}
+		if (!callers.isEmpty())
+			CallerSearchEngine.findCallers(callers, progressMonitor);
+	}
+
+	@Override
+	public void removeFromCache() {
+		super.removeFromCache();
+		CallerCache.getDefault().remove(this);
+	}
+
+	/**
+	 * Returns whether the callers of the member can be searched together with the callers of
+	 * other members, see {@link CallerSearchEngine}.
+	 *
+	 * @return <code>true</code> for fields and methods that are searched in the default scope
+	 */
+	boolean isBatchable() {
+		IMember member= getMember();
+		try {
+			if (member instanceof IMethod) {
+				if (((IMethod) member).isConstructor())
+					return false;
+			} else if (!(member instanceof IField)) {
+				return false;
+			}
+			IJavaSearchScope defaultSearchScope= getSearchScope();
+			return !SearchEngine.createWorkspaceScope().equals(defaultSearchScope) || getAccurateSearchScope(defaultSearchScope, member) == defaultSearchScope;
+		} catch (JavaModelException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the pattern that finds the references of a {@link #isBatchable() batchable}
+	 * member.
+	 *
+	 * @return the pattern or <code>null</code>
+	 */
+	SearchPattern createSearchPattern() {
+		return createSearchPattern(getMember(), getFieldSearchMode());
+	}
+
+	private static SearchPattern createSearchPattern(IMember member, int fieldSearchMode) {
+		int limitTo= IJavaSearchConstants.REFERENCES;
+		if (member.getElementType() == IJavaElement.FIELD)
+			limitTo= fieldSearchMode;
+		return SearchPattern.createPattern(member, limitTo, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
+	}
+
+	/**
+	 * Searches the callers of the member, without looking at the cache.
+	 *
+	 * @param progressMonitor the progress monitor
+	 * @return a map from handle identifier to {@link MethodCall}
+	 */
+	Map<String, MethodCall> searchCallers(IProgressMonitor progressMonitor) {
+		checkCanceled(progressMonitor);
+		return searchCallers(getMember(), getFieldSearchMode(), getSearchScope(), progressMonitor);
+	}
+
+	/**
+	 * Searches the callers of a member, without creating a wrapper for it.
+	 *
+	 * @param member the called member
+	 * @param fieldSearchMode the search mode used if the member is a field
+	 * @param defaultSearchScope the scope to search in
+	 * @param progressMonitor the progress monitor
+	 * @return a map from handle identifier to {@link MethodCall}
+	 */
+	static Map<String, MethodCall> searchCallers(IMember member, int fieldSearchMode, IJavaSearchScope defaultSearchScope, IProgressMonitor progressMonitor) {
 		try {
 
 			SubMonitor monitor = SubMonitor.convert(progressMonitor,"" , 95); //$NON-NLS-1$
 
-			checkCanceled(progressMonitor);
-
-			IMember member= getMember();
 			SearchPattern pattern= null;
 			IType type= null;
 			if (member instanceof IType) {
@@ -138,10 +230,7 @@ public class CallerMethodWrapper extends MethodWrapper {
 				}
 			}
 			if (pattern == null) {
-				int limitTo= IJavaSearchConstants.REFERENCES;
-				if (member.getElementType() == IJavaElement.FIELD)
-					limitTo= getFieldSearchMode();
-				pattern= SearchPattern.createPattern(member, limitTo, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
+				pattern= createSearchPattern(member, fieldSearchMode);
 			}
 			if (pattern == null) { // e.g. for initializers
 				return new HashMap<>(0);
@@ -149,7 +238,6 @@ public class CallerMethodWrapper extends MethodWrapper {
 
 			SearchEngine searchEngine= new SearchEngine();
 			MethodReferencesSearchRequestor searchRequestor= new MethodReferencesSearchRequestor();
-			IJavaSearchScope defaultSearchScope= getSearchScope();
 			boolean isWorkspaceScope= SearchEngine.createWorkspaceScope().equals(defaultSearchScope);
 			IJavaSearchScope searchScope= isWorkspaceScope ? getAccurateSearchScope(defaultSearchScope, member) : defaultSearchScope;
 			searchEngine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, searchScope, searchRequestor,
@@ -162,7 +250,7 @@ public class CallerMethodWrapper extends MethodWrapper {
 		}
 	}
 
-	private IJavaSearchScope getAccurateSearchScope(IJavaSearchScope defaultSearchScope, IMember member) throws JavaModelException {
+	private static IJavaSearchScope getAccurateSearchScope(IJavaSearchScope defaultSearchScope, IMember member) throws JavaModelException {
 		if (!JdtFlags.isPrivate(member) || isRecordComponent(member))
 			return defaultSearchScope;
 
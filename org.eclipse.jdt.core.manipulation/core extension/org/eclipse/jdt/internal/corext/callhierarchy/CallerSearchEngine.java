@@ -0,0 +1,248 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IOpenable;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.corext.util.ConcurrentTasks;
+
+/**
+ * Searches the callers of several members at once. The callers of fields and methods with the same
+ * search scope are searched in batches: one search with an OR pattern of the members, whose
+ * matches are attributed to the members by the name in the source range of the match. Batches
+ * and the members that cannot be batched are searched concurrently on a bounded pool. Results are
+ * kept in the {@link CallerCache}.
+ */
+final class CallerSearchEngine {
+
+	/** Maximum number of members searched with one pattern */
+	private static final int MAX_BATCH_SIZE= 16;
+
+	private static final String POOL_NAME= "Call Hierarchy Search"; //$NON-NLS-1$
+
+	private CallerSearchEngine() {
+	}
+
+	/**
+	 * Returns the callers of the members of the given wrappers.
+	 *
+	 * @param wrappers the wrappers whose callers are searched
+	 * @param progressMonitor the progress monitor, or <code>null</code>
+	 * @return the callers by wrapper, as read-only maps from handle identifier to
+	 *         {@link MethodCall}
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	static Map<CallerMethodWrapper, Map<String, MethodCall>> findCallers(List<CallerMethodWrapper> wrappers, IProgressMonitor progressMonitor) {
+		IProgressMonitor monitor= progressMonitor != null ? progressMonitor : new NullProgressMonitor();
+		CallerCache cache= CallerCache.getDefault();
+		long generation= cache.getGeneration();
+		Map<CallerMethodWrapper, Map<String, MethodCall>> result= new LinkedHashMap<>();
+		List<CallerMethodWrapper> uncached= new ArrayList<>();
+		for (CallerMethodWrapper wrapper : wrappers) {
+			Map<String, MethodCall> callers= cache.get(wrapper);
+			if (callers != null)
+				result.put(wrapper, callers);
+			else if (!result.containsKey(wrapper) && !uncached.contains(wrapper))
+				uncached.add(wrapper);
+		}
+		if (uncached.isEmpty())
+			return result;
+
+		Map<CallerMethodWrapper, Map<String, MethodCall>> found;
+		if (uncached.size() == 1) {
+			CallerMethodWrapper wrapper= uncached.get(0);
+			found= new HashMap<>();
+			found.put(wrapper, wrapper.searchCallers(monitor));
+		} else {
+			found= searchConcurrently(uncached, monitor);
+		}
+		for (Map.Entry<CallerMethodWrapper, Map<String, MethodCall>> entry : found.entrySet()) {
+			cache.put(entry.getKey(), entry.getValue(), generation);
+			result.put(entry.getKey(), entry.getValue());
+		}
+		return result;
+	}
+
+	private static Map<CallerMethodWrapper, Map<String, MethodCall>> searchConcurrently(List<CallerMethodWrapper> wrappers, IProgressMonitor progressMonitor) {
+		List<List<CallerMethodWrapper>> tasks= createBatches(wrappers);
+		SubMonitor monitor= SubMonitor.convert(progressMonitor, CallHierarchyMessages.CallerMethodWrapper_taskname, tasks.size());
+		List<ConcurrentTasks.Task<Map<CallerMethodWrapper, Map<String, MethodCall>>>> searches= new ArrayList<>(tasks.size());
+		for (List<CallerMethodWrapper> task : tasks)
+			searches.add(searchMonitor -> task.size() == 1 ? searchSingle(task.get(0), searchMonitor) : searchBatch(task, searchMonitor));
+
+		List<Map<CallerMethodWrapper, Map<String, MethodCall>>> found;
+		try {
+			found= ConcurrentTasks.invokeAll(POOL_NAME, searches, monitor);
+		} catch (CoreException e) {
+			// the searches report their errors to the log
+			throw new IllegalStateException(e);
+		}
+		Map<CallerMethodWrapper, Map<String, MethodCall>> result= new HashMap<>();
+		for (Map<CallerMethodWrapper, Map<String, MethodCall>> callers : found)
+			result.putAll(callers);
+		return result;
+	}
+
+	/**
+	 * Groups the wrappers into batches of members with the same search scope and distinct names,
+	 * and single wrappers for the members that must be searched on their own.
+	 */
+	private static List<List<CallerMethodWrapper>> createBatches(List<CallerMethodWrapper> wrappers) {
+		List<List<CallerMethodWrapper>> tasks= new ArrayList<>();
+		Map<IJavaSearchScope, List<Map<String, CallerMethodWrapper>>> batchesByScope= new HashMap<>();
+		for (CallerMethodWrapper wrapper : wrappers) {
+			if (!wrapper.isBatchable()) {
+				List<CallerMethodWrapper> single= new ArrayList<>(1);
+				single.add(wrapper);
+				tasks.add(single);
+				continue;
+			}
+			String name= wrapper.getMember().getElementName();
+			List<Map<String, CallerMethodWrapper>> batches= batchesByScope.computeIfAbsent(wrapper.getSearchScope(), s -> new ArrayList<>());
+			Map<String, CallerMethodWrapper> target= null;
+			for (Map<String, CallerMethodWrapper> batch : batches) {
+				if (batch.size() < MAX_BATCH_SIZE && !batch.containsKey(name)) {
+					target= batch;
+					break;
+				}
+			}
+			if (target == null) {
+				target= new LinkedHashMap<>();
+				batches.add(target);
+			}
+			target.put(name, wrapper);
+		}
+		for (List<Map<String, CallerMethodWrapper>> batches : batchesByScope.values()) {
+			for (Map<String, CallerMethodWrapper> batch : batches)
+				tasks.add(new ArrayList<>(batch.values()));
+		}
+		return tasks;
+	}
+
+	private static Map<CallerMethodWrapper, Map<String, MethodCall>> searchSingle(CallerMethodWrapper wrapper, IProgressMonitor monitor) {
+		Map<CallerMethodWrapper, Map<String, MethodCall>> result= new HashMap<>();
+		result.put(wrapper, wrapper.searchCallers(monitor));
+		return result;
+	}
+
+	private static Map<CallerMethodWrapper, Map<String, MethodCall>> searchBatch(List<CallerMethodWrapper> batch, IProgressMonitor monitor) {
+		Map<String, CallerMethodWrapper> wrappersByName= new HashMap<>();
+		Map<CallerMethodWrapper, MethodReferencesSearchRequestor> requestors= new LinkedHashMap<>();
+		SearchPattern pattern= null;
+		try {
+			for (CallerMethodWrapper wrapper : batch) {
+				SearchPattern memberPattern= wrapper.createSearchPattern();
+				if (memberPattern == null)
+					return searchSeparately(batch, monitor);
+				pattern= pattern == null ? memberPattern : SearchPattern.createOrPattern(pattern, memberPattern);
+				wrappersByName.put(wrapper.getMember().getElementName(), wrapper);
+				requestors.put(wrapper, new MethodReferencesSearchRequestor());
+			}
+
+			boolean[] unattributed= { false };
+			SearchRequestor requestor= new SearchRequestor() {
+				@Override
+				public void acceptSearchMatch(SearchMatch match) throws CoreException {
+					if (unattributed[0] || match.getAccuracy() != SearchMatch.A_ACCURATE || match.isInsideDocComment())
+						return;
+					CallerMethodWrapper wrapper= findReferencedMember(match, wrappersByName);
+					if (wrapper == null)
+						unattributed[0]= true;
+					else
+						requestors.get(wrapper).acceptSearchMatch(match);
+				}
+			};
+			new SearchEngine().search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, batch.get(0).getSearchScope(), requestor, monitor);
+			if (unattributed[0])
+				return searchSeparately(batch, monitor);
+		} catch (CoreException e) {
+			JavaManipulationPlugin.log(e);
+			return searchSeparately(batch, monitor);
+		}
+
+		Map<CallerMethodWrapper, Map<String, MethodCall>> result= new HashMap<>();
+		for (Map.Entry<CallerMethodWrapper, MethodReferencesSearchRequestor> entry : requestors.entrySet())
+			result.put(entry.getKey(), entry.getValue().getCallers());
+		return result;
+	}
+
+	private static Map<CallerMethodWrapper, Map<String, MethodCall>> searchSeparately(List<CallerMethodWrapper> batch, IProgressMonitor monitor) {
+		Map<CallerMethodWrapper, Map<String, MethodCall>> result= new HashMap<>();
+		for (CallerMethodWrapper wrapper : batch)
+			result.put(wrapper, wrapper.searchCallers(monitor));
+		return result;
+	}
+
+	/**
+	 * Returns the member referenced by a match of a batch search. This is the only member of the
+	 * batch whose name occurs in the source range of the match.
+	 *
+	 * @return the wrapper of the referenced member, or <code>null</code> if it cannot be determined
+	 */
+	private static CallerMethodWrapper findReferencedMember(SearchMatch match, Map<String, CallerMethodWrapper> wrappersByName) throws JavaModelException {
+		if (!(match.getElement() instanceof IJavaElement))
+			return null;
+		IOpenable openable= ((IJavaElement) match.getElement()).getOpenable();
+		IBuffer buffer= openable != null ? openable.getBuffer() : null;
+		if (buffer == null)
+			return null;
+		int offset= match.getOffset();
+		int length= match.getLength();
+		if (offset < 0 || length <= 0 || offset + length > buffer.getLength())
+			return null;
+		String text= buffer.getText(offset, length);
+
+		CallerMethodWrapper result= null;
+		int i= 0;
+		while (i < text.length()) {
+			if (!Character.isJavaIdentifierStart(text.charAt(i))) {
+				i++;
+				continue;
+			}
+			int start= i;
+			while (i < text.length() && Character.isJavaIdentifierPart(text.charAt(i)))
+				i++;
+			CallerMethodWrapper wrapper= wrappersByName.get(text.substring(start, i));
+			if (wrapper != null) {
+				if (result != null && result != wrapper)
+					return null;
+				result= wrapper;
+			}
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import org.eclipse.jdt.core.IMember;
+
+/**
+ * Receives the edges of a call graph computed by
+ * {@link CallHierarchyCore#computeCallerClosure(IMember[], int, ICallGraphConsumer, org.eclipse.core.runtime.IProgressMonitor)}
+ * or
+ * {@link CallHierarchyCore#computeCalleeClosure(IMember[], int, ICallGraphConsumer, org.eclipse.core.runtime.IProgressMonitor)}.
+ * <p>
+ * The edges are found on several threads, but the consumer is never called concurrently.
+ * </p>
+ *
+ * @since 1.21
+ */
+public interface ICallGraphConsumer {
+
+	/**
+	 * Accepts an edge of the call graph. Each edge is reported once.
+	 *
+	 * @param caller the calling member
+	 * @param callee the called member
+	 * @param depth the distance of the edge from the input members, starting at 1
+	 */
+	void acceptEdge(IMember caller, IMember callee, int depth);
+}
@@ -154,6 +154,7 @@ import org.eclipse.jdt.internal.core.manipulation.util.Strings;
 import org.eclipse.jdt.internal.corext.refactoring.structure.CompilationUnitRewrite;
 import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types.TType;
 import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types.TypeEnvironment;
+import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types.TypeEnvironmentCache;
 import org.eclipse.jdt.internal.corext.util.CodeFormatterUtil;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 
@@ -1832,7 +1833,7 @@ public class ASTNodes {
 
 			ITypeBinding invocationType= getInvocationType(expression.getParent(), methodBinding, parentSummary.invocationQualifier);
 			if (invocationType != null) {
-				TypeEnvironment typeEnvironment= new TypeEnvironment();
+				TypeEnvironment typeEnvironment= TypeEnvironmentCache.getTypeEnvironment(null, false);
 				TypeBindingVisitor visitor= new AmbiguousMethodAnalyzer(typeEnvironment, methodBinding, typeEnvironment.create(parameterTypes));
 				if (!visitor.visit(invocationType)) {
 					return true;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,7 @@ import org.eclipse.jdt.core.dom.PrimitiveType;
 
 import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types.TType;
 import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types.TypeEnvironment;
+import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types.TypeEnvironmentCache;
 
 /**
  * Helper class to check if objects are assignable to each other.
@@ -38,7 +39,7 @@ public class TypeRules {
 	 * @return <code>true</code> iff definedType = typeToAssign is a valid assignment
 	 */
 	public static boolean canAssign(ITypeBinding typeToAssign, ITypeBinding definedType) {
-		TypeEnvironment typeEnvironment= new TypeEnvironment(false, true);
+		TypeEnvironment typeEnvironment= TypeEnvironmentCache.getTypeEnvironment(null, true);
 		TType defined= typeEnvironment.create(definedType);
 		TType toAssign= typeEnvironment.create(typeToAssign);
 		return toAssign.canAssignTo(defined);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -117,32 +117,35 @@ public class RefactoringSearchEngine {
 	//TODO: throw CoreException
 	public static SearchResultGroup[] search(SearchPattern pattern, IJavaSearchScope scope, IProgressMonitor monitor, RefactoringStatus status)
 			throws JavaModelException {
-		return internalSearch(new SearchEngine(), pattern, scope, new CollectingSearchRequestor(), monitor, status);
+		return internalSearch(null, pattern, scope, new CollectingSearchRequestor(), monitor, status);
 	}
 
 	//TODO: throw CoreException
 	public static SearchResultGroup[] search(SearchPattern pattern, WorkingCopyOwner owner, IJavaSearchScope scope, IProgressMonitor monitor, RefactoringStatus status)
 			throws JavaModelException {
-		return internalSearch(owner != null ? new SearchEngine(owner) : new SearchEngine(), pattern, scope, new CollectingSearchRequestor(), monitor, status);
+		return internalSearch(owner, pattern, scope, new CollectingSearchRequestor(), monitor, status);
 	}
 
 	//TODO: throw CoreException
 	public static SearchResultGroup[] search(SearchPattern pattern, IJavaSearchScope scope, CollectingSearchRequestor requestor,
 			IProgressMonitor monitor, RefactoringStatus status) throws JavaModelException {
-		return internalSearch(new SearchEngine(), pattern, scope, requestor, monitor, status);
+		return internalSearch(null, pattern, scope, requestor, monitor, status);
 	}
 
 	//TODO: throw CoreException
 	public static SearchResultGroup[] search(SearchPattern pattern, WorkingCopyOwner owner, IJavaSearchScope scope,
 			CollectingSearchRequestor requestor, IProgressMonitor monitor, RefactoringStatus status) throws JavaModelException {
-		return internalSearch(owner != null ? new SearchEngine(owner) : new SearchEngine(), pattern, scope, requestor, monitor, status);
+		return internalSearch(owner, pattern, scope, requestor, monitor, status);
 	}
 
 	//TODO: throw CoreException
-	private static SearchResultGroup[] internalSearch(SearchEngine searchEngine, SearchPattern pattern, IJavaSearchScope scope,
+	private static SearchResultGroup[] internalSearch(WorkingCopyOwner owner, SearchPattern pattern, IJavaSearchScope scope,
 			CollectingSearchRequestor requestor, IProgressMonitor monitor, RefactoringStatus status) throws JavaModelException {
 		try {
-			searchEngine.search(pattern, SearchUtils.getDefaultSearchParticipants(), scope, requestor, monitor);
+			if (!ShardedSearchEngine.isEnabled() || !ShardedSearchEngine.search(owner, pattern, scope, requestor, monitor)) {
+				SearchEngine searchEngine= owner != null ? new SearchEngine(owner) : new SearchEngine();
+				searchEngine.search(pattern, SearchUtils.getDefaultSearchParticipants(), scope, requestor, monitor);
+			}
 		} catch (CoreException e) {
 			throw new JavaModelException(e);
 		}
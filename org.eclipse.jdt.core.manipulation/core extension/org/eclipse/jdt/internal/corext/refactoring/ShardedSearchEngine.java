@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.corext.util.ConcurrentTasks;
+import org.eclipse.jdt.internal.corext.util.SearchUtils;
+
+/**
+ * Runs a search as several searches over the projects and libraries of the search scope, which
+ * are executed concurrently on a bounded pool. The sources of a project form one shard, and each
+ * library forms a shard of its own. A shard is searched with a scope of its own and its matches
+ * are filtered by the original scope.
+ * <p>
+ * The matches are passed to the requestor of the caller after all shards are searched, in the
+ * order of the shards and from the calling thread, so the requestor need not be thread-safe. The
+ * matches of each search participant are reported between the
+ * {@link SearchRequestor#enterParticipant(SearchParticipant) enterParticipant} and
+ * {@link SearchRequestor#exitParticipant(SearchParticipant) exitParticipant} calls of that
+ * participant.
+ * </p>
+ * <p>
+ * Sharded searches are enabled with the system property {@value #SHARDED_SEARCH_PROPERTY}, which
+ * is read for each search. The time spent in each shard is printed when the debug option
+ * <code>org.eclipse.jdt.core.manipulation/debug/RefactoringSearch</code> is set.
+ * </p>
+ */
+final class ShardedSearchEngine {
+
+	/**
+	 * The system property that enables sharded searches if it is <code>true</code>.
+	 */
+	static final String SHARDED_SEARCH_PROPERTY= "jdt.refactoring.shardedSearch"; //$NON-NLS-1$
+
+	private static final String DEBUG_PREFIX= "RefactoringSearchEngine > "; //$NON-NLS-1$
+
+	private static final String POOL_NAME= "Refactoring Search"; //$NON-NLS-1$
+
+	private static final class Shard extends SearchRequestor {
+
+		private final IPath fPath;
+
+		private final IJavaSearchScope fScope;
+
+		private final IJavaSearchScope fOriginalScope;
+
+		private final List<SearchMatch> fMatches= new ArrayList<>();
+
+		private long fTime;
+
+		Shard(IPath path, IJavaSearchScope scope, IJavaSearchScope originalScope) {
+			fPath= path;
+			fScope= scope;
+			fOriginalScope= originalScope;
+		}
+
+		@Override
+		public void acceptSearchMatch(SearchMatch match) {
+			Object element= match.getElement();
+			if (!(element instanceof IJavaElement) || fOriginalScope.encloses((IJavaElement) element))
+				fMatches.add(match);
+		}
+
+		Shard search(WorkingCopyOwner owner, SearchPattern pattern, SearchParticipant[] participants, IProgressMonitor monitor) throws CoreException {
+			long start= System.nanoTime();
+			SearchEngine engine= owner != null ? new SearchEngine(owner) : new SearchEngine();
+			engine.search(pattern, participants, fScope, this, monitor);
+			fTime= System.nanoTime() - start;
+			return this;
+		}
+	}
+
+	private ShardedSearchEngine() {
+	}
+
+	/**
+	 * @return <code>true</code> if refactorings search the shards of their scopes concurrently
+	 */
+	static boolean isEnabled() {
+		return Boolean.parseBoolean(System.getProperty(SHARDED_SEARCH_PROPERTY));
+	}
+
+	/**
+	 * Searches the shards of a scope concurrently.
+	 *
+	 * @param owner the working copy owner, or <code>null</code> for the primary owner
+	 * @param pattern the search pattern
+	 * @param scope the search scope
+	 * @param requestor the requestor that receives the matches
+	 * @param monitor the progress monitor, or <code>null</code>
+	 * @return <code>false</code> if the scope cannot be split and nothing was searched
+	 * @throws CoreException if the search of a shard failed
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	static boolean search(WorkingCopyOwner owner, SearchPattern pattern, IJavaSearchScope scope, SearchRequestor requestor, IProgressMonitor monitor) throws CoreException {
+		List<Shard> shards= createShards(scope);
+		if (shards == null)
+			return false;
+
+		long start= System.nanoTime();
+		SearchParticipant[] participants= SearchUtils.getDefaultSearchParticipants();
+		List<ConcurrentTasks.Task<Shard>> tasks= new ArrayList<>(shards.size());
+		for (Shard shard : shards)
+			tasks.add(shardMonitor -> shard.search(owner, pattern, participants, shardMonitor));
+		ConcurrentTasks.invokeAll(POOL_NAME, tasks, SubMonitor.convert(monitor, shards.size()));
+
+		if (JavaManipulationPlugin.DEBUG_REFACTORING_SEARCH)
+			printTimes(shards, System.nanoTime() - start);
+
+		requestor.beginReporting();
+		try {
+			for (SearchParticipant participant : participants) {
+				requestor.enterParticipant(participant);
+				try {
+					for (Shard shard : shards) {
+						for (SearchMatch match : shard.fMatches) {
+							if (match.getParticipant() == participant)
+								requestor.acceptSearchMatch(match);
+						}
+					}
+				} finally {
+					requestor.exitParticipant(participant);
+				}
+			}
+		} finally {
+			requestor.endReporting();
+		}
+		return true;
+	}
+
+	/**
+	 * @return the shards of the scope, or <code>null</code> if the scope has less than two shards
+	 *         or a project or library of the scope cannot be found
+	 */
+	private static List<Shard> createShards(IJavaSearchScope scope) throws JavaModelException {
+		IPath[] paths= scope.enclosingProjectsAndJars();
+		if (paths.length < 2)
+			return null;
+		List<IJavaProject> projects= new ArrayList<>();
+		for (IPath path : paths) {
+			IResource resource= ResourcesPlugin.getWorkspace().getRoot().findMember(path);
+			if (resource instanceof IProject) {
+				IJavaProject project= JavaCore.create((IProject) resource);
+				if (project.exists())
+					projects.add(project);
+			}
+		}
+
+		List<Shard> shards= new ArrayList<>(paths.length);
+		for (IPath path : paths) {
+			IJavaSearchScope shardScope= null;
+			IJavaProject project= findProject(projects, path);
+			if (project != null) {
+				shardScope= SearchEngine.createJavaSearchScope(new IJavaElement[] { project }, IJavaSearchScope.SOURCES);
+			} else {
+				IPackageFragmentRoot root= findLibrary(projects, path);
+				if (root != null)
+					shardScope= SearchEngine.createJavaSearchScope(new IJavaElement[] { root });
+			}
+			if (shardScope == null)
+				return null;
+			shards.add(new Shard(path, shardScope, scope));
+		}
+		return shards;
+	}
+
+	private static IJavaProject findProject(List<IJavaProject> projects, IPath path) {
+		for (IJavaProject project : projects) {
+			if (project.getPath().equals(path))
+				return project;
+		}
+		return null;
+	}
+
+	private static IPackageFragmentRoot findLibrary(List<IJavaProject> projects, IPath path) throws JavaModelException {
+		for (IJavaProject project : projects) {
+			IPackageFragmentRoot root= project.findPackageFragmentRoot(path);
+			if (root != null && root.getKind() == IPackageFragmentRoot.K_BINARY)
+				return root;
+		}
+		return null;
+	}
+
+	private static void printTimes(List<Shard> shards, long totalTime) {
+		List<Shard> sorted= new ArrayList<>(shards);
+		sorted.sort((shard1, shard2) -> Long.compare(shard2.fTime, shard1.fTime));
+		System.out.println(DEBUG_PREFIX + shards.size() + " shards searched in " + TimeUnit.NANOSECONDS.toMillis(totalTime) + " ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		for (Shard shard : sorted) {
+			System.out.println(DEBUG_PREFIX + "  " + TimeUnit.NANOSECONDS.toMillis(shard.fTime) + " ms, " + shard.fMatches.size() + " matches: " + shard.fPath); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+}
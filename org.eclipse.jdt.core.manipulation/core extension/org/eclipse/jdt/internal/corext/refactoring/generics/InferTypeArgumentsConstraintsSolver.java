@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,17 +15,19 @@
 package org.eclipse.jdt.internal.corext.refactoring.generics;
 
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
@@ -70,16 +72,24 @@ public class InferTypeArgumentsConstraintsSolver {
 	/**
 	 * The work-list used by the type constraint solver to hold the set of
 	 * nodes in the constraint graph that remain to be (re-)processed. Entries
-	 * are <code>ConstraintVariable2</code>s.
+	 * are <code>ConstraintVariable2</code>s. A variable is in the work-list
+	 * at most once, see {@link #fInWorkList}.
 	 */
-	private LinkedList<ConstraintVariable2> fWorkList;
+	private ArrayDeque<ConstraintVariable2> fWorkList;
+
+	/**
+	 * The variables in {@link #fWorkList}. Constraint variables are unique
+	 * per construction, so they are compared by identity.
+	 */
+	private Set<ConstraintVariable2> fInWorkList;
 
 	private InferTypeArgumentsUpdate fUpdate;
 
 
 	public InferTypeArgumentsConstraintsSolver(InferTypeArgumentsTCModel typeConstraintFactory) {
 		fTCModel= typeConstraintFactory;
-		fWorkList= new LinkedList<>();
+		fWorkList= new ArrayDeque<>();
+		fInWorkList= Collections.newSetFromMap(new IdentityHashMap<>());
 	}
 
 	public InferTypeArgumentsUpdate solveConstraints(IProgressMonitor pm) {
@@ -123,7 +133,7 @@ public class InferTypeArgumentsConstraintsSolver {
 		initializeTypeEstimates(allConstraintVariables);
 		if (pm.isCanceled())
 			throw new OperationCanceledException();
-		fWorkList.addAll(Arrays.asList(allConstraintVariables));
+		addToWorkList(allConstraintVariables);
 		runSolver(Progress.subMonitor(pm, 1));
 		chooseTypes(allConstraintVariables, Progress.subMonitor(pm, 1));
 		findCastsToRemove(fTCModel.getCastVariables());
@@ -192,6 +202,7 @@ public class InferTypeArgumentsConstraintsSolver {
 		while (! fWorkList.isEmpty()) {
 			// Get a variable whose type estimate has changed
 			ConstraintVariable2 cv= fWorkList.removeFirst();
+			fInWorkList.remove(cv);
 			List<ITypeConstraint2> usedIn= fTCModel.getUsedIn(cv);
 			processConstraints(usedIn);
 			pm.worked(1);
@@ -201,6 +212,19 @@ public class InferTypeArgumentsConstraintsSolver {
 		pm.done();
 	}
 
+	/**
+	 * Adds the given variables to the end of the work-list, except for those
+	 * that are already in it and will be processed anyway.
+	 *
+	 * @param cvs the variables whose type estimate has changed
+	 */
+	private void addToWorkList(ConstraintVariable2[] cvs) {
+		for (ConstraintVariable2 cv : cvs) {
+			if (fInWorkList.add(cv))
+				fWorkList.addLast(cv);
+		}
+	}
+
 	/**
 	 * Given a list of <code>ITypeConstraint2</code>s that all refer to a
 	 * given <code>ConstraintVariable2</code> (whose type bound has presumably
@@ -249,7 +273,7 @@ public class InferTypeArgumentsConstraintsSolver {
 //				throw new IllegalStateException("Type estimate set is now empty for LHS in " + left + " <= " + right + "; estimates were " + leftEstimate + " <= " + rightEstimate); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
 
 			leftSet.setTypeEstimate(xsection);
-			fWorkList.addAll(Arrays.asList(leftSet.getContributingVariables()));
+			addToWorkList(leftSet.getContributingVariables());
 		}
 		if (! lhsSuperTypes.containsAll(rightEstimate)) {
 			TypeSet xsection= rightEstimate.intersectedWith(lhsSuperTypes);
@@ -258,7 +282,7 @@ public class InferTypeArgumentsConstraintsSolver {
 //				throw new IllegalStateException("Type estimate set is now empty for RHS in " + left + " <= " + right + "; estimates were " + leftEstimate + " <= " + rightEstimate); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
 
 			rightSet.setTypeEstimate(xsection);
-			fWorkList.addAll(Arrays.asList(rightSet.getContributingVariables()));
+			addToWorkList(rightSet.getContributingVariables());
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -47,6 +47,7 @@ import org.eclipse.jdt.core.search.SearchParticipant;
 import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.SearchRequestor;
 
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringScopeFactory;
 import org.eclipse.jdt.internal.corext.refactoring.base.ReferencesInBinaryContext;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
@@ -154,11 +155,34 @@ public class RippleMethodFinder2 {
 			if (! MethodChecks.isVirtual(method))
 				return new IMethod[]{ method };
 
-			return new RippleMethodFinder2(method, excludeBinaries, false).getAllRippleMethods(pm, owner);
+			if (owner != null)
+				return new RippleMethodFinder2(method, excludeBinaries, false).getAllRippleMethods(pm, owner);
+
+			RippleMethodIndex index= RippleMethodIndex.getDefault();
+			IMethod[] family= index.get(method, excludeBinaries);
+			if (family != null && !JavaManipulationPlugin.DEBUG_RIPPLE_METHOD_INDEX)
+				return family.clone();
+
+			long generation= index.getGeneration();
+			IMethod[] rippleMethods= new RippleMethodFinder2(method, excludeBinaries, false).getAllRippleMethods(pm, owner);
+			if (family != null) {
+				checkFamily(method, family, rippleMethods);
+			} else {
+				index.put(method, excludeBinaries, rippleMethods.clone(), generation);
+			}
+			return rippleMethods;
 		} finally{
 			pm.done();
 		}
 	}
+
+	private static void checkFamily(IMethod method, IMethod[] family, IMethod[] rippleMethods) {
+		if (!new HashSet<>(Arrays.asList(family)).equals(new HashSet<>(Arrays.asList(rippleMethods)))) {
+			System.out.println("RippleMethodIndex > stale family of " + method.getElementName() + ": " //$NON-NLS-1$ //$NON-NLS-2$
+					+ Arrays.toString(family) + ", expected: " + Arrays.toString(rippleMethods)); //$NON-NLS-1$
+		}
+	}
+
 	public static IMethod[] getRelatedMethodsInCompilationUnit(IMethod method, NullProgressMonitor pm, WorkingCopyOwner owner) throws CoreException {
 		try{
 			if (! MethodChecks.isVirtual(method))
@@ -0,0 +1,254 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.rename;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IParent;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+import org.eclipse.jdt.internal.corext.util.JdtFlags;
+
+/**
+ * The override families found by {@link RippleMethodFinder2} in the primary working copies, so
+ * that finding the ripple methods of a method whose family is known is a lookup. A family is
+ * remembered for each of its members in the project of the method it was computed for if none of
+ * the members is package visible, since the family of such a method then does not depend on the
+ * member it was computed for. Members in other projects may search other projects, as the related
+ * projects of a project do not include the projects that refer to a project it requires. Otherwise
+ * a family is only remembered for the method it was computed for.
+ * <p>
+ * The index is kept up to date from the Java element deltas: adding, removing or changing the
+ * modifiers of a method drops the families of methods with that name, and other changes that can
+ * change the overriding of methods, like changes of types, compilation units or class paths, drop
+ * all families. Changes of method bodies, fields and imports keep the index.
+ * </p>
+ * <p>
+ * Every family that is found is checked against the ripple methods computed by
+ * {@link RippleMethodFinder2} when the debug option
+ * <code>org.eclipse.jdt.core.manipulation/debug/RippleMethodIndex</code> is set.
+ * </p>
+ */
+final class RippleMethodIndex implements IElementChangedListener {
+
+	/** Maximal number of methods in the index, the index is cleared when it grows beyond */
+	private static final int MAX_METHODS= 10000;
+
+	private static RippleMethodIndex fgInstance;
+
+	private static final class Key {
+
+		private final IMethod fMethod;
+
+		private final boolean fExcludeBinaries;
+
+		Key(IMethod method, boolean excludeBinaries) {
+			fMethod= method;
+			fExcludeBinaries= excludeBinaries;
+		}
+
+		@Override
+		public int hashCode() {
+			return fMethod.hashCode() * 31 + (fExcludeBinaries ? 1 : 0);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other= (Key) obj;
+			return fExcludeBinaries == other.fExcludeBinaries && fMethod.equals(other.fMethod);
+		}
+	}
+
+	private final Map<Key, IMethod[]> fFamilies= new HashMap<>();
+
+	/** Incremented on every change of the Java model */
+	private long fGeneration;
+
+	private RippleMethodIndex() {
+	}
+
+	static synchronized RippleMethodIndex getDefault() {
+		if (fgInstance == null) {
+			fgInstance= new RippleMethodIndex();
+			JavaCore.addElementChangedListener(fgInstance, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		}
+		return fgInstance;
+	}
+
+	/**
+	 * @return the generation of the index, to be passed to
+	 *         {@link #put(IMethod, boolean, IMethod[], long)} for a family that is computed
+	 *         afterwards
+	 */
+	synchronized long getGeneration() {
+		return fGeneration;
+	}
+
+	/**
+	 * Returns the known family of a method.
+	 *
+	 * @param method the method
+	 * @param excludeBinaries whether binary methods are excluded from the family
+	 * @return the family, or <code>null</code> if it is not known or a member does not exist
+	 *         anymore
+	 */
+	synchronized IMethod[] get(IMethod method, boolean excludeBinaries) {
+		IMethod[] family= fFamilies.get(new Key(method, excludeBinaries));
+		if (family == null)
+			return null;
+		for (IMethod member : family) {
+			if (!member.exists()) {
+				remove(family, excludeBinaries);
+				return null;
+			}
+		}
+		return family;
+	}
+
+	/**
+	 * Remembers the family of a method, unless the Java model has changed while it was computed.
+	 *
+	 * @param method the method the family was computed for
+	 * @param excludeBinaries whether binary methods are excluded from the family
+	 * @param family the ripple methods of the method
+	 * @param generation the generation of the index before the family was computed
+	 */
+	synchronized void put(IMethod method, boolean excludeBinaries, IMethod[] family, long generation) {
+		if (generation != fGeneration)
+			return;
+		if (fFamilies.size() + family.length > MAX_METHODS)
+			fFamilies.clear();
+		if (isSharedByMembers(family)) {
+			IJavaProject project= method.getJavaProject();
+			for (IMethod member : family) {
+				if (project.equals(member.getJavaProject()))
+					fFamilies.put(new Key(member, excludeBinaries), family);
+			}
+		} else {
+			fFamilies.put(new Key(method, excludeBinaries), family);
+		}
+	}
+
+	private static boolean isSharedByMembers(IMethod[] family) {
+		try {
+			for (IMethod member : family) {
+				if (JdtFlags.isPackageVisible(member) && !member.getDeclaringType().isInterface())
+					return false;
+			}
+			return true;
+		} catch (JavaModelException e) {
+			return false;
+		}
+	}
+
+	private void remove(IMethod[] family, boolean excludeBinaries) {
+		for (IMethod member : family) {
+			Key key= new Key(member, excludeBinaries);
+			if (fFamilies.get(key) == family)
+				fFamilies.remove(key);
+		}
+	}
+
+	@Override
+	public synchronized void elementChanged(ElementChangedEvent event) {
+		fGeneration++;
+		if (fFamilies.isEmpty())
+			return;
+		Set<String> changedNames= new HashSet<>();
+		if (!processDelta(event.getDelta(), changedNames)) {
+			fFamilies.clear();
+		} else if (!changedNames.isEmpty()) {
+			for (Iterator<Key> iter= fFamilies.keySet().iterator(); iter.hasNext();) {
+				if (changedNames.contains(iter.next().fMethod.getElementName()))
+					iter.remove();
+			}
+		}
+	}
+
+	/**
+	 * Collects the names of the methods that were added, removed or whose modifiers changed.
+	 *
+	 * @param delta the delta to process
+	 * @param changedNames the set that receives the names of the changed methods
+	 * @return <code>false</code> if the delta can change other families than those of the
+	 *         collected methods, for example because it adds local or anonymous types
+	 */
+	private static boolean processDelta(IJavaElementDelta delta, Set<String> changedNames) {
+		IJavaElement element= delta.getElement();
+		int kind= delta.getKind();
+		int flags= delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (kind != IJavaElementDelta.CHANGED || (flags & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_CONTENT)) != 0)
+					return false;
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+				if (kind != IJavaElementDelta.CHANGED)
+					return false;
+				if ((flags & IJavaElementDelta.F_CONTENT) != 0 && (flags & IJavaElementDelta.F_FINE_GRAINED) == 0)
+					return false;
+				break;
+			case IJavaElement.TYPE:
+				if (kind != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_SUPER_TYPES | IJavaElementDelta.F_MODIFIERS)) != 0)
+					return false;
+				break;
+			case IJavaElement.METHOD:
+				if (kind != IJavaElementDelta.CHANGED || (flags & IJavaElementDelta.F_MODIFIERS) != 0)
+					changedNames.add(element.getElementName());
+				//$FALL-THROUGH$
+			case IJavaElement.FIELD:
+			case IJavaElement.INITIALIZER:
+				if (kind == IJavaElementDelta.ADDED && hasLocalTypes((IParent) element))
+					return false;
+				break;
+			case IJavaElement.IMPORT_CONTAINER:
+			case IJavaElement.IMPORT_DECLARATION:
+			case IJavaElement.ANNOTATION:
+			case IJavaElement.TYPE_PARAMETER:
+			case IJavaElement.LOCAL_VARIABLE:
+				break;
+			default:
+				return false;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (!processDelta(child, changedNames))
+				return false;
+		}
+		return true;
+	}
+
+	private static boolean hasLocalTypes(IParent element) {
+		try {
+			return element.hasChildren();
+		} catch (JavaModelException e) {
+			return true;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,10 +13,6 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-
 import org.eclipse.core.runtime.Assert;
 
 import org.eclipse.jdt.core.dom.ITypeBinding;
@@ -75,6 +71,14 @@ public abstract class TType {
 	private int fModifiers;
 	private int fFlags;
 
+	/**
+	 * The number of this type in its environment, or <code>-1</code> if it has not been numbered
+	 * yet.
+	 *
+	 * @see TypeEnvironment#getTypeId(TType)
+	 */
+	int fTypeId= -1;
+
 	/**
 	 * Creates a new type with the given environment as an owner.
 	 * The type environment <em>must</em> call {@link #initialize(ITypeBinding)} after using this constructor.
@@ -517,14 +521,7 @@ public abstract class TType {
 	 * 		was not created with rememberSubtypes == true
 	 */
 	public TType[] getSubTypes() throws IllegalStateException {
-		Map<TType, ArrayList<TType>> subTypes= fEnvironment.getSubTypes();
-		if (subTypes == null)
-			throw new IllegalStateException("This TypeEnvironment does not remember subtypes"); //$NON-NLS-1$
-		List<TType> subtypes= subTypes.get(this);
-		if (subtypes == null)
-			return EMPTY_TYPE_ARRAY;
-		else
-			return subtypes.toArray(new TType[subtypes.size()]);
+		return fEnvironment.getSubTypes(this);
 	}
 
 	/**
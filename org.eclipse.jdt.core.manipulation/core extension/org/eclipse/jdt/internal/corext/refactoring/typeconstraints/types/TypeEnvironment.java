@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import org.eclipse.core.runtime.Assert;
 
@@ -29,6 +30,7 @@ import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeParameter;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTRequestor;
 import org.eclipse.jdt.core.dom.IBinding;
@@ -40,6 +42,10 @@ import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
  * A type environment comprises a set of {@link TType}s that stand for Java {@link ITypeBinding}s.
  * In contrast to type bindings, TTypes of the same type environment also work across project boundaries and
  * across compiler environments, i.e. a type environment can handle bindings from multiple {@link ASTParser} sessions.
+ * <p>
+ * A type environment can be used by several threads at once. Environments that are shared by all
+ * refactorings of a session are provided by {@link TypeEnvironmentCache}.
+ * </p>
  *
  * @see TType
  */
@@ -48,10 +54,13 @@ public class TypeEnvironment {
 	private static class ProjectKeyPair {
 		private final IJavaProject fProject;
 		private final String fBindingKey;
+		private final WorkingCopyOwner fOwner;
 
-		public ProjectKeyPair(IJavaProject project, String bindingKey) {
+		public ProjectKeyPair(IJavaProject project, String bindingKey, IJavaElement element) {
 			fProject= project;
 			fBindingKey= bindingKey;
+			ICompilationUnit unit= element != null ? (ICompilationUnit) element.getAncestor(IJavaElement.COMPILATION_UNIT) : null;
+			fOwner= unit != null ? unit.getOwner() : null;
 		}
 
 		@Override
@@ -61,7 +70,7 @@ public class TypeEnvironment {
 			if (! (other instanceof ProjectKeyPair))
 				return false;
 			ProjectKeyPair otherPair= (ProjectKeyPair) other;
-			return fProject.equals(otherPair.fProject) && fBindingKey.equals(otherPair.fBindingKey);
+			return fProject.equals(otherPair.fProject) && fBindingKey.equals(otherPair.fBindingKey) && Objects.equals(fOwner, otherPair.fOwner);
 		}
 
 		@Override
@@ -137,6 +146,13 @@ public class TypeEnvironment {
 	 */
 	private final boolean fRemoveCapures;
 
+	/**
+	 * Dense numbering of the types of this environment.
+	 * @see #getTypeId(TType)
+	 */
+	private Map<TType, Integer> fTypeIds= new HashMap<>();
+	private List<TType> fTypesById= new ArrayList<>();
+
 	public static ITypeBinding[] createTypeBindings(TType[] types, IJavaProject project) {
 		final Map<String, Object> mapping= new HashMap<>();
 		List<String> keys= new ArrayList<>();
@@ -182,11 +198,15 @@ public class TypeEnvironment {
 		fRemoveCapures= removeCapures;
 	}
 
-	Map<TypeTuple, Boolean> getSubTypeCache() {
-		return fSubTypeCache;
+	synchronized Boolean getCachedIsSubType(TypeTuple tuple) {
+		return fSubTypeCache.get(tuple);
 	}
 
-	public TType create(ITypeBinding binding) {
+	synchronized void cacheIsSubType(TypeTuple tuple, boolean isSubType) {
+		fSubTypeCache.put(tuple, Boolean.valueOf(isSubType));
+	}
+
+	public synchronized TType create(ITypeBinding binding) {
 		if (binding.isPrimitive()) {
 			return createPrimitiveType(binding);
 		} else if (binding.isArray()) {
@@ -219,7 +239,7 @@ public class TypeEnvironment {
 		return createStandardType(binding);
 	}
 
-	public TType[] create(ITypeBinding[] bindings) {
+	public synchronized TType[] create(ITypeBinding[] bindings) {
 		TType[] result= new TType[bindings.length];
 		for (int i= 0; i < bindings.length; i++) {
 			result[i]= create(bindings[i]);
@@ -227,6 +247,55 @@ public class TypeEnvironment {
 		return result;
 	}
 
+	/**
+	 * Returns the number of a type in this environment. Types are numbered in the order in which
+	 * they are first passed to this method, starting at <code>0</code>, and equal types have the
+	 * same number. Sets of types can therefore be represented as bit sets of their numbers.
+	 *
+	 * @param type the type
+	 * @return the number of the type
+	 * @see #getType(int)
+	 */
+	public synchronized int getTypeId(TType type) {
+		boolean owned= type.getEnvironment() == this;
+		if (owned && type.fTypeId >= 0)
+			return type.fTypeId;
+		Integer id= fTypeIds.get(type);
+		if (id == null) {
+			id= Integer.valueOf(fTypesById.size());
+			fTypeIds.put(type, id);
+			fTypesById.add(type);
+		}
+		if (owned)
+			type.fTypeId= id.intValue();
+		return id.intValue();
+	}
+
+	/**
+	 * Returns the number of a type in this environment like {@link #getTypeId(TType)}, but does
+	 * not number types that have no number yet. Lookups of types that are not in a set of types
+	 * therefore do not grow this environment.
+	 *
+	 * @param type the type
+	 * @return the number of the type, or <code>-1</code> if the type has no number yet
+	 */
+	public synchronized int peekTypeId(TType type) {
+		if (type.getEnvironment() == this && type.fTypeId >= 0)
+			return type.fTypeId;
+		Integer id= fTypeIds.get(type);
+		return id != null ? id.intValue() : -1;
+	}
+
+	/**
+	 * Returns the type with the given number.
+	 *
+	 * @param id a number returned by {@link #getTypeId(TType)}
+	 * @return the type
+	 */
+	public synchronized TType getType(int id) {
+		return fTypesById.get(id);
+	}
+
 	/**
 	 * Returns the TType for java.lang.Object.
 	 * <p>
@@ -237,11 +306,11 @@ public class TypeEnvironment {
 	 *
 	 * @see #initializeJavaLangObject(IJavaProject)
 	 */
-	public TType getJavaLangObject() {
+	public synchronized TType getJavaLangObject() {
 		return OBJECT_TYPE;
 	}
 
-	public void initializeJavaLangObject(IJavaProject project) {
+	public synchronized void initializeJavaLangObject(IJavaProject project) {
 		if (OBJECT_TYPE != null)
 			return;
 
@@ -249,7 +318,7 @@ public class TypeEnvironment {
 		Assert.isTrue(objectType.isJavaLangObject());
 	}
 
-	void initializeJavaLangObject(ITypeBinding object) {
+	synchronized void initializeJavaLangObject(ITypeBinding object) {
 		if (OBJECT_TYPE != null)
 			return;
 
@@ -266,7 +335,7 @@ public class TypeEnvironment {
 		return null;
 	}
 
-	StandardType createBoxed(PrimitiveType type, IJavaProject focus) {
+	synchronized StandardType createBoxed(PrimitiveType type, IJavaProject focus) {
 		String fullyQualifiedName= BOXED_PRIMITIVE_NAMES[type.getId()];
 		return createStandardType(fullyQualifiedName, focus);
 	}
@@ -287,8 +356,14 @@ public class TypeEnvironment {
 		return null;
 	}
 
-	Map<TType, ArrayList<TType>> getSubTypes() {
-		return fSubTypes;
+	synchronized TType[] getSubTypes(TType type) {
+		if (fSubTypes == null)
+			throw new IllegalStateException("This TypeEnvironment does not remember subtypes"); //$NON-NLS-1$
+		List<TType> subtypes= fSubTypes.get(type);
+		if (subtypes == null)
+			return TType.EMPTY_TYPE_ARRAY;
+		else
+			return subtypes.toArray(new TType[subtypes.size()]);
 	}
 
 	private void cacheSubType(TType supertype, TType result) {
@@ -338,7 +413,7 @@ public class TypeEnvironment {
 		return result;
 	}
 
-	public ArrayType createArrayType(TType elementType, int dimensions) {
+	public synchronized ArrayType createArrayType(TType elementType, int dimensions) {
 		Assert.isTrue(! elementType.isArrayType());
 		Assert.isTrue(! elementType.isAnonymous());
 		Assert.isTrue(dimensions > 0);
@@ -396,7 +471,7 @@ public class TypeEnvironment {
 	private ParameterizedType createParameterizedType(ITypeBinding binding) {
 		IJavaProject javaProject= binding.getJavaElement().getJavaProject();
 		String bindingKey= binding.getKey();
-		ProjectKeyPair pair= new ProjectKeyPair(javaProject, bindingKey);
+		ProjectKeyPair pair= new ProjectKeyPair(javaProject, bindingKey, binding.getJavaElement());
 		ParameterizedType result= fParameterizedTypes.get(pair);
 		if (result != null)
 			return result;
@@ -463,9 +538,10 @@ public class TypeEnvironment {
 	}
 
 	private CaptureType createCaptureType(ITypeBinding binding) {
-		IJavaProject javaProject= binding.getDeclaringClass().getJavaElement().getJavaProject();
+		IJavaElement declaringElement= binding.getDeclaringClass().getJavaElement();
+		IJavaProject javaProject= declaringElement.getJavaProject();
 		String bindingKey= binding.getKey();
-		ProjectKeyPair pair= new ProjectKeyPair(javaProject, bindingKey);
+		ProjectKeyPair pair= new ProjectKeyPair(javaProject, bindingKey, declaringElement);
 		CaptureType result= fCaptureTypes.get(pair);
 		if (result != null)
 			return result;
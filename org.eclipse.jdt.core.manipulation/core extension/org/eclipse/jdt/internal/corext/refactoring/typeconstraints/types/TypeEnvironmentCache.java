@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * The {@link TypeEnvironment}s shared by the refactorings and quick assists of a session, so that
+ * an operation that follows another one on the same code reuses its types and its subtype cache.
+ * An environment is keyed on the project it is used for, together with whether it replaces capture
+ * types by their wildcards. Any change of the Java model, including the reconcile of a working
+ * copy, may change the types of the environments and drops all of them. Callers keep using the
+ * environment they got for the duration of one operation.
+ * <p>
+ * Shared environments do not remember subtypes: the subtypes known to an environment depend on
+ * the types it has created, so they would differ between the first and the later users.
+ * </p>
+ */
+public final class TypeEnvironmentCache implements IElementChangedListener {
+
+	private static TypeEnvironmentCache fgInstance;
+
+	private static final class Key {
+
+		private final IJavaProject fProject;
+
+		private final boolean fRemoveCaptures;
+
+		Key(IJavaProject project, boolean removeCaptures) {
+			fProject= project;
+			fRemoveCaptures= removeCaptures;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(fProject) * 31 + (fRemoveCaptures ? 1 : 0);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other= (Key) obj;
+			return fRemoveCaptures == other.fRemoveCaptures && Objects.equals(fProject, other.fProject);
+		}
+	}
+
+	private final Map<Key, TypeEnvironment> fEnvironments= new HashMap<>();
+
+	private TypeEnvironmentCache() {
+	}
+
+	private static synchronized TypeEnvironmentCache getDefault() {
+		if (fgInstance == null) {
+			fgInstance= new TypeEnvironmentCache();
+			JavaCore.addElementChangedListener(fgInstance, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		}
+		return fgInstance;
+	}
+
+	/**
+	 * Returns the shared type environment for a project.
+	 *
+	 * @param project the project whose bindings are converted, or <code>null</code> if the
+	 *            environment is not used for a particular project
+	 * @param removeCaptures if <code>true</code>, capture types are replaced by their wildcard type
+	 * @return the shared type environment
+	 */
+	public static TypeEnvironment getTypeEnvironment(IJavaProject project, boolean removeCaptures) {
+		return getDefault().get(new Key(project, removeCaptures));
+	}
+
+	private synchronized TypeEnvironment get(Key key) {
+		TypeEnvironment environment= fEnvironments.get(key);
+		if (environment == null) {
+			environment= new TypeEnvironment(false, key.fRemoveCaptures);
+			fEnvironments.put(key, environment);
+		}
+		return environment;
+	}
+
+	@Override
+	public synchronized void elementChanged(ElementChangedEvent event) {
+		fEnvironments.clear();
+	}
+}
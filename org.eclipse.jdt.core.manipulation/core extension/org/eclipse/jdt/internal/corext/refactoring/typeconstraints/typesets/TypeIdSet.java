@@ -0,0 +1,267 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.typeconstraints.typesets;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types.TType;
+import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types.TypeEnvironment;
+
+/**
+ * A set of {@link TType}s that is backed by a {@link BitSet} of the numbers of its members in
+ * their {@link TypeEnvironment}. Membership tests and the bulk operations between two such sets of
+ * the same environment are bit operations and do not compute hash codes of types.
+ * <p>
+ * Like a {@link java.util.LinkedHashSet}, the set iterates over its members in the order in which
+ * they were added.
+ * </p>
+ *
+ * @see TypeEnvironment#getTypeId(TType)
+ */
+final class TypeIdSet extends AbstractSet<TType> {
+
+	private final TypeEnvironment fTypeEnvironment;
+
+	private final BitSet fIds;
+
+	/**
+	 * The numbers of the members in the order in which they were added. Numbers of removed members
+	 * are skipped when iterating and dropped before the next member is added.
+	 */
+	private int[] fOrder;
+
+	private int fOrderSize;
+
+	private int fSize;
+
+	private int fHashCode;
+
+	private boolean fHashCodeValid;
+
+	TypeIdSet(TypeEnvironment typeEnvironment) {
+		fTypeEnvironment= typeEnvironment;
+		fIds= new BitSet();
+		fOrder= new int[4];
+	}
+
+	TypeIdSet(TypeIdSet set) {
+		fTypeEnvironment= set.fTypeEnvironment;
+		fIds= (BitSet) set.fIds.clone();
+		fOrder= new int[Math.max(4, set.fSize)];
+		for (int i= 0; i < set.fOrderSize; i++) {
+			int id= set.fOrder[i];
+			if (fIds.get(id))
+				fOrder[fOrderSize++]= id;
+		}
+		fSize= set.fSize;
+		fHashCode= set.fHashCode;
+		fHashCodeValid= set.fHashCodeValid;
+	}
+
+	/**
+	 * Returns the number of a type to look up, without numbering unknown types. A type without a
+	 * number cannot be a member of any set.
+	 */
+	private int getId(Object o) {
+		return o instanceof TType ? fTypeEnvironment.peekTypeId((TType) o) : -1;
+	}
+
+	private boolean isCompatible(Collection<?> c) {
+		return c instanceof TypeIdSet && ((TypeIdSet) c).fTypeEnvironment == fTypeEnvironment;
+	}
+
+	@Override
+	public int size() {
+		return fSize;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		int id= getId(o);
+		return id >= 0 && fIds.get(id);
+	}
+
+	@Override
+	public boolean add(TType t) {
+		return addId(fTypeEnvironment.getTypeId(t));
+	}
+
+	private boolean addId(int id) {
+		if (fIds.get(id))
+			return false;
+		if (fOrderSize > fSize)
+			compact();
+		if (fOrderSize == fOrder.length)
+			fOrder= Arrays.copyOf(fOrder, fOrderSize * 2);
+		fOrder[fOrderSize++]= id;
+		fIds.set(id);
+		fSize++;
+		fHashCodeValid= false;
+		return true;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		int id= getId(o);
+		if (id < 0 || !fIds.get(id))
+			return false;
+		removeId(id);
+		return true;
+	}
+
+	private void removeId(int id) {
+		fIds.clear(id);
+		fSize--;
+		if (fSize == 0)
+			fOrderSize= 0;
+		fHashCodeValid= false;
+	}
+
+	/**
+	 * Drops the numbers of removed members from the order.
+	 */
+	private void compact() {
+		int size= 0;
+		for (int i= 0; i < fOrderSize; i++) {
+			int id= fOrder[i];
+			if (fIds.get(id))
+				fOrder[size++]= id;
+		}
+		fOrderSize= size;
+	}
+
+	@Override
+	public void clear() {
+		fIds.clear();
+		fOrderSize= 0;
+		fSize= 0;
+		fHashCodeValid= false;
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends TType> c) {
+		if (!isCompatible(c))
+			return super.addAll(c);
+		TypeIdSet other= (TypeIdSet) c;
+		boolean changed= false;
+		for (int i= 0; i < other.fOrderSize; i++) {
+			int id= other.fOrder[i];
+			if (other.fIds.get(id))
+				changed|= addId(id);
+		}
+		return changed;
+	}
+
+	@Override
+	public boolean retainAll(Collection<?> c) {
+		if (!isCompatible(c))
+			return super.retainAll(c);
+		fIds.and(((TypeIdSet) c).fIds);
+		return updateSize();
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		if (!isCompatible(c))
+			return super.removeAll(c);
+		fIds.andNot(((TypeIdSet) c).fIds);
+		return updateSize();
+	}
+
+	private boolean updateSize() {
+		int size= fIds.cardinality();
+		if (size == fSize)
+			return false;
+		fSize= size;
+		if (fSize == 0)
+			fOrderSize= 0;
+		fHashCodeValid= false;
+		return true;
+	}
+
+	@Override
+	public boolean containsAll(Collection<?> c) {
+		if (!isCompatible(c))
+			return super.containsAll(c);
+		BitSet otherIds= ((TypeIdSet) c).fIds;
+		for (int id= otherIds.nextSetBit(0); id >= 0; id= otherIds.nextSetBit(id + 1)) {
+			if (!fIds.get(id))
+				return false;
+		}
+		return true;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (o == this)
+			return true;
+		if (o instanceof TypeIdSet && isCompatible((TypeIdSet) o)) {
+			TypeIdSet other= (TypeIdSet) o;
+			return fSize == other.fSize && fIds.equals(other.fIds);
+		}
+		return super.equals(o);
+	}
+
+	@Override
+	public int hashCode() {
+		if (!fHashCodeValid) {
+			fHashCode= super.hashCode();
+			fHashCodeValid= true;
+		}
+		return fHashCode;
+	}
+
+	@Override
+	public Iterator<TType> iterator() {
+		return new Iterator<>() {
+
+			private int fNext= skipRemoved(0);
+
+			private int fLast= -1;
+
+			private int skipRemoved(int index) {
+				while (index < fOrderSize && !fIds.get(fOrder[index]))
+					index++;
+				return index;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return fNext < fOrderSize;
+			}
+
+			@Override
+			public TType next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				fLast= fOrder[fNext];
+				fNext= skipRemoved(fNext + 1);
+				return fTypeEnvironment.getType(fLast);
+			}
+
+			@Override
+			public void remove() {
+				if (fLast < 0)
+					throw new IllegalStateException();
+				removeId(fLast);
+				fLast= -1;
+			}
+		};
+	}
+}
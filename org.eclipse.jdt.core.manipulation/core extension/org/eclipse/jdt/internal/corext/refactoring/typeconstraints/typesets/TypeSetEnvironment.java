@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2015 IBM Corporation and others.
+ * Copyright (c) 2005, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -42,6 +42,10 @@ public class TypeSetEnvironment {
 		fEmptyTypeSet= new EmptyTypeSet(this);
 	}
 
+	public TypeEnvironment getTypeEnvironment() {
+		return fTypeEnvironment;
+	}
+
 	public TType getJavaLangObject() {
 		return fTypeEnvironment.getJavaLangObject();
 	}
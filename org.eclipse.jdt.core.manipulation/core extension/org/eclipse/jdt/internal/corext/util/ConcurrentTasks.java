@@ -0,0 +1,247 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntPredicate;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Runs independent tasks concurrently on bounded pools of daemon threads. Each pool is identified
+ * by the name of its threads, has between 2 and 4 threads depending on the number of processors,
+ * and lets its threads time out when idle.
+ * <p>
+ * {@link #invokeAll(String, List, long, IProgressMonitor)} waits for the tasks in the calling
+ * thread and checks the monitor of the caller for cancellation while waiting. Each task gets a
+ * {@link DelegatingCancelMonitor} of its own, which is canceled together with the monitor of the
+ * caller, or when the task is abandoned.
+ * </p>
+ */
+public final class ConcurrentTasks {
+
+	/**
+	 * A task that computes a part of a result.
+	 *
+	 * @param <T> the type of the result
+	 */
+	@FunctionalInterface
+	public interface Task<T> {
+		/**
+		 * @param monitor the monitor to check for cancellation, not for progress reporting
+		 * @return the result of the task
+		 * @throws CoreException if the task failed
+		 */
+		T run(IProgressMonitor monitor) throws CoreException;
+	}
+
+	/**
+	 * Progress monitor of a task on a pool, canceled together with the monitor of the caller.
+	 */
+	public static final class DelegatingCancelMonitor extends NullProgressMonitor {
+
+		private final IProgressMonitor fParent;
+
+		public DelegatingCancelMonitor(IProgressMonitor parent) {
+			fParent= parent;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return super.isCanceled() || fParent.isCanceled();
+		}
+	}
+
+	/** Interval in which the waiting thread checks for cancellation, in milliseconds */
+	public static final long CANCEL_POLL_INTERVAL= 100;
+
+	private static final Map<String, ThreadPoolExecutor> fgExecutors= new HashMap<>();
+
+	private ConcurrentTasks() {
+	}
+
+	/**
+	 * Returns the pool with the given name, creating it on first use.
+	 *
+	 * @param name the name of the pool and its threads
+	 * @return the pool
+	 */
+	public static synchronized ThreadPoolExecutor getExecutor(String name) {
+		ThreadPoolExecutor executor= fgExecutors.get(name);
+		if (executor == null) {
+			int threads= Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+			executor= new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+				Thread thread= new Thread(runnable, name);
+				thread.setDaemon(true);
+				return thread;
+			});
+			executor.allowCoreThreadTimeOut(true);
+			fgExecutors.put(name, executor);
+		}
+		return executor;
+	}
+
+	/**
+	 * Runs tasks concurrently and waits for all of them.
+	 *
+	 * @param <T> the type of the results
+	 * @param name the name of the pool that runs the tasks
+	 * @param tasks the tasks
+	 * @param monitor the progress monitor of the caller, which is worked by 1 for each task, or
+	 *            <code>null</code>
+	 * @return the results, in the order of the tasks
+	 * @throws CoreException if a task failed, the other tasks are canceled then
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	public static <T> List<T> invokeAll(String name, List<? extends Task<? extends T>> tasks, IProgressMonitor monitor) throws CoreException {
+		return invokeAll(name, tasks, -1, monitor);
+	}
+
+	/**
+	 * Runs tasks concurrently and waits for them at most the given time. The monitors of the tasks
+	 * that are not done then are canceled, and the tasks are abandoned. They may still run for a
+	 * while if they do not check their monitor.
+	 *
+	 * @param <T> the type of the results
+	 * @param name the name of the pool that runs the tasks
+	 * @param tasks the tasks
+	 * @param timeout the time to wait for the tasks in milliseconds, or a negative value to wait
+	 *            until all tasks are done
+	 * @param monitor the progress monitor of the caller, which is worked by 1 for each task that is
+	 *            done, or <code>null</code>
+	 * @return the results, in the order of the tasks, with <code>null</code> for the tasks that
+	 *         were not done in time
+	 * @throws CoreException if a task failed, the other tasks are canceled then
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	public static <T> List<T> invokeAll(String name, List<? extends Task<? extends T>> tasks, long timeout, IProgressMonitor monitor) throws CoreException {
+		return invokeAll(name, tasks, index -> false, timeout, monitor);
+	}
+
+	/**
+	 * Runs tasks concurrently like {@link #invokeAll(String, List, long, IProgressMonitor)}, except
+	 * for the tasks that must run in the calling thread. These run one after the other in the
+	 * calling thread while the other tasks run on the pool, and are not subject to the timeout.
+	 *
+	 * @param <T> the type of the results
+	 * @param name the name of the pool that runs the tasks
+	 * @param tasks the tasks
+	 * @param inCallingThread tells by the index of a task whether it must run in the calling thread
+	 * @param timeout the time to wait for the tasks on the pool in milliseconds, or a negative value
+	 *            to wait until all tasks are done
+	 * @param monitor the progress monitor of the caller, which is worked by 1 for each task that is
+	 *            done, or <code>null</code>
+	 * @return the results, in the order of the tasks, with <code>null</code> for the tasks that
+	 *         were not done in time
+	 * @throws CoreException if a task failed, the other tasks are canceled then
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	public static <T> List<T> invokeAll(String name, List<? extends Task<? extends T>> tasks, IntPredicate inCallingThread, long timeout, IProgressMonitor monitor) throws CoreException {
+		IProgressMonitor pm= monitor != null ? monitor : new NullProgressMonitor();
+		ThreadPoolExecutor executor= getExecutor(name);
+		int size= tasks.size();
+		List<DelegatingCancelMonitor> monitors= new ArrayList<>(size);
+		List<Future<? extends T>> futures= new ArrayList<>(size);
+		long deadline= System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeout));
+		boolean completed= false;
+		try {
+			for (int i= 0; i < size; i++) {
+				if (inCallingThread.test(i)) {
+					monitors.add(null);
+					futures.add(null);
+					continue;
+				}
+				Task<? extends T> task= tasks.get(i);
+				DelegatingCancelMonitor taskMonitor= new DelegatingCancelMonitor(pm);
+				monitors.add(taskMonitor);
+				futures.add(executor.submit(() -> task.run(taskMonitor)));
+			}
+			List<T> results= new ArrayList<>(size);
+			for (int i= 0; i < size; i++) {
+				if (futures.get(i) != null) {
+					results.add(null);
+				} else {
+					if (pm.isCanceled())
+						throw new OperationCanceledException();
+					results.add(tasks.get(i).run(pm));
+					pm.worked(1);
+				}
+			}
+			for (int i= 0; i < size; i++) {
+				if (futures.get(i) != null)
+					results.set(i, await(futures.get(i), timeout >= 0, deadline, pm));
+			}
+			completed= true;
+			return results;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof CoreException)
+				throw (CoreException) e.getCause();
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			for (int i= 0; i < futures.size(); i++) {
+				Future<? extends T> future= futures.get(i);
+				if (future != null && (!completed || !future.isDone())) {
+					monitors.get(i).setCanceled(true);
+					future.cancel(false);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param timed whether the task is abandoned at the deadline
+	 * @param deadline the value of {@link System#nanoTime()} after which the task is abandoned
+	 * @return the result, or <code>null</code> if the task is not done at the deadline
+	 */
+	private static <T> T await(Future<T> future, boolean timed, long deadline, IProgressMonitor monitor) throws InterruptedException, ExecutionException {
+		while (true) {
+			if (future.isDone()) {
+				T result= future.get();
+				monitor.worked(1);
+				return result;
+			}
+			if (monitor.isCanceled())
+				throw new OperationCanceledException();
+			long wait= TimeUnit.MILLISECONDS.toNanos(CANCEL_POLL_INTERVAL);
+			if (timed) {
+				long remaining= deadline - System.nanoTime();
+				if (remaining <= 0)
+					return null;
+				wait= Math.min(wait, remaining);
+			}
+			try {
+				future.get(wait, TimeUnit.NANOSECONDS);
+			} catch (TimeoutException e) {
+				// check for cancellation and the deadline
+			}
+		}
+	}
+}
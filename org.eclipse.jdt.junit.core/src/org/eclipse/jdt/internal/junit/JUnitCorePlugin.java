@@ -84,6 +84,8 @@ public class JUnitCorePlugin extends Plugin {
 
 	private static final String HISTORY_DIR_NAME= "history"; //$NON-NLS-1$
 
+	private static final String DURATION_HISTORY_FILE_NAME= "testDurations.dat"; //$NON-NLS-1$
+
 	private final JUnitModel fJUnitModel= new JUnitModel();
 
 
@@ -287,6 +289,15 @@ public class JUnitCorePlugin extends Plugin {
 		return fIsStopped;
 	}
 
+	/**
+	 * @return the file of the {@link org.eclipse.jdt.internal.junit.model.TestDurationHistory},
+	 *         which is kept when the history directory is cleared
+	 * @throws IllegalStateException if the state location is not available
+	 */
+	public static File getDurationHistoryFile() throws IllegalStateException {
+		return getDefault().getStateLocation().append(DURATION_HISTORY_FILE_NAME).toFile();
+	}
+
 	public static File getHistoryDirectory() throws IllegalStateException {
 		File historyDir= getDefault().getStateLocation().append(HISTORY_DIR_NAME).toFile();
 		if (! historyDir.isDirectory()) {
@@ -62,6 +62,12 @@ public class JUnitPreferencesConstants {
 	 */
 	public static final String MAX_TEST_RUNS= JUnitCorePlugin.PLUGIN_ID + ".max_test_runs"; //$NON-NLS-1$
 
+	/**
+	 * Percentage of its median duration above which a test run is reported as a duration
+	 * regression, see {@link org.eclipse.jdt.internal.junit.model.TestDurationHistory}.
+	 */
+	public static final String DURATION_REGRESSION_THRESHOLD= JUnitCorePlugin.PLUGIN_ID + ".duration_regression_threshold"; //$NON-NLS-1$
+
 	/**
 	 * Javadoc location for JUnit 3
 	 */
@@ -84,6 +84,36 @@ public class JUnitLaunchConfigurationConstants {
 	 */
 	public static final String ATTR_TEST_UNIQUE_ID= JUnitCorePlugin.PLUGIN_ID + ".TEST_UNIQUE_ID"; //$NON-NLS-1$
 
+	/**
+	 * Whether the test runner reports with the compact binary protocol instead of the text
+	 * protocol. Boolean, <code>false</code> if not set.
+	 */
+	public static final String ATTR_BINARY_PROTOCOL= JUnitCorePlugin.PLUGIN_ID + ".BINARY_PROTOCOL"; //$NON-NLS-1$
+
+	/**
+	 * The number of threads that run the tests in parallel (applicable to JUnit 5 and above).
+	 * Integer, <code>0</code> if not set: the JUnit Platform configuration of the project is
+	 * used.
+	 */
+	public static final String ATTR_PARALLELISM= JUnitCorePlugin.PLUGIN_ID + ".PARALLELISM"; //$NON-NLS-1$
+
+	/**
+	 * The order of the tests based on their durations in previous runs:
+	 * {@link #TEST_ORDER_SLOWEST_FIRST} or {@link #TEST_ORDER_FASTEST_FIRST} (applicable to JUnit 4
+	 * and above). String, the order of the test runner if not set.
+	 */
+	public static final String ATTR_TEST_ORDER= JUnitCorePlugin.PLUGIN_ID + ".TEST_ORDER"; //$NON-NLS-1$
+
+	/**
+	 * Value of {@link #ATTR_TEST_ORDER} to run the slowest tests first.
+	 */
+	public static final String TEST_ORDER_SLOWEST_FIRST= "slowest"; //$NON-NLS-1$
+
+	/**
+	 * Value of {@link #ATTR_TEST_ORDER} to run the fastest tests first.
+	 */
+	public static final String TEST_ORDER_FASTEST_FIRST= "fastest"; //$NON-NLS-1$
+
 	public static ITestKind getTestRunnerKind(ILaunchConfiguration launchConfiguration) {
 		try {
 			String loaderId = launchConfiguration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_RUNNER_KIND, (String) null);
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.eclipse.jdt.junit.model.ITestElement.FailureTrace;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+
+/**
+ * Keeps the failure traces of a running test session in a file, such that a failed
+ * {@link TestElement} only holds the offset of its trace, expected and actual values.
+ * <p>
+ * The file is created on the first failure and deleted by {@link #dispose()}.
+ * </p>
+ */
+public final class FailureTraceStore {
+
+	/**
+	 * A failure trace in the store.
+	 */
+	private final class StoredTrace implements TestElement.TraceReference {
+		private final long fOffset;
+
+		public StoredTrace(long offset) {
+			fOffset= offset;
+		}
+
+		@Override
+		public FailureTrace load() {
+			return read(fOffset);
+		}
+	}
+
+	private final File fDirectory;
+
+	private File fFile;
+	private RandomAccessFile fAccess;
+	private boolean fDisposed;
+
+	/**
+	 * @param directory the directory for the store file
+	 */
+	public FailureTraceStore(File directory) {
+		fDirectory= directory;
+	}
+
+	/**
+	 * Appends a failure trace to the store.
+	 *
+	 * @param trace the trace, can be <code>null</code>
+	 * @param expected the expected value, can be <code>null</code>
+	 * @param actual the actual value, can be <code>null</code>
+	 * @return the reference to the stored trace
+	 * @throws IOException if the trace could not be written
+	 */
+	public synchronized TestElement.TraceReference add(String trace, String expected, String actual) throws IOException {
+		if (fDisposed)
+			throw new IOException("Failure trace store disposed"); //$NON-NLS-1$
+		if (fAccess == null) {
+			fFile= File.createTempFile("traces", ".tmp", fDirectory); //$NON-NLS-1$ //$NON-NLS-2$
+			fAccess= new RandomAccessFile(fFile, "rw"); //$NON-NLS-1$
+		}
+		ByteArrayOutputStream bytes= new ByteArrayOutputStream();
+		try (DataOutputStream out= new DataOutputStream(bytes)) {
+			TestRunSessionSwapFile.writeNullableString(out, trace);
+			TestRunSessionSwapFile.writeNullableString(out, expected);
+			TestRunSessionSwapFile.writeNullableString(out, actual);
+		}
+		long offset= fAccess.length();
+		fAccess.seek(offset);
+		fAccess.write(bytes.toByteArray());
+		return new StoredTrace(offset);
+	}
+
+	private synchronized FailureTrace read(long offset) {
+		if (fDisposed)
+			return null;
+		try {
+			fAccess.seek(offset);
+			String trace= TestRunSessionSwapFile.readNullableString(fAccess);
+			String expected= TestRunSessionSwapFile.readNullableString(fAccess);
+			String actual= TestRunSessionSwapFile.readNullableString(fAccess);
+			return new FailureTrace(trace, expected, actual);
+		} catch (IOException e) {
+			JUnitCorePlugin.log(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Closes and deletes the store file. Traces that have not been loaded are lost.
+	 */
+	public synchronized void dispose() {
+		fDisposed= true;
+		if (fAccess != null) {
+			try {
+				fAccess.close();
+			} catch (IOException e) {
+				JUnitCorePlugin.log(e);
+			}
+			fAccess= null;
+			fFile.delete();
+		}
+	}
+}
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.model;
+
+import java.util.Collection;
+
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+
+/**
+ * A test session listener that is notified of started, ended and failed tests in batches.
+ * <p>
+ * Listeners implementing this interface do not receive the individual
+ * {@link #testStarted(TestCaseElement)}, {@link #testEnded(TestCaseElement)} and
+ * {@link #testFailed(TestElement, Status, String, String, String)} notifications. Instead, the
+ * tests that changed are collected and passed to {@link #testsChanged(Collection)} at most every
+ * {@link TestRunSession#BATCH_INTERVAL} ms. Pending changes are always delivered before the
+ * session-level notifications and before {@link #testReran(TestCaseElement, Status, String, String, String)}.
+ * </p>
+ */
+public interface ITestSessionBatchListener extends ITestSessionListener {
+
+	/**
+	 * Tests have started, ended or failed since the last notification. The current state is
+	 * available from the test elements.
+	 *
+	 * @param testElements the changed tests in the order of their first change, unmodifiable
+	 */
+	void testsChanged(Collection<TestElement> testElements);
+
+	@Override
+	default void testStarted(TestCaseElement testCaseElement) {
+		// reported by testsChanged(Collection)
+	}
+
+	@Override
+	default void testEnded(TestCaseElement testCaseElement) {
+		// reported by testsChanged(Collection)
+	}
+
+	@Override
+	default void testFailed(TestElement testElement, Status status, String trace, String expected, String actual) {
+		// reported by testsChanged(Collection)
+	}
+}
@@ -136,6 +136,7 @@ public final class JUnitModel {
 
 		private void connectTestRunner(ILaunch launch, IJavaProject javaProject, int port) {
 			TestRunSession testRunSession= new TestRunSession(launch, javaProject, port);
+			testRunSession.addTestSessionListener(new DurationHistoryRecorder(testRunSession));
 			addTestRunSession(testRunSession);
 
 			for (TestRunListener listener : JUnitCorePlugin.getDefault().getNewTestRunListeners()) {
@@ -144,6 +145,69 @@ public final class JUnitModel {
 		}
 	}
 
+	/**
+	 * Adds the durations of a completed test run to the {@link TestDurationHistory}.
+	 */
+	private final class DurationHistoryRecorder implements ITestSessionListener {
+		private final TestRunSession fTestRunSession;
+
+		public DurationHistoryRecorder(TestRunSession testRunSession) {
+			fTestRunSession= testRunSession;
+		}
+
+		@Override
+		public void sessionEnded(long elapsedTime) {
+			int threshold= Platform.getPreferencesService().getInt(JUnitCorePlugin.CORE_PLUGIN_ID, JUnitPreferencesConstants.DURATION_REGRESSION_THRESHOLD, 200, null);
+			List<String> regressions= getTestDurationHistory().record(fTestRunSession, threshold / 100d);
+			fTestRunSession.setDurationRegressions(regressions);
+			fTestRunSession.removeTestSessionListener(this);
+		}
+
+		@Override
+		public void sessionStopped(long elapsedTime) {
+			// durations of a stopped run are incomplete
+			fTestRunSession.removeTestSessionListener(this);
+		}
+
+		@Override
+		public void sessionTerminated() {
+			fTestRunSession.removeTestSessionListener(this);
+		}
+
+		@Override
+		public void sessionStarted() {
+		}
+
+		@Override
+		public void testAdded(TestElement testElement) {
+		}
+
+		@Override
+		public void runningBegins() {
+		}
+
+		@Override
+		public void testStarted(TestCaseElement testCaseElement) {
+		}
+
+		@Override
+		public void testEnded(TestCaseElement testCaseElement) {
+		}
+
+		@Override
+		public void testFailed(TestElement testElement, Status status, String trace, String expected, String actual) {
+		}
+
+		@Override
+		public void testReran(TestCaseElement testCaseElement, Status status, String trace, String expectedResult, String actualResult) {
+		}
+
+		@Override
+		public boolean acceptsSwapToDisk() {
+			return true;
+		}
+	}
+
 	/**
 	 * @deprecated to prevent deprecation warnings
 	 */
@@ -257,6 +321,11 @@ public final class JUnitModel {
 	private final LinkedList<TestRunSession> fTestRunSessions= new LinkedList<>();
 	private final ILaunchListener fLaunchListener= new JUnitLaunchListener();
 
+	/**
+	 * The durations of previous test runs, or <code>null</code> if not loaded yet.
+	 */
+	private TestDurationHistory fDurationHistory;
+
 	/**
 	 * Starts the model (called by the {@link JUnitCorePlugin} on startup).
 	 */
@@ -302,6 +371,16 @@ public final class JUnitModel {
 		ILaunchManager launchManager= DebugPlugin.getDefault().getLaunchManager();
 		launchManager.removeLaunchListener(fLaunchListener);
 
+		synchronized (this) {
+			if (fDurationHistory != null) {
+				try {
+					fDurationHistory.save(JUnitCorePlugin.getDurationHistoryFile());
+				} catch (IOException | IllegalStateException e) {
+					JUnitCorePlugin.log(e);
+				}
+			}
+		}
+
 		File historyDirectory= JUnitCorePlugin.getHistoryDirectory();
 		File[] swapFiles= historyDirectory.listFiles();
 		if (swapFiles != null) {
@@ -324,6 +403,21 @@ public final class JUnitModel {
 	}
 
 
+	/**
+	 * @return the durations of previous test runs, loaded on first access
+	 */
+	public synchronized TestDurationHistory getTestDurationHistory() {
+		if (fDurationHistory == null) {
+			fDurationHistory= new TestDurationHistory();
+			try {
+				fDurationHistory.load(JUnitCorePlugin.getDurationHistoryFile());
+			} catch (IOException | IllegalStateException e) {
+				JUnitCorePlugin.log(e);
+			}
+		}
+		return fDurationHistory;
+	}
+
 	public void addTestRunSessionListener(ITestRunSessionListener listener) {
 		fTestRunSessionListeners.add(listener);
 	}
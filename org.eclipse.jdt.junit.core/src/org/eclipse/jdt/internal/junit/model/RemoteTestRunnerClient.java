@@ -15,21 +15,32 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.model;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.PushbackReader;
+import java.io.StringReader;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.SafeRunner;
 
 import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.runner.BinaryProtocol;
 import org.eclipse.jdt.internal.junit.runner.MessageIds;
 import org.eclipse.jdt.internal.junit.runner.RemoteTestRunner;
 
@@ -177,19 +188,7 @@ public class RemoteTestRunnerClient {
 	    @Override
 		ProcessingState readMessage(String message) {
 	        if (message.startsWith(MessageIds.TRACE_END)) {
-	        	// Workaround for JUnit 5 test execution stop
-	        	// triggered by user: see JUnit5TestReference
-	        	String trace = fFailedTrace.toString();
-				if(trace.startsWith("java.lang.OutOfMemoryError: Junit5 test stopped by user")) {//$NON-NLS-1$
-					// Faked JUnit5 test error, just stop the test
-					notifyTestRunStopped(0);
-				} else {
-					// default Junit4 handling
-					notifyTestFailed();
-				}
-	            fFailedTrace.setLength(0);
-	            fActualResult.setLength(0);
-	            fExpectedResult.setLength(0);
+	        	traceEnded();
 	            return fDefaultState;
 	        }
 	        fFailedTrace.append(message);
@@ -257,6 +256,18 @@ public class RemoteTestRunnerClient {
 
 	private boolean fDebug= false;
 
+	/**
+	 * Reader for the binary protocol, or <code>null</code> if not connected or
+	 * the text protocol is used
+	 */
+	private DataInputStream fBinaryReader;
+	/**
+	 * The interned test ids and names of the binary protocol, by index
+	 */
+	private final List<String> fTestIds= new ArrayList<>();
+	private final List<String> fTestNames= new ArrayList<>();
+	private final Map<String, Integer> fTestIndexes= new HashMap<>();
+
 	/**
 	 * Reads the message stream from the RemoteTestRunner
 	 */
@@ -275,11 +286,19 @@ public class RemoteTestRunnerClient {
 					System.out.println("Creating server socket "+fServerPort); //$NON-NLS-1$
 				fServerSocket= new ServerSocket(fServerPort);
 				fSocket= fServerSocket.accept();
-				fPushbackReader= new PushbackReader(new BufferedReader(new InputStreamReader(fSocket.getInputStream(), StandardCharsets.UTF_8)));
+				InputStream in= new BufferedInputStream(fSocket.getInputStream());
 				fWriter= new PrintWriter(new OutputStreamWriter(fSocket.getOutputStream(), StandardCharsets.UTF_8), true);
-				String message;
-				while(fPushbackReader != null && (message= readMessage(fPushbackReader)) != null)
-					receiveMessage(message);
+				String message= readFirstMessage(in);
+				if ((MessageIds.PROTOCOL + BinaryProtocol.VERSION).equals(message)) {
+					fBinaryReader= new DataInputStream(in);
+					receiveFrames();
+				} else {
+					fPushbackReader= new PushbackReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+					if (message != null)
+						receiveMessage(message);
+					while(fPushbackReader != null && (message= readMessage(fPushbackReader)) != null)
+						receiveMessage(message);
+				}
 			} catch (SocketException e) {
 				notifyTestRunTerminated();
 			} catch (IOException e) {
@@ -335,6 +354,13 @@ public class RemoteTestRunnerClient {
 			}
 		} catch(IOException e) {
 		}
+		try {
+			if (fBinaryReader != null) {
+				fBinaryReader.close();
+				fBinaryReader= null;
+			}
+		} catch(IOException e) {
+		}
 		try {
 			if (fSocket != null) {
 				fSocket.close();
@@ -383,10 +409,147 @@ public class RemoteTestRunnerClient {
 		return buf.toString();
 	}
 
+	/**
+	 * Reads the first line, which tells whether the binary protocol is used, without
+	 * consuming more bytes from the stream.
+	 *
+	 * @param in the stream
+	 * @return the first line or <code>null</code> if the stream is empty
+	 * @throws IOException if reading fails
+	 */
+	private String readFirstMessage(InputStream in) throws IOException {
+		ByteArrayOutputStream line= new ByteArrayOutputStream(128);
+		int b;
+		while ((b= in.read()) != -1) {
+			if (b == '\n') {
+				fLastLineDelimiter= "\n"; //$NON-NLS-1$
+				return line.toString(StandardCharsets.UTF_8);
+			} else if (b == '\r') {
+				in.mark(1);
+				if (in.read() == '\n') {
+					fLastLineDelimiter= "\r\n"; //$NON-NLS-1$
+				} else {
+					in.reset();
+					fLastLineDelimiter= "\r"; //$NON-NLS-1$
+				}
+				return line.toString(StandardCharsets.UTF_8);
+			}
+			line.write(b);
+		}
+		fLastLineDelimiter= null;
+		if (line.size() == 0)
+			return null;
+		return line.toString(StandardCharsets.UTF_8);
+	}
+
 	private void receiveMessage(String message) {
 	    fCurrentState= fCurrentState.readMessage(message);
 	}
 
+	private void receiveFrames() throws IOException {
+		byte[] frame= new byte[64 * 1024];
+		while (fBinaryReader != null) {
+			int length;
+			try {
+				length= fBinaryReader.readInt();
+			} catch (EOFException e) {
+				return;
+			}
+			if (length > frame.length)
+				frame= new byte[length];
+			fBinaryReader.readFully(frame, 0, length);
+			receiveRecords(new BinaryProtocol.RecordReader(frame, length));
+		}
+	}
+
+	private void receiveRecords(BinaryProtocol.RecordReader reader) throws IOException {
+		while (reader.hasNext()) {
+			byte kind= reader.readByte();
+			switch (kind) {
+				case BinaryProtocol.RECORD_TREE: {
+					String id= reader.readString();
+					String entry= reader.readString();
+					internTestId(id, BinaryProtocol.getTreeEntryName(entry));
+					notifyTestTreeEntry(id + ',' + entry);
+					break;
+				}
+				case BinaryProtocol.RECORD_DEFINE: {
+					String id= reader.readString();
+					internTestId(id, reader.readString());
+					break;
+				}
+				case BinaryProtocol.RECORD_TEST_START: {
+					int index= reader.readInt();
+					notifyTestStarted(fTestIds.get(index), getTestName(index, reader.readNullableString()));
+					break;
+				}
+				case BinaryProtocol.RECORD_TEST_END: {
+					int index= reader.readInt();
+					notifyTestEnded(fTestIds.get(index), getTestName(index, reader.readNullableString()));
+					break;
+				}
+				case BinaryProtocol.RECORD_TEST_FAILED:
+				case BinaryProtocol.RECORD_TEST_ERROR: {
+					int index= reader.readInt();
+					fFailedTestId= fTestIds.get(index);
+					fFailedTest= getTestName(index, reader.readNullableString());
+					fFailureKind= kind == BinaryProtocol.RECORD_TEST_ERROR ? ITestRunListener2.STATUS_ERROR : ITestRunListener2.STATUS_FAILURE;
+					setContent(fExpectedResult, reader.readNullableString());
+					setContent(fActualResult, reader.readNullableString());
+					setContent(fFailedTrace, reader.readString());
+					traceEnded();
+					break;
+				}
+				case BinaryProtocol.RECORD_TEXT: {
+					PushbackReader text= new PushbackReader(new StringReader(reader.readString()));
+					String message;
+					while ((message= readMessage(text)) != null)
+						receiveMessage(message);
+					break;
+				}
+				default:
+					throw new IOException("Unknown record " + kind); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private void internTestId(String id, String name) {
+		Integer index= fTestIndexes.get(id);
+		if (index == null) {
+			fTestIndexes.put(id, Integer.valueOf(fTestIds.size()));
+			fTestIds.add(id);
+			fTestNames.add(name);
+		} else {
+			fTestNames.set(index.intValue(), name);
+		}
+	}
+
+	private String getTestName(int index, String name) {
+		return name != null ? name : fTestNames.get(index);
+	}
+
+	private static void setContent(StringBuffer buffer, String content) {
+		buffer.setLength(0);
+		if (content != null)
+			buffer.append(content);
+	}
+
+	private void traceEnded() {
+		// Workaround for JUnit 5 test execution stop
+		// triggered by user: see JUnit5TestReference
+		String trace = fFailedTrace.toString();
+		if(trace.startsWith("java.lang.OutOfMemoryError: Junit5 test stopped by user")) {//$NON-NLS-1$
+			// Faked JUnit5 test error, just stop the test
+			notifyTestRunStopped(0);
+		} else {
+			// default Junit4 handling
+			notifyTestFailed();
+		}
+		fFailedTrace.setLength(0);
+		fActualResult.setLength(0);
+		fExpectedResult.setLength(0);
+	}
+
 	private void scanOldReranMessage(String arg) {
 		// OLD V1 format
 		// format: className" "testName" "status
@@ -522,28 +685,36 @@ public class RemoteTestRunnerClient {
 	}
 
 	private void notifyTestEnded(final String test) {
+		String s[]= extractTestId(test);
+		notifyTestEnded(s[0], s[1]);
+	}
+
+	private void notifyTestEnded(final String testId, final String testName) {
 		if (JUnitCorePlugin.isStopped())
 			return;
 		for (ITestRunListener2 listener : fListeners) {
 			SafeRunner.run(new ListenerSafeRunnable() {
 				@Override
 				public void run() {
-					String s[]= extractTestId(test);
-					listener.testEnded(s[0], s[1]);
+					listener.testEnded(testId, testName);
 				}
 			});
 		}
 	}
 
 	private void notifyTestStarted(final String test) {
+		String s[]= extractTestId(test);
+		notifyTestStarted(s[0], s[1]);
+	}
+
+	private void notifyTestStarted(final String testId, final String testName) {
 		if (JUnitCorePlugin.isStopped())
 			return;
 		for (ITestRunListener2 listener : fListeners) {
 			SafeRunner.run(new ListenerSafeRunnable() {
 				@Override
 				public void run() {
-					String s[]= extractTestId(test);
-					listener.testStarted(s[0], s[1]);
+					listener.testStarted(testId, testName);
 				}
 			});
 		}
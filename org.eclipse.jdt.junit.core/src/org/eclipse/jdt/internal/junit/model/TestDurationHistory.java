@@ -0,0 +1,285 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.jdt.junit.model.ITestElement;
+import org.eclipse.jdt.junit.model.ITestElement.ProgressState;
+import org.eclipse.jdt.junit.model.ITestElement.Result;
+
+/**
+ * The durations of the last {@link #CAPACITY} runs of each test.
+ * <p>
+ * Tests are identified by their {@link TestElement#getTestName() name}, which is how the test
+ * runners identify tests (e.g. for failures first). The durations of tests with the same name in
+ * one run (e.g. the invocations of a parameterized test) are added up. The history keeps the
+ * {@link #MAX_TESTS} most recently run tests.
+ * </p>
+ */
+public final class TestDurationHistory {
+
+	/**
+	 * The number of runs kept per test.
+	 */
+	public static final int CAPACITY= 16;
+
+	/**
+	 * The number of tests kept.
+	 */
+	public static final int MAX_TESTS= 50000;
+
+	/**
+	 * The number of previous runs a test needs before a slower run counts as a regression.
+	 */
+	public static final int MIN_SAMPLES= 3;
+
+	/**
+	 * Runs that are at most this much slower than the median never count as a regression, to
+	 * ignore the noise of fast tests.
+	 */
+	private static final double MIN_REGRESSION_SECONDS= 0.1;
+
+	/**
+	 * Longer names are not recorded, they cannot be saved with {@link DataOutputStream#writeUTF(String)}.
+	 */
+	private static final int MAX_NAME_LENGTH= 8192;
+
+	private static final int MAGIC= 0x4a554448; // "JUDH"
+	private static final int VERSION= 1;
+
+	/**
+	 * The durations of one test in seconds, a ring buffer.
+	 */
+	private static final class Durations {
+		private float[] fSamples= new float[4];
+		private int fCount;
+		private int fNext;
+
+		void add(double seconds) {
+			if (fCount == fSamples.length && fCount < CAPACITY) {
+				fSamples= Arrays.copyOf(fSamples, Math.min(CAPACITY, fCount * 2));
+				fNext= fCount;
+			}
+			fSamples[fNext]= (float) seconds;
+			fNext= (fNext + 1) % fSamples.length;
+			if (fCount < fSamples.length)
+				fCount++;
+		}
+
+		/**
+		 * @return the durations, oldest first
+		 */
+		float[] toArray() {
+			float[] result= new float[fCount];
+			int start= fCount < fSamples.length ? 0 : fNext;
+			for (int i= 0; i < fCount; i++) {
+				result[i]= fSamples[(start + i) % fSamples.length];
+			}
+			return result;
+		}
+
+		double getPercentile(double percentile) {
+			float[] sorted= Arrays.copyOf(fSamples, fCount);
+			Arrays.sort(sorted);
+			int rank= (int) Math.ceil(percentile / 100 * fCount);
+			return sorted[Math.max(0, Math.min(fCount - 1, rank - 1))];
+		}
+	}
+
+	/**
+	 * The durations by test name, least recently run first.
+	 */
+	private final LinkedHashMap<String, Durations> fDurations= new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Durations> eldest) {
+			return size() > MAX_TESTS;
+		}
+	};
+
+	private boolean fDirty;
+
+	/**
+	 * Adds the durations of the completed tests of a session.
+	 *
+	 * @param testRunSession the session
+	 * @param threshold the factor by which a test must be slower than its median to be reported
+	 * @return the names of the tests that ran more than <code>threshold</code> times slower than
+	 *         their median of the previous runs
+	 */
+	public synchronized List<String> record(TestRunSession testRunSession, double threshold) {
+		HashMap<String, Double> durations= new LinkedHashMap<>();
+		collectDurations(testRunSession.getTestRoot(), durations);
+		if (durations.isEmpty())
+			return Collections.emptyList();
+
+		List<String> regressions= new ArrayList<>();
+		for (Entry<String, Double> entry : durations.entrySet()) {
+			String testName= entry.getKey();
+			if (testName.length() > MAX_NAME_LENGTH)
+				continue;
+			double seconds= entry.getValue().doubleValue();
+			Durations history= fDurations.get(testName);
+			if (history == null) {
+				history= new Durations();
+				fDurations.put(testName, history);
+			} else if (history.fCount >= MIN_SAMPLES) {
+				double median= history.getPercentile(50);
+				if (seconds > median * threshold && seconds - median > MIN_REGRESSION_SECONDS)
+					regressions.add(testName);
+			}
+			history.add(seconds);
+		}
+		fDirty= true;
+		return regressions;
+	}
+
+	private static void collectDurations(TestSuiteElement suite, Map<String, Double> durations) {
+		for (ITestElement child : suite.getChildren()) {
+			if (child instanceof TestSuiteElement) {
+				collectDurations((TestSuiteElement) child, durations);
+			} else if (child instanceof TestCaseElement) {
+				TestCaseElement testCase= (TestCaseElement) child;
+				double seconds= testCase.getElapsedTimeInSeconds();
+				if (Double.isNaN(seconds) || testCase.isIgnored() || testCase.getProgressState() != ProgressState.COMPLETED
+						|| testCase.getTestResult(false) == Result.IGNORED)
+					continue;
+				durations.merge(testCase.getTestName(), Double.valueOf(seconds), Double::sum);
+			}
+		}
+	}
+
+	/**
+	 * Returns a percentile of the durations of a test.
+	 *
+	 * @param testName the name of the test
+	 * @param percentile the percentile, from 0 to 100
+	 * @return the duration in seconds, or {@link Double#NaN} if the test has no history
+	 */
+	public synchronized double getPercentile(String testName, double percentile) {
+		Durations durations= fDurations.get(testName);
+		if (durations == null)
+			return Double.NaN;
+		return durations.getPercentile(percentile);
+	}
+
+	/**
+	 * @param testName the name of the test
+	 * @return the durations of the test in seconds, oldest first
+	 */
+	public synchronized double[] getDurations(String testName) {
+		Durations durations= fDurations.get(testName);
+		if (durations == null)
+			return new double[0];
+		float[] samples= durations.toArray();
+		double[] result= new double[samples.length];
+		for (int i= 0; i < samples.length; i++) {
+			result[i]= samples[i];
+		}
+		return result;
+	}
+
+	/**
+	 * Writes the median duration of each test as "milliseconds TAB name" lines, the format read
+	 * by the <code>-testdurations</code> argument of the test runner.
+	 *
+	 * @param file the file to write
+	 * @throws IOException if the file could not be written
+	 */
+	public synchronized void writeMedians(File file) throws IOException {
+		try (BufferedWriter writer= new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+			for (Entry<String, Durations> entry : fDurations.entrySet()) {
+				writer.write(Long.toString(Math.round(entry.getValue().getPercentile(50) * 1000)));
+				writer.write('\t');
+				writer.write(entry.getKey());
+				writer.newLine();
+			}
+		}
+	}
+
+	/**
+	 * Reads the history from a file written by {@link #save(File)}. Does nothing if the file does
+	 * not exist.
+	 *
+	 * @param file the file
+	 * @throws IOException if the file could not be read
+	 */
+	public synchronized void load(File file) throws IOException {
+		if (!file.isFile())
+			return;
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION)
+				return;
+			int count= in.readInt();
+			for (int i= 0; i < count; i++) {
+				String testName= in.readUTF();
+				int sampleCount= in.readUnsignedByte();
+				Durations durations= new Durations();
+				for (int j= 0; j < sampleCount; j++) {
+					durations.add(in.readFloat());
+				}
+				if (sampleCount > 0)
+					fDurations.put(testName, durations);
+			}
+		}
+		fDirty= false;
+	}
+
+	/**
+	 * Writes the history to a file if it has changed since it was loaded or saved.
+	 *
+	 * @param file the file
+	 * @throws IOException if the file could not be written
+	 */
+	public synchronized void save(File file) throws IOException {
+		if (!fDirty)
+			return;
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(fDurations.size());
+			// least recently run first, such that loading restores the order
+			for (Entry<String, Durations> entry : fDurations.entrySet()) {
+				out.writeUTF(entry.getKey());
+				float[] samples= entry.getValue().toArray();
+				out.writeByte(samples.length);
+				for (float sample : samples) {
+					out.writeFloat(sample);
+				}
+			}
+		}
+		fDirty= false;
+	}
+}
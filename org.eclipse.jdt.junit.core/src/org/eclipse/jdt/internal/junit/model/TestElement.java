@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,12 +17,17 @@
 
 package org.eclipse.jdt.internal.junit.model;
 
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+
 import org.eclipse.jdt.junit.model.ITestElement;
 import org.eclipse.jdt.junit.model.ITestElementContainer;
 import org.eclipse.jdt.junit.model.ITestRunSession;
 
 import org.eclipse.core.runtime.Assert;
 
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+
 public abstract class TestElement implements ITestElement {
 	public final static class Status {
 		public static final Status RUNNING_ERROR= new Status("RUNNING_ERROR", 5); //$NON-NLS-1$
@@ -166,6 +171,16 @@ public abstract class TestElement implements ITestElement {
 
 	}
 
+	/**
+	 * The location of a failure trace that is kept outside of the test element.
+	 */
+	public interface TraceReference {
+		/**
+		 * @return the failure trace, or <code>null</code> if it could not be read
+		 */
+		FailureTrace load();
+	}
+
 	private final TestSuiteElement fParent;
 	private final String fId;
 	private String fTestName;
@@ -185,15 +200,34 @@ public abstract class TestElement implements ITestElement {
 
 	/**
 	 * The unique ID of the test element which can be <code>null</code> as it is applicable to JUnit 5
-	 * and above.
+	 * and above. Only the part after the unique ID of the parent if
+	 * {@link #fRelativeUniqueId} is set.
 	 */
 	private String fUniqueId;
 
+	/**
+	 * Whether {@link #fUniqueId} is relative to the unique ID of the parent. Unique IDs of JUnit
+	 * 5 tests repeat the unique IDs of all their ancestors, which adds up for large test runs.
+	 */
+	private boolean fRelativeUniqueId;
+
 	private Status fStatus;
 	private String fTrace;
 	private String fExpected;
 	private String fActual;
 
+	/**
+	 * The location of the trace, expected and actual values in a swap file or a
+	 * {@link FailureTraceStore}, or <code>null</code> if they are held by this element.
+	 */
+	private TraceReference fTraceReference;
+
+	/**
+	 * The values last read from {@link #fTraceReference}, so that the getters of one failure do
+	 * not read them again, or <code>null</code>.
+	 */
+	private SoftReference<FailureTrace> fLoadedTrace;
+
 	private boolean fAssumptionFailed;
 
 	/**
@@ -226,8 +260,14 @@ public abstract class TestElement implements ITestElement {
 		fTestName= testName;
 		fDisplayName= displayName;
 		fParameterTypes= parameterTypes;
-		fUniqueId= uniqueId;
 		fStatus= Status.NOT_RUN;
+		String parentUniqueId= parent != null ? parent.getUniqueId() : null;
+		if (uniqueId != null && parentUniqueId != null && uniqueId.startsWith(parentUniqueId)) {
+			fUniqueId= uniqueId.substring(parentUniqueId.length());
+			fRelativeUniqueId= true;
+		} else {
+			fUniqueId= uniqueId;
+		}
 		if (parent != null)
 			parent.addChild(this);
 	}
@@ -261,13 +301,35 @@ public abstract class TestElement implements ITestElement {
 	@Override
 	public FailureTrace getFailureTrace() {
 		Result testResult= getTestResult(false);
+		FailureTrace failureTrace= peekTrace();
 		if (testResult == Result.ERROR || testResult == Result.FAILURE
-				|| (testResult == Result.IGNORED && fTrace != null)) {
-			return new FailureTrace(fTrace, fExpected, fActual);
+				|| (testResult == Result.IGNORED && failureTrace.getTrace() != null)) {
+			return failureTrace;
 		}
 		return null;
 	}
 
+	/**
+	 * Returns the trace, expected and actual values without keeping them in this element, such
+	 * that clients that visit all elements (e.g. to serialize them) do not pin all traces in
+	 * memory. Values read from a {@link TraceReference} are only softly cached.
+	 *
+	 * @return the failure trace, never <code>null</code>
+	 */
+	private synchronized FailureTrace peekTrace() {
+		if (fTraceReference != null) {
+			FailureTrace failureTrace= fLoadedTrace != null ? fLoadedTrace.get() : null;
+			if (failureTrace != null)
+				return failureTrace;
+			failureTrace= fTraceReference.load();
+			if (failureTrace != null) {
+				fLoadedTrace= new SoftReference<>(failureTrace);
+				return failureTrace;
+			}
+		}
+		return new FailureTrace(fTrace, fExpected, fActual);
+	}
+
 	/**
 	 * @return the parent suite, or <code>null</code> for the root
 	 */
@@ -304,6 +366,7 @@ public abstract class TestElement implements ITestElement {
 	}
 
 	public void setStatus(Status status, String trace, String expected, String actual) {
+		loadTrace();
 		if (trace != null && fTrace != null) {
 			//don't overwrite first trace if same test run logs multiple errors
 			fTrace= fTrace + trace;
@@ -320,19 +383,62 @@ public abstract class TestElement implements ITestElement {
 	}
 
 	public String getTrace() {
-		return fTrace;
+		return peekTrace().getTrace();
 	}
 
 	public String getExpected() {
-		return fExpected;
+		return peekTrace().getExpected();
 	}
 
 	public String getActual() {
-		return fActual;
+		return peekTrace().getActual();
 	}
 
 	public boolean isComparisonFailure() {
-		return fExpected != null && fActual != null;
+		FailureTrace failureTrace= peekTrace();
+		return failureTrace.getExpected() != null && failureTrace.getActual() != null;
+	}
+
+	/**
+	 * Sets the location of the trace, expected and actual values, which are read on first access.
+	 *
+	 * @param traceReference the location in a swap file
+	 */
+	synchronized void setTraceReference(TraceReference traceReference) {
+		fTraceReference= traceReference;
+		fLoadedTrace= null;
+	}
+
+	/**
+	 * Moves the trace, expected and actual values to the given store. If they cannot be stored,
+	 * they are kept in this element.
+	 *
+	 * @param store the store for the failure traces of the session
+	 */
+	public synchronized void spillTrace(FailureTraceStore store) {
+		if (fTraceReference != null || (fTrace == null && fExpected == null && fActual == null))
+			return;
+		try {
+			fTraceReference= store.add(fTrace, fExpected, fActual);
+			fTrace= null;
+			fExpected= null;
+			fActual= null;
+		} catch (IOException e) {
+			JUnitCorePlugin.log(e);
+		}
+	}
+
+	private synchronized void loadTrace() {
+		if (fTraceReference == null)
+			return;
+		FailureTrace failureTrace= fTraceReference.load();
+		fTraceReference= null;
+		fLoadedTrace= null;
+		if (failureTrace != null) {
+			fTrace= failureTrace.getTrace();
+			fExpected= failureTrace.getExpected();
+			fActual= failureTrace.getActual();
+		}
 	}
 
 	/**
@@ -419,6 +525,8 @@ public abstract class TestElement implements ITestElement {
 	 * @return the unique ID of the test, can be <code>null</code>
 	 */
 	public String getUniqueId() {
+		if (fRelativeUniqueId)
+			return fParent.getUniqueId() + fUniqueId;
 		return fUniqueId;
 	}
 
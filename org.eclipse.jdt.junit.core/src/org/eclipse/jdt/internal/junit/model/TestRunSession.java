@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,9 +20,14 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.jdt.junit.model.ITestElement;
 import org.eclipse.jdt.junit.model.ITestElementContainer;
@@ -30,7 +35,10 @@ import org.eclipse.jdt.junit.model.ITestRunSession;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.ListenerList;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.ILaunch;
@@ -54,6 +62,11 @@ import org.eclipse.jdt.internal.junit.runner.MessageIds;
  */
 public class TestRunSession implements ITestRunSession {
 
+	/**
+	 * Interval in ms at which {@link ITestSessionBatchListener}s are notified of changed tests.
+	 */
+	public static final int BATCH_INTERVAL= 100;
+
 	/**
 	 * The launch, or <code>null</code> iff this session was run externally.
 	 */
@@ -73,33 +86,63 @@ public class TestRunSession implements ITestRunSession {
 
 	private final ListenerList<ITestSessionListener> fSessionListeners;
 
+	/**
+	 * Tests that changed since the last {@link ITestSessionBatchListener#testsChanged(Collection)}
+	 * notification. Access is synchronized on the set.
+	 */
+	private final LinkedHashSet<TestElement> fChangedTests= new LinkedHashSet<>();
+
+	/**
+	 * Lock that keeps batches in order when they are delivered by different threads.
+	 */
+	private final Object fTestsChangedLock= new Object();
+
+	private final Job fTestsChangedJob= new TestsChangedJob();
+
 	/**
 	 * The model root, or <code>null</code> if swapped to disk.
 	 */
 	private TestRoot fTestRoot;
 
 	/**
-	 * The test run session's cached result, or <code>null</code> if <code>fTestRoot != null</code>.
+	 * The summary read from the swap file header, or <code>null</code> if not read yet or if
+	 * <code>fTestRoot != null</code>.
 	 */
-	private Result fTestResult;
+	private TestRunSessionSwapFile.Summary fSwapSummary;
 
 	/**
 	 * Map from testId to testElement.
 	 */
 	private HashMap<String, TestElement> fIdToTest;
 
+	/**
+	 * Shared display names and parameter types, such that the tests of parameterized and
+	 * dynamic tests do not each hold a copy.
+	 */
+	private HashMap<String, String> fNames;
+	private HashMap<List<String>, String[]> fParameterTypes;
+
+	/**
+	 * Store for the failure traces of a launched session, or <code>null</code> if none has been
+	 * created yet.
+	 */
+	private FailureTraceStore fFailureTraceStore;
+
 	/**
 	 * The TestSuites for which additional children are expected.
 	 */
 	private List<IncompleteTestSuite> fIncompleteTestSuites;
 
-	private List<IncompleteTestSuite> fFactoryTestSuites;
-
 	/**
 	 * Suite for unrooted test case elements, or <code>null</code>.
 	 */
 	private TestSuiteElement fUnrootedSuite;
 
+	/**
+	 * Names of the tests that ran much slower than in previous runs.
+	 */
+	private volatile Set<String> fDurationRegressions= Collections.emptySet();
+
 	private static final String EMPTY_STRING= ""; //$NON-NLS-1$
 
 	/**
@@ -237,8 +280,11 @@ public class TestRunSession implements ITestRunSession {
 		fTotalCount= 0;
 
 		fTestRoot= new TestRoot(this);
-		fTestResult= null;
+		fSwapSummary= null;
 		fIdToTest= new HashMap<>();
+		fNames= null;
+		fParameterTypes= null;
+		disposeFailureTraceStore();
 	}
 
 	@Override
@@ -253,11 +299,12 @@ public class TestRunSession implements ITestRunSession {
 	}
 
 	@Override
-	public Result getTestResult(boolean includeChildren) {
+	public synchronized Result getTestResult(boolean includeChildren) {
 		if (fTestRoot != null) {
 			return fTestRoot.getTestResult(true);
 		} else {
-			return fTestResult;
+			TestRunSessionSwapFile.Summary summary= getSwapSummary();
+			return summary != null ? summary.getTestResult() : Result.UNDEFINED;
 		}
 	}
 
@@ -370,13 +417,15 @@ public class TestRunSession implements ITestRunSession {
 		try {
 			File swapFile= getSwapFile();
 
-			JUnitModel.exportTestRunSession(this, swapFile);
-			fTestResult= fTestRoot.getTestResult(true);
+			TestRunSessionSwapFile.write(this, swapFile);
+			fSwapSummary= null;
 			fTestRoot= null;
 			fTestRunnerClient= null;
 			fIdToTest= new HashMap<>();
+			fNames= null;
+			fParameterTypes= null;
+			disposeFailureTraceStore();
 			fIncompleteTestSuites= null;
-			fFactoryTestSuites= null;
 			fUnrootedSuite= null;
 
 		} catch (IllegalStateException | CoreException e) {
@@ -390,15 +439,42 @@ public class TestRunSession implements ITestRunSession {
 
 
 	public void removeSwapFile() {
+		disposeFailureTraceStore();
 		File swapFile= getSwapFile();
 		if (swapFile.exists())
 			swapFile.delete();
 	}
 
+	/**
+	 * Moves the failure trace of a test of a launched session out of memory.
+	 *
+	 * @param testElement the failed test
+	 */
+	private synchronized void spillTrace(TestElement testElement) {
+		if (fLaunch == null)
+			return;
+		if (fFailureTraceStore == null) {
+			try {
+				fFailureTraceStore= new FailureTraceStore(JUnitCorePlugin.getHistoryDirectory());
+			} catch (IllegalStateException e) {
+				JUnitCorePlugin.log(e);
+				return;
+			}
+		}
+		testElement.spillTrace(fFailureTraceStore);
+	}
+
+	private synchronized void disposeFailureTraceStore() {
+		if (fFailureTraceStore != null) {
+			fFailureTraceStore.dispose();
+			fFailureTraceStore= null;
+		}
+	}
+
 	private File getSwapFile() throws IllegalStateException {
 		File historyDir= JUnitCorePlugin.getHistoryDirectory();
 		String isoTime= new SimpleDateFormat("yyyyMMdd-HHmmss.SSS").format(new Date(getStartTime())); //$NON-NLS-1$
-		String swapFileName= isoTime + ".xml"; //$NON-NLS-1$
+		String swapFileName= isoTime + ".testrun"; //$NON-NLS-1$
 		return new File(historyDir, swapFileName);
 	}
 
@@ -408,12 +484,29 @@ public class TestRunSession implements ITestRunSession {
 			return;
 
 		try {
-			JUnitModel.importIntoTestRunSession(getSwapFile(), this);
+			TestRunSessionSwapFile.read(getSwapFile(), this);
 		} catch (IllegalStateException | CoreException e) {
 			JUnitCorePlugin.log(e);
 			fTestRoot= new TestRoot(this);
-			fTestResult= null;
 		}
+		fSwapSummary= null;
+	}
+
+	/**
+	 * Reads the run-level data of a swapped out session from the header of the swap file, so
+	 * that listing the session in the history does not read its test elements.
+	 *
+	 * @return the summary, or <code>null</code> if the swap file could not be read
+	 */
+	private synchronized TestRunSessionSwapFile.Summary getSwapSummary() {
+		if (fSwapSummary == null) {
+			try {
+				fSwapSummary= TestRunSessionSwapFile.readSummary(getSwapFile());
+			} catch (IllegalStateException | CoreException e) {
+				JUnitCorePlugin.log(e);
+			}
+		}
+		return fSwapSummary;
 	}
 
 	public void stopTestRun() {
@@ -477,6 +570,26 @@ public class TestRunSession implements ITestRunSession {
 		return fIdToTest.get(id);
 	}
 
+	/**
+	 * @return the names of the tests that ran much slower than their median duration in previous
+	 *         runs, see {@link TestDurationHistory}
+	 */
+	public Set<String> getDurationRegressions() {
+		return fDurationRegressions;
+	}
+
+	void setDurationRegressions(Collection<String> testNames) {
+		fDurationRegressions= Collections.unmodifiableSet(new HashSet<>(testNames));
+	}
+
+	/**
+	 * @param testCaseElement a test of this session
+	 * @return whether the test ran much slower than its median duration in previous runs
+	 */
+	public boolean isDurationRegression(TestCaseElement testCaseElement) {
+		return fDurationRegressions.contains(testCaseElement.getTestName());
+	}
+
 	private TestElement addTreeEntry(String treeEntry) {
 		// format: testId","testName","isSuite","testcount","isDynamicTest","parentId","displayName","parameterTypes","uniqueId
 		int index0= treeEntry.indexOf(',');
@@ -542,10 +655,11 @@ public class TestRunSession implements ITestRunSession {
 
 		if (isDynamicTest) {
 			if (parentId != null) {
-				for (IncompleteTestSuite suite : fFactoryTestSuites) {
-					if (parentId.equals(suite.fTestSuiteElement.getId())) {
-						return createTestElement(suite.fTestSuiteElement, id, testName, isSuite, testCount, isDynamicTest, displayName, parameterTypes, uniqueId);
-					}
+				// look up the parent by id: with parallel execution, dynamic tests of different
+				// parents are registered in any order
+				TestElement parent= fIdToTest.get(parentId);
+				if (parent instanceof TestSuiteElement) {
+					return createTestElement((TestSuiteElement) parent, id, testName, isSuite, testCount, isDynamicTest, displayName, parameterTypes, uniqueId);
 				}
 			}
 			return createTestElement(getUnrootedSuite(), id, testName, isSuite, testCount, isDynamicTest, displayName, parameterTypes, uniqueId); // should not reach here
@@ -568,13 +682,14 @@ public class TestRunSession implements ITestRunSession {
 		if (parameterTypes != null && parameterTypes.length > 1) {
 			parameterTypes= Arrays.stream(parameterTypes).map(String::trim).toArray(String[]::new);
 		}
+		displayName= internName(displayName);
+		parameterTypes= internParameterTypes(parameterTypes);
 		if (isSuite) {
 			TestSuiteElement testSuiteElement= new TestSuiteElement(parent, id, testName, testCount, displayName, parameterTypes, uniqueId);
 			testElement= testSuiteElement;
-			if (testCount > 0) {
+			// children of dynamic suites name their parent, see addTreeEntry(String)
+			if (testCount > 0 && !isDynamicTest) {
 				fIncompleteTestSuites.add(new IncompleteTestSuite(testSuiteElement, testCount));
-			} else if (fFactoryTestSuites != null) {
-				fFactoryTestSuites.add(new IncompleteTestSuite(testSuiteElement, testCount));
 			}
 		} else {
 			testElement= new TestCaseElement(parent, id, testName, displayName, isDynamicTest, parameterTypes, uniqueId);
@@ -583,6 +698,30 @@ public class TestRunSession implements ITestRunSession {
 		return testElement;
 	}
 
+	private String internName(String name) {
+		if (name == null)
+			return null;
+		if (fNames == null)
+			fNames= new HashMap<>();
+		String interned= fNames.putIfAbsent(name, name);
+		return interned != null ? interned : name;
+	}
+
+	private String[] internParameterTypes(String[] parameterTypes) {
+		if (parameterTypes == null)
+			return null;
+		if (fParameterTypes == null)
+			fParameterTypes= new HashMap<>();
+		String[] interned= fParameterTypes.get(Arrays.asList(parameterTypes));
+		if (interned != null)
+			return interned;
+		for (int i= 0; i < parameterTypes.length; i++) {
+			parameterTypes[i]= internName(parameterTypes[i]);
+		}
+		fParameterTypes.put(Arrays.asList(parameterTypes), parameterTypes);
+		return parameterTypes;
+	}
+
 	/**
 	 * Append the test name from <code>s</code> to <code>testName</code>.
 	 *
@@ -628,7 +767,6 @@ public class TestRunSession implements ITestRunSession {
 		@Override
 		public void testRunStarted(int testCount) {
 			fIncompleteTestSuites= new ArrayList<>();
-			fFactoryTestSuites= new ArrayList<>();
 
 			fStartedCount= 0;
 			fIgnoredCount= 0;
@@ -648,6 +786,7 @@ public class TestRunSession implements ITestRunSession {
 		@Override
 		public void testRunEnded(long elapsedTime) {
 			fIsRunning= false;
+			notifyTestsChanged();
 
 			for (ITestSessionListener listener : fSessionListeners) {
 				listener.sessionEnded(elapsedTime);
@@ -658,6 +797,7 @@ public class TestRunSession implements ITestRunSession {
 		public void testRunStopped(long elapsedTime) {
 			fIsRunning= false;
 			fIsStopped= true;
+			notifyTestsChanged();
 
 			for (ITestSessionListener listener : fSessionListeners) {
 				listener.sessionStopped(elapsedTime);
@@ -668,6 +808,7 @@ public class TestRunSession implements ITestRunSession {
 		public void testRunTerminated() {
 			fIsRunning= false;
 			fIsStopped= true;
+			notifyTestsChanged();
 
 			for (ITestSessionListener listener : fSessionListeners) {
 				listener.sessionTerminated();
@@ -718,8 +859,10 @@ public class TestRunSession implements ITestRunSession {
 			fStartedCount++;
 
 			for (ITestSessionListener listener : fSessionListeners) {
-				listener.testStarted(testCaseElement);
+				if (!(listener instanceof ITestSessionBatchListener))
+					listener.testStarted(testCaseElement);
 			}
+			testChanged(testCaseElement);
 		}
 
 		@Override
@@ -749,8 +892,10 @@ public class TestRunSession implements ITestRunSession {
 				setStatus(testCaseElement, Status.OK);
 
 			for (ITestSessionListener listener : fSessionListeners) {
-				listener.testEnded(testCaseElement);
+				if (!(listener instanceof ITestSessionBatchListener))
+					listener.testEnded(testCaseElement);
 			}
+			testChanged(testCaseElement);
 		}
 
 
@@ -771,10 +916,13 @@ public class TestRunSession implements ITestRunSession {
 			}
 
 			registerTestFailureStatus(testElement, status, trace, expected, actual);
+			spillTrace(testElement);
 
 			for (ITestSessionListener listener : fSessionListeners) {
-				listener.testFailed(testElement, status, trace, expected, actual);
+				if (!(listener instanceof ITestSessionBatchListener))
+					listener.testFailed(testElement, status, trace, expected, actual);
 			}
+			testChanged(testElement);
 		}
 
 		@Override
@@ -790,6 +938,8 @@ public class TestRunSession implements ITestRunSession {
 
 			Status status= Status.convert(statusCode);
 			registerTestFailureStatus(testElement, status, trace, expectedResult, actualResult);
+			spillTrace(testElement);
+			notifyTestsChanged();
 
 			for (ITestSessionListener listener : fSessionListeners) {
 				//TODO: post old & new status?
@@ -802,6 +952,66 @@ public class TestRunSession implements ITestRunSession {
 		}
 	}
 
+	/**
+	 * Delivers the changed tests to the {@link ITestSessionBatchListener}s.
+	 */
+	private class TestsChangedJob extends Job {
+		public TestsChangedJob() {
+			super("TestsChangedJob"); //$NON-NLS-1$
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			notifyTestsChanged();
+			return org.eclipse.core.runtime.Status.OK_STATUS;
+		}
+	}
+
+	/**
+	 * Records a changed test for the next batch. Schedules the batch if this is its first test.
+	 *
+	 * @param testElement the test that started, ended or failed
+	 */
+	private void testChanged(TestElement testElement) {
+		if (!hasBatchListeners())
+			return;
+		boolean schedule;
+		synchronized (fChangedTests) {
+			schedule= fChangedTests.isEmpty();
+			fChangedTests.add(testElement);
+		}
+		if (schedule)
+			fTestsChangedJob.schedule(BATCH_INTERVAL);
+	}
+
+	private boolean hasBatchListeners() {
+		for (ITestSessionListener listener : fSessionListeners) {
+			if (listener instanceof ITestSessionBatchListener)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Delivers the pending batch of changed tests, if any.
+	 */
+	private void notifyTestsChanged() {
+		synchronized (fTestsChangedLock) {
+			Collection<TestElement> changedTests;
+			synchronized (fChangedTests) {
+				if (fChangedTests.isEmpty())
+					return;
+				changedTests= Collections.unmodifiableList(new ArrayList<>(fChangedTests));
+				fChangedTests.clear();
+			}
+			for (ITestSessionListener listener : fSessionListeners) {
+				if (listener instanceof ITestSessionBatchListener)
+					((ITestSessionBatchListener) listener).testsChanged(changedTests);
+			}
+		}
+	}
+
 	private static class IncompleteTestSuite {
 		public TestSuiteElement fTestSuiteElement;
 		public int fOutstandingChildren;
@@ -867,9 +1077,11 @@ public class TestRunSession implements ITestRunSession {
 	}
 
 	@Override
-	public double getElapsedTimeInSeconds() {
-		if (fTestRoot == null)
-			return Double.NaN;
+	public synchronized double getElapsedTimeInSeconds() {
+		if (fTestRoot == null) {
+			TestRunSessionSwapFile.Summary summary= getSwapSummary();
+			return summary != null ? summary.getElapsedTimeInSeconds() : Double.NaN;
+		}
 
 		return fTestRoot.getElapsedTimeInSeconds();
 	}
@@ -0,0 +1,670 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.eclipse.jdt.junit.model.ITestElement;
+import org.eclipse.jdt.junit.model.ITestElement.FailureTrace;
+import org.eclipse.jdt.junit.model.ITestElement.ProgressState;
+import org.eclipse.jdt.junit.model.ITestElement.Result;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+
+import org.eclipse.jdt.internal.junit.BasicElementLabels;
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.Messages;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+
+/**
+ * Reads and writes the compact binary format that is used to swap {@link TestRunSession}s to
+ * disk. Import and export of test runs still use the XML format of {@link TestRunSessionSerializer}
+ * and {@link TestRunHandler}.
+ * <p>
+ * A swap file consists of
+ * </p>
+ * <ol>
+ * <li>a header with the offset of the index and a {@link Summary} of the run, which can be read
+ * without reading the tree,</li>
+ * <li>the failure traces, which are only read when a test element needs them,</li>
+ * <li>the index: a string table holding the names, class names, display names, parameter types and
+ * unique ids, followed by the test elements in pre-order, stored column by column.</li>
+ * </ol>
+ */
+public final class TestRunSessionSwapFile {
+
+	private static final int MAGIC= 0x4a555457; // "JUTW"
+	private static final int VERSION= 1;
+
+	private static final byte KIND_TEST_CASE= 0;
+	private static final byte KIND_TEST_SUITE= 1;
+
+	private static final byte FLAG_INCOMPLETE= 1;
+	private static final byte FLAG_IGNORED= 2;
+	private static final byte FLAG_DYNAMIC_TEST= 4;
+	private static final byte FLAG_ASSUMPTION_FAILED= 8;
+	private static final byte FLAG_HAS_TRACE= 16;
+
+	private static final Result[] RESULTS= { Result.UNDEFINED, Result.OK, Result.ERROR, Result.FAILURE, Result.IGNORED };
+
+	/**
+	 * The run-level data stored at the start of a swap file.
+	 */
+	public static final class Summary {
+		private final String fTestRunName;
+		private final String fProjectName;
+		private final long fStartTime;
+		private final int fTotalCount;
+		private final int fStartedCount;
+		private final int fFailureCount;
+		private final int fErrorCount;
+		private final int fIgnoredCount;
+		private final int fAssumptionFailureCount;
+		private final Result fTestResult;
+		private final double fElapsedTime;
+
+		Summary(String testRunName, String projectName, long startTime, int totalCount, int startedCount, int failureCount, int errorCount, int ignoredCount,
+				int assumptionFailureCount, Result testResult, double elapsedTime) {
+			fTestRunName= testRunName;
+			fProjectName= projectName;
+			fStartTime= startTime;
+			fTotalCount= totalCount;
+			fStartedCount= startedCount;
+			fFailureCount= failureCount;
+			fErrorCount= errorCount;
+			fIgnoredCount= ignoredCount;
+			fAssumptionFailureCount= assumptionFailureCount;
+			fTestResult= testResult;
+			fElapsedTime= elapsedTime;
+		}
+
+		public String getTestRunName() {
+			return fTestRunName;
+		}
+
+		/**
+		 * @return the name of the launched project, or <code>null</code>
+		 */
+		public String getProjectName() {
+			return fProjectName;
+		}
+
+		public long getStartTime() {
+			return fStartTime;
+		}
+
+		public int getTotalCount() {
+			return fTotalCount;
+		}
+
+		public int getStartedCount() {
+			return fStartedCount;
+		}
+
+		public int getFailureCount() {
+			return fFailureCount;
+		}
+
+		public int getErrorCount() {
+			return fErrorCount;
+		}
+
+		public int getIgnoredCount() {
+			return fIgnoredCount;
+		}
+
+		public int getAssumptionFailureCount() {
+			return fAssumptionFailureCount;
+		}
+
+		public Result getTestResult() {
+			return fTestResult;
+		}
+
+		/**
+		 * @return the elapsed time in seconds, or {@link Double#NaN}
+		 */
+		public double getElapsedTimeInSeconds() {
+			return fElapsedTime;
+		}
+	}
+
+	/**
+	 * The location of a failure trace in a swap file.
+	 */
+	private static final class FileTraceReference implements TestElement.TraceReference {
+		private final File fFile;
+		private final long fOffset;
+
+		public FileTraceReference(File file, long offset) {
+			fFile= file;
+			fOffset= offset;
+		}
+
+		@Override
+		public FailureTrace load() {
+			try (RandomAccessFile in= new RandomAccessFile(fFile, "r")) { //$NON-NLS-1$
+				in.seek(fOffset);
+				String trace= readNullableString(in);
+				String expected= readNullableString(in);
+				String actual= readNullableString(in);
+				return new FailureTrace(trace, expected, actual);
+			} catch (IOException e) {
+				JUnitCorePlugin.log(e);
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Counts the bytes written, such that the offsets of the traces are known.
+	 */
+	private static final class CountingOutputStream extends FilterOutputStream {
+		private long fCount;
+
+		public CountingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			fCount++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			fCount+= len;
+		}
+
+		public long getCount() {
+			return fCount;
+		}
+	}
+
+	/**
+	 * The columns of the index, filled in pre-order.
+	 */
+	private static final class Columns {
+		private final HashMap<String, Integer> fStringIndexes= new HashMap<>();
+		private final List<String> fStrings= new ArrayList<>();
+
+		private int fSize;
+		private byte[] fKinds= new byte[64];
+		private int[] fChildCounts= new int[64];
+		private int[] fNames= new int[64];
+		private int[] fClassNames= new int[64];
+		private int[] fDisplayNames= new int[64];
+		private int[] fParameterTypes= new int[64];
+		private int[] fUniqueIds= new int[64];
+		private byte[] fStatus= new byte[64];
+		private byte[] fFlags= new byte[64];
+		private double[] fTimes= new double[64];
+		private long[] fTraceOffsets= new long[64];
+
+		Columns() {
+		}
+
+		Columns(int size) {
+			fSize= size;
+			fKinds= new byte[size];
+			fChildCounts= new int[size];
+			fNames= new int[size];
+			fClassNames= new int[size];
+			fDisplayNames= new int[size];
+			fParameterTypes= new int[size];
+			fUniqueIds= new int[size];
+			fStatus= new byte[size];
+			fFlags= new byte[size];
+			fTimes= new double[size];
+			fTraceOffsets= new long[size];
+		}
+
+		int add() {
+			if (fSize == fKinds.length) {
+				int capacity= 2 * fSize;
+				fKinds= Arrays.copyOf(fKinds, capacity);
+				fChildCounts= Arrays.copyOf(fChildCounts, capacity);
+				fNames= Arrays.copyOf(fNames, capacity);
+				fClassNames= Arrays.copyOf(fClassNames, capacity);
+				fDisplayNames= Arrays.copyOf(fDisplayNames, capacity);
+				fParameterTypes= Arrays.copyOf(fParameterTypes, capacity);
+				fUniqueIds= Arrays.copyOf(fUniqueIds, capacity);
+				fStatus= Arrays.copyOf(fStatus, capacity);
+				fFlags= Arrays.copyOf(fFlags, capacity);
+				fTimes= Arrays.copyOf(fTimes, capacity);
+				fTraceOffsets= Arrays.copyOf(fTraceOffsets, capacity);
+			}
+			return fSize++;
+		}
+
+		int intern(String string) {
+			if (string == null)
+				return -1;
+			Integer index= fStringIndexes.get(string);
+			if (index == null) {
+				index= Integer.valueOf(fStrings.size());
+				fStringIndexes.put(string, index);
+				fStrings.add(string);
+			}
+			return index.intValue();
+		}
+
+		String getString(int index) {
+			return index == -1 ? null : fStrings.get(index);
+		}
+
+		void write(DataOutput out) throws IOException {
+			out.writeInt(fStrings.size());
+			for (String string : fStrings) {
+				writeString(out, string);
+			}
+			out.writeInt(fSize);
+			for (int i= 0; i < fSize; i++)
+				out.writeByte(fKinds[i]);
+			for (int i= 0; i < fSize; i++)
+				out.writeInt(fChildCounts[i]);
+			for (int i= 0; i < fSize; i++)
+				out.writeInt(fNames[i]);
+			for (int i= 0; i < fSize; i++)
+				out.writeInt(fClassNames[i]);
+			for (int i= 0; i < fSize; i++)
+				out.writeInt(fDisplayNames[i]);
+			for (int i= 0; i < fSize; i++)
+				out.writeInt(fParameterTypes[i]);
+			for (int i= 0; i < fSize; i++)
+				out.writeInt(fUniqueIds[i]);
+			for (int i= 0; i < fSize; i++)
+				out.writeByte(fStatus[i]);
+			for (int i= 0; i < fSize; i++)
+				out.writeByte(fFlags[i]);
+			for (int i= 0; i < fSize; i++)
+				out.writeDouble(fTimes[i]);
+			for (int i= 0; i < fSize; i++)
+				out.writeLong(fTraceOffsets[i]);
+		}
+
+		static Columns read(DataInput in) throws IOException {
+			int stringCount= in.readInt();
+			List<String> strings= new ArrayList<>(stringCount);
+			for (int i= 0; i < stringCount; i++) {
+				strings.add(readString(in));
+			}
+			Columns columns= new Columns(in.readInt());
+			columns.fStrings.addAll(strings);
+			int size= columns.fSize;
+			for (int i= 0; i < size; i++)
+				columns.fKinds[i]= in.readByte();
+			for (int i= 0; i < size; i++)
+				columns.fChildCounts[i]= in.readInt();
+			for (int i= 0; i < size; i++)
+				columns.fNames[i]= in.readInt();
+			for (int i= 0; i < size; i++)
+				columns.fClassNames[i]= in.readInt();
+			for (int i= 0; i < size; i++)
+				columns.fDisplayNames[i]= in.readInt();
+			for (int i= 0; i < size; i++)
+				columns.fParameterTypes[i]= in.readInt();
+			for (int i= 0; i < size; i++)
+				columns.fUniqueIds[i]= in.readInt();
+			for (int i= 0; i < size; i++)
+				columns.fStatus[i]= in.readByte();
+			for (int i= 0; i < size; i++)
+				columns.fFlags[i]= in.readByte();
+			for (int i= 0; i < size; i++)
+				columns.fTimes[i]= in.readDouble();
+			for (int i= 0; i < size; i++)
+				columns.fTraceOffsets[i]= in.readLong();
+			return columns;
+		}
+	}
+
+	private TestRunSessionSwapFile() {
+	}
+
+	/**
+	 * Writes the given test run session to a swap file. The file is replaced only after the
+	 * session has been written completely, since the elements of the session may still load
+	 * their traces from the old file.
+	 *
+	 * @param testRunSession the session to write
+	 * @param file the swap file
+	 * @throws CoreException if writing failed
+	 */
+	public static void write(TestRunSession testRunSession, File file) throws CoreException {
+		File tempFile= new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try {
+			long indexOffset;
+			try (CountingOutputStream counter= new CountingOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+					DataOutputStream out= new DataOutputStream(counter)) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeLong(0); // index offset, patched below
+				writeSummary(out, testRunSession);
+
+				Columns columns= new Columns();
+				TestRoot testRoot= testRunSession.getTestRoot();
+				ITestElement[] topSuites= testRoot.getChildren();
+				for (ITestElement topSuite : topSuites) {
+					writeTestElement(out, counter, columns, (TestElement) topSuite);
+				}
+				out.flush();
+				indexOffset= counter.getCount();
+				out.writeInt(topSuites.length);
+				columns.write(out);
+			}
+			try (RandomAccessFile patch= new RandomAccessFile(tempFile, "rw")) { //$NON-NLS-1$
+				patch.seek(8);
+				patch.writeLong(indexOffset);
+			}
+			try {
+				Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			tempFile.delete();
+			throw new CoreException(new org.eclipse.core.runtime.Status(IStatus.ERROR,
+					JUnitCorePlugin.getPluginId(),
+					Messages.format(ModelMessages.JUnitModel_could_not_write, BasicElementLabels.getPathLabel(file)),
+					e));
+		}
+	}
+
+	private static void writeSummary(DataOutput out, TestRunSession testRunSession) throws IOException {
+		writeString(out, testRunSession.getTestRunName());
+		writeNullableString(out, testRunSession.getLaunchedProject() != null ? testRunSession.getLaunchedProject().getElementName() : null);
+		out.writeLong(testRunSession.getStartTime());
+		out.writeInt(testRunSession.getTotalCount());
+		out.writeInt(testRunSession.getStartedCount());
+		out.writeInt(testRunSession.getFailureCount());
+		out.writeInt(testRunSession.getErrorCount());
+		out.writeInt(testRunSession.getIgnoredCount());
+		out.writeInt(testRunSession.getAssumptionFailureCount());
+		Result result= testRunSession.getTestResult(true);
+		int resultIndex= 0;
+		for (int i= 0; i < RESULTS.length; i++) {
+			if (RESULTS[i] == result)
+				resultIndex= i;
+		}
+		out.writeByte(resultIndex);
+		out.writeDouble(testRunSession.getElapsedTimeInSeconds());
+	}
+
+	private static void writeTestElement(DataOutputStream out, CountingOutputStream counter, Columns columns, TestElement testElement) throws IOException {
+		int index= columns.add();
+		byte flags= 0;
+		if (testElement instanceof TestSuiteElement) {
+			TestSuiteElement testSuiteElement= (TestSuiteElement) testElement;
+			columns.fKinds[index]= KIND_TEST_SUITE;
+			columns.fNames[index]= columns.intern(testSuiteElement.getTestName());
+			columns.fClassNames[index]= -1;
+			columns.fStatus[index]= getStatusCode(testSuiteElement.getSuiteStatus());
+			if (testElement.getProgressState() != ProgressState.COMPLETED || testElement.getTestResult(false) != Result.UNDEFINED)
+				flags|= FLAG_INCOMPLETE;
+		} else {
+			TestCaseElement testCaseElement= (TestCaseElement) testElement;
+			columns.fKinds[index]= KIND_TEST_CASE;
+			String testName= testCaseElement.getTestName();
+			int classStart= testName.lastIndexOf('(');
+			if (classStart > 0 && testName.endsWith(")")) { //$NON-NLS-1$
+				// share the class names between the test cases of a class
+				columns.fNames[index]= columns.intern(testName.substring(0, classStart));
+				columns.fClassNames[index]= columns.intern(testName.substring(classStart + 1, testName.length() - 1));
+			} else {
+				columns.fNames[index]= columns.intern(testName);
+				columns.fClassNames[index]= -1;
+			}
+			columns.fStatus[index]= getStatusCode(testCaseElement.getStatus());
+			if (testElement.getProgressState() != ProgressState.COMPLETED)
+				flags|= FLAG_INCOMPLETE;
+			if (testCaseElement.isIgnored())
+				flags|= FLAG_IGNORED;
+			if (testCaseElement.isDynamicTest())
+				flags|= FLAG_DYNAMIC_TEST;
+		}
+		columns.fDisplayNames[index]= columns.intern(testElement.getDisplayName());
+		String[] parameterTypes= testElement.getParameterTypes();
+		columns.fParameterTypes[index]= parameterTypes != null ? columns.intern(String.join(",", parameterTypes)) : -1; //$NON-NLS-1$
+		columns.fUniqueIds[index]= columns.intern(testElement.getUniqueId());
+		columns.fTimes[index]= testElement.getElapsedTimeInSeconds();
+		if (testElement.isAssumptionFailure())
+			flags|= FLAG_ASSUMPTION_FAILED;
+
+		FailureTrace failureTrace= testElement.getFailureTrace();
+		if (failureTrace != null) {
+			flags|= FLAG_HAS_TRACE;
+			out.flush();
+			columns.fTraceOffsets[index]= counter.getCount();
+			writeNullableString(out, failureTrace.getTrace());
+			writeNullableString(out, failureTrace.getExpected());
+			writeNullableString(out, failureTrace.getActual());
+		} else {
+			columns.fTraceOffsets[index]= -1;
+		}
+		columns.fFlags[index]= flags;
+
+		if (testElement instanceof TestSuiteElement) {
+			ITestElement[] children= ((TestSuiteElement) testElement).getChildren();
+			columns.fChildCounts[index]= children.length;
+			for (ITestElement child : children) {
+				writeTestElement(out, counter, columns, (TestElement) child);
+			}
+		}
+	}
+
+	/**
+	 * @param status a status
+	 * @return the {@link ITestRunListener2} status code of the failure recorded by the given status
+	 */
+	private static byte getStatusCode(Status status) {
+		if (status.isError())
+			return ITestRunListener2.STATUS_ERROR;
+		if (status.isFailure())
+			return ITestRunListener2.STATUS_FAILURE;
+		return ITestRunListener2.STATUS_OK;
+	}
+
+	/**
+	 * Reads the summary of a swap file without reading the test elements.
+	 *
+	 * @param file the swap file
+	 * @return the summary
+	 * @throws CoreException if reading failed
+	 */
+	public static Summary readSummary(File file) throws CoreException {
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			readIndexOffset(in);
+			return readSummary(in);
+		} catch (IOException e) {
+			throw createReadError(file, e);
+		}
+	}
+
+	private static long readIndexOffset(DataInput in) throws IOException {
+		if (in.readInt() != MAGIC || in.readInt() != VERSION)
+			throw new IOException("Not a test run swap file"); //$NON-NLS-1$
+		return in.readLong();
+	}
+
+	private static Summary readSummary(DataInput in) throws IOException {
+		String testRunName= readString(in);
+		String projectName= readNullableString(in);
+		long startTime= in.readLong();
+		int totalCount= in.readInt();
+		int startedCount= in.readInt();
+		int failureCount= in.readInt();
+		int errorCount= in.readInt();
+		int ignoredCount= in.readInt();
+		int assumptionFailureCount= in.readInt();
+		Result testResult= RESULTS[in.readByte()];
+		double elapsedTime= in.readDouble();
+		return new Summary(testRunName, projectName, startTime, totalCount, startedCount, failureCount, errorCount, ignoredCount, assumptionFailureCount, testResult, elapsedTime);
+	}
+
+	/**
+	 * Reads the test elements of a swap file into the given session. Failure traces are read
+	 * when they are first accessed.
+	 *
+	 * @param file the swap file
+	 * @param testRunSession the session, whose test elements are replaced
+	 * @throws CoreException if reading failed
+	 */
+	public static void read(File file, TestRunSession testRunSession) throws CoreException {
+		Columns columns;
+		int topSuiteCount;
+		try (FileInputStream fileIn= new FileInputStream(file)) {
+			DataInputStream in= new DataInputStream(new BufferedInputStream(fileIn));
+			long indexOffset= readIndexOffset(in);
+			fileIn.getChannel().position(indexOffset);
+			in= new DataInputStream(new BufferedInputStream(fileIn));
+			topSuiteCount= in.readInt();
+			columns= Columns.read(in);
+		} catch (IOException e) {
+			throw createReadError(file, e);
+		}
+
+		int[] subtreeEnds= new int[columns.fSize];
+		int next= 0;
+		for (int i= 0; i < topSuiteCount; i++) {
+			next= computeSubtreeEnds(columns, next, subtreeEnds);
+		}
+
+		testRunSession.reset();
+		readChildren(file, columns, subtreeEnds, 0, topSuiteCount, testRunSession.getTestRoot(), testRunSession);
+	}
+
+	/**
+	 * @param columns the columns
+	 * @param index the index of an element
+	 * @param subtreeEnds the array to store the index after the last descendant of each element
+	 * @return the index after the last descendant of the element
+	 */
+	private static int computeSubtreeEnds(Columns columns, int index, int[] subtreeEnds) {
+		int next= index + 1;
+		for (int i= 0; i < columns.fChildCounts[index]; i++) {
+			next= computeSubtreeEnds(columns, next, subtreeEnds);
+		}
+		subtreeEnds[index]= next;
+		return next;
+	}
+
+	/**
+	 * Creates the children of a suite, then restores their results in the same way as
+	 * {@link TestRunHandler}. Creating all children first avoids that each finished child
+	 * recomputes the status of the suite from all its previous siblings.
+	 */
+	private static void readChildren(File file, Columns columns, int[] subtreeEnds, int firstChild, int childCount, TestSuiteElement parent, TestRunSession testRunSession) {
+		TestElement[] children= new TestElement[childCount];
+		int index= firstChild;
+		for (int i= 0; i < childCount; i++) {
+			children[i]= createTestElement(columns, index, parent, testRunSession);
+			index= subtreeEnds[index];
+		}
+
+		index= firstChild;
+		for (TestElement testElement : children) {
+			byte flags= columns.fFlags[index];
+			if ((flags & FLAG_HAS_TRACE) != 0) {
+				Status status= Status.convert(columns.fStatus[index]);
+				testRunSession.registerTestFailureStatus(testElement, status, null, null, null);
+				testElement.setTraceReference(new FileTraceReference(file, columns.fTraceOffsets[index]));
+			}
+			if (testElement instanceof TestSuiteElement) {
+				readChildren(file, columns, subtreeEnds, index + 1, columns.fChildCounts[index], (TestSuiteElement) testElement, testRunSession);
+			}
+			testRunSession.registerTestEnded(testElement, (flags & FLAG_INCOMPLETE) == 0);
+			index= subtreeEnds[index];
+		}
+	}
+
+	private static TestElement createTestElement(Columns columns, int index, TestSuiteElement parent, TestRunSession testRunSession) {
+		boolean isSuite= columns.fKinds[index] == KIND_TEST_SUITE;
+		String testName= columns.getString(columns.fNames[index]);
+		String className= columns.getString(columns.fClassNames[index]);
+		if (className != null)
+			testName= testName + '(' + className + ')';
+		byte flags= columns.fFlags[index];
+		String parameterTypesString= columns.getString(columns.fParameterTypes[index]);
+		String[] parameterTypes= parameterTypesString != null ? parameterTypesString.split(",") : null; //$NON-NLS-1$
+
+		TestElement testElement= testRunSession.createTestElement(parent, Integer.toString(index), testName, isSuite, 0, (flags & FLAG_DYNAMIC_TEST) != 0,
+				columns.getString(columns.fDisplayNames[index]), parameterTypes, columns.getString(columns.fUniqueIds[index]));
+		testElement.setElapsedTimeInSeconds(columns.fTimes[index]);
+		if (!isSuite)
+			((TestCaseElement) testElement).setIgnored((flags & FLAG_IGNORED) != 0);
+		if ((flags & FLAG_ASSUMPTION_FAILED) != 0)
+			testElement.setAssumptionFailed(true);
+		return testElement;
+	}
+
+	private static CoreException createReadError(File file, Exception e) {
+		return new CoreException(new org.eclipse.core.runtime.Status(IStatus.ERROR,
+				JUnitCorePlugin.getPluginId(),
+				Messages.format(ModelMessages.JUnitModel_could_not_read, BasicElementLabels.getPathLabel(file)),
+				e));
+	}
+
+	private static void writeString(DataOutput out, String string) throws IOException {
+		byte[] bytes= string.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	static void writeNullableString(DataOutput out, String string) throws IOException {
+		if (string == null) {
+			out.writeInt(-1);
+		} else {
+			writeString(out, string);
+		}
+	}
+
+	private static String readString(DataInput in) throws IOException {
+		return readString(in, in.readInt());
+	}
+
+	static String readNullableString(DataInput in) throws IOException {
+		int length= in.readInt();
+		return length == -1 ? null : readString(in, length);
+	}
+
+	private static String readString(DataInput in, int length) throws IOException {
+		byte[] bytes= new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
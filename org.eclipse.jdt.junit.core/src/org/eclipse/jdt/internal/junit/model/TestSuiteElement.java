@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,13 @@ public class TestSuiteElement extends TestElement implements ITestSuiteElement {
 	private List<TestElement> fChildren;
 	private Status fChildrenStatus;
 
+	/**
+	 * The absolute unique ID of this suite, computed on first access. Only suites keep it, such
+	 * that the unique ID of a test is a single concatenation while tests still store the relative
+	 * part only.
+	 */
+	private String fAbsoluteUniqueId;
+
 	public TestSuiteElement(TestSuiteElement parent, String id, String testName, int childrenCount, String displayName, String[] parameterTypes, String uniqueId) {
 		super(parent, id, testName, displayName, parameterTypes, uniqueId);
 		fChildren= new ArrayList<>(childrenCount);
@@ -156,6 +163,13 @@ public class TestSuiteElement extends TestElement implements ITestSuiteElement {
 		return "TestSuite: " + getTestName() + " : " + super.toString() + " (" + fChildren.size() + ")";   //$NON-NLS-1$//$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
 	}
 
+	@Override
+	public String getUniqueId() {
+		if (fAbsoluteUniqueId == null)
+			fAbsoluteUniqueId= super.getUniqueId();
+		return fAbsoluteUniqueId;
+	}
+
 	@Override
 	public String getTrace() {
 		TestCaseElement child= getSingleDynamicChild();
@@ -398,6 +398,9 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 		programArguments.addAll(Arrays.asList(execArgs.getProgramArgumentsArray()));
 
 		boolean isJUnit5= TestKindRegistry.JUNIT5_TEST_KIND_ID.equals(getTestRunnerKind(configuration).getId());
+		if (isJUnit5) {
+			collectParallelExecutionVmArgs(configuration, vmArguments);
+		}
 		boolean isModularProject= JavaRuntime.isModularProject(getJavaProject(configuration));
 		String addOpensTargets;
 		if (isModularProject) {
@@ -437,6 +440,9 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 		if (fKeepAlive)
 			programArguments.add(0, "-keepalive"); //$NON-NLS-1$
 
+		if (configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_BINARY_PROTOCOL, false))
+			programArguments.add("-binaryprotocol"); //$NON-NLS-1$
+
 		ITestKind testRunnerKind= getTestRunnerKind(configuration);
 
 		programArguments.add("-testLoaderClass"); //$NON-NLS-1$
@@ -486,6 +492,14 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 			programArguments.add(testFailureNames);
 		}
 
+		String testOrder= configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_ORDER, ""); //$NON-NLS-1$
+		if (testOrder.length() > 0) {
+			programArguments.add("-testdurations"); //$NON-NLS-1$
+			programArguments.add(createTestDurationsFile());
+			programArguments.add("-testorder"); //$NON-NLS-1$
+			programArguments.add(testOrder);
+		}
+
 		String uniqueId= configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_UNIQUE_ID, ""); //$NON-NLS-1$
 		if (!uniqueId.trim().isEmpty()) {
 			programArguments.add("-uniqueId"); //$NON-NLS-1$
@@ -521,6 +535,29 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 		}
 	}
 
+	/**
+	 * Turns on JUnit Jupiter's parallel execution with the number of threads from
+	 * {@link JUnitLaunchConfigurationConstants#ATTR_PARALLELISM}. The configuration parameters are
+	 * passed as system properties in front of the VM arguments of the configuration, so they
+	 * override the <code>junit-platform.properties</code> of the project but not the user's VM
+	 * arguments.
+	 *
+	 * @param configuration the configuration to collect the arguments for
+	 * @param vmArguments the resulting VM arguments
+	 * @throws CoreException if the configuration cannot be read
+	 */
+	private void collectParallelExecutionVmArgs(ILaunchConfiguration configuration, List<String> vmArguments) throws CoreException {
+		int parallelism= configuration.getAttribute(JUnitLaunchConfigurationConstants.ATTR_PARALLELISM, 0);
+		if (parallelism <= 0)
+			return;
+		vmArguments.addAll(0, Arrays.asList(
+				"-Djunit.jupiter.execution.parallel.enabled=true", //$NON-NLS-1$
+				"-Djunit.jupiter.execution.parallel.mode.default=concurrent", //$NON-NLS-1$
+				"-Djunit.jupiter.execution.parallel.mode.classes.default=concurrent", //$NON-NLS-1$
+				"-Djunit.jupiter.execution.parallel.config.strategy=fixed", //$NON-NLS-1$
+				"-Djunit.jupiter.execution.parallel.config.fixed.parallelism=" + parallelism)); //$NON-NLS-1$
+	}
+
 	private static boolean isOnModulePath(IJavaProject javaProject, String typeToCheck) {
 		try {
 			IType type= javaProject.findType(typeToCheck);
@@ -627,6 +664,17 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 		return elementName;
 	}
 
+	private String createTestDurationsFile() throws CoreException {
+		try {
+			File file= File.createTempFile("testDurations", ".txt"); //$NON-NLS-1$ //$NON-NLS-2$
+			file.deleteOnExit();
+			JUnitCorePlugin.getModel().getTestDurationHistory().writeMedians(file);
+			return file.getAbsolutePath();
+		} catch (IOException e) {
+			throw new CoreException(new Status(IStatus.ERROR, JUnitCorePlugin.CORE_PLUGIN_ID, IStatus.ERROR, "", e)); //$NON-NLS-1$
+		}
+	}
+
 	private String createTestNamesFile(IJavaElement[] testElements) throws CoreException {
 		try {
 			File file= File.createTempFile("testNames", ".txt"); //$NON-NLS-1$ //$NON-NLS-2$
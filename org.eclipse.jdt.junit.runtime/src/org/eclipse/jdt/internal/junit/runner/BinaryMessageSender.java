@@ -0,0 +1,351 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A {@link MessageSender} that encodes the messages of the text protocol with the
+ * {@link BinaryProtocol}.
+ * <p>
+ * Records are collected in a frame which is written when it is full or, after a
+ * {@link #flush()}, at most {@link #FLUSH_INTERVAL} ms later, such that the events of fast tests
+ * are sent in batches.
+ * </p>
+ */
+public class BinaryMessageSender implements MessageSender {
+
+	/**
+	 * Maximum delay in ms between a flush request and the write of the frame.
+	 */
+	public static final int FLUSH_INTERVAL= 50;
+
+	private static final int FRAME_SIZE= 64 * 1024;
+
+	private static final String LINE_DELIMITER= System.lineSeparator();
+
+	/**
+	 * Writes the pending frame if a flush was requested.
+	 */
+	private class FlushThread extends Thread {
+		public FlushThread() {
+			super("BinaryMessageSender"); //$NON-NLS-1$
+			setDaemon(true);
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (!isInterrupted()) {
+					Thread.sleep(FLUSH_INTERVAL);
+					synchronized (BinaryMessageSender.this) {
+						if (fFlushRequested)
+							writeFrame();
+					}
+				}
+			} catch (InterruptedException e) {
+				// closed
+			}
+		}
+	}
+
+	private final OutputStream fOut;
+	private final FlushThread fFlushThread;
+
+	private byte[] fFrame= new byte[FRAME_SIZE + 4];
+	private int fFrameLength= 4;
+	private boolean fFlushRequested;
+	private long fLastWrite;
+	private IOException fException;
+
+	private final HashMap<String, Integer> fIndexes= new HashMap<>();
+	private final List<String> fNames= new ArrayList<>();
+
+	/**
+	 * The messages of a failure which is sent as a single record once its trace is complete,
+	 * or <code>null</code>.
+	 */
+	private List<String> fFailureMessages;
+	private String fFailureStatus;
+	private String fFailureArg;
+	private String fExpected;
+	private String fActual;
+	private String fBlockEnd;
+	private StringBuilder fBlock;
+
+	/**
+	 * Creates a sender and writes the handshake.
+	 *
+	 * @param out the stream to write to
+	 * @throws IOException if the handshake cannot be written
+	 */
+	public BinaryMessageSender(OutputStream out) throws IOException {
+		fOut= out;
+		fOut.write((MessageIds.PROTOCOL + BinaryProtocol.VERSION + '\n').getBytes(StandardCharsets.US_ASCII));
+		fOut.flush();
+		fLastWrite= System.currentTimeMillis();
+		fFlushThread= new FlushThread();
+		fFlushThread.start();
+	}
+
+	@Override
+	public synchronized void sendMessage(String msg) {
+		if (fFailureMessages != null && addToFailure(msg))
+			return;
+
+		if (msg.indexOf(',', MessageIds.MSG_HEADER_LENGTH) == -1) {
+			// no test id
+			writeText(msg);
+		} else if (msg.startsWith(MessageIds.TEST_TREE)) {
+			String arg= msg.substring(MessageIds.MSG_HEADER_LENGTH);
+			int comma= arg.indexOf(',');
+			String id= arg.substring(0, comma);
+			String entry= arg.substring(comma + 1);
+			Integer index= fIndexes.get(id);
+			String name= BinaryProtocol.getTreeEntryName(entry);
+			if (index == null) {
+				fIndexes.put(id, Integer.valueOf(fNames.size()));
+				fNames.add(name);
+			} else {
+				fNames.set(index.intValue(), name);
+			}
+			writeByte(BinaryProtocol.RECORD_TREE);
+			writeString(id);
+			writeString(entry);
+		} else if (msg.startsWith(MessageIds.TEST_START)) {
+			writeTestRecord(BinaryProtocol.RECORD_TEST_START, msg.substring(MessageIds.MSG_HEADER_LENGTH));
+		} else if (msg.startsWith(MessageIds.TEST_END)) {
+			writeTestRecord(BinaryProtocol.RECORD_TEST_END, msg.substring(MessageIds.MSG_HEADER_LENGTH));
+		} else if (msg.startsWith(MessageIds.TEST_FAILED) || msg.startsWith(MessageIds.TEST_ERROR)) {
+			fFailureMessages= new ArrayList<>();
+			fFailureMessages.add(msg);
+			fFailureStatus= msg.substring(0, MessageIds.MSG_HEADER_LENGTH);
+			fFailureArg= msg.substring(MessageIds.MSG_HEADER_LENGTH);
+		} else {
+			writeText(msg);
+		}
+		checkFrameSize();
+	}
+
+	/**
+	 * Adds a message to the pending failure.
+	 *
+	 * @param msg the message
+	 * @return <code>true</code> if the message is part of the failure, <code>false</code> if the
+	 *         failure has been sent as text messages and the message still needs to be sent
+	 */
+	private boolean addToFailure(String msg) {
+		if (fBlock != null) {
+			fFailureMessages.add(msg);
+			if (!msg.startsWith(fBlockEnd)) {
+				fBlock.append(msg).append(LINE_DELIMITER);
+				return true;
+			}
+			if (MessageIds.EXPECTED_END.equals(fBlockEnd)) {
+				fExpected= getBlockContent(fBlock);
+			} else if (MessageIds.ACTUAL_END.equals(fBlockEnd)) {
+				fActual= getBlockContent(fBlock);
+			} else {
+				byte kind= MessageIds.TEST_ERROR.equals(fFailureStatus) ? BinaryProtocol.RECORD_TEST_ERROR : BinaryProtocol.RECORD_TEST_FAILED;
+				writeTestRecord(kind, fFailureArg);
+				writeNullableString(fExpected);
+				writeNullableString(fActual);
+				writeString(fBlock.toString());
+				clearFailure();
+				checkFrameSize();
+				return true;
+			}
+			fBlock= null;
+			fBlockEnd= null;
+			return true;
+		}
+
+		String blockEnd= null;
+		if (msg.startsWith(MessageIds.EXPECTED_START)) {
+			blockEnd= MessageIds.EXPECTED_END;
+		} else if (msg.startsWith(MessageIds.ACTUAL_START)) {
+			blockEnd= MessageIds.ACTUAL_END;
+		} else if (msg.startsWith(MessageIds.TRACE_START)) {
+			blockEnd= MessageIds.TRACE_END;
+		}
+		if (blockEnd != null) {
+			fFailureMessages.add(msg);
+			fBlockEnd= blockEnd;
+			fBlock= new StringBuilder();
+			return true;
+		}
+
+		// not the expected sequence, fall back to the text protocol
+		sendFailureAsText();
+		return false;
+	}
+
+	private static String getBlockContent(StringBuilder block) {
+		if (block.length() == 0)
+			return null;
+		return block.toString();
+	}
+
+	private void sendFailureAsText() {
+		for (String message : fFailureMessages) {
+			writeText(message);
+		}
+		clearFailure();
+	}
+
+	private void clearFailure() {
+		fFailureMessages= null;
+		fFailureStatus= null;
+		fFailureArg= null;
+		fExpected= null;
+		fActual= null;
+		fBlock= null;
+		fBlockEnd= null;
+	}
+
+	private void writeTestRecord(byte kind, String arg) {
+		int comma= arg.indexOf(',');
+		String id= arg.substring(0, comma);
+		String name= arg.substring(comma + 1);
+		Integer index= fIndexes.get(id);
+		if (index == null) {
+			index= Integer.valueOf(fNames.size());
+			fIndexes.put(id, index);
+			fNames.add(name);
+			writeByte(BinaryProtocol.RECORD_DEFINE);
+			writeString(id);
+			writeString(name);
+		}
+		writeByte(kind);
+		writeInt(index.intValue());
+		writeNullableString(name.equals(fNames.get(index.intValue())) ? null : name);
+	}
+
+	private void writeText(String msg) {
+		writeByte(BinaryProtocol.RECORD_TEXT);
+		writeString(msg + LINE_DELIMITER);
+	}
+
+	private void writeByte(byte b) {
+		ensureCapacity(1);
+		fFrame[fFrameLength++]= b;
+	}
+
+	private void writeInt(int value) {
+		ensureCapacity(5);
+		while ((value & ~0x7f) != 0) {
+			fFrame[fFrameLength++]= (byte) ((value & 0x7f) | 0x80);
+			value>>>= 7;
+		}
+		fFrame[fFrameLength++]= (byte) value;
+	}
+
+	private void writeString(String s) {
+		byte[] bytes= s.getBytes(StandardCharsets.UTF_8);
+		writeInt(bytes.length);
+		writeBytes(bytes);
+	}
+
+	private void writeNullableString(String s) {
+		if (s == null) {
+			writeInt(0);
+		} else {
+			byte[] bytes= s.getBytes(StandardCharsets.UTF_8);
+			writeInt(bytes.length + 1);
+			writeBytes(bytes);
+		}
+	}
+
+	private void writeBytes(byte[] bytes) {
+		ensureCapacity(bytes.length);
+		System.arraycopy(bytes, 0, fFrame, fFrameLength, bytes.length);
+		fFrameLength+= bytes.length;
+	}
+
+	private void ensureCapacity(int length) {
+		if (fFrameLength + length > fFrame.length) {
+			byte[] frame= new byte[Math.max(2 * fFrame.length, fFrameLength + length)];
+			System.arraycopy(fFrame, 0, frame, 0, fFrameLength);
+			fFrame= frame;
+		}
+	}
+
+	private void checkFrameSize() {
+		if (fFrameLength >= FRAME_SIZE) {
+			writeFrame();
+			if (fFrame.length > FRAME_SIZE + 4)
+				fFrame= new byte[FRAME_SIZE + 4];
+		}
+	}
+
+	/**
+	 * Requests the records sent so far to be written. Writes them right away if the last write
+	 * is older than {@link #FLUSH_INTERVAL}, otherwise leaves it to the flush thread.
+	 */
+	@Override
+	public synchronized void flush() {
+		fFlushRequested= true;
+		if (System.currentTimeMillis() - fLastWrite >= FLUSH_INTERVAL)
+			writeFrame();
+	}
+
+	private void writeFrame() {
+		int length= fFrameLength - 4;
+		try {
+			if (length > 0) {
+				fFrame[0]= (byte) (length >>> 24);
+				fFrame[1]= (byte) (length >>> 16);
+				fFrame[2]= (byte) (length >>> 8);
+				fFrame[3]= (byte) length;
+				fOut.write(fFrame, 0, fFrameLength);
+			}
+			if (fFlushRequested)
+				fOut.flush();
+		} catch (IOException e) {
+			fException= e; // the IDE went away, the runner keeps going as with the text protocol
+		}
+		fFrameLength= 4;
+		fFlushRequested= false;
+		fLastWrite= System.currentTimeMillis();
+	}
+
+	/**
+	 * Writes all pending messages and closes the stream.
+	 */
+	public synchronized void close() {
+		fFlushThread.interrupt();
+		if (fFailureMessages != null)
+			sendFailureAsText();
+		fFlushRequested= true;
+		writeFrame();
+		try {
+			fOut.close();
+		} catch (IOException e) {
+			fException= e;
+		}
+	}
+
+	/**
+	 * @return the last exception raised by the underlying stream, or <code>null</code>
+	 */
+	public synchronized IOException getException() {
+		return fException;
+	}
+}
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The compact binary protocol that can replace the line based protocol described in
+ * {@link MessageIds}.
+ * <p>
+ * The IDE asks for it with the <code>-binaryprotocol</code> argument. The runner then sends
+ * {@link MessageIds#PROTOCOL} + {@link #VERSION} as its first line, followed by frames. A frame
+ * is a four byte big-endian length followed by that many bytes of records. Each record starts
+ * with one of the <code>RECORD_*</code> kinds. Integers are unsigned variable length quantities
+ * (seven bits per byte, least significant group first). Strings are the length of their UTF-8
+ * encoding followed by the bytes, nullable strings encode the length plus one and 0 for
+ * <code>null</code>.
+ * </p>
+ * <p>
+ * Test ids are interned: both sides number the ids in the order they are first seen in a
+ * {@link #RECORD_TREE} or {@link #RECORD_DEFINE} record, and the other records refer to a test by
+ * that index. The name of a test is taken from its tree entry unless the record carries one.
+ * Messages that have no record of their own are sent as {@link #RECORD_TEXT} and processed like
+ * lines of the text protocol.
+ * </p>
+ */
+public final class BinaryProtocol {
+
+	/**
+	 * The version sent in the handshake.
+	 */
+	public static final String VERSION= "binary1"; //$NON-NLS-1$
+
+	/**
+	 * Test tree entry: id, rest of the {@link MessageIds#TEST_TREE} message after "id,".
+	 */
+	public static final byte RECORD_TREE= 1;
+	/**
+	 * Test id not announced by a tree entry: id, name.
+	 */
+	public static final byte RECORD_DEFINE= 2;
+	/**
+	 * Test started: index, nullable name.
+	 */
+	public static final byte RECORD_TEST_START= 3;
+	/**
+	 * Test ended: index, nullable name.
+	 */
+	public static final byte RECORD_TEST_END= 4;
+	/**
+	 * Test failed: index, nullable name, nullable expected, nullable actual, trace. Expected,
+	 * actual and trace hold the lines of the corresponding text protocol blocks, each followed
+	 * by its line delimiter.
+	 */
+	public static final byte RECORD_TEST_FAILED= 5;
+	/**
+	 * Test had an error: same as {@link #RECORD_TEST_FAILED}.
+	 */
+	public static final byte RECORD_TEST_ERROR= 6;
+	/**
+	 * Message of the text protocol, including its line delimiter.
+	 */
+	public static final byte RECORD_TEXT= 7;
+
+	private BinaryProtocol() {
+	}
+
+	/**
+	 * Returns the (escaped) test name of a tree entry.
+	 *
+	 * @param entry the tree entry without the leading test id, see {@link MessageIds#TEST_TREE}
+	 * @return the test name as sent in {@link MessageIds#TEST_START} messages
+	 */
+	public static String getTreeEntryName(String entry) {
+		for (int i= 0; i < entry.length(); i++) {
+			char c= entry.charAt(i);
+			if (c == '\\') {
+				i++;
+			} else if (c == ',') {
+				return entry.substring(0, i);
+			}
+		}
+		return entry;
+	}
+
+	/**
+	 * Reads the records of one frame.
+	 */
+	public static final class RecordReader {
+
+		private final byte[] fBytes;
+		private final int fEnd;
+		private int fPosition;
+
+		public RecordReader(byte[] bytes, int length) {
+			fBytes= bytes;
+			fEnd= length;
+			fPosition= 0;
+		}
+
+		public boolean hasNext() {
+			return fPosition < fEnd;
+		}
+
+		public byte readByte() {
+			return fBytes[fPosition++];
+		}
+
+		public int readInt() {
+			int result= 0;
+			int shift= 0;
+			byte b;
+			do {
+				b= fBytes[fPosition++];
+				result|= (b & 0x7f) << shift;
+				shift+= 7;
+			} while ((b & 0x80) != 0);
+			return result;
+		}
+
+		public String readString() {
+			return readString(readInt());
+		}
+
+		public String readNullableString() {
+			int length= readInt();
+			if (length == 0)
+				return null;
+			return readString(length - 1);
+		}
+
+		private String readString(int length) {
+			String result= new String(fBytes, fPosition, length, StandardCharsets.UTF_8);
+			fPosition+= length;
+			return result;
+		}
+	}
+}
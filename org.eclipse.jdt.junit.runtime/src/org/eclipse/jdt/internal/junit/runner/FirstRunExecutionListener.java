@@ -30,21 +30,35 @@ public class FirstRunExecutionListener implements IListensToTestExecutions {
 
 	@Override
 	public void notifyTestEnded(ITestIdentifier test) {
-		sendMessage(test, MessageIds.TEST_END);
-		fSender.flush();
+		synchronized (getLock()) {
+			sendMessage(test, MessageIds.TEST_END);
+			fSender.flush();
+		}
 	}
 
 	@Override
-	public synchronized void notifyTestFailed(TestReferenceFailure failure) {
-		sendMessage(failure.getTest(), failure.getStatus());
-		sendFailure(failure, MessageIds.TRACE_START, MessageIds.TRACE_END);
-		// fSender.flush(); // flush is implicitly done by sendFailure()
+	public void notifyTestFailed(TestReferenceFailure failure) {
+		synchronized (getLock()) {
+			sendMessage(failure.getTest(), failure.getStatus());
+			sendFailure(failure, MessageIds.TRACE_START, MessageIds.TRACE_END);
+			// fSender.flush(); // flush is implicitly done by sendFailure()
+		}
 	}
 
 	@Override
 	public void notifyTestStarted(ITestIdentifier test) {
-		sendMessage(test, MessageIds.TEST_START);
-		fSender.flush();
+		synchronized (getLock()) {
+			sendMessage(test, MessageIds.TEST_START);
+			fSender.flush();
+		}
+	}
+
+	/**
+	 * @return the lock to hold while sending the messages of one event
+	 * @see TestIdMap
+	 */
+	protected Object getLock() {
+		return fIds;
 	}
 
 	private String getTestId(ITestIdentifier test) {
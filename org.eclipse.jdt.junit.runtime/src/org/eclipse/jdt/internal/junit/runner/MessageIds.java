@@ -123,6 +123,13 @@ public class MessageIds {
 	 * See: ITestRunListener2#testTreeEntry
 	 */
 	public static final String TEST_TREE= "%TSTTREE"; //$NON-NLS-1$
+	/**
+	 * Notification that the following messages use another protocol.
+	 * PROTOCOL + version, sent as the first line only when the IDE
+	 * requested it with the <code>-binaryprotocol</code> argument.
+	 * See BinaryProtocol for the format of the messages that follow.
+	 */
+	public static final String PROTOCOL= "%PROTOCL"; //$NON-NLS-1$
 	/**
 	 * Request to stop the current test run.
 	 */
@@ -14,6 +14,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.runner;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
@@ -90,6 +91,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * Print writer for sending messages
 	 */
 	private PrintWriter fWriter;
+	/**
+	 * Sender for the binary protocol, or <code>null</code> if the text protocol is used
+	 */
+	private BinaryMessageSender fBinarySender;
 	/**
 	 * Reader for incoming messages
 	 */
@@ -130,12 +135,23 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	private String[] fFailureNames;
 
+	private String fTestDurationsFile;
+
+	private String fTestOrder;
+
+	private TestDurations fTestDurations;
+
 	private ITestLoader fLoader;
 
 	private MessageSender fSender;
 
 	private boolean fConsoleMode = false;
 
+	/**
+	 * Has the IDE requested the binary protocol?
+	 */
+	private boolean fBinaryProtocol= false;
+
 	/**
 	 * Reader thread that processes messages from the client.
 	 */
@@ -201,6 +217,7 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * -host: the host to connect to default local host
 	 * -port: the port to connect to, mandatory argument
 	 * -keepalive: keep the process alive after a test run
+	 * -binaryprotocol: report with the BinaryProtocol instead of the text protocol
      * </pre>
      */
 	public static void main(String[] args) {
@@ -285,6 +302,14 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 				}
 				i++;
 
+			} else if ("-testdurations".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
+				fTestDurationsFile= args[i+1];
+				i++;
+
+			} else if ("-testorder".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
+				fTestOrder= args[i+1];
+				i++;
+
 			} else if("-port".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
 				fPort= Integer.parseInt(args[i+1]);
 				i++;
@@ -300,6 +325,9 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 			else if("-keepalive".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
 				fKeepAlive= true;
 			}
+			else if("-binaryprotocol".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
+				fBinaryProtocol= true;
+			}
 			else if("-debugging".equalsIgnoreCase(args[i]) || "-debug".equalsIgnoreCase(args[i])){ //$NON-NLS-1$ //$NON-NLS-2$
 			    fDebugMode= true;
 
@@ -344,6 +372,16 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 		if (getTestLoader() == null)
 			initDefaultLoader();
 
+		if (fTestDurationsFile != null) {
+			try {
+				fTestDurations= TestDurations.read(fTestDurationsFile, fTestOrder);
+			} catch (IOException e) {
+				throw new IllegalArgumentException("Cannot read testdurations file.");		 //$NON-NLS-1$
+			}
+			if (fDebugMode)
+				System.out.println("Test order: " + fTestDurations.getOrder()); //$NON-NLS-1$
+		}
+
 		if(fTestClassNames == null || fTestClassNames.length == 0) {
 			if (fPackageNames == null || fPackageNames.length == 0) {
 				throw new IllegalArgumentException(JUnitMessages.getString("RemoteTestRunner.error.classnamemissing")); //$NON-NLS-1$
@@ -578,10 +616,13 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	@Override
 	public void visitTreeEntry(ITestIdentifier identifier, boolean hasChildren, int testCount, boolean isDynamicTest, String parentId) {
-		String treeEntry= getTestId(identifier) + ',' + escapeText(identifier.getName()) + ',' + hasChildren + ',' + testCount
-				+ ',' + isDynamicTest + ',' + parentId + ',' + escapeText(identifier.getDisplayName()) + ',' + escapeText(identifier.getParameterTypes())
-				+ ',' + escapeText(identifier.getUniqueId());
-		notifyTestTreeEntry(treeEntry);
+		// dynamic tests are registered by the threads that run the tests, see TestIdMap
+		synchronized (fIds) {
+			String treeEntry= getTestId(identifier) + ',' + escapeText(identifier.getName()) + ',' + hasChildren + ',' + testCount
+					+ ',' + isDynamicTest + ',' + parentId + ',' + escapeText(identifier.getDisplayName()) + ',' + escapeText(identifier.getParameterTypes())
+					+ ',' + escapeText(identifier.getUniqueId());
+			notifyTestTreeEntry(treeEntry);
+		}
 	}
 
 	public static String escapeText(String s) {
@@ -648,6 +689,9 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 		for (int i= 1; i < 20; i++) {
 			try{
 				fClientSocket= new Socket(fHost, fPort);
+				if (fBinaryProtocol) {
+					fBinarySender= new BinaryMessageSender(new BufferedOutputStream(fClientSocket.getOutputStream()));
+				}
 				try {
 				    fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream(), "UTF-8")), false/*true*/); //$NON-NLS-1$
 	            } catch (UnsupportedEncodingException e1) {
@@ -677,6 +721,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * Shutsdown the connection to the remote test listener.
 	 */
 	private void shutDown() {
+		if (fBinarySender != null) {
+			fBinarySender.close();
+			fBinarySender= null;
+		}
 		if (fWriter != null) {
 			fWriter.close();
 			fWriter= null;
@@ -710,6 +758,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	@Override
 	public void sendMessage(String msg) {
+		if (fBinarySender != null) {
+			fBinarySender.sendMessage(msg);
+			return;
+		}
 		if(fWriter == null)
 			return;
 		fWriter.println(msg);
@@ -750,6 +802,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	@Override
 	public void flush() {
+		if (fBinarySender != null) {
+			fBinarySender.flush();
+			return;
+		}
 	    fWriter.flush();
 	}
 
@@ -761,6 +817,14 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 		return fLoader;
 	}
 
+	/**
+	 * @return the durations of the tests in previous runs, or <code>null</code> if the tests run
+	 *         in the default order
+	 */
+	public TestDurations getTestDurations() {
+		return fTestDurations;
+	}
+
 	public Class<?> loadClass(String className, RemoteTestRunner listener) {
 		Class<?> clazz= null;
 		try {
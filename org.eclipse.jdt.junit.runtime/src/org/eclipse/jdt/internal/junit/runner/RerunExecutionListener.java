@@ -27,16 +27,18 @@ public class RerunExecutionListener extends FirstRunExecutionListener {
 	private String fStatus = RemoteTestRunner.RERAN_OK;
 
 	@Override
-	public synchronized void notifyTestFailed(TestReferenceFailure failure) {
-		sendFailure(failure, MessageIds.RTRACE_START, MessageIds.RTRACE_END);
-
-		String status = failure.getStatus();
-		if (MessageIds.TEST_FAILED.equals(status))
-			fStatus = RemoteTestRunner.RERAN_FAILURE;
-		else if (MessageIds.TEST_ERROR.equals(status))
-			fStatus = RemoteTestRunner.RERAN_ERROR;
-		else
-			throw new IllegalArgumentException(status);
+	public void notifyTestFailed(TestReferenceFailure failure) {
+		synchronized (getLock()) {
+			sendFailure(failure, MessageIds.RTRACE_START, MessageIds.RTRACE_END);
+
+			String status = failure.getStatus();
+			if (MessageIds.TEST_FAILED.equals(status))
+				fStatus = RemoteTestRunner.RERAN_FAILURE;
+			else if (MessageIds.TEST_ERROR.equals(status))
+				fStatus = RemoteTestRunner.RERAN_ERROR;
+			else
+				throw new IllegalArgumentException(status);
+		}
 	}
 
 	@Override
@@ -50,7 +52,9 @@ public class RerunExecutionListener extends FirstRunExecutionListener {
 	}
 
 	public String getStatus() {
-		return fStatus;
+		synchronized (getLock()) {
+			return fStatus;
+		}
 	}
 
 }
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The durations of tests in previous runs, read from the file passed with
+ * <code>-testdurations</code>. Each line of the file is "milliseconds TAB test name", where the
+ * test name has the form METHOD_NAME(CLASS_NAME).
+ */
+public class TestDurations {
+
+	/**
+	 * Value of <code>-testorder</code> to run the slowest tests first.
+	 */
+	public static final String SLOWEST_FIRST= "slowest"; //$NON-NLS-1$
+
+	/**
+	 * Value of <code>-testorder</code> to run the fastest tests first.
+	 */
+	public static final String FASTEST_FIRST= "fastest"; //$NON-NLS-1$
+
+	private static final Map<String, TestDurations> fgCache= new HashMap<>();
+
+	private final String fFileName;
+	private final boolean fSlowestFirst;
+	private final Map<String, Long> fDurations= new HashMap<>();
+
+	private TestDurations(String fileName, String order) {
+		fFileName= fileName;
+		fSlowestFirst= !FASTEST_FIRST.equalsIgnoreCase(order);
+	}
+
+	/**
+	 * Reads a durations file.
+	 *
+	 * @param fileName the file
+	 * @param order {@link #SLOWEST_FIRST} or {@link #FASTEST_FIRST}
+	 * @return the durations
+	 * @throws IOException if the file could not be read
+	 */
+	public static TestDurations read(String fileName, String order) throws IOException {
+		TestDurations durations= new TestDurations(fileName, order);
+		try (BufferedReader br= new BufferedReader(new InputStreamReader(new FileInputStream(new File(fileName)), "UTF-8"))) { //$NON-NLS-1$
+			String line;
+			while ((line= br.readLine()) != null) {
+				int tab= line.indexOf('\t');
+				if (tab <= 0)
+					continue;
+				try {
+					durations.fDurations.put(line.substring(tab + 1), Long.valueOf(line.substring(0, tab)));
+				} catch (NumberFormatException e) {
+					// ignore malformed line
+				}
+			}
+		}
+		return durations;
+	}
+
+	/**
+	 * Returns the durations in a file, reading the file only once per VM. Used by test orderers
+	 * that are instantiated by the test framework and only know the file name.
+	 *
+	 * @param fileName the file
+	 * @param order {@link #SLOWEST_FIRST} or {@link #FASTEST_FIRST}
+	 * @return the durations, or <code>null</code> if the file could not be read
+	 */
+	public static TestDurations get(String fileName, String order) {
+		String key= order + '\t' + fileName;
+		synchronized (fgCache) {
+			TestDurations durations= fgCache.get(key);
+			if (durations == null) {
+				try {
+					durations= read(fileName, order);
+				} catch (IOException e) {
+					return null;
+				}
+				fgCache.put(key, durations);
+			}
+			return durations;
+		}
+	}
+
+	/**
+	 * @return the name of the durations file
+	 */
+	public String getFileName() {
+		return fFileName;
+	}
+
+	/**
+	 * @return the order passed with <code>-testorder</code>
+	 */
+	public String getOrder() {
+		return fSlowestFirst ? SLOWEST_FIRST : FASTEST_FIRST;
+	}
+
+	/**
+	 * @return <code>true</code> if the slowest tests run first
+	 */
+	public boolean isSlowestFirst() {
+		return fSlowestFirst;
+	}
+
+	/**
+	 * @param testName the test name, METHOD_NAME(CLASS_NAME)
+	 * @return the duration in milliseconds, or 0 if the test has not run before
+	 */
+	public long getDuration(String testName) {
+		Long duration= fDurations.get(testName);
+		return duration == null ? 0 : duration.longValue();
+	}
+
+	/**
+	 * Compares two durations in the requested order.
+	 *
+	 * @param duration1 the first duration
+	 * @param duration2 the second duration
+	 * @return a negative number if the test with <code>duration1</code> should run first, a
+	 *         positive number if the test with <code>duration2</code> should run first, 0
+	 *         otherwise
+	 */
+	public int compare(long duration1, long duration2) {
+		return fSlowestFirst ? Long.compare(duration2, duration1) : Long.compare(duration1, duration2);
+	}
+}
@@ -18,12 +18,20 @@ package org.eclipse.jdt.internal.junit.runner;
 
 import java.util.HashMap;
 
+/**
+ * Assigns the ids of the tests.
+ * <p>
+ * Tests can run in parallel (e.g. with JUnit Jupiter's parallel execution), so the listeners
+ * hold the lock of this map while they send the messages of one event. This keeps multi-line
+ * messages together and ensures that an id is sent in a tree entry before it is used.
+ * </p>
+ */
 public class TestIdMap {
 	private HashMap<ITestIdentifier, String> fIdMap= new HashMap<>();
 
 	private int fNextId= 1;
 
-	public String getTestId(ITestIdentifier identifier) {
+	public synchronized String getTestId(ITestIdentifier identifier) {
 		Object id= fIdMap.get(identifier);
 		if (id != null)
 			return (String) id;
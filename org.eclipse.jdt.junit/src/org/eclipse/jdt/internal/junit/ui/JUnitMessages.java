@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -143,6 +143,7 @@ public final class JUnitMessages extends NLS {
 	public static String JUnitLaunchConfigurationTab_label_containerTest;
 
 	public static String JUnitLaunchConfigurationTab_label_keeprunning;
+	public static String JUnitLaunchConfigurationTab_label_parallelism;
 
 	public static String JUnitLaunchConfigurationTab_label_method;
 
@@ -348,6 +349,8 @@ public final class JUnitMessages extends NLS {
 
 	public static String TestSessionLabelProvider_testName_elapsedTimeInSeconds;
 
+	public static String TestSessionLabelProvider_testName_elapsedTimeInSeconds_regression;
+
 	public static String TestSessionLabelProvider_testName_JUnitVersion;
 
 	public static String TypeRenameParticipant_change_name;
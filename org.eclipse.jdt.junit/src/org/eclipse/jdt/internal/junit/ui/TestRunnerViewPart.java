@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,6 +38,7 @@ import java.text.MessageFormat;
 import java.text.NumberFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
@@ -147,7 +148,7 @@ import org.eclipse.jdt.internal.junit.launcher.ITestKind;
 import org.eclipse.jdt.internal.junit.launcher.JUnitLaunchConfigurationConstants;
 import org.eclipse.jdt.internal.junit.launcher.TestKindRegistry;
 import org.eclipse.jdt.internal.junit.model.ITestRunSessionListener;
-import org.eclipse.jdt.internal.junit.model.ITestSessionListener;
+import org.eclipse.jdt.internal.junit.model.ITestSessionBatchListener;
 import org.eclipse.jdt.internal.junit.model.JUnitModel;
 import org.eclipse.jdt.internal.junit.model.TestCaseElement;
 import org.eclipse.jdt.internal.junit.model.TestElement;
@@ -730,11 +731,17 @@ public class TestRunnerViewPart extends ViewPart {
 		}
 	}
 
-	private class TestSessionListener implements ITestSessionListener {
+	private class TestSessionListener implements ITestSessionBatchListener {
+		/**
+		 * <code>true</code> if the view has been shown for a failure
+		 */
+		private boolean fShownOnError;
+
 		@Override
 		public void sessionStarted(){
 			fTestViewer.registerViewersRefresh();
 			fShowOnErrorOnly= getShowOnErrorOnly();
+			fShownOnError= false;
 
 			startUpdateJobs();
 
@@ -755,6 +762,7 @@ public class TestRunnerViewPart extends ViewPart {
 			deregisterTestSessionListener(false);
 
 			fTestViewer.registerAutoScrollTarget(null);
+			fTestViewer.registerDurationRegressionUpdates();
 
 			String[] keys= {elapsedTimeAsString(elapsedTime)};
 			String msg= Messages.format(JUnitMessages.TestRunnerViewPart_message_finish, keys);
@@ -814,40 +822,36 @@ public class TestRunnerViewPart extends ViewPart {
 		}
 
 		@Override
-		public void testStarted(TestCaseElement testCaseElement) {
-			fTestViewer.registerAutoScrollTarget(testCaseElement);
-			fTestViewer.registerViewerUpdate(testCaseElement);
+		public void testsChanged(Collection<TestElement> testElements) {
+			TestCaseElement lastStarted= null;
+			boolean failed= false;
+			for (TestElement testElement : testElements) {
+				fTestViewer.registerViewerUpdate(testElement);
+				TestElement.Status status= testElement.getStatus();
+				if (status == TestElement.Status.RUNNING && testElement instanceof TestCaseElement) {
+					lastStarted= (TestCaseElement) testElement;
+				} else if (status.isErrorOrFailure()) {
+					if (isAutoScroll()) {
+						fTestViewer.registerFailedForAutoScroll(testElement);
+					}
+					failed= true;
+				}
+			}
 
-			String className= BasicElementLabels.getJavaElementName(testCaseElement.getClassName());
-			String method= BasicElementLabels.getJavaElementName(testCaseElement.getTestMethodName());
-			String status= Messages.format(JUnitMessages.TestRunnerViewPart_message_started, new String[] { className, method });
-			registerInfoMessage(status);
-		}
+			if (lastStarted != null) {
+				fTestViewer.registerAutoScrollTarget(lastStarted);
 
-		@Override
-		public void testFailed(TestElement testElement, TestElement.Status status, String trace, String expected, String actual) {
-			if (isAutoScroll()) {
-				fTestViewer.registerFailedForAutoScroll(testElement);
+				String className= BasicElementLabels.getJavaElementName(lastStarted.getClassName());
+				String method= BasicElementLabels.getJavaElementName(lastStarted.getTestMethodName());
+				String status= Messages.format(JUnitMessages.TestRunnerViewPart_message_started, new String[] { className, method });
+				registerInfoMessage(status);
 			}
-			fTestViewer.registerViewerUpdate(testElement);
-
-		    // show the view on the first error only
-		    if (fShowOnErrorOnly && (getErrorsPlusFailures() == 1))
-		        postShowTestResultsView();
-
-		    //TODO:
-		    // [Bug 35590] JUnit window doesn't report errors from junit.extensions.TestSetup [JUnit]
-		    // when a failure occurs in test setup then no test is running
-		    // to update the views we artificially signal the end of a test run
-//		    if (!fTestIsRunning) {
-//				fTestIsRunning= false;
-//				testEnded(testCaseElement);
-//			}
-		}
 
-		@Override
-		public void testEnded(TestCaseElement testCaseElement){
-			fTestViewer.registerViewerUpdate(testCaseElement);
+			// show the view on the first error only
+			if (failed && fShowOnErrorOnly && !fShownOnError) {
+				fShownOnError= true;
+				postShowTestResultsView();
+			}
 		}
 
 		@Override
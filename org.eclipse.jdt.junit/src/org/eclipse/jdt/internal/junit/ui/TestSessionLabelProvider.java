@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,6 +34,7 @@ import org.eclipse.jdt.internal.junit.Messages;
 import org.eclipse.jdt.internal.junit.model.TestCaseElement;
 import org.eclipse.jdt.internal.junit.model.TestElement;
 import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
 import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
 
 public class TestSessionLabelProvider extends LabelProvider implements IStyledLabelProvider {
@@ -80,7 +81,7 @@ public class TestSessionLabelProvider extends LabelProvider implements IStyledLa
 				text= StyledCellLabelProvider.styleDecoratedString(decorated, StyledString.QUALIFIER_STYLER, text);
 			}
 		}
-		return addElapsedTime(text, testElement.getElapsedTimeInSeconds());
+		return addElapsedTime(text, testElement);
 	}
 
 	private String getTextForFlatLayout(TestCaseElement testCaseElement, String label) {
@@ -98,18 +99,29 @@ public class TestSessionLabelProvider extends LabelProvider implements IStyledLa
 		return Messages.format(JUnitMessages.TestSessionLabelProvider_testMethodName_className, new Object[] { label, BasicElementLabels.getJavaElementName(parentName) });
 	}
 
-	private StyledString addElapsedTime(StyledString styledString, double time) {
+	private StyledString addElapsedTime(StyledString styledString, ITestElement testElement) {
 		String string= styledString.getString();
-		String decorated= addElapsedTime(string, time);
+		String decorated= addElapsedTime(string, testElement);
 		return StyledCellLabelProvider.styleDecoratedString(decorated, StyledString.COUNTER_STYLER, styledString);
 	}
 
-	private String addElapsedTime(String string, double time) {
+	private String addElapsedTime(String string, ITestElement testElement) {
+		double time= testElement.getElapsedTimeInSeconds();
 		if (!fShowTime || Double.isNaN(time)) {
 			return string;
 		}
 		String formattedTime= timeFormat.format(time);
-		return Messages.format(JUnitMessages.TestSessionLabelProvider_testName_elapsedTimeInSeconds, new String[] { string, formattedTime});
+		String pattern= isDurationRegression(testElement)
+				? JUnitMessages.TestSessionLabelProvider_testName_elapsedTimeInSeconds_regression
+				: JUnitMessages.TestSessionLabelProvider_testName_elapsedTimeInSeconds;
+		return Messages.format(pattern, new String[] { string, formattedTime});
+	}
+
+	private static boolean isDurationRegression(ITestElement testElement) {
+		if (!(testElement instanceof TestCaseElement))
+			return false;
+		ITestRunSession session= testElement.getTestRunSession();
+		return session instanceof TestRunSession && ((TestRunSession) session).isDurationRegression((TestCaseElement) testElement);
 	}
 
 	private String getSimpleLabel(Object element) {
@@ -144,7 +156,7 @@ public class TestSessionLabelProvider extends LabelProvider implements IStyledLa
 				label= getTextForFlatLayout((TestCaseElement) testElement, label);
 			}
 		}
-		return addElapsedTime(label, testElement.getElapsedTimeInSeconds());
+		return addElapsedTime(label, testElement);
 	}
 
 	@Override
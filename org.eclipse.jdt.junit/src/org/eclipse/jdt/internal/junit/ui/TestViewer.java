@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -948,6 +948,26 @@ public class TestViewer {
 		fNeedUpdate.add(testElement);
 	}
 
+	/**
+	 * Registers updates of the tests of the active session that ran much slower than their
+	 * median duration. They are only known when the session has ended.
+	 */
+	public synchronized void registerDurationRegressionUpdates() {
+		if (fTestRunSession == null || fTestRunSession.getDurationRegressions().isEmpty())
+			return;
+		addDurationRegressions(fTestRunSession.getTestRoot());
+	}
+
+	private void addDurationRegressions(TestSuiteElement suite) {
+		for (ITestElement child : suite.getChildren()) {
+			if (child instanceof TestSuiteElement) {
+				addDurationRegressions((TestSuiteElement) child);
+			} else if (child instanceof TestCaseElement && fTestRunSession.isDurationRegression((TestCaseElement) child)) {
+				fNeedUpdate.add((TestCaseElement) child);
+			}
+		}
+	}
+
 	private synchronized void clearAutoExpand() {
 		fAutoExpand.clear();
 	}
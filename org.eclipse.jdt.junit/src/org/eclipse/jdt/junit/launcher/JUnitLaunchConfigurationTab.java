@@ -33,6 +33,7 @@ import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Spinner;
 import org.eclipse.swt.widgets.Text;
 
 import org.eclipse.core.runtime.CoreException;
@@ -178,6 +179,10 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 
 	private ComboViewer fTestLoaderViewer;
 
+	private Label fParallelismLabel;
+
+	private Spinner fParallelism;
+
 	private ILaunchConfiguration fLaunchConfiguration;
 
 	private boolean fIsValid= true;
@@ -210,6 +215,7 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 		createSpacer(comp);
 
 		createTestLoaderGroup(comp);
+		createParallelismGroup(comp);
 		createSpacer(comp);
 
 		createKeepAliveGroup(comp);
@@ -282,11 +288,28 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 				if (first instanceof ITestKind) {
 					boolean isJUnit5= TestKindRegistry.JUNIT5_TEST_KIND_ID.equals(((ITestKind) first).getId());
 					fIncludeExcludeTagsButton.setEnabled(isJUnit5);
+					fParallelismLabel.setEnabled(isJUnit5);
+					fParallelism.setEnabled(isJUnit5);
 				}
 			}
 		}
 	}
 
+	private void createParallelismGroup(Composite comp) {
+		new Label(comp, SWT.NONE); // fills the row of the test runner combo
+
+		fParallelismLabel= new Label(comp, SWT.NONE);
+		fParallelismLabel.setText(JUnitMessages.JUnitLaunchConfigurationTab_label_parallelism);
+		GridData gd= new GridData();
+		gd.horizontalIndent= 0;
+		fParallelismLabel.setLayoutData(gd);
+
+		fParallelism= new Spinner(comp, SWT.BORDER);
+		fParallelism.setValues(0, 0, 1024, 0, 1, 4);
+		fParallelism.addModifyListener(e -> updateLaunchConfigurationDialog());
+		fParallelism.setLayoutData(new GridData());
+	}
+
 	private void createSpacer(Composite comp) {
 		Label label= new Label(comp, SWT.NONE);
 		GridData gd= new GridData();
@@ -486,6 +509,7 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 			}
 			updateKeepRunning(config);
 			updateTestLoaderFromConfig(config);
+			updateParallelism(config);
 
 			calculateMethodsCache();
 			validatePage();
@@ -522,6 +546,15 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 		fKeepRunning.setSelection(running);
 	}
 
+	private void updateParallelism(ILaunchConfiguration config) {
+		int parallelism= 0;
+		try {
+			parallelism= config.getAttribute(JUnitLaunchConfigurationConstants.ATTR_PARALLELISM, 0);
+		} catch (CoreException ce) {
+		}
+		fParallelism.setSelection(parallelism);
+	}
+
 	private void updateProjectFromConfig(ILaunchConfiguration config) {
 		String projectName= ""; //$NON-NLS-1$
 		try {
@@ -592,6 +625,11 @@ public class JUnitLaunchConfigurationTab extends AbstractLaunchConfigurationTab
 			config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_TEST_NAME, fTestMethodText.getText());
 		}
 		config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_KEEPRUNNING, fKeepRunning.getSelection());
+		if (fParallelism.getSelection() > 0) {
+			config.setAttribute(JUnitLaunchConfigurationConstants.ATTR_PARALLELISM, fParallelism.getSelection());
+		} else {
+			config.removeAttribute(JUnitLaunchConfigurationConstants.ATTR_PARALLELISM);
+		}
 		try {
 			mapResources(config);
 		} catch (CoreException e) {
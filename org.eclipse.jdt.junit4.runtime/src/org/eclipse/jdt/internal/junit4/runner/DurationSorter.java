@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jdt.internal.junit4.runner;
+
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.junit.runner.Description;
+
+import org.eclipse.jdt.internal.junit.runner.TestDurations;
+
+/**
+ * Comparator for descriptions to sort according to the durations of previous runs. The duration
+ * of a suite is the sum of the durations of its tests. Tests that have not run before have a
+ * duration of 0.
+ */
+public class DurationSorter implements Comparator<Description> {
+
+	private final TestDurations fDurations;
+
+	private final Map<Description, Long> fTotals= new IdentityHashMap<>();
+
+	/**
+	 * Creates a sorter.
+	 *
+	 * @param durations the durations of previous runs
+	 */
+	public DurationSorter(TestDurations durations) {
+		fDurations= durations;
+	}
+
+	@Override
+	public int compare(Description d1, Description d2) {
+		return fDurations.compare(getDuration(d1), getDuration(d2));
+	}
+
+	private long getDuration(Description d) {
+		Long total= fTotals.get(d);
+		if (total == null) {
+			long duration;
+			if (d.isTest()) {
+				duration= fDurations.getDuration(d.getDisplayName());
+			} else {
+				duration= 0;
+				for (Description child : d.getChildren()) {
+					duration+= getDuration(child);
+				}
+			}
+			total= Long.valueOf(duration);
+			fTotals.put(d, total);
+		}
+		return total.longValue();
+	}
+}
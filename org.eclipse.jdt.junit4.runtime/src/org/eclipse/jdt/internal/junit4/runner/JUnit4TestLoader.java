@@ -26,6 +26,7 @@ import org.junit.runner.Runner;
 import org.eclipse.jdt.internal.junit.runner.ITestLoader;
 import org.eclipse.jdt.internal.junit.runner.ITestReference;
 import org.eclipse.jdt.internal.junit.runner.RemoteTestRunner;
+import org.eclipse.jdt.internal.junit.runner.TestDurations;
 import org.eclipse.jdt.internal.junit.runner.junit3.JUnit3TestLoader;
 import org.eclipse.jdt.internal.junit.runner.junit3.JUnit3TestReference;
 
@@ -71,27 +72,36 @@ public class JUnit4TestLoader implements ITestLoader {
 			return new JUnit3TestReference(test);
 		}
 		if (testName != null) {
-			return createFilteredTest(clazz, testName, failureNames);
+			return createFilteredTest(clazz, testName, failureNames, listener);
 		}
-		return createUnfilteredTest(clazz, failureNames);
+		return createUnfilteredTest(clazz, failureNames, listener);
 	}
 
-	private ITestReference createFilteredTest(Class<?> clazz, String testName, String[] failureNames) {
+	private ITestReference createFilteredTest(Class<?> clazz, String testName, String[] failureNames, RemoteTestRunner listener) {
 		DescriptionMatcher matcher= DescriptionMatcher.create(clazz, testName);
 		SubForestFilter filter= new SubForestFilter(matcher);
-		Request request= sortByFailures(Request.classWithoutSuiteMethod(clazz).filterWith(filter), failureNames);
+		Request request= sortByFailures(sortByDurations(Request.classWithoutSuiteMethod(clazz).filterWith(filter), listener), failureNames);
 		Runner runner= request.getRunner();
 		Description description= getRootDescription(runner, matcher);
 		return new JUnit4TestReference(runner, description);
 	}
 
-	private ITestReference createUnfilteredTest(Class<?> clazz, String[] failureNames) {
-		Request request= sortByFailures(Request.aClass(clazz), failureNames);
+	private ITestReference createUnfilteredTest(Class<?> clazz, String[] failureNames, RemoteTestRunner listener) {
+		Request request= sortByFailures(sortByDurations(Request.aClass(clazz), listener), failureNames);
 		Runner runner= request.getRunner();
 		Description description= runner.getDescription();
 		return new JUnit4TestReference(runner, description);
 	}
 
+	private Request sortByDurations(Request request, RemoteTestRunner listener) {
+		TestDurations durations= listener.getTestDurations();
+		if (durations != null) {
+			return request.sortWith(new DurationSorter(durations));
+		}
+		return request;
+	}
+
+	// the sort is stable, failures first keeps the order by durations within both groups
 	private Request sortByFailures(Request request, String[] failureNames) {
 		if (failureNames != null) {
 			return request.sortWith(new FailuresFirstSorter(failureNames));
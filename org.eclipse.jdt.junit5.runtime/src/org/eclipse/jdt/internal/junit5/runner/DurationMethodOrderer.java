@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit5.runner;
+
+import java.util.Comparator;
+import java.util.Optional;
+
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+
+import org.eclipse.jdt.internal.junit.runner.TestDurations;
+
+/**
+ * Orders the test methods by their durations in previous runs, then puts the failures of the
+ * previous run first if {@link JUnit5TestLoader#FAILURE_NAMES} is set.
+ */
+public class DurationMethodOrderer implements MethodOrderer {
+
+	@Override
+	public void orderMethods(MethodOrdererContext context) {
+		Optional<String> fileName= context.getConfigurationParameter(JUnit5TestLoader.TEST_DURATIONS);
+		if (fileName.isPresent()) {
+			TestDurations durations= TestDurations.get(fileName.get(), context.getConfigurationParameter(JUnit5TestLoader.TEST_ORDER).orElse(null));
+			if (durations != null) {
+				Comparator<MethodDescriptor> comparator= (d1, d2) -> durations.compare(durations.getDuration(getTestName(d1)), durations.getDuration(getTestName(d2)));
+				context.getMethodDescriptors().sort(comparator);
+			}
+		}
+		if (context.getConfigurationParameter(JUnit5TestLoader.FAILURE_NAMES).isPresent()) {
+			// stable sort, keeps the order by durations within failures and other tests
+			new FailuresFirstMethodOrderer().orderMethods(context);
+		}
+	}
+
+	private static String getTestName(MethodDescriptor d) {
+		// durations are keyed by METHOD_NAME(CLASS_NAME)
+		return d.getMethod().getName() + "(" + d.getMethod().getDeclaringClass().getName() + ")"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
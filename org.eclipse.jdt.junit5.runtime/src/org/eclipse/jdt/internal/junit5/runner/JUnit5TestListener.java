@@ -42,7 +42,11 @@ public class JUnit5TestListener implements TestExecutionListener {
 
 	private RemoteTestRunner fRemoteTestRunner;
 
-	private TestPlan fTestPlan;
+	/**
+	 * The test plan, set by the main thread. Events are reported by the threads that run the
+	 * tests when JUnit Jupiter's parallel execution is enabled.
+	 */
+	private volatile TestPlan fTestPlan;
 
 	public JUnit5TestListener(IListensToTestExecutions notified, RemoteTestRunner remoteTestRunner) {
 		fNotified= notified;
@@ -167,8 +171,9 @@ public class JUnit5TestListener implements TestExecutionListener {
 
 	@Override
 	public void executionSkipped(TestIdentifier testIdentifier, String reason) {
-		if (testIdentifier.isContainer() && fTestPlan != null) {
-			fTestPlan.getDescendants(testIdentifier).stream().filter(TestIdentifier::isTest).forEachOrdered(this::notifySkipped);
+		TestPlan testPlan= fTestPlan;
+		if (testIdentifier.isContainer() && testPlan != null) {
+			testPlan.getDescendants(testIdentifier).stream().filter(TestIdentifier::isTest).forEachOrdered(this::notifySkipped);
 		} else {
 			notifySkipped(testIdentifier);
 		}
@@ -184,18 +189,19 @@ public class JUnit5TestListener implements TestExecutionListener {
 
 	@Override
 	public void dynamicTestRegistered(TestIdentifier testIdentifier) {
-		if (fTestPlan != null) {
+		TestPlan testPlan= fTestPlan;
+		if (testPlan != null) {
 			JUnit5Identifier dynamicTestIdentifier= new JUnit5Identifier(testIdentifier);
 			boolean hasChildren;
 			int testCount;
 			if (testIdentifier.isContainer()) {
 				hasChildren= true;
-				testCount= fTestPlan.getChildren(testIdentifier).size();
+				testCount= testPlan.getChildren(testIdentifier).size();
 			} else {
 				hasChildren= false;
 				testCount= 1;
 			}
-			String parentId= getParentId(testIdentifier, fTestPlan);
+			String parentId= getParentId(testIdentifier, testPlan);
 			fRemoteTestRunner.visitTreeEntry(dynamicTestIdentifier, hasChildren, testCount, true, parentId);
 		}
 	}
@@ -29,11 +29,18 @@ import org.junit.platform.launcher.core.LauncherFactory;
 import org.eclipse.jdt.internal.junit.runner.ITestLoader;
 import org.eclipse.jdt.internal.junit.runner.ITestReference;
 import org.eclipse.jdt.internal.junit.runner.RemoteTestRunner;
+import org.eclipse.jdt.internal.junit.runner.TestDurations;
 
 public class JUnit5TestLoader implements ITestLoader {
 
 	public final static String FAILURE_NAMES= "org.eclipse.jdt.junit5.runtime.failureNames"; //$NON-NLS-1$
 
+	public final static String TEST_DURATIONS= "org.eclipse.jdt.junit5.runtime.testDurations"; //$NON-NLS-1$
+
+	public final static String TEST_ORDER= "org.eclipse.jdt.junit5.runtime.testOrder"; //$NON-NLS-1$
+
+	private final static String METHOD_ORDER= "junit.jupiter.testmethod.order.default"; //$NON-NLS-1$
+
 	private Launcher fLauncher= LauncherFactory.create();
 
 	private RemoteTestRunner fRemoteTestRunner;
@@ -82,8 +89,9 @@ public class JUnit5TestLoader implements ITestLoader {
 				failureNamesString += failureName + ";"; //$NON-NLS-1$
 			}
 			requestBuilder.configurationParameter(FAILURE_NAMES, failureNamesString);
-			requestBuilder.configurationParameter("junit.jupiter.testmethod.order.default", FailuresFirstMethodOrderer.class.getName()); //$NON-NLS-1$
+			requestBuilder.configurationParameter(METHOD_ORDER, FailuresFirstMethodOrderer.class.getName());
 		}
+		orderByDurations(requestBuilder);
 		LauncherDiscoveryRequest request= requestBuilder.build();
 		return new JUnit5TestReference(request, fLauncher, fRemoteTestRunner);
 	}
@@ -99,11 +107,12 @@ public class JUnit5TestLoader implements ITestLoader {
 		} else {
 			pattern= "^" + pkg + "\\.[^.]+$"; //$NON-NLS-1$//$NON-NLS-2$
 		}
-		LauncherDiscoveryRequest request= LauncherDiscoveryRequestBuilder.request()
+		LauncherDiscoveryRequestBuilder requestBuilder= LauncherDiscoveryRequestBuilder.request()
 				.selectors(DiscoverySelectors.selectPackage(pkg))
 				.filters(ClassNameFilter.includeClassNamePatterns(pattern))
-				.filters(getTagFilters(includeExcludeTags))
-				.build();
+				.filters(getTagFilters(includeExcludeTags));
+		orderByDurations(requestBuilder);
+		LauncherDiscoveryRequest request= requestBuilder.build();
 
 		return new JUnit5TestReference(request, fLauncher, fRemoteTestRunner);
 	}
@@ -113,6 +122,15 @@ public class JUnit5TestLoader implements ITestLoader {
 		return new JUnit5TestReference(request, fLauncher, fRemoteTestRunner);
 	}
 
+	private void orderByDurations(LauncherDiscoveryRequestBuilder requestBuilder) {
+		TestDurations durations= fRemoteTestRunner.getTestDurations();
+		if (durations != null) {
+			requestBuilder.configurationParameter(TEST_DURATIONS, durations.getFileName());
+			requestBuilder.configurationParameter(TEST_ORDER, durations.getOrder());
+			requestBuilder.configurationParameter(METHOD_ORDER, DurationMethodOrderer.class.getName());
+		}
+	}
+
 	private Filter<?>[] getTagFilters(String[][] includeExcludeTags) {
 		String[] includeTags= includeExcludeTags[0];
 		String[] excludeTags= includeExcludeTags[1];
@@ -17,6 +17,7 @@ package org.eclipse.jdt.text.tests;
 import org.eclipse.jdt.text.tests.codemining.CodeMiningTriggerTest;
 import org.eclipse.jdt.text.tests.codemining.ParameterNamesCodeMiningTest;
 import org.eclipse.jdt.text.tests.contentassist.ContentAssistTestSuite;
+import org.eclipse.jdt.text.tests.spelling.CompiledSpellDictionaryTest;
 import org.eclipse.jdt.text.tests.spelling.SpellCheckEngineTestCase;
 import org.eclipse.jdt.text.tests.templates.TemplatesTestSuite;
 import org.junit.runner.RunWith;
@@ -57,6 +58,7 @@ import org.junit.runners.Suite;
 //			});
 	BracketInserterTest.class,
 	SpellCheckEngineTestCase.class,
+	CompiledSpellDictionaryTest.class,
 	SemanticHighlightingTest.class,
 	AutoboxingSemanticHighlightingTest.class,
 	NewForLoopJavaContextTest.class,
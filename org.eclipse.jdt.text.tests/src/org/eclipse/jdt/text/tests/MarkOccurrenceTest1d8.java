@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2022 IBM Corporation and others.
+ * Copyright (c) 2011, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,6 +38,7 @@ import org.eclipse.jdt.internal.core.manipulation.search.ExceptionOccurrencesFin
 import org.eclipse.jdt.internal.core.manipulation.search.IOccurrencesFinder;
 import org.eclipse.jdt.internal.core.manipulation.search.IOccurrencesFinder.OccurrenceLocation;
 import org.eclipse.jdt.internal.core.manipulation.search.MethodExitsFinder;
+import org.eclipse.jdt.internal.core.manipulation.search.OccurrencesFinder;
 
 import org.eclipse.jdt.ui.PreferenceConstants;
 import org.eclipse.jdt.ui.tests.core.rules.Java1d8ProjectTestSetup;
@@ -274,4 +275,54 @@ public class MarkOccurrenceTest1d8 {
 		OccurrenceLocation[] ranges= { find(s, "String", 1), find(s, "return null;", 1) };
 		checkSelection(s, offset, length, ranges);
 	}
+
+	@Test
+	public void testMarkOccurrencesInSameAST() throws Exception {
+		String s= "" +
+				"package test1;\n" +
+				"import static java.lang.Math.max;\n" +
+				"public class E {\n" +
+				"    static int count;\n" +
+				"    int next(int i) {\n" +
+				"        count= max(i, E.count);\n" +
+				"        i++;\n" +
+				"        return new E().hashCode() + count;\n" +
+				"    }\n" +
+				"}\n";
+		CompilationUnit root= createCompilationUnit(s);
+
+		OccurrenceLocation[] ranges= { find(s, "count", 1), find(s, "count", 2), find(s, "count", 3), find(s, "count", 4) };
+		OccurrenceLocation[] locations= getOccurrences(root, s.indexOf("count;"));
+		assertLocations(ranges, locations);
+		int[] flags= { IOccurrencesFinder.F_WRITE_OCCURRENCE, IOccurrencesFinder.F_WRITE_OCCURRENCE, IOccurrencesFinder.F_READ_OCCURRENCE, IOccurrencesFinder.F_READ_OCCURRENCE };
+		for (int i= 0; i < flags.length; i++) {
+			assertEquals(flags[i], locations[i].getFlags());
+		}
+
+		ranges= new OccurrenceLocation[] { find(s, "i)", 1), find(s, "i,", 1), find(s, "i++", 1) };
+		assertLocations(ranges, getOccurrences(root, s.indexOf("i++")));
+
+		ranges= new OccurrenceLocation[] { find(s, "E", 1), find(s, "E", 2), find(s, "E", 3) };
+		assertLocations(ranges, getOccurrences(root, s.indexOf("E.count")));
+
+		ranges= new OccurrenceLocation[] { find(s, "max", 1), find(s, "max", 2) };
+		assertLocations(ranges, getOccurrences(root, s.indexOf("max(")));
+	}
+
+	private OccurrenceLocation[] getOccurrences(CompilationUnit root, int offset) {
+		fFinder= new OccurrencesFinder();
+		String errorString= fFinder.initialize(root, offset, 0);
+		assertNull(errorString, errorString);
+		OccurrenceLocation[] locations= fFinder.getOccurrences();
+		sortByStartIndex(locations);
+		return locations;
+	}
+
+	private void assertLocations(OccurrenceLocation[] expected, OccurrenceLocation[] actual) {
+		assertEquals("number of selections", expected.length, actual.length);
+		for (int i= 0; i < actual.length; i++) {
+			assertEquals(expected[i].getOffset(), actual[i].getOffset());
+			assertEquals(expected[i].getLength(), actual[i].getLength());
+		}
+	}
 }
@@ -121,6 +121,39 @@ public class ChainCompletionTest {
 		assertEquals("getBar().getBaz() - 2 elements", proposals.get(0).getDisplayString());
 	}
 
+	@Test
+	public void testChangedMemberType() throws Exception {
+		StringBuffer buf= new StringBuffer();
+		buf.append("package test;\n" +
+				"public class Foo {\n" +
+				"  public Bar getBar() {\n" +
+				"    return new Bar();\n" +
+				"  }\n" +
+				"\n" +
+				"  public static void mainMethod () {\n" +
+				"    Foo f = new Foo();\n" +
+				"    Baz b = f.$\n" +
+				"  }\n" +
+				"}");
+		getCompilationUnit(pkg, new StringBuffer("package test;\npublic class Baz {\n}"), "Baz.java");
+		getCompilationUnit(pkg, new StringBuffer("package test;\npublic class Bar {\n  public Baz getBaz() {\n    return new Baz();\n  }\n}"), "Bar.java");
+
+		int completionIndex= getCompletionIndex(buf);
+		ICompilationUnit cu= getCompilationUnit(pkg, buf, "Foo.java");
+
+		List<ICompletionProposal> proposals= computeCompletionProposals(cu, completionIndex);
+
+		assertEquals(1, proposals.size());
+		assertEquals("getBar().getBaz() - 2 elements", proposals.get(0).getDisplayString());
+
+		pkg.createCompilationUnit("Bar.java", "package test;\npublic class Bar {\n  public Baz getBaz() {\n    return new Baz();\n  }\n  public Baz getOtherBaz() {\n    return new Baz();\n  }\n}", true, null);
+
+		proposals= computeCompletionProposals(cu, completionIndex);
+
+		assertEquals(2, proposals.size());
+		assertProposalsExist(Arrays.asList("getBar().getBaz() - 2 elements", "getBar().getOtherBaz() - 2 elements"), proposals);
+	}
+
 	@Test
 	public void testPrimitiveCompletion() throws Exception {
 		StringBuffer buf= new StringBuffer();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Red Hat Inc., and others.
+ * Copyright (c) 2019, 2024 Red Hat Inc., and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -11,6 +11,7 @@
 package org.eclipse.jdt.text.tests.contentassist;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
@@ -34,10 +35,16 @@ import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.TableItem;
 import org.eclipse.swt.widgets.Widget;
 
+import org.eclipse.core.runtime.ILogListener;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 
+import org.eclipse.text.tests.Accessor;
+
+import org.eclipse.jface.preference.IPreferenceStore;
+
 import org.eclipse.jface.text.contentassist.ContentAssistant;
+import org.eclipse.jface.text.contentassist.ICompletionProposal;
 
 import org.eclipse.ui.texteditor.ContentAssistAction;
 import org.eclipse.ui.texteditor.ITextEditorActionConstants;
@@ -53,12 +60,23 @@ import org.eclipse.jdt.ui.text.IJavaPartitions;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+import org.eclipse.jdt.internal.ui.text.java.CompletionProposalCategory;
+import org.eclipse.jdt.internal.ui.text.java.CompletionProposalComputerRegistry;
 import org.eclipse.jdt.internal.ui.text.java.JavaCompletionProcessor;
 
 public class ContentAssistAndThreadsTest extends AbstractCompletionTest {
+	private static final String ALL_PROPOSAL_CATEGORY= "org.eclipse.jdt.ui.javaAllProposalCategory";
+
 	@After
 	public void resetPreference() {
-		JavaPlugin.getDefault().getPreferenceStore().setToDefault(PreferenceConstants.CODEASSIST_NONUITHREAD_COMPUTATION);
+		IPreferenceStore store= JavaPlugin.getDefault().getPreferenceStore();
+		store.setToDefault(PreferenceConstants.CODEASSIST_NONUITHREAD_COMPUTATION);
+		store.setToDefault(PreferenceConstants.CODEASSIST_CONCURRENT_COMPUTATION);
+		store.setToDefault(PreferenceConstants.CODEASSIST_CONCURRENT_COMPUTATION_TIMEOUT);
+		// promote the categories demoted by a test
+		for (CompletionProposalCategory category : CompletionProposalComputerRegistry.getDefault().getProposalCategories()) {
+			new Accessor(category, CompletionProposalCategory.class).set("fMissedDeadlines", 0);
+		}
 	}
 
 	@Test
@@ -131,6 +149,92 @@ public class ContentAssistAndThreadsTest extends AbstractCompletionTest {
 		assertTrue("UI was frozen for " + thread.getMaxDuration(), thread.getMaxDuration() < 1000);
 	}
 
+	@Test
+	public void testConcurrentComputationMatchesSequential() throws Exception {
+		IPreferenceStore store= JavaPlugin.getDefault().getPreferenceStore();
+		store.setValue(PreferenceConstants.CODEASSIST_CONCURRENT_COMPUTATION_TIMEOUT, 60000);
+		IJavaProject fJProject1= JavaProjectHelper.createJavaProject("TestProject1", "bin");
+		JavaEditor part= null;
+		try {
+			JavaProjectHelper.addRTJar(fJProject1);
+			IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+			IPackageFragment pack1= sourceFolder.createPackageFragment("test1", false, null);
+			String contents= "package test1;\npublic class Blah {\n\tvoid foo(String s) {\n\t\ts.\n\t}\n}\n";
+			ICompilationUnit cu= pack1.createCompilationUnit("Blah.java", contents, true, new NullProgressMonitor());
+			part= (JavaEditor) JavaUI.openInEditor(cu);
+			int offset= contents.indexOf("s.") + 2;
+
+			store.setValue(PreferenceConstants.CODEASSIST_CONCURRENT_COMPUTATION, false);
+			List<String> sequential= computeDisplayStrings(part, offset);
+			store.setValue(PreferenceConstants.CODEASSIST_CONCURRENT_COMPUTATION, true);
+			List<String> concurrent= computeDisplayStrings(part, offset);
+
+			assertTrue(sequential.stream().anyMatch(proposal -> proposal.startsWith("length()")));
+			assertEquals(sequential, concurrent);
+		} finally {
+			if (part != null) {
+				part.close(false);
+			}
+			JavaProjectHelper.delete(fJProject1);
+		}
+	}
+
+	@Test
+	public void testSlowCategoryDemoted() throws Exception {
+		IPreferenceStore store= JavaPlugin.getDefault().getPreferenceStore();
+		store.setValue(PreferenceConstants.CODEASSIST_CONCURRENT_COMPUTATION, true);
+		store.setValue(PreferenceConstants.CODEASSIST_CONCURRENT_COMPUTATION_TIMEOUT, 100);
+		IJavaProject fJProject1= JavaProjectHelper.createJavaProject("TestProject1", "bin");
+		JavaEditor part= null;
+		List<IStatus> warnings= new ArrayList<>();
+		ILogListener listener= (status, plugin) -> {
+			if (status.getSeverity() == IStatus.WARNING) {
+				warnings.add(status);
+			}
+		};
+		JavaPlugin.getDefault().getLog().addLogListener(listener);
+		try {
+			JavaProjectHelper.addRTJar(fJProject1);
+			IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+			IPackageFragment pack1= sourceFolder.createPackageFragment("test1", false, null);
+			ICompilationUnit cu= pack1.createCompilationUnit("Blah.java", LongCompletionProposalComputer.CONTENT_TRIGGER_STRING, true, new NullProgressMonitor());
+			part= (JavaEditor) JavaUI.openInEditor(cu);
+
+			// the category is demoted and reported once, when it missed the deadline three times in a row
+			for (int i= 1; i <= 4; i++) {
+				List<String> proposals= computeDisplayStrings(part, 0);
+				assertFalse(proposals.contains(LongCompletionProposalComputer.CONTENT_TRIGGER_STRING));
+				assertEquals("Warnings after computation " + i, i < 3 ? 0 : 1, warnings.size());
+				assertEquals("Demoted after computation " + i, Boolean.valueOf(i >= 3), new Accessor(getCategory(ALL_PROPOSAL_CATEGORY), CompletionProposalCategory.class).invoke("isDemoted", new Object[0]));
+				// let the abandoned computation finish, a category is not computed twice at the same time
+				Thread.sleep(1500);
+			}
+		} finally {
+			JavaPlugin.getDefault().getLog().removeLogListener(listener);
+			if (part != null) {
+				part.close(false);
+			}
+			JavaProjectHelper.delete(fJProject1);
+		}
+	}
+
+	private static CompletionProposalCategory getCategory(String id) {
+		for (CompletionProposalCategory category : CompletionProposalComputerRegistry.getDefault().getProposalCategories()) {
+			if (category.getId().equals(id)) {
+				return category;
+			}
+		}
+		throw new AssertionError("Missing category " + id);
+	}
+
+	private List<String> computeDisplayStrings(JavaEditor part, int offset) {
+		ContentAssistant assistant= new ContentAssistant();
+		assistant.setDocumentPartitioning(IJavaPartitions.JAVA_PARTITIONING);
+		JavaCompletionProcessor javaProcessor= new JavaCompletionProcessor(part, assistant, getContentType());
+		ICompletionProposal[] proposals= javaProcessor.computeCompletionProposals(part.getViewer(), offset);
+		return Arrays.stream(proposals).map(ICompletionProposal::getDisplayString).collect(Collectors.toList());
+	}
+
 	private Table findCompletionSelectionControl(Widget control) {
 		if (control instanceof Table) {
 			return (Table)control;
@@ -17,6 +17,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -24,6 +25,7 @@ import java.util.Map;
 
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import org.eclipse.core.runtime.Preferences;
 
@@ -32,6 +34,8 @@ import org.eclipse.jdt.core.IType;
 
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
+import org.eclipse.jdt.internal.corext.util.HistoryLog;
+
 import org.eclipse.jdt.internal.ui.text.java.ContentAssistHistory;
 import org.eclipse.jdt.internal.ui.text.java.ContentAssistHistory.RHSHistory;
 
@@ -76,6 +80,9 @@ public class ContentAssistHistoryTest {
 			}
 		};
 
+	@Rule
+	public TemporaryFolder fFolder= new TemporaryFolder();
+
 	@Test
 	public void testContentAssistHistoryIntInt() {
 		try {
@@ -243,6 +250,29 @@ public class ContentAssistHistoryTest {
 		assertEqualMap(map(LIST, list(ARRAY_LIST), COLLECTION, list(ARRAY_LIST), ITERABLE, list(ARRAY_LIST), CHAR_SEQUENCE, list(STRING)), loaded.getEntireHistory());
 	}
 
+	@Test
+	public void testLoadStoreLog() throws Exception {
+		ContentAssistHistory history= new ContentAssistHistory();
+		history.remember(fgListT, fgArrayListT);
+
+		File file= fFolder.newFile("history.log");
+		HistoryLog log= new HistoryLog(file);
+		ContentAssistHistory.store(history, log);
+		assertEquals(4, log.getRecordCount());
+
+		ContentAssistHistory loaded= ContentAssistHistory.load(new HistoryLog(file));
+		assertEqualMap(map(LIST, list(ARRAY_LIST), COLLECTION, list(ARRAY_LIST), ITERABLE, list(ARRAY_LIST)), loaded.getEntireHistory());
+
+		history.remember(fgCharSequenceT, fgStringT);
+		history.remember(fgListT, fgLinkedListT);
+		ContentAssistHistory.store(history, log);
+		assertEquals(8, log.getRecordCount());
+
+		loaded= ContentAssistHistory.load(new HistoryLog(file));
+		assertEqualMap(map(LIST, list(ARRAY_LIST, LINKED_LIST), COLLECTION, list(ARRAY_LIST, LINKED_LIST), ITERABLE, list(ARRAY_LIST, LINKED_LIST), CHAR_SEQUENCE, list(STRING)), loaded.getEntireHistory());
+		assertEquals(loaded.getHistory(LIST).getTypes(), history.getHistory(LIST).getTypes());
+	}
+
 	private static void assertEqualMap(Map<String, List<String>> expected, Map<String, RHSHistory> actual) {
 		assertEqualMap("", expected, actual);
 	}
@@ -41,7 +41,8 @@ import org.junit.runners.Suite;
 			CodeCompletionTest1d8.class,
 			ContinuousTypingCompletionTest.class,
 			ChainCompletionTest.class,
-			PostFixCompletionTest.class
+			PostFixCompletionTest.class,
+			HippieTokenIndexTest.class
 			//$JUnit-END$
 })
 public class ContentAssistTestSuite {
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.contentassist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+
+import org.eclipse.jdt.internal.ui.text.java.HippieTokenIndex;
+
+public class HippieTokenIndexTest {
+
+	private IJavaProject fJProject;
+
+	private IPackageFragment fPackage;
+
+	private HippieTokenIndex fIndex;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject= JavaProjectHelper.createJavaProject("TestProject", "bin");
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fJProject, "src");
+		fPackage= root.createPackageFragment("test", false, null);
+		fIndex= new HippieTokenIndex();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fIndex.dispose();
+		JavaProjectHelper.delete(fJProject);
+	}
+
+	@Test
+	public void testJavaFiles() throws Exception {
+		ICompilationUnit cu= fPackage.createCompilationUnit("Foo.java", "package test;\npublic class Foo {\n  int qzCounterValue, qzCounterLimit, qz;\n}\n", false, null);
+		fIndex.join();
+		assertEquals(Arrays.asList("qzCounterLimit", "qzCounterValue"), fIndex.getWords("qzCounter", 10));
+		assertEquals(Collections.singletonList("qzCounterLimit"), fIndex.getWords("qzCounter", 1));
+		assertEquals(Arrays.asList("qzCounterLimit", "qzCounterValue"), fIndex.getWords("qz", 10));
+
+		cu.getBuffer().setContents("package test;\npublic class Foo {\n  int qzCounterMaximum;\n}\n");
+		cu.save(null, true);
+		fIndex.join();
+		assertEquals(Collections.singletonList("qzCounterMaximum"), fIndex.getWords("qzCounter", 10));
+
+		cu.delete(true, null);
+		fIndex.join();
+		assertTrue(fIndex.getWords("qzCounter", 10).isEmpty());
+	}
+
+	@Test
+	public void testPropertiesFiles() throws Exception {
+		IFile file= fJProject.getProject().getFile("messages.properties");
+		file.create(new ByteArrayInputStream("zorblax.label=Welcome zanzibarGuest\n".getBytes(StandardCharsets.ISO_8859_1)), true, null);
+		fIndex.join();
+		assertEquals(Collections.singletonList("zorblax"), fIndex.getWords("zorb", 10));
+		assertEquals(Collections.singletonList("zanzibarGuest"), fIndex.getWords("zanz", 10));
+	}
+
+	@Test
+	public void testClosedProject() throws Exception {
+		fPackage.createCompilationUnit("Foo.java", "package test;\npublic class Foo {\n  int qzCounterValue;\n}\n", false, null);
+		fIndex.join();
+		assertEquals(Collections.singletonList("qzCounterValue"), fIndex.getWords("qzCounter", 10));
+
+		fJProject.getProject().close(null);
+		fIndex.join();
+		assertTrue(fIndex.getWords("qzCounter", 10).isEmpty());
+
+		fJProject.getProject().open(null);
+		fIndex.join();
+		assertEquals(Collections.singletonList("qzCounterValue"), fIndex.getWords("qzCounter", 10));
+	}
+}
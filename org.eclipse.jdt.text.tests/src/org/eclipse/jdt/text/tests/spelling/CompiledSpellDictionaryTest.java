@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.spelling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.eclipse.jdt.internal.ui.text.spelling.engine.CompiledSpellDictionary;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.CompiledSpellDictionaryCache;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.DefaultPhoneticHashProvider;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.IPhoneticHashProvider;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.PersistentSpellDictionary;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.RankedWordProposal;
+
+public class CompiledSpellDictionaryTest {
+
+	private static final List<String> WORDS= Arrays.asList("truck", "lorry", "trucks", "sentence", "Global", "truck"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+
+	@Rule
+	public TemporaryFolder fFolder= new TemporaryFolder();
+
+	@Test
+	public void testContains() throws Exception {
+		IPhoneticHashProvider hashProvider= new DefaultPhoneticHashProvider();
+		File file= fFolder.newFile();
+		CompiledSpellDictionary.write(WORDS, hashProvider, "source", 1, 2, file); //$NON-NLS-1$
+		CompiledSpellDictionary dictionary= CompiledSpellDictionary.map(file, hashProvider, "source", 1, 2); //$NON-NLS-1$
+		assertNotNull(dictionary);
+
+		assertEquals(5, dictionary.getWordCount());
+		for (String word : WORDS)
+			assertTrue(word, dictionary.contains(word));
+		assertFalse(dictionary.contains("")); //$NON-NLS-1$
+		assertFalse(dictionary.contains("truc")); //$NON-NLS-1$
+		assertFalse(dictionary.contains("trucking")); //$NON-NLS-1$
+		assertFalse(dictionary.contains("global")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testCandidates() throws Exception {
+		IPhoneticHashProvider hashProvider= new DefaultPhoneticHashProvider();
+		File file= fFolder.newFile();
+		CompiledSpellDictionary.write(WORDS, hashProvider, "source", 1, 2, file); //$NON-NLS-1$
+		CompiledSpellDictionary dictionary= CompiledSpellDictionary.map(file, hashProvider, "source", 1, 2); //$NON-NLS-1$
+		assertNotNull(dictionary);
+
+		List<byte[]> candidates= dictionary.getCandidates(hashProvider.getHash("truck")); //$NON-NLS-1$
+		assertNotNull(candidates);
+		boolean found= false;
+		for (byte[] candidate : candidates)
+			found|= "truck".equals(new String(candidate, StandardCharsets.UTF_8)); //$NON-NLS-1$
+		assertTrue(found);
+		assertNull(dictionary.getCandidates("XXXXXXXX")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testChangedSource() throws Exception {
+		IPhoneticHashProvider hashProvider= new DefaultPhoneticHashProvider();
+		File file= fFolder.newFile();
+		CompiledSpellDictionary.write(WORDS, hashProvider, "source", 1, 2, file); //$NON-NLS-1$
+		assertNull(CompiledSpellDictionary.map(file, hashProvider, "source", 1, 3)); //$NON-NLS-1$
+		assertNull(CompiledSpellDictionary.map(file, hashProvider, "other", 1, 2)); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testPersistentDictionary() throws Exception {
+		File wordList= fFolder.newFile("user.dictionary"); //$NON-NLS-1$
+		Files.write(wordList.toPath(), WORDS, StandardCharsets.UTF_8);
+		URL url= new URL("file", null, wordList.getAbsolutePath()); //$NON-NLS-1$
+		CompiledSpellDictionaryCache cache= new CompiledSpellDictionaryCache(fFolder.newFolder("compiled")); //$NON-NLS-1$
+
+		PersistentSpellDictionary first= new PersistentSpellDictionary(url);
+		first.setCompiledDictionaryCache(cache);
+		assertTrue(first.isCorrect("lorry")); //$NON-NLS-1$
+		assertFalse(first.isCorrect("lastwagen")); //$NON-NLS-1$
+		Set<RankedWordProposal> proposals= first.getProposals("truk", false); //$NON-NLS-1$
+		assertTrue(contains(proposals, "truck")); //$NON-NLS-1$
+
+		PersistentSpellDictionary second= new PersistentSpellDictionary(url);
+		second.setCompiledDictionaryCache(cache);
+		assertTrue(second.isCorrect("truck")); //$NON-NLS-1$
+		assertEquals(1, new File(fFolder.getRoot(), "compiled").list((dir, name) -> name.endsWith(".cdict")).length); //$NON-NLS-1$ //$NON-NLS-2$
+
+		second.addWord("lastwagen"); //$NON-NLS-1$
+		assertTrue(second.isCorrect("lastwagen")); //$NON-NLS-1$
+
+		second.unload();
+		assertTrue(second.isCorrect("lastwagen")); //$NON-NLS-1$
+		assertTrue(second.isCorrect("truck")); //$NON-NLS-1$
+	}
+
+	private static boolean contains(Set<RankedWordProposal> proposals, String word) {
+		for (RankedWordProposal proposal : proposals) {
+			if (proposal.getText().equals(word))
+				return true;
+		}
+		return false;
+	}
+}
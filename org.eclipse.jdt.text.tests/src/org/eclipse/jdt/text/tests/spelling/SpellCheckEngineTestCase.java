@@ -15,6 +15,7 @@ package org.eclipse.jdt.text.tests.spelling;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -172,6 +173,29 @@ public class SpellCheckEngineTestCase {
 		assertFalse(checker.isCorrect(LORRY));
 	}
 
+	@Test
+	public void testModificationStamp() {
+		fPreferences.setValue(PreferenceConstants.SPELLING_LOCALE, Locale.US.toString());
+		final ISpellChecker checker= fEngine.getSpellChecker();
+		assertNotNull(checker);
+
+		int stamp= checker.getModificationStamp();
+		assertFalse(checker.isCorrect(LORRY));
+		assertEquals(stamp, checker.getModificationStamp());
+
+		checker.ignoreWord(LORRY);
+		assertNotEquals(stamp, checker.getModificationStamp());
+		stamp= checker.getModificationStamp();
+
+		checker.checkWord(LORRY);
+		assertNotEquals(stamp, checker.getModificationStamp());
+		stamp= checker.getModificationStamp();
+
+		checker.removeDictionary(fGlobalDictionary);
+		assertNotEquals(stamp, checker.getModificationStamp());
+		checker.addDictionary(fGlobalDictionary);
+	}
+
 	@Test
 	public void testUKSpellChecker() {
 		fPreferences.setValue(PreferenceConstants.SPELLING_LOCALE, Locale.UK.toString());
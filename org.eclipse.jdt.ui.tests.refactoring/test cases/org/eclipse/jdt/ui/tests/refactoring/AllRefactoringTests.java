@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -115,7 +115,8 @@ import org.junit.runners.Suite;
 
 	//--helpers
 	RenamingNameSuggestorTests.class,
-	DelegateCreatorTests.class
+	DelegateCreatorTests.class,
+	RefactoringSearchEngineTests.class
 })
 public class AllRefactoringTests {
 }
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+
+import org.eclipse.jdt.internal.corext.refactoring.CollectingSearchRequestor;
+import org.eclipse.jdt.internal.corext.refactoring.RefactoringSearchEngine;
+
+public class RefactoringSearchEngineTests {
+
+	private static final String SHARDED_SEARCH_PROPERTY= "jdt.refactoring.shardedSearch";
+
+	private static final class RecordingRequestor extends CollectingSearchRequestor {
+		private final List<String> fEvents= new ArrayList<>();
+
+		@Override
+		public void enterParticipant(SearchParticipant participant) {
+			fEvents.add("enter " + participant.getDescription());
+		}
+
+		@Override
+		public void exitParticipant(SearchParticipant participant) {
+			fEvents.add("exit " + participant.getDescription());
+		}
+
+		@Override
+		public void collectMatch(SearchMatch match) {
+			super.collectMatch(match);
+			fEvents.add(((IJavaElement) match.getElement()).getHandleIdentifier() + " " + match.getOffset());
+		}
+	}
+
+	private IJavaProject fProject1;
+	private IJavaProject fProject2;
+	private String fShardedSearch;
+
+	@Before
+	public void setUp() throws Exception {
+		fShardedSearch= System.getProperty(SHARDED_SEARCH_PROPERTY);
+
+		fProject1= JavaProjectHelper.createJavaProject("RefactoringSearch1", "bin");
+		JavaProjectHelper.addRTJar18(fProject1);
+		IPackageFragmentRoot root1= JavaProjectHelper.addSourceContainer(fProject1, "src");
+		IPackageFragment p= root1.createPackageFragment("p", true, null);
+		p.createCompilationUnit("A.java", "package p;\npublic class A {\n\tpublic A next;\n\tpublic void m(A a) {\n\t\tm(next);\n\t}\n}\n", true, null);
+		p.createCompilationUnit("B.java", "package p;\npublic class B extends A {\n\tA m() {\n\t\treturn new A();\n\t}\n}\n", true, null);
+
+		fProject2= JavaProjectHelper.createJavaProject("RefactoringSearch2", "bin");
+		JavaProjectHelper.addRTJar18(fProject2);
+		JavaProjectHelper.addRequiredProject(fProject2, fProject1);
+		IPackageFragmentRoot root2= JavaProjectHelper.addSourceContainer(fProject2, "src");
+		IPackageFragment q= root2.createPackageFragment("q", true, null);
+		q.createCompilationUnit("C.java", "package q;\nimport p.A;\npublic class C {\n\tA a= new A();\n\tvoid m(A other) {\n\t\ta.m(other);\n\t}\n}\n", true, null);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		if (fShardedSearch == null)
+			System.clearProperty(SHARDED_SEARCH_PROPERTY);
+		else
+			System.setProperty(SHARDED_SEARCH_PROPERTY, fShardedSearch);
+		JavaProjectHelper.delete(fProject2);
+		JavaProjectHelper.delete(fProject1);
+	}
+
+	private List<String> search(SearchPattern pattern, boolean sharded) throws Exception {
+		System.setProperty(SHARDED_SEARCH_PROPERTY, Boolean.toString(sharded));
+		IJavaSearchScope scope= SearchEngine.createJavaSearchScope(new IJavaElement[] { fProject1, fProject2 }, IJavaSearchScope.SOURCES);
+		assertEquals(2, scope.enclosingProjectsAndJars().length);
+		RecordingRequestor requestor= new RecordingRequestor();
+		RefactoringSearchEngine.search(pattern, scope, requestor, new NullProgressMonitor(), new RefactoringStatus());
+		return requestor.fEvents;
+	}
+
+	private void assertSameResults(SearchPattern pattern) throws Exception {
+		List<String> plain= search(pattern, false);
+		List<String> sharded= search(pattern, true);
+		assertTrue(plain.size() > 2);
+		assertEquals(plain, sharded);
+	}
+
+	@Test
+	public void testTypeReferences() throws Exception {
+		assertSameResults(SearchPattern.createPattern("p.A", IJavaSearchConstants.TYPE, IJavaSearchConstants.REFERENCES, SearchPattern.R_EXACT_MATCH));
+	}
+
+	@Test
+	public void testMethodReferences() throws Exception {
+		assertSameResults(SearchPattern.createPattern("m", IJavaSearchConstants.METHOD, IJavaSearchConstants.ALL_OCCURRENCES, SearchPattern.R_EXACT_MATCH));
+	}
+}
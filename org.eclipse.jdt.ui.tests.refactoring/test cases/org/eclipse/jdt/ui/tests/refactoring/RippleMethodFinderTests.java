@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,15 +19,19 @@ import static org.junit.Assert.assertTrue;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Rule;
 import org.junit.Test;
 
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
 import org.eclipse.core.runtime.NullProgressMonitor;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IPackageFragment;
 
@@ -139,4 +143,55 @@ public class RippleMethodFinderTests extends AbstractJunit4CUTestCase {
 		perform();
 	}
 
+
+	@Test
+	public void testIndexUpdated() throws Exception {
+		IPackageFragment pack= rts.getPackageP();
+		ICompilationUnit cuI= createCU(pack, "I.java", "package p;\npublic interface I {\n\tvoid m();\n}\n");
+		ICompilationUnit cuA= createCU(pack, "A.java", "package p;\npublic class A implements I {\n\tpublic void m() {}\n}\n");
+		IMethod iM= cuI.getType("I").getMethod("m", new String[0]);
+		IMethod aM= cuA.getType("A").getMethod("m", new String[0]);
+
+		assertEquals(2, RippleMethodFinder2.getRelatedMethods(iM, new NullProgressMonitor(), null).length);
+		assertEquals(2, RippleMethodFinder2.getRelatedMethods(aM, new NullProgressMonitor(), null).length);
+
+		cuA.getBuffer().setContents("package p;\npublic class A implements I {\n\tpublic void m() { m(); }\n}\n");
+		cuA.save(null, true);
+		assertEquals(2, RippleMethodFinder2.getRelatedMethods(aM, new NullProgressMonitor(), null).length);
+
+		ICompilationUnit cuB= createCU(pack, "B.java", "package p;\npublic class B implements I {\n\tpublic void m() {}\n}\n");
+		IMethod[] rippleMethods= RippleMethodFinder2.getRelatedMethods(aM, new NullProgressMonitor(), null);
+		assertEquals(3, rippleMethods.length);
+		assertTrue(Arrays.asList(rippleMethods).contains(cuB.getType("B").getMethod("m", new String[0])));
+
+		cuB.delete(true, null);
+		assertEquals(2, RippleMethodFinder2.getRelatedMethods(iM, new NullProgressMonitor(), null).length);
+
+		// P2 and P3 require P1 without exporting it, so the family found from P2 misses P3
+		IJavaProject p1= JavaProjectHelper.createJavaProject("RippleP1", "bin");
+		IJavaProject p2= JavaProjectHelper.createJavaProject("RippleP2", "bin");
+		IJavaProject p3= JavaProjectHelper.createJavaProject("RippleP3", "bin");
+		try {
+			JavaProjectHelper.addRTJar18(p1);
+			JavaProjectHelper.addRTJar18(p2);
+			JavaProjectHelper.addRTJar18(p3);
+			JavaProjectHelper.addRequiredProject(p2, p1);
+			JavaProjectHelper.addRequiredProject(p3, p1);
+			IPackageFragment q1= JavaProjectHelper.addSourceContainer(p1, "src").createPackageFragment("q", true, null);
+			IPackageFragment q2= JavaProjectHelper.addSourceContainer(p2, "src").createPackageFragment("q2", true, null);
+			IPackageFragment q3= JavaProjectHelper.addSourceContainer(p3, "src").createPackageFragment("q3", true, null);
+			IMethod jM= q1.createCompilationUnit("J.java", "package q;\npublic interface J {\n\tvoid m();\n}\n", true, null).getType("J").getMethod("m", new String[0]);
+			IMethod cM= q2.createCompilationUnit("C.java", "package q2;\npublic class C implements q.J {\n\tpublic void m() {}\n}\n", true, null).getType("C").getMethod("m", new String[0]);
+			IMethod dM= q3.createCompilationUnit("D.java", "package q3;\npublic class D implements q.J {\n\tpublic void m() {}\n}\n", true, null).getType("D").getMethod("m", new String[0]);
+
+			assertEquals(2, RippleMethodFinder2.getRelatedMethods(cM, new NullProgressMonitor(), null).length);
+			assertEquals(3, RippleMethodFinder2.getRelatedMethods(jM, new NullProgressMonitor(), null).length);
+			assertEquals(2, RippleMethodFinder2.getRelatedMethods(dM, new NullProgressMonitor(), null).length);
+			assertEquals(2, RippleMethodFinder2.getRelatedMethods(cM, new NullProgressMonitor(), null).length);
+		} finally {
+			JavaProjectHelper.delete(p3);
+			JavaProjectHelper.delete(p2);
+			JavaProjectHelper.delete(p1);
+		}
+	}
 }
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring.type;
+
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import org.eclipse.test.performance.Dimension;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IPackageFragment;
+
+import org.eclipse.jdt.internal.corext.refactoring.generics.InferTypeArgumentsRefactoring;
+
+import org.eclipse.jdt.ui.tests.refactoring.reorg.RepeatingRefactoringPerformanceTestCaseCommon;
+import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringPerformanceTestSetup;
+
+/**
+ * Infers the type arguments of a generated project in which each class keeps instances of the
+ * previous class in raw collections.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class InferTypeArgumentsPerfTests extends RepeatingRefactoringPerformanceTestCaseCommon {
+
+	@Rule
+	public RefactoringPerformanceTestSetup rpts= new RefactoringPerformanceTestSetup();
+
+	@Test
+	public void testACold_10_10() throws Exception {
+		executeRefactoring(10, 10, false, 3);
+	}
+
+	@Test
+	public void testB_100_10() throws Exception {
+		executeRefactoring(100, 10, true, 10);
+	}
+
+	@Test
+	public void testC_1000_10() throws Exception {
+		tagAsSummary("Infer Generic Type Arguments - 1000 CUs, 10 raw collections", Dimension.ELAPSED_PROCESS);
+		executeRefactoring(1000, 10, true, 3);
+	}
+
+	@Override
+	protected void doExecuteRefactoring(int numberOfCus, int numberOfRefs, boolean measure) throws Exception {
+		IPackageFragment pack= fTestProject.getSourceFolder().createPackageFragment("raw", false, null);
+		for (int i= 0; i < numberOfCus; i++) {
+			createRawCu(pack, i, (i + numberOfCus - 1) % numberOfCus, numberOfRefs);
+		}
+		InferTypeArgumentsRefactoring refactoring= new InferTypeArgumentsRefactoring(new IJavaElement[] { fTestProject.getProject() });
+		executeRefactoring(refactoring, measure);
+	}
+
+	private void createRawCu(IPackageFragment pack, int index, int elementIndex, int numberOfCollections) throws Exception {
+		String name= "Raw" + index;
+		String element= "Raw" + elementIndex;
+		StringBuilder buf= new StringBuilder();
+		buf.append("package " + pack.getElementName() + ";\n");
+		buf.append("import java.util.ArrayList;\n");
+		buf.append("import java.util.HashMap;\n");
+		buf.append("import java.util.Iterator;\n");
+		buf.append("import java.util.List;\n");
+		buf.append("import java.util.Map;\n");
+		buf.append("public class " + name + " {\n");
+		for (int i= 0; i < numberOfCollections; i++) {
+			buf.append("    List list" + i + "= new ArrayList();\n");
+		}
+		buf.append("    Map map= new HashMap();\n");
+		buf.append("    public void add(" + element + " e) {\n");
+		for (int i= 0; i < numberOfCollections; i++) {
+			buf.append("        list" + i + ".add(e);\n");
+		}
+		buf.append("        map.put(e.getName(), e);\n");
+		buf.append("    }\n");
+		buf.append("    public " + element + " get(int index) {\n");
+		buf.append("        return (" + element + ") list0.get(index);\n");
+		buf.append("    }\n");
+		buf.append("    public " + element + " find(String key) {\n");
+		buf.append("        return (" + element + ") map.get(key);\n");
+		buf.append("    }\n");
+		buf.append("    public List getList() {\n");
+		buf.append("        return list0;\n");
+		buf.append("    }\n");
+		buf.append("    public String getName() {\n");
+		buf.append("        return \"" + name + "\";\n");
+		buf.append("    }\n");
+		buf.append("    public void addAll(" + name + " other) {\n");
+		buf.append("        for (Iterator iter= other.getList().iterator(); iter.hasNext();) {\n");
+		buf.append("            add((" + element + ") iter.next());\n");
+		buf.append("        }\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		pack.createCompilationUnit(name + ".java", buf.toString(), false, null);
+	}
+}
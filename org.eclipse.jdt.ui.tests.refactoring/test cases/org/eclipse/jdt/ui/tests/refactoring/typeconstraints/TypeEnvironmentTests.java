@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@ package org.eclipse.jdt.ui.tests.refactoring.typeconstraints;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
@@ -45,6 +46,7 @@ import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
 import org.eclipse.jdt.internal.corext.dom.HierarchicalASTVisitor;
 import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types.TType;
 import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types.TypeEnvironment;
+import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.types.TypeEnvironmentCache;
 
 import org.eclipse.jdt.ui.tests.refactoring.infra.AbstractJunit4CUTestCase;
 import org.eclipse.jdt.ui.tests.refactoring.infra.RefactoringTestPlugin;
@@ -340,6 +342,23 @@ public class TypeEnvironmentTests extends AbstractJunit4CUTestCase {
 		testBindings(collector.getResult());
 	}
 
+	//---- shared environments ------------------------------------------------
+
+	@Test
+	public void testSharedEnvironment() throws Exception {
+		IJavaProject project= mts.getProject();
+		TypeEnvironment environment= TypeEnvironmentCache.getTypeEnvironment(project, false);
+		assertSame("Not shared", environment, TypeEnvironmentCache.getTypeEnvironment(project, false));
+		assertNotSame("Shared with different options", environment, TypeEnvironmentCache.getTypeEnvironment(project, true));
+
+		ICompilationUnit unit= MyTestSetup.getGenericPackage().createCompilationUnit("Shared.java", "package generic;\npublic class Shared {\n}\n", true, null);
+		try {
+			assertNotSame("Not invalidated", environment, TypeEnvironmentCache.getTypeEnvironment(project, false));
+		} finally {
+			unit.delete(true, null);
+		}
+	}
+
 	public void _testAssignment() throws Exception {
 		ASTNode node= createAST(MyTestSetup.getGenericPackage());
 		TypeBindingCollector collector= new TypeBindingCollector();
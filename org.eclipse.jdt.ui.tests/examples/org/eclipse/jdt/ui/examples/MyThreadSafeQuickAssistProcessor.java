@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.examples;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.Expression;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+
+import org.eclipse.jdt.ui.text.java.IInvocationContext;
+import org.eclipse.jdt.ui.text.java.IJavaCompletionProposal;
+import org.eclipse.jdt.ui.text.java.IProblemLocation;
+import org.eclipse.jdt.ui.text.java.IQuickAssistProcessor;
+import org.eclipse.jdt.ui.text.java.correction.ChangeCorrectionProposal;
+
+/**
+ * A quick assist processor that is declared thread-safe: it resolves the type bindings of the
+ * covering expressions and creates its proposals without images. Active on files with the name
+ * Concurrent.java.
+ */
+public class MyThreadSafeQuickAssistProcessor implements IQuickAssistProcessor {
+
+	private static final List<CompilationUnit> fgASTs= new CopyOnWriteArrayList<>();
+
+	/**
+	 * @return the ASTs of the contexts the processor has computed assists for, and forgets them
+	 */
+	public static List<CompilationUnit> takeASTs() {
+		List<CompilationUnit> result= new ArrayList<>(fgASTs);
+		fgASTs.clear();
+		return result;
+	}
+
+	@Override
+	public boolean hasAssists(IInvocationContext context) throws CoreException {
+		return context.getCoveringNode() != null;
+	}
+
+	@Override
+	public IJavaCompletionProposal[] getAssists(IInvocationContext context, IProblemLocation[] locations) throws CoreException {
+		try {
+			// finish after the processors in the calling thread
+			Thread.sleep(50);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		fgASTs.add(context.getASTRoot());
+		List<IJavaCompletionProposal> proposals= new ArrayList<>();
+		for (ASTNode node= context.getCoveringNode(); node != null; node= node.getParent()) {
+			proposals.add(new ChangeCorrectionProposal("Select " + node.getClass().getSimpleName(), null, 1, null));
+			if (node instanceof Expression) {
+				ITypeBinding binding= ((Expression) node).resolveTypeBinding();
+				if (binding != null) {
+					proposals.add(new ChangeCorrectionProposal("Type " + binding.getQualifiedName(), null, 1, null));
+				}
+			}
+		}
+		return proposals.toArray(new IJavaCompletionProposal[proposals.size()]);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,11 +17,13 @@ package org.eclipse.jdt.ui.tests.performance;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
+import org.eclipse.jdt.ui.tests.performance.junit.RemoteTestRunnerProtocolPerfTest;
 import org.eclipse.jdt.ui.tests.performance.views.TypeHierarchyPerfTest;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
-	TypeHierarchyPerfTest.class
+	TypeHierarchyPerfTest.class,
+	RemoteTestRunnerProtocolPerfTest.class
 })
 public class PerformanceTestSuite {
 }
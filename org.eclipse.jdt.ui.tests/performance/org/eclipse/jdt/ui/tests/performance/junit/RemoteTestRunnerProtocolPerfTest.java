@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.junit;
+
+import static org.eclipse.jdt.junit.tests.RemoteTestRunnerProtocolTest.encodeAsBinary;
+import static org.eclipse.jdt.junit.tests.RemoteTestRunnerProtocolTest.encodeAsText;
+import static org.eclipse.jdt.junit.tests.RemoteTestRunnerProtocolTest.getRecordedRun;
+import static org.eclipse.jdt.junit.tests.RemoteTestRunnerProtocolTest.replay;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.junit.model.RemoteTestRunnerClient;
+
+import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
+
+/**
+ * Replays a recorded run of about 100'000 events through {@link RemoteTestRunnerClient}, once
+ * with the line based protocol and once with the binary protocol.
+ *
+ * @see org.eclipse.jdt.junit.tests.RemoteTestRunnerProtocolTest
+ */
+public class RemoteTestRunnerProtocolPerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static final int TEST_COUNT= 33000;
+
+	private static final int WARM_UP_RUNS= 2;
+
+	private static final int MEASURED_RUNS= 5;
+
+	private void measureReplay(byte[] run) throws Exception {
+		for (int i= 0; i < WARM_UP_RUNS; i++) {
+			replay(run, false);
+		}
+		for (int i= 0; i < MEASURED_RUNS; i++) {
+			startMeasuring();
+			replay(run, false);
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	@Test
+	public void testTextProtocol() throws Exception {
+		measureReplay(encodeAsText(getRecordedRun(TEST_COUNT)));
+	}
+
+	@Test
+	public void testBinaryProtocol() throws Exception {
+		measureReplay(encodeAsBinary(getRecordedRun(TEST_COUNT)));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -58,6 +58,7 @@ import org.eclipse.jdt.core.IType;
 
 import org.eclipse.jdt.internal.junit.model.JUnitModel;
 import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.model.TestRunSessionSwapFile;
 import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
 
 import org.eclipse.jdt.ui.tests.core.rules.JUnitWorkspaceTestSetup;
@@ -115,6 +116,7 @@ public class AbstractTestRunSessionSerializationTests {
 			// due to lingering TestRunnerViewPart$TestSessionListeners
 			serializationResult.fTestRunSession.swapOut();
 			assertEqualSessions(serializationResult.fTestRunSession, imported);
+			assertSwapFileRoundTrip(serializationResult.fTestRunSession, imported);
 		} finally {
 			if (resultFile.exists())
 				try {
@@ -125,6 +127,31 @@ public class AbstractTestRunSessionSerializationTests {
 		}
 	}
 
+	private void assertSwapFileRoundTrip(TestRunSession expected, TestRunSession session) throws Exception {
+		File swapFile= File.createTempFile("testrun", ".testrun");
+		try {
+			TestRunSessionSwapFile.write(session, swapFile);
+
+			// the summary is read from the header alone
+			TestRunSessionSwapFile.Summary summary= TestRunSessionSwapFile.readSummary(swapFile);
+			assertEquals(session.getTestRunName(), summary.getTestRunName());
+			assertEquals(session.getStartTime(), summary.getStartTime());
+			assertEquals(session.getTotalCount(), summary.getTotalCount());
+			assertEquals(session.getStartedCount(), summary.getStartedCount());
+			assertEquals(session.getFailureCount(), summary.getFailureCount());
+			assertEquals(session.getErrorCount(), summary.getErrorCount());
+			assertEquals(session.getIgnoredCount(), summary.getIgnoredCount());
+			assertEquals(session.getAssumptionFailureCount(), summary.getAssumptionFailureCount());
+			assertEquals(session.getTestResult(true), summary.getTestResult());
+			assertEquals(session.getElapsedTimeInSeconds(), summary.getElapsedTimeInSeconds(), 0);
+
+			TestRunSessionSwapFile.read(swapFile, session);
+			assertEqualSessions(expected, session);
+		} finally {
+			swapFile.delete();
+		}
+	}
+
 	private void assertEqualXML(String expected, String actual) {
 		/*
 		 * Strips &#13; and &#10;
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.Description;
+
+import org.eclipse.jdt.internal.junit.runner.TestDurations;
+
+import org.eclipse.jdt.internal.junit4.runner.DurationSorter;
+
+public class DurationSorterTest {
+
+	private File fFile;
+
+	@Before
+	public void setUp() throws Exception {
+		fFile= File.createTempFile("durations", ".txt");
+		List<String> lines= Arrays.asList(
+				"300\tslow(p.A)",
+				"100\tfast(p.A)",
+				"200\tmedium(p.A)",
+				"50\tfast(p.B)",
+				"malformed",
+				"x\tmalformed(p.A)");
+		Files.write(fFile.toPath(), lines, StandardCharsets.UTF_8);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fFile.delete();
+	}
+
+	private static Description createSuite(String className, String... methodNames) {
+		Description suite= Description.createSuiteDescription(className);
+		for (String methodName : methodNames) {
+			suite.addChild(Description.createTestDescription(className, methodName));
+		}
+		return suite;
+	}
+
+	private static List<String> sort(List<Description> descriptions, DurationSorter sorter) {
+		List<Description> sorted= new ArrayList<>(descriptions);
+		sorted.sort(sorter);
+		List<String> names= new ArrayList<>();
+		for (Description description : sorted) {
+			names.add(description.getDisplayName());
+		}
+		return names;
+	}
+
+	@Test
+	public void testSlowestFirst() throws Exception {
+		TestDurations durations= TestDurations.read(fFile.getPath(), TestDurations.SLOWEST_FIRST);
+		Description suite= createSuite("p.A", "fast", "unknown", "slow", "medium");
+
+		assertEquals(Arrays.asList("slow(p.A)", "medium(p.A)", "fast(p.A)", "unknown(p.A)"), sort(suite.getChildren(), new DurationSorter(durations)));
+	}
+
+	@Test
+	public void testFastestFirst() throws Exception {
+		TestDurations durations= TestDurations.read(fFile.getPath(), TestDurations.FASTEST_FIRST);
+		Description suite= createSuite("p.A", "fast", "unknown", "slow", "medium");
+
+		assertEquals(Arrays.asList("unknown(p.A)", "fast(p.A)", "medium(p.A)", "slow(p.A)"), sort(suite.getChildren(), new DurationSorter(durations)));
+	}
+
+	@Test
+	public void testNoDurations() throws Exception {
+		TestDurations durations= TestDurations.read(fFile.getPath(), TestDurations.SLOWEST_FIRST);
+		Description suite= createSuite("p.C", "b", "a", "c", "malformed");
+
+		// tests without a recorded duration keep their order
+		assertEquals(Arrays.asList("b(p.C)", "a(p.C)", "c(p.C)", "malformed(p.C)"), sort(suite.getChildren(), new DurationSorter(durations)));
+		assertEquals(0, durations.getDuration("malformed(p.A)"));
+	}
+
+	@Test
+	public void testSuites() throws Exception {
+		TestDurations durations= TestDurations.read(fFile.getPath(), TestDurations.SLOWEST_FIRST);
+		Description a= createSuite("p.A", "fast", "medium");
+		Description b= createSuite("p.B", "fast");
+		Description c= createSuite("p.C", "unknown");
+		Description d= createSuite("p.D");
+
+		// the duration of a suite is the sum of its tests
+		assertEquals(Arrays.asList("p.A", "p.B", "p.C", "p.D"), sort(Arrays.asList(c, b, d, a), new DurationSorter(durations)));
+	}
+}
@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.junit.model.ITestRunListener2;
+import org.eclipse.jdt.internal.junit.model.RemoteTestRunnerClient;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageSender;
+import org.eclipse.jdt.internal.junit.runner.MessageIds;
+
+/**
+ * Checks that {@link RemoteTestRunnerClient} reports the same events for a run sent with the line
+ * based protocol and with the binary protocol.
+ */
+public class RemoteTestRunnerProtocolTest {
+
+	private static class RecordingListener implements ITestRunListener2 {
+		private final boolean fRecord;
+		private final List<String> fEvents= new ArrayList<>();
+		private final CountDownLatch fDone= new CountDownLatch(1);
+
+		public RecordingListener(boolean record) {
+			fRecord= record;
+		}
+
+		private void record(String event) {
+			if (fRecord)
+				fEvents.add(event);
+		}
+
+		@Override
+		public void testRunStarted(int testCount) {
+			record("runStarted " + testCount);
+		}
+
+		@Override
+		public void testRunEnded(long elapsedTime) {
+			record("runEnded " + elapsedTime);
+			fDone.countDown();
+		}
+
+		@Override
+		public void testRunStopped(long elapsedTime) {
+			record("runStopped " + elapsedTime);
+		}
+
+		@Override
+		public void testStarted(String testId, String testName) {
+			record("started " + testId + " " + testName);
+		}
+
+		@Override
+		public void testEnded(String testId, String testName) {
+			record("ended " + testId + " " + testName);
+		}
+
+		@Override
+		public void testRunTerminated() {
+			record("terminated");
+			fDone.countDown();
+		}
+
+		@Override
+		public void testTreeEntry(String description) {
+			record("tree " + description);
+		}
+
+		@Override
+		public void testFailed(int status, String testId, String testName, String trace, String expected, String actual) {
+			record("failed " + status + " " + testId + " " + testName + " [" + trace + "] [" + expected + "] [" + actual + "]");
+		}
+
+		@Override
+		public void testReran(String testId, String testClass, String testName, int status, String trace, String expected, String actual) {
+			record("reran " + testId + " " + testClass + " " + testName + " " + status + " [" + trace + "] [" + expected + "] [" + actual + "]");
+		}
+	}
+
+	/**
+	 * @param testCount the number of tests
+	 * @return the messages a runner sends for a run with the given number of tests, every tenth
+	 *         of which fails
+	 */
+	public static List<String> getRecordedRun(int testCount) {
+		List<String> messages= new ArrayList<>();
+		messages.add(MessageIds.TEST_RUN_START + testCount + " v2");
+		messages.add(MessageIds.TEST_TREE + "1,p.AllTests,true," + testCount + ",false,-1,p.AllTests,,");
+		for (int i= 2; i < testCount + 2; i++) {
+			messages.add(MessageIds.TEST_TREE + i + ",test" + i + "(p.SomeTest),false,1,false,1,test" + i + ",,");
+		}
+		for (int i= 2; i < testCount + 2; i++) {
+			String test= i + ",test" + i + "(p.SomeTest)";
+			messages.add(MessageIds.TEST_START + test);
+			if (i % 10 == 0) {
+				messages.add(MessageIds.TEST_FAILED + test);
+				if (i % 20 == 0) {
+					messages.add(MessageIds.EXPECTED_START);
+					messages.add("expected " + i);
+					messages.add(MessageIds.EXPECTED_END);
+					messages.add(MessageIds.ACTUAL_START);
+					messages.add("actual " + i);
+					messages.add(MessageIds.ACTUAL_END);
+				}
+				messages.add(MessageIds.TRACE_START);
+				messages.add("junit.framework.AssertionFailedError: test" + i);
+				messages.add("\tat p.SomeTest.test" + i + "(SomeTest.java:" + i + ")");
+				messages.add(MessageIds.TRACE_END);
+			}
+			messages.add(MessageIds.TEST_END + test);
+		}
+		messages.add(MessageIds.TEST_RUN_END + "1000");
+		return messages;
+	}
+
+	public static byte[] encodeAsText(List<String> messages) {
+		ByteArrayOutputStream bytes= new ByteArrayOutputStream();
+		try (PrintWriter writer= new PrintWriter(new OutputStreamWriter(bytes, StandardCharsets.UTF_8))) {
+			for (String message : messages) {
+				writer.println(message);
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+	public static byte[] encodeAsBinary(List<String> messages) throws IOException {
+		ByteArrayOutputStream bytes= new ByteArrayOutputStream();
+		BinaryMessageSender sender= new BinaryMessageSender(bytes);
+		for (String message : messages) {
+			sender.sendMessage(message);
+		}
+		sender.close();
+		return bytes.toByteArray();
+	}
+
+	private static int getFreePort() throws IOException {
+		try (ServerSocket socket= new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+	/**
+	 * Sends a run to a {@link RemoteTestRunnerClient} and waits until it has been processed.
+	 *
+	 * @param run the encoded run
+	 * @param record whether to record the events of the client
+	 * @return the events of the client, empty if they were not recorded
+	 * @throws Exception if the run cannot be sent
+	 */
+	public static List<String> replay(byte[] run, boolean record) throws Exception {
+		RecordingListener listener= new RecordingListener(record);
+		RemoteTestRunnerClient client= new RemoteTestRunnerClient();
+		int port= getFreePort();
+		client.startListening(new ITestRunListener2[] { listener }, port);
+		Socket socket= null;
+		for (int i= 0; socket == null; i++) {
+			try {
+				socket= new Socket("localhost", port);
+			} catch (IOException e) {
+				if (i == 100)
+					throw e;
+				Thread.sleep(20);
+			}
+		}
+		try {
+			OutputStream out= socket.getOutputStream();
+			out.write(run);
+			out.flush();
+			assertTrue("run not finished", listener.fDone.await(2, TimeUnit.MINUTES));
+		} finally {
+			socket.close();
+			client.stopWaiting();
+		}
+		return listener.fEvents;
+	}
+
+	@Test
+	public void testSameEvents() throws Exception {
+		List<String> run= getRecordedRun(200);
+		assertEquals(replay(encodeAsText(run), true), replay(encodeAsBinary(run), true));
+	}
+
+	@Test
+	public void testSameEventsEmptyRun() throws Exception {
+		List<String> run= getRecordedRun(0);
+		List<String> events= replay(encodeAsBinary(run), true);
+		assertEquals(replay(encodeAsText(run), true), events);
+		assertTrue(events.contains("runEnded 1000"));
+	}
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.junit.model.TestCaseElement;
+import org.eclipse.jdt.internal.junit.model.TestDurationHistory;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
+
+public class TestDurationHistoryTest {
+
+	private static final double DELTA= 1e-6;
+
+	private static TestRunSession createSession(String[] testNames, double[] seconds) {
+		TestRunSession session= new TestRunSession("durations", null);
+		TestSuiteElement suite= new TestSuiteElement(session.getTestRoot(), "1", "p.T", testNames.length, null, null, null);
+		for (int i= 0; i < testNames.length; i++) {
+			TestCaseElement testCase= new TestCaseElement(suite, Integer.toString(i + 2), testNames[i], null, false, null, null);
+			if (!Double.isNaN(seconds[i])) {
+				testCase.setStatus(Status.OK);
+				testCase.setElapsedTimeInSeconds(seconds[i]);
+			}
+		}
+		return session;
+	}
+
+	private static List<String> record(TestDurationHistory history, String testName, double seconds) {
+		return history.record(createSession(new String[] { testName }, new double[] { seconds }), 2);
+	}
+
+	@Test
+	public void testMergeSameName() throws Exception {
+		TestDurationHistory history= new TestDurationHistory();
+		String[] testNames= { "test(p.T)", "other(p.T)", "test(p.T)", "notRun(p.T)" };
+		double[] seconds= { 0.25, 1, 0.5, Double.NaN };
+		history.record(createSession(testNames, seconds), 2);
+
+		assertArrayEquals(new double[] { 0.75 }, history.getDurations("test(p.T)"), DELTA);
+		assertArrayEquals(new double[] { 1 }, history.getDurations("other(p.T)"), DELTA);
+		assertArrayEquals(new double[0], history.getDurations("notRun(p.T)"), DELTA);
+		assertTrue(Double.isNaN(history.getPercentile("notRun(p.T)", 50)));
+	}
+
+	@Test
+	public void testMergeRuns() throws Exception {
+		TestDurationHistory history= new TestDurationHistory();
+		for (int i= 1; i <= TestDurationHistory.CAPACITY + 2; i++) {
+			record(history, "test(p.T)", i);
+		}
+		double[] durations= history.getDurations("test(p.T)");
+		assertEquals(TestDurationHistory.CAPACITY, durations.length);
+		assertEquals(3, durations[0], DELTA);
+		assertEquals(TestDurationHistory.CAPACITY + 2, durations[durations.length - 1], DELTA);
+	}
+
+	@Test
+	public void testRegressions() throws Exception {
+		TestDurationHistory history= new TestDurationHistory();
+		for (int i= 0; i < TestDurationHistory.MIN_SAMPLES; i++) {
+			assertEquals(Collections.emptyList(), record(history, "slow(p.T)", 1));
+			assertEquals(Collections.emptyList(), record(history, "fast(p.T)", 0.001));
+		}
+		assertEquals(Collections.emptyList(), record(history, "slow(p.T)", 1.5));
+		assertEquals(Arrays.asList("slow(p.T)"), record(history, "slow(p.T)", 3));
+		// much slower, but still too fast to matter
+		assertEquals(Collections.emptyList(), record(history, "fast(p.T)", 0.05));
+		// no history yet
+		assertEquals(Collections.emptyList(), record(history, "new(p.T)", 100));
+	}
+
+	@Test
+	public void testSaveLoad() throws Exception {
+		TestDurationHistory history= new TestDurationHistory();
+		record(history, "test(p.T)", 1);
+		record(history, "test(p.T)", 2);
+		record(history, "other(p.T)", 0.5);
+
+		File file= File.createTempFile("durations", ".dat");
+		File medians= File.createTempFile("durations", ".txt");
+		try {
+			history.save(file);
+			TestDurationHistory loaded= new TestDurationHistory();
+			loaded.load(file);
+			assertArrayEquals(history.getDurations("test(p.T)"), loaded.getDurations("test(p.T)"), DELTA);
+			assertArrayEquals(history.getDurations("other(p.T)"), loaded.getDurations("other(p.T)"), DELTA);
+
+			loaded.writeMedians(medians);
+			List<String> lines= Files.readAllLines(medians.toPath(), StandardCharsets.UTF_8);
+			assertEquals(Arrays.asList("1000\ttest(p.T)", "500\tother(p.T)"), lines);
+		} finally {
+			file.delete();
+			medians.delete();
+		}
+	}
+}
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.text.tests.Accessor;
+
+import org.eclipse.jdt.junit.model.ITestElement.FailureTrace;
+
+import org.eclipse.jdt.internal.junit.model.FailureTraceStore;
+import org.eclipse.jdt.internal.junit.model.TestCaseElement;
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
+
+public class TestElementTest {
+
+	private File fDirectory;
+	private FailureTraceStore fStore;
+
+	@Before
+	public void setUp() throws Exception {
+		fDirectory= Files.createTempDirectory("traces").toFile();
+		fStore= new FailureTraceStore(fDirectory);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fStore.dispose();
+		for (File file : fDirectory.listFiles())
+			file.delete();
+		fDirectory.delete();
+	}
+
+	@Test
+	public void testStoreTraces() throws Exception {
+		TestElement.TraceReference first= fStore.add("trace1", "expected1", "actual1");
+		TestElement.TraceReference second= fStore.add("trace2", null, null);
+		TestElement.TraceReference third= fStore.add(null, null, "actual3");
+
+		assertEqualTraces(new FailureTrace("trace2", null, null), second.load());
+		assertEqualTraces(new FailureTrace("trace1", "expected1", "actual1"), first.load());
+		assertEqualTraces(new FailureTrace(null, null, "actual3"), third.load());
+		assertEqualTraces(new FailureTrace("trace1", "expected1", "actual1"), first.load());
+	}
+
+	@Test
+	public void testStoreDisposed() throws Exception {
+		TestElement.TraceReference reference= fStore.add("trace", null, null);
+		assertEquals(1, fDirectory.listFiles().length);
+
+		fStore.dispose();
+		assertNull(reference.load());
+		assertEquals(0, fDirectory.listFiles().length);
+	}
+
+	@Test
+	public void testSpilledTrace() throws Exception {
+		TestCaseElement testCase= createTestCase();
+		testCase.setStatus(TestElement.Status.FAILURE, "trace", "expected", "actual");
+		testCase.spillTrace(fStore);
+
+		assertEquals("trace", testCase.getTrace());
+		assertEquals("expected", testCase.getExpected());
+		assertEquals("actual", testCase.getActual());
+		assertTrue(testCase.isComparisonFailure());
+		assertEqualTraces(new FailureTrace("trace", "expected", "actual"), testCase.getFailureTrace());
+
+		// reading the trace must not load it into the element, it is only softly cached
+		fStore.dispose();
+		new Accessor(testCase, TestElement.class).set("fLoadedTrace", null);
+		assertNull(testCase.getTrace());
+		assertFalse(testCase.isComparisonFailure());
+	}
+
+	@Test
+	public void testSpilledTraceReadOnce() throws Exception {
+		TestCaseElement testCase= createTestCase();
+		testCase.setStatus(TestElement.Status.FAILURE, null, null, null);
+		TestElement.TraceReference stored= fStore.add("trace", "expected", "actual");
+		int[] loads= new int[1];
+		TestElement.TraceReference counting= () -> {
+			loads[0]++;
+			return stored.load();
+		};
+		new Accessor(testCase, TestElement.class).invoke("setTraceReference", new Class[] { TestElement.TraceReference.class }, new Object[] { counting });
+
+		// the failure trace view asks for all values of the selected element
+		assertEquals("trace", testCase.getTrace());
+		assertEquals("expected", testCase.getExpected());
+		assertEquals("actual", testCase.getActual());
+		assertTrue(testCase.isComparisonFailure());
+		assertEquals(1, loads[0]);
+	}
+
+	@Test
+	public void testSpilledTraceAppended() throws Exception {
+		TestCaseElement testCase= createTestCase();
+		testCase.setStatus(TestElement.Status.FAILURE, "trace1", null, null);
+		testCase.spillTrace(fStore);
+		testCase.setStatus(TestElement.Status.FAILURE, "trace2", null, null);
+
+		fStore.dispose();
+		assertEquals("trace1trace2", testCase.getTrace());
+	}
+
+	@Test
+	public void testRelativeUniqueIds() throws Exception {
+		String engineId= "[engine:junit-jupiter]";
+		String classId= engineId + "/[class:p.T]";
+		String methodId= classId + "/[method:test()]";
+		String otherId= "[engine:other]/[class:p.T]";
+
+		TestSuiteElement engine= new TestSuiteElement(null, "1", "JUnit Jupiter", 1, null, null, engineId);
+		TestSuiteElement testClass= new TestSuiteElement(engine, "2", "p.T", 2, null, null, classId);
+		TestCaseElement method= new TestCaseElement(testClass, "3", "test(p.T)", null, false, null, methodId);
+		TestCaseElement other= new TestCaseElement(testClass, "4", "other(p.T)", null, false, null, otherId);
+		TestCaseElement none= new TestCaseElement(testClass, "5", "none(p.T)", null, false, null, null);
+
+		assertEquals(engineId, engine.getUniqueId());
+		assertEquals(classId, testClass.getUniqueId());
+		assertEquals(methodId, method.getUniqueId());
+		assertEquals(otherId, other.getUniqueId());
+		assertNull(none.getUniqueId());
+
+		TestSuiteElement noIds= new TestSuiteElement(null, "6", "p.U", 1, null, null, null);
+		TestCaseElement child= new TestCaseElement(noIds, "7", "test(p.U)", null, false, null, methodId);
+		assertNull(noIds.getUniqueId());
+		assertEquals(methodId, child.getUniqueId());
+	}
+
+	private static TestCaseElement createTestCase() {
+		TestSuiteElement suite= new TestSuiteElement(null, "1", "p.T", 1, null, null, null);
+		return new TestCaseElement(suite, "2", "test(p.T)", null, false, null, null);
+	}
+
+	private static void assertEqualTraces(FailureTrace expected, FailureTrace actual) {
+		assertEquals(expected.getTrace(), actual.getTrace());
+		assertEquals(expected.getExpected(), actual.getExpected());
+		assertEquals(expected.getActual(), actual.getActual());
+	}
+}
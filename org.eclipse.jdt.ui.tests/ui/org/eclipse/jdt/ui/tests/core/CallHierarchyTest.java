@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,10 +19,13 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.After;
 import org.junit.Before;
@@ -34,8 +37,12 @@ import org.eclipse.jdt.core.IInitializer;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
 
+import org.eclipse.jdt.internal.corext.callhierarchy.CallGraphFile;
 import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchy;
+import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchyCore;
+import org.eclipse.jdt.internal.corext.callhierarchy.CallerMethodWrapper;
 import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
 
 import org.eclipse.jdt.ui.tests.callhierarchy.CallHierarchyTestHelper;
@@ -96,6 +103,67 @@ public class CallHierarchyTest {
         helper.assertCalls(expectedSecondLevelMethods, wrapper2.getCalls(new NullProgressMonitor()));
     }
 
+	@Test
+	public void prefetchedCallers() throws Exception {
+        helper.createSimpleClasses();
+
+        IMethod[] methods= { helper.getMethod1(), helper.getMethod2(), helper.getMethod3(), helper.getRecursiveMethod1(), helper.getRecursiveMethod2() };
+        MethodWrapper[] roots= CallHierarchy.getDefault().getCallerRoots(methods);
+        assertEquals(methods.length, roots.length);
+        CallerMethodWrapper.prefetchCallers(roots, new NullProgressMonitor());
+
+        helper.assertCalls(Arrays.asList(helper.getMethod2(), helper.getMethod3()), roots[0].getCalls(new NullProgressMonitor()));
+        helper.assertCalls(Arrays.asList(helper.getMethod3()), roots[1].getCalls(new NullProgressMonitor()));
+        helper.assertCalls(Arrays.asList(helper.getMethod4()), roots[2].getCalls(new NullProgressMonitor()));
+        helper.assertCalls(Arrays.asList(helper.getRecursiveMethod2()), roots[3].getCalls(new NullProgressMonitor()));
+        helper.assertCalls(Arrays.asList(helper.getRecursiveMethod1()), roots[4].getCalls(new NullProgressMonitor()));
+
+        MethodWrapper method3Wrapper= helper.findMethodWrapper(helper.getMethod3(), roots[0].getCalls(new NullProgressMonitor()));
+        assertEquals(1, method3Wrapper.getMethodCall().getCallLocations().size());
+    }
+
+	@Test
+	public void callerClosure() throws Exception {
+        helper.createSimpleClasses();
+
+        IMember[] members= { helper.getMethod1() };
+        Set<String> edges= new HashSet<>();
+        int count= CallHierarchyCore.getDefault().computeCallerClosure(members, 10, (caller, callee, depth) -> edges.add(toEdge(caller.getElementName(), callee.getElementName(), depth)), new NullProgressMonitor());
+        assertEquals(new HashSet<>(Arrays.asList("method2>method1@1", "method3>method1@1", "method3>method2@2", "method4>method3@2")), edges);
+        assertEquals(4, count);
+
+        edges.clear();
+        count= CallHierarchyCore.getDefault().computeCallerClosure(members, 1, (caller, callee, depth) -> edges.add(toEdge(caller.getElementName(), callee.getElementName(), depth)), new NullProgressMonitor());
+        assertEquals(new HashSet<>(Arrays.asList("method2>method1@1", "method3>method1@1")), edges);
+        assertEquals(2, count);
+
+        edges.clear();
+        count= CallHierarchyCore.getDefault().computeCallerClosure(new IMember[] { helper.getRecursiveMethod1() }, Integer.MAX_VALUE, (caller, callee, depth) -> edges.add(toEdge(caller.getElementName(), callee.getElementName(), depth)), new NullProgressMonitor());
+        assertEquals(new HashSet<>(Arrays.asList("recursiveMethod2>recursiveMethod1@1", "recursiveMethod1>recursiveMethod2@2")), edges);
+        assertEquals(2, count);
+    }
+
+	@Test
+	public void calleeClosureFile() throws Exception {
+        helper.createSimpleClasses();
+
+        File file= File.createTempFile("callgraph", ".bin");
+        try {
+            int count= CallHierarchyCore.getDefault().writeCallGraph(new IMember[] { helper.getMethod4() }, false, Integer.MAX_VALUE, file, new NullProgressMonitor());
+            assertEquals(4, count);
+
+            Set<String> edges= new HashSet<>();
+            CallGraphFile.read(file, (caller, callee, depth) -> edges.add(toEdge(JavaCore.create(caller).getElementName(), JavaCore.create(callee).getElementName(), depth)));
+            assertEquals(new HashSet<>(Arrays.asList("method4>method3@1", "method3>method1@2", "method3>method2@2", "method2>method1@3")), edges);
+        } finally {
+            file.delete();
+        }
+    }
+
+	private static String toEdge(String caller, String callee, int depth) {
+		return caller + '>' + callee + '@' + depth;
+	}
+
 	@Test
 	public void callersNoResults() throws Exception {
         helper.createSimpleClasses();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 IBM Corporation and others.
+ * Copyright (c) 2020, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -57,6 +57,7 @@ TypeInfoTest.class,
 StringsTest.class,
 IndentManipulationTest.class,
 SelectionHistoryTest.class,
+HistoryTest.class,
 ASTProviderTest.class,
 JDTFlagsTest18.class,
 JavaTokenComparatorTest.class,
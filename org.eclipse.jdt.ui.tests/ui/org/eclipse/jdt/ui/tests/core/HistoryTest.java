@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.w3c.dom.Element;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.text.tests.Accessor;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+
+import org.eclipse.jdt.internal.corext.util.History;
+import org.eclipse.jdt.internal.corext.util.OpenTypeHistory;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * Tests the histories that are stored in a log.
+ */
+public class HistoryTest {
+
+	private static final String LOG_FILENAME= "HistoryTest.log";
+	private static final String OPEN_TYPE_LOG_FILENAME= "OpenTypeHistory.log";
+
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	/**
+	 * Stores entries of the form <code>key=value</code>, keyed by <code>key</code>.
+	 */
+	private static final class LogHistory extends History<String, String> {
+
+		private static final class Codec implements IValueCodec<String> {
+			@Override
+			public void write(String object, DataOutputStream out) throws IOException {
+				out.writeUTF(object);
+			}
+			@Override
+			public String read(DataInputStream in) throws IOException {
+				return in.readUTF();
+			}
+		}
+
+		public LogHistory() {
+			super("HistoryTest.xml", "root", "entry", LOG_FILENAME, new Codec());
+			load();
+		}
+		@Override
+		protected void setAttributes(Object object, Element element) {}
+		@Override
+		protected String createFromElement(Element type) {return null;}
+		@Override
+		protected String getKey(String object) {return object.substring(0, object.indexOf('='));}
+		@Override
+		public void changed(String object) {
+			super.changed(object);
+		}
+		public List<String> getEntries() {
+			return new ArrayList<>(getValues());
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		getStateFile(LOG_FILENAME).delete();
+		JavaPlugin.getDefault().getStateLocation().append("HistoryTest.xml").toFile().delete();
+	}
+
+	private static File getStateFile(String name) {
+		return JavaPlugin.getDefault().getStateLocation().append(name).toFile();
+	}
+
+	private static void truncate(File file, int bytes) throws IOException {
+		try (RandomAccessFile raf= new RandomAccessFile(file, "rw")) {
+			raf.setLength(raf.length() - bytes);
+		}
+	}
+
+	@Test
+	public void testLazyLoad() throws Exception {
+		LogHistory history= new LogHistory();
+		history.accessed("a=1");
+		history.accessed("b=1");
+		history.save();
+
+		LogHistory loaded= new LogHistory();
+
+		history.accessed("c=1");
+		history.save();
+
+		// the log is read on the first access, not by load()
+		assertEquals(Arrays.asList("a=1", "b=1", "c=1"), loaded.getEntries());
+	}
+
+	@Test
+	public void testSaveUnchanged() throws Exception {
+		LogHistory history= new LogHistory();
+		history.accessed("a=1");
+		history.save();
+		long length= getStateFile(LOG_FILENAME).length();
+
+		// a history that was not accessed is not written
+		new LogHistory().save();
+		assertEquals(length, getStateFile(LOG_FILENAME).length());
+		assertEquals(Arrays.asList("a=1"), new LogHistory().getEntries());
+	}
+
+	@Test
+	public void testReplay() throws Exception {
+		LogHistory history= new LogHistory();
+		history.accessed("a=1");
+		history.accessed("b=1");
+		history.accessed("c=1");
+		history.save();
+		long snapshotLength= getStateFile(LOG_FILENAME).length();
+
+		history.removeKey("b");
+		history.accessed("a=1");
+		history.changed("c=2");
+		history.accessed("d=1");
+		history.save();
+		// the changes are appended to the log
+		assertTrue(getStateFile(LOG_FILENAME).length() > snapshotLength);
+
+		LogHistory loaded= new LogHistory();
+		assertEquals(Arrays.asList("c=2", "a=1", "d=1"), loaded.getEntries());
+		assertFalse(loaded.containsKey("b"));
+		assertEquals(2, loaded.getPosition("d"));
+	}
+
+	@Test
+	public void testTruncatedTail() throws Exception {
+		LogHistory history= new LogHistory();
+		history.accessed("a=1");
+		history.accessed("b=1");
+		history.save();
+		history.accessed("c=1");
+		history.save();
+
+		// cut into the checksum of the last record
+		truncate(getStateFile(LOG_FILENAME), 2);
+
+		LogHistory loaded= new LogHistory();
+		assertEquals(Arrays.asList("a=1", "b=1"), loaded.getEntries());
+
+		// appending overwrites the broken tail
+		loaded.accessed("d=1");
+		loaded.save();
+		assertEquals(Arrays.asList("a=1", "b=1", "d=1"), new LogHistory().getEntries());
+	}
+
+	private static OpenTypeHistory loadOpenTypeHistory() throws Exception {
+		Constructor<OpenTypeHistory> constructor= OpenTypeHistory.class.getDeclaredConstructor();
+		constructor.setAccessible(true);
+		return constructor.newInstance();
+	}
+
+	private static void writeSnapshotOnSave(History<?, ?> history) {
+		new Accessor(history, History.class).set("fChanges", null);
+	}
+
+	private static void dispose(OpenTypeHistory history) {
+		new Accessor(history, OpenTypeHistory.class).invoke("doShutdown", new Object[0]);
+	}
+
+	private static TypeNameMatch createMatch(ICompilationUnit cu, String typeName) {
+		return SearchEngine.createTypeNameMatch(cu.getType(typeName), 0);
+	}
+
+	@Test
+	public void testOpenTypeHistoryLog() throws Exception {
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(pts.getProject(), "src");
+		IPackageFragment pack= root.createPackageFragment("p", false, null);
+		TypeNameMatch a= createMatch(pack.createCompilationUnit("A.java", "package p;\npublic class A {\n}\n", false, null), "A");
+		TypeNameMatch b= createMatch(pack.createCompilationUnit("B.java", "package p;\npublic class B {\n}\n", false, null), "B");
+
+		OpenTypeHistory history= OpenTypeHistory.getInstance();
+		try {
+			history.accessed(a);
+			history.accessed(b);
+			writeSnapshotOnSave(history);
+			history.save();
+			history.remove(a);
+			history.save();
+
+			OpenTypeHistory loaded= loadOpenTypeHistory();
+			try {
+				assertFalse(loaded.contains(a));
+				assertTrue(loaded.contains(b));
+				assertEquals(b, loaded.getTypeInfos()[0]);
+				// the time stamps are read from the log
+				Map<?, ?> timestamps= (Map<?, ?>) new Accessor(loaded, OpenTypeHistory.class).get("fTimestampMapping");
+				assertTrue(timestamps.containsKey(b));
+				// the removed type does not keep its time stamp
+				assertFalse(timestamps.containsKey(a));
+			} finally {
+				dispose(loaded);
+			}
+
+			// drop the removal of a
+			truncate(getStateFile(OPEN_TYPE_LOG_FILENAME), 2);
+
+			loaded= loadOpenTypeHistory();
+			try {
+				assertTrue(loaded.contains(a));
+				assertTrue(loaded.contains(b));
+				assertEquals(b, loaded.getTypeInfos()[0]);
+			} finally {
+				dispose(loaded);
+			}
+		} finally {
+			history.remove(a);
+			history.remove(b);
+			// the log was truncated behind the back of the history
+			writeSnapshotOnSave(history);
+			history.save();
+			JavaProjectHelper.clear(pts.getProject(), pts.getDefaultClasspath());
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,7 +14,13 @@
 package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
 
 import org.junit.After;
 import org.junit.Before;
@@ -28,11 +34,13 @@ import org.eclipse.jface.text.IDocument;
 import org.eclipse.ui.IEditorPart;
 
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
@@ -41,6 +49,8 @@ import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.typehierarchy.PatchedTypeHierarchy;
+import org.eclipse.jdt.internal.ui.typehierarchy.TypeHierarchyLifeCycle;
 
 public class TypeHierarchyTest {
 	@Rule
@@ -268,4 +278,100 @@ public class TypeHierarchyTest {
 		assertEquals("Should contain 3 types, contains: " + allTypes.length, 3, allTypes.length);
 		assertEquals("Update count should be 1, is: " + updateCount[0], 1, updateCount[0]);
 	}
+
+	@Test
+	public void lifeCyclePatchesSupertypeChanges() throws Exception {
+		IPackageFragmentRoot root1= JavaProjectHelper.addSourceContainer(fJavaProject1, "src");
+		IPackageFragment pack1= root1.createPackageFragment("pack1", true, null);
+
+		IType typeA= pack1.createCompilationUnit("A.java", "package pack1;\npublic class A {\n}\n", true, null).getType("A");
+		IType typeB= pack1.createCompilationUnit("B.java", "package pack1;\npublic class B extends A {\n}\n", true, null).getType("B");
+		ICompilationUnit cuC= pack1.createCompilationUnit("C.java", "package pack1;\npublic class C extends B {\n}\n", true, null);
+		IType typeC= cuC.getType("C");
+		IType typeD= pack1.createCompilationUnit("D.java", "package pack1;\npublic class D extends C {\n}\n", true, null).getType("D");
+		pack1.createCompilationUnit("X.java", "package pack1;\npublic class X {\n}\n", true, null);
+
+		final int[] updateCount= new int[] {0};
+		TypeHierarchyLifeCycle lifeCycle= new TypeHierarchyLifeCycle(false);
+		lifeCycle.addChangedListener((typeHierarchyProvider, changedTypes) -> updateCount[0]++);
+		IJavaElement[] input= new IJavaElement[] { typeA };
+		try {
+			lifeCycle.doHierarchyRefresh(input, null);
+			assertEquals(3, lifeCycle.getHierarchy().getAllSubtypes(typeA).length);
+
+			setContents(cuC, "package pack1;\npublic class C extends A {\n}\n");
+			assertTrue("Update count should be positive", updateCount[0] > 0);
+
+			lifeCycle.doHierarchyRefresh(input, null);
+			ITypeHierarchy hierarchy= lifeCycle.getHierarchy();
+			assertTrue("Hierarchy should be patched", hierarchy instanceof PatchedTypeHierarchy);
+			assertEquals(typeA, hierarchy.getSuperclass(typeC));
+			assertEquals(0, hierarchy.getSubclasses(typeB).length);
+			assertEquals(2, hierarchy.getSubclasses(typeA).length);
+			assertEquals(typeC, hierarchy.getSuperclass(typeD));
+			assertEquals(3, hierarchy.getAllSubtypes(typeA).length);
+
+			setContents(cuC, "package pack1;\npublic class C extends X {\n}\n");
+			lifeCycle.doHierarchyRefresh(input, null);
+			hierarchy= lifeCycle.getHierarchy();
+			assertTrue("Hierarchy should be patched", hierarchy instanceof PatchedTypeHierarchy);
+			assertTrue(hierarchy.contains(typeB));
+			assertFalse(hierarchy.contains(typeC));
+			assertFalse(hierarchy.contains(typeD));
+			assertEquals(1, hierarchy.getAllSubtypes(typeA).length);
+
+			IType typeE= pack1.createCompilationUnit("E.java", "package pack1;\npublic class E extends A {\n}\n", true, null).getType("E");
+			lifeCycle.doHierarchyRefresh(input, null);
+			hierarchy= lifeCycle.getHierarchy();
+			assertFalse("Hierarchy should be recomputed", hierarchy instanceof PatchedTypeHierarchy);
+			assertEquals(typeA, hierarchy.getSuperclass(typeE));
+			assertFalse(hierarchy.contains(typeC));
+		} finally {
+			lifeCycle.freeHierarchy();
+		}
+	}
+
+	@Test
+	public void patchedHierarchyRefreshAndStore() throws Exception {
+		IPackageFragmentRoot root1= JavaProjectHelper.addSourceContainer(fJavaProject1, "src");
+		IPackageFragment pack1= root1.createPackageFragment("pack1", true, null);
+
+		IType typeA= pack1.createCompilationUnit("A.java", "package pack1;\npublic class A {\n}\n", true, null).getType("A");
+		IType typeB= pack1.createCompilationUnit("B.java", "package pack1;\npublic class B extends A {\n}\n", true, null).getType("B");
+		ICompilationUnit cuC= pack1.createCompilationUnit("C.java", "package pack1;\npublic class C extends B {\n}\n", true, null);
+		IType typeC= cuC.getType("C");
+		IType typeX= pack1.createCompilationUnit("X.java", "package pack1;\npublic class X {\n}\n", true, null).getType("X");
+
+		PatchedTypeHierarchy hierarchy= new PatchedTypeHierarchy(typeA.newTypeHierarchy(null), false);
+		hierarchy.store(new ByteArrayOutputStream(), null);
+
+		setContents(cuC, "package pack1;\npublic class C extends X {\n}\n");
+		PatchedTypeHierarchy patched= hierarchy.patch(Collections.singletonMap(typeC, typeC.newSupertypeHierarchy(null)));
+		assertFalse(patched.contains(typeC));
+		try {
+			patched.store(new ByteArrayOutputStream(), null);
+			fail("A patched hierarchy should not be stored");
+		} catch (JavaModelException e) {
+			// expected
+		}
+
+		// the refreshed hierarchy no longer contains the patch that removed C
+		setContents(cuC, "package pack1;\npublic class C extends B {\n}\n");
+		patched.refresh(null);
+		assertEquals(typeB, patched.getSuperclass(typeC));
+		assertFalse(patched.contains(typeX));
+		assertEquals(2, patched.getAllSubtypes(typeA).length);
+		patched.store(new ByteArrayOutputStream(), null);
+	}
+
+	private static void setContents(ICompilationUnit cu, String contents) throws Exception {
+		cu.becomeWorkingCopy(null);
+		try {
+			cu.getBuffer().setContents(contents);
+			cu.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			cu.commitWorkingCopy(true, null);
+		} finally {
+			cu.discardWorkingCopy();
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,6 +32,7 @@ import java.util.Hashtable;
 import java.util.Map;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.core.IClasspathEntry;
@@ -46,26 +47,36 @@ import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTRequestor;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.formatter.DefaultCodeFormatterConstants;
+import org.eclipse.jdt.core.manipulation.CleanUpContextCore;
 import org.eclipse.jdt.core.manipulation.CleanUpOptionsCore;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
+import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring;
 import org.eclipse.jdt.internal.corext.fix.FixMessages;
 import org.eclipse.jdt.internal.corext.fix.UpdateProperty;
 import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
 import org.eclipse.jdt.internal.corext.util.Messages;
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.fix.AbstractCleanUpCore;
+import org.eclipse.jdt.internal.ui.fix.FusedCleanUpTraversal;
+import org.eclipse.jdt.internal.ui.fix.IFusedCleanUpCore;
+import org.eclipse.jdt.internal.ui.fix.IFusedCleanUpCore.FusedContext;
 import org.eclipse.jdt.internal.ui.fix.Java50CleanUp;
 import org.eclipse.jdt.internal.ui.fix.MultiFixMessages;
+import org.eclipse.jdt.internal.ui.fix.NoStringCreationCleanUpCore;
 import org.eclipse.jdt.internal.ui.fix.PlainReplacementCleanUpCore;
 import org.eclipse.jdt.internal.ui.fix.PrimitiveRatherThanWrapperCleanUpCore;
 import org.eclipse.jdt.internal.ui.fix.RedundantModifiersCleanUp;
+import org.eclipse.jdt.internal.ui.fix.SubstringCleanUpCore;
 import org.eclipse.jdt.internal.ui.fix.UnimplementedCodeCleanUp;
 import org.eclipse.jdt.internal.ui.text.correction.ProblemLocation;
 import org.eclipse.jdt.testplugin.JavaProjectHelper;
 import org.eclipse.jdt.testplugin.TestOptions;
 import org.eclipse.jdt.ui.PreferenceConstants;
+import org.eclipse.jdt.ui.cleanup.CleanUpContext;
 import org.eclipse.jdt.ui.cleanup.CleanUpOptions;
+import org.eclipse.jdt.ui.cleanup.CleanUpRequirements;
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
 import org.eclipse.jdt.ui.cleanup.ICleanUpFix;
 import org.eclipse.jdt.ui.tests.core.rules.Java13ProjectTestSetup;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
@@ -211,6 +222,102 @@ public class CleanUpTest extends CleanUpTestCase {
 		assertRefactoringResultAsExpected(new ICompilationUnit[] {cu1, cu2, cu3}, new String[] {expected1, expected2, expected3}, null);
 	}
 
+	private ICompilationUnit[] createMissingNLSTagSamples(int count, String[] expected) throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		ICompilationUnit[] cus= new ICompilationUnit[count];
+		for (int i= 0; i < count; i++) {
+			String sample= "" //
+					+ "package test1;\n" //
+					+ "public class E" + i + " {\n" //
+					+ "    public String s= \"\";\n" //
+					+ "}\n";
+			cus[i]= pack1.createCompilationUnit("E" + i + ".java", sample, false, null);
+
+			expected[i]= "" //
+					+ "package test1;\n" //
+					+ "public class E" + i + " {\n" //
+					+ "    public String s= \"\"; //$NON-NLS-1$\n" //
+					+ "}\n";
+		}
+		return cus;
+	}
+
+	@Test
+	public void testAddNLSTagParallel() throws Exception {
+		String[] expected= new String[5];
+		ICompilationUnit[] cus= createMissingNLSTagSamples(expected.length, expected);
+
+		enable(CleanUpConstants.ADD_MISSING_NLS_TAGS);
+
+		CleanUpRefactoring ref= new CleanUpRefactoring();
+		ref.setWorkerCount(2);
+		ref.setMemoryBudget(0); // one compilation unit per batch
+		assertRefactoringResultAsExpected(ref, cus, expected);
+	}
+
+	@Test
+	public void testAddNLSTagStreaming() throws Exception {
+		String[] expected= new String[3];
+		ICompilationUnit[] cus= createMissingNLSTagSamples(expected.length, expected);
+
+		enable(CleanUpConstants.ADD_MISSING_NLS_TAGS);
+
+		CleanUpRefactoring ref= new CleanUpRefactoring();
+		ref.setStreaming(true);
+		ref.setMemoryBudget(0); // one compilation unit per batch
+		assertRefactoringResultAsExpected(ref, cus, expected);
+		assertTrue(ref.getStreamingStatus().isOK());
+	}
+
+	@Test
+	public void testStreamingStatus() throws Exception {
+		String[] expected= new String[2];
+		ICompilationUnit[] cus= createMissingNLSTagSamples(expected.length, expected);
+
+		enable(CleanUpConstants.ADD_MISSING_NLS_TAGS);
+
+		ICleanUp warningCleanUp= new ICleanUp() {
+			@Override
+			public void setOptions(CleanUpOptions options) {
+			}
+
+			@Override
+			public String[] getStepDescriptions() {
+				return new String[0];
+			}
+
+			@Override
+			public CleanUpRequirements getRequirements() {
+				return new CleanUpRequirements(false, false, false, null);
+			}
+
+			@Override
+			public RefactoringStatus checkPreConditions(IJavaProject project, ICompilationUnit[] compilationUnits, IProgressMonitor monitor) {
+				return RefactoringStatus.createWarningStatus("pre condition warning");
+			}
+
+			@Override
+			public ICleanUpFix createFix(CleanUpContext context) {
+				return null;
+			}
+
+			@Override
+			public RefactoringStatus checkPostConditions(IProgressMonitor monitor) {
+				return RefactoringStatus.createErrorStatus("post condition error");
+			}
+		};
+
+		CleanUpRefactoring ref= new CleanUpRefactoring();
+		ref.setStreaming(true);
+		ref.setMemoryBudget(0); // one compilation unit per batch
+		assertRefactoringResultAsExpected(ref, cus, expected, warningCleanUp);
+
+		RefactoringStatus status= ref.getStreamingStatus();
+		assertEquals(RefactoringStatus.ERROR, status.getSeverity());
+		assertEquals("pre condition warning", status.getMessageMatchingSeverity(RefactoringStatus.WARNING));
+		assertEquals("post condition error", status.getMessageMatchingSeverity(RefactoringStatus.ERROR));
+	}
+
 	@Test
 	public void testRemoveNLSTag01() throws Exception {
 		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
@@ -27308,6 +27415,72 @@ public class CleanUpTest extends CleanUpTestCase {
 		assertRefactoringHasNoChange(new ICompilationUnit[] { cu1 });
 	}
 
+	@Test
+	public void testFusedTraversal() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String sample= "" //
+				+ "package test1;\n" //
+				+ "\n" //
+				+ "public class E1 {\n" //
+				+ "    public String replaceNewString() {\n" //
+				+ "        return new String(\"\");\n" //
+				+ "    }\n" //
+				+ "\n" //
+				+ "    public String reduceSubstring(String text) {\n" //
+				+ "        return text.substring(2, text.length());\n" //
+				+ "    }\n" //
+				+ "\n" //
+				+ "    public String reduceSubstringInNewString(String text) {\n" //
+				+ "        return new String(text.substring(3, text.length())).toLowerCase();\n" //
+				+ "    }\n" //
+				+ "}\n";
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", sample, false, null);
+
+		ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
+		parser.setKind(ASTParser.K_COMPILATION_UNIT);
+		parser.setSource(cu1);
+		parser.setResolveBindings(true);
+		CompilationUnit unit= (CompilationUnit) parser.createAST(null);
+		Map<String, String> options= new HashMap<>();
+		options.put(CleanUpConstants.SUBSTRING, CleanUpOptionsCore.TRUE);
+		options.put(CleanUpConstants.NO_STRING_CREATION, CleanUpOptionsCore.TRUE);
+		AbstractCleanUpCore[] cleanUps= { new SubstringCleanUpCore(options), new NoStringCreationCleanUpCore(options) };
+
+		// the fixes found in one walk of the AST are the same as those found in a walk per clean up
+		FusedCleanUpTraversal traversal= FusedCleanUpTraversal.run(unit, Arrays.asList(cleanUps));
+		CleanUpContextCore separateContext= new CleanUpContextCore(cu1, unit);
+		FusedContext fusedContext= new FusedContext(cu1, unit, traversal);
+		for (AbstractCleanUpCore cleanUp : cleanUps) {
+			assertTrue(traversal.contains((IFusedCleanUpCore) cleanUp));
+			String separate= cleanUp.createFixCore(separateContext).createChange(null).getPreviewContent(null);
+			String fused= cleanUp.createFixCore(fusedContext).createChange(null).getPreviewContent(null);
+			assertNotEquals(sample, fused);
+			assertEquals(separate, fused);
+		}
+
+		enable(CleanUpConstants.SUBSTRING);
+		enable(CleanUpConstants.NO_STRING_CREATION);
+
+		String expected= "" //
+				+ "package test1;\n" //
+				+ "\n" //
+				+ "public class E1 {\n" //
+				+ "    public String replaceNewString() {\n" //
+				+ "        return \"\";\n" //
+				+ "    }\n" //
+				+ "\n" //
+				+ "    public String reduceSubstring(String text) {\n" //
+				+ "        return text.substring(2);\n" //
+				+ "    }\n" //
+				+ "\n" //
+				+ "    public String reduceSubstringInNewString(String text) {\n" //
+				+ "        return text.substring(3).toLowerCase();\n" //
+				+ "    }\n" //
+				+ "}\n";
+
+		assertRefactoringResultAsExpected(new ICompilationUnit[] { cu1 }, new String[] { expected }, null);
+	}
+
 	@Test
 	public void testCheckSignOfBitwiseOperation() throws Exception {
 		IPackageFragment pack1= fSourceFolder.createPackageFragment("test", false, null);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2020 IBM Corporation and others.
+ * Copyright (c) 2005, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,8 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
@@ -221,7 +223,31 @@ public abstract class CleanUpTestCase extends QuickFixTest {
 
 	protected RefactoringStatus assertRefactoringResultAsExpected(ICompilationUnit[] cus, String[] expected, Set<String> setOfExpectedGroupCategories) throws CoreException {
 		RefactoringStatus status= performRefactoring(cus, setOfExpectedGroupCategories);
+		assertContentsAsExpected(cus, expected);
+		return status;
+	}
+
+	/**
+	 * Performs a clean up refactoring that is configured by the caller, for example to run in
+	 * parallel or streaming mode, with the clean ups of the profile.
+	 *
+	 * @param ref the refactoring to perform
+	 * @param cus the compilation units to clean up
+	 * @param expected the expected contents of the compilation units
+	 * @param additionalCleanUps clean ups to run in addition to the registered ones
+	 * @return the status of the condition checking
+	 * @throws CoreException if the refactoring fails
+	 */
+	protected RefactoringStatus assertRefactoringResultAsExpected(CleanUpRefactoring ref, ICompilationUnit[] cus, String[] expected, ICleanUp... additionalCleanUps) throws CoreException {
+		ref.setUseOptionsFromProfile(true);
+		List<ICleanUp> cleanUps= new ArrayList<>(Arrays.asList(JavaPlugin.getDefault().getCleanUpRegistry().createCleanUps()));
+		cleanUps.addAll(Arrays.asList(additionalCleanUps));
+		RefactoringStatus status= performRefactoring(ref, cus, cleanUps.toArray(new ICleanUp[cleanUps.size()]), null);
+		assertContentsAsExpected(cus, expected);
+		return status;
+	}
 
+	private void assertContentsAsExpected(ICompilationUnit[] cus, String[] expected) throws CoreException {
 		String[] previews= new String[cus.length];
 		for (int i= 0; i < cus.length; i++) {
 			ICompilationUnit cu= cus[i];
@@ -229,8 +255,6 @@ public abstract class CleanUpTestCase extends QuickFixTest {
 		}
 
 		assertEqualStringsIgnoreOrder(previews, expected);
-
-		return status;
 	}
 
 	protected void assertRefactoringResultAsExpectedIgnoreHashValue(ICompilationUnit[] cus, String[] expected) throws CoreException {
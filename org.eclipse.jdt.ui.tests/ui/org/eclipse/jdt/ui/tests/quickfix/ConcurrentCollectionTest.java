@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.quickfix;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jface.preference.IPreferenceStore;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.compiler.IProblem;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.ui.PreferenceConstants;
+import org.eclipse.jdt.ui.examples.MyThreadSafeQuickAssistProcessor;
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+import org.eclipse.jdt.ui.text.java.IJavaCompletionProposal;
+
+import org.eclipse.jdt.internal.ui.text.correction.AssistContext;
+import org.eclipse.jdt.internal.ui.text.correction.IProblemLocationCore;
+import org.eclipse.jdt.internal.ui.text.correction.JavaCorrectionProcessor;
+import org.eclipse.jdt.internal.ui.text.correction.ProblemLocation;
+
+public class ConcurrentCollectionTest extends QuickFixTest {
+
+	@Rule
+	public ProjectTestSetup projectSetup= new ProjectTestSetup();
+
+	private IJavaProject fJProject1;
+	private IPackageFragmentRoot fSourceFolder;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject1= projectSetup.getProject();
+		fSourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+
+		IPreferenceStore store= PreferenceConstants.getPreferenceStore();
+		store.setValue(PreferenceConstants.EDITOR_QUICKFIX_CONCURRENT_COLLECTION_TIMEOUT, 60000);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		IPreferenceStore store= PreferenceConstants.getPreferenceStore();
+		store.setToDefault(PreferenceConstants.EDITOR_QUICKFIX_CONCURRENT_COLLECTION);
+		store.setToDefault(PreferenceConstants.EDITOR_QUICKFIX_CONCURRENT_COLLECTION_TIMEOUT);
+		JavaProjectHelper.clear(fJProject1, projectSetup.getDefaultClasspath());
+	}
+
+	private static List<String> collect(ICompilationUnit cu, int offset, boolean concurrent) throws Exception {
+		return collect(getCorrectionContext(cu, offset, 0), concurrent);
+	}
+
+	private static List<String> collect(AssistContext context, boolean concurrent) throws Exception {
+		PreferenceConstants.getPreferenceStore().setValue(PreferenceConstants.EDITOR_QUICKFIX_CONCURRENT_COLLECTION, concurrent);
+
+		IProblem[] problems= context.getASTRoot().getProblems();
+		IProblemLocationCore[] locations= new IProblemLocationCore[problems.length];
+		for (int i= 0; i < problems.length; i++) {
+			locations[i]= new ProblemLocation(problems[i]);
+		}
+
+		List<IJavaCompletionProposal> proposals= new ArrayList<>();
+		assertStatusOk(JavaCorrectionProcessor.collectProposals(context, locations, true, true, proposals));
+		List<String> names= new ArrayList<>();
+		for (IJavaCompletionProposal proposal : proposals) {
+			names.add(proposal.getDisplayString());
+		}
+		return names;
+	}
+
+	@Test
+	public void testSameProposals() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String str= """
+			package test1;
+			import java.util.List;
+			public class Concurrent {
+			    public int foo(int count) {
+			        int unused= count + 1;
+			        return count;
+			    }
+			}
+			""";
+		ICompilationUnit cu= pack1.createCompilationUnit("Concurrent.java", str, false, null);
+		int offset= str.indexOf("count + 1");
+
+		List<String> sequential= collect(cu, offset, false);
+		List<String> concurrent= collect(cu, offset, true);
+		List<String> again= collect(cu, offset, true);
+
+		assertTrue(sequential.contains("Select MethodDeclaration"));
+		assertTrue(sequential.size() > 3);
+		assertEquals(sequential, concurrent);
+		assertEquals(sequential, again);
+	}
+
+	@Test
+	public void testResolveBindings() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String str= """
+			package test1;
+			import java.util.List;
+			public class Concurrent {
+			    public String foo(List<String> names) {
+			        String first= names.get(0).trim();
+			        return first;
+			    }
+			}
+			""";
+		ICompilationUnit cu= pack1.createCompilationUnit("Concurrent.java", str, false, null);
+		int offset= str.indexOf("get(0)");
+		MyThreadSafeQuickAssistProcessor.takeASTs();
+
+		AssistContext sequentialContext= getCorrectionContext(cu, offset, 0);
+		List<String> sequential= collect(sequentialContext, false);
+		List<CompilationUnit> sequentialASTs= MyThreadSafeQuickAssistProcessor.takeASTs();
+
+		AssistContext concurrentContext= getCorrectionContext(cu, offset, 0);
+		List<String> concurrent= collect(concurrentContext, true);
+		List<CompilationUnit> concurrentASTs= MyThreadSafeQuickAssistProcessor.takeASTs();
+
+		assertTrue(sequential.contains("Type java.lang.String"));
+		assertEquals(sequential, concurrent);
+
+		// the processor resolved the bindings of its own AST when it ran on the pool
+		assertEquals(1, sequentialASTs.size());
+		assertSame(sequentialContext.getASTRoot(), sequentialASTs.get(0));
+		assertEquals(1, concurrentASTs.size());
+		assertNotSame(concurrentContext.getASTRoot(), concurrentASTs.get(0));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -73,7 +73,8 @@ import org.junit.runners.Suite;
 	NullAnnotationsQuickFixTest9.class,
 	AnnotateAssistTest1d5.class,
 	AnnotateAssistTest1d8.class,
-	TypeAnnotationQuickFixTest.class
+	TypeAnnotationQuickFixTest.class,
+	ConcurrentCollectionTest.class
 })
 public class QuickFixTestSuite {
 }
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.search.ui.text.Match;
+import org.eclipse.search.ui.text.MatchEvent;
+
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.search.SearchMatch;
+
+import org.eclipse.jdt.ui.tests.core.rules.JUnitSourceSetup;
+
+import org.eclipse.jdt.internal.ui.search.JavaSearchResult;
+import org.eclipse.jdt.internal.ui.search.NewSearchResultCollector;
+
+public class NewSearchResultCollectorTest {
+
+	private static final int MATCH_COUNT= 2500;
+
+	@Rule
+	public JUnitSourceSetup projectSetup = new JUnitSourceSetup();
+
+	private JavaSearchResult fResult;
+	private NewSearchResultCollector fCollector;
+	private List<Integer> fBatchSizes;
+
+	@Before
+	public void setUp() throws Exception {
+		fResult= new JavaSearchResult(null);
+		fBatchSizes= new ArrayList<>();
+		fResult.addListener(e -> {
+			if (e instanceof MatchEvent && ((MatchEvent) e).getKind() == MatchEvent.ADDED)
+				fBatchSizes.add(((MatchEvent) e).getMatches().length);
+		});
+		fCollector= new NewSearchResultCollector(fResult, false);
+	}
+
+	private static IMethod getMethod() throws Exception {
+		IType type= SearchTestHelper.getType("junit.framework.TestCase");
+		// a new handle on each call
+		return type.getMethod("getName", new String[0]);
+	}
+
+	private void acceptMatches(int from, int to) throws Exception {
+		for (int i= from; i < to; i++) {
+			fCollector.acceptSearchMatch(new SearchMatch(getMethod(), SearchMatch.A_ACCURATE, i, 1, null, null));
+		}
+	}
+
+	private int getAddedCount() {
+		int count= 0;
+		for (int size : fBatchSizes)
+			count+= size;
+		return count;
+	}
+
+	@Test
+	public void testAllMatchesReachResult() throws Exception {
+		fCollector.beginReporting();
+		acceptMatches(0, MATCH_COUNT);
+
+		// the full batches have been added, the last partial batch may still be pending
+		int added= getAddedCount();
+		assertTrue(added >= MATCH_COUNT - MATCH_COUNT % 1000);
+		assertEquals(added, fResult.getMatchCount());
+
+		fCollector.endReporting();
+		assertEquals(MATCH_COUNT, getAddedCount());
+		assertEquals(MATCH_COUNT, fResult.getMatchCount());
+		assertTrue(fBatchSizes.size() < MATCH_COUNT);
+
+		Match[] matches= fResult.getMatches(getMethod());
+		assertEquals(MATCH_COUNT, matches.length);
+		boolean[] seen= new boolean[MATCH_COUNT];
+		for (Match match : matches) {
+			seen[match.getOffset()]= true;
+		}
+		for (int i= 0; i < MATCH_COUNT; i++) {
+			assertTrue("missing match at " + i, seen[i]);
+		}
+	}
+
+	@Test
+	public void testFlushOnExitParticipant() throws Exception {
+		fCollector.beginReporting();
+		acceptMatches(0, 10);
+		fCollector.exitParticipant(null);
+		assertEquals(10, fResult.getMatchCount());
+
+		acceptMatches(10, 15);
+		fCollector.endReporting();
+		assertEquals(15, fResult.getMatchCount());
+	}
+
+	@Test
+	public void testSharedElements() throws Exception {
+		fCollector.beginReporting();
+		acceptMatches(0, 3);
+		fCollector.endReporting();
+
+		Match[] matches= fResult.getMatches(getMethod());
+		assertEquals(3, matches.length);
+		assertSame(matches[0].getElement(), matches[1].getElement());
+		assertSame(matches[0].getElement(), matches[2].getElement());
+	}
+}
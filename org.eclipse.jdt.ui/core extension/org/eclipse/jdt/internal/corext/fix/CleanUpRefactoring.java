@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,8 @@
 package org.eclipse.jdt.internal.corext.fix;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
@@ -29,6 +31,7 @@ import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.ProgressMonitorWrapper;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
 
 import org.eclipse.core.resources.IFile;
@@ -77,6 +80,7 @@ import org.eclipse.jdt.internal.corext.refactoring.changes.DynamicValidationStat
 import org.eclipse.jdt.internal.corext.refactoring.changes.MultiStateCompilationUnitChange;
 import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
 import org.eclipse.jdt.internal.corext.refactoring.util.TextEditUtil;
+import org.eclipse.jdt.internal.corext.util.ConcurrentTasks;
 import org.eclipse.jdt.internal.corext.util.Messages;
 
 import org.eclipse.jdt.ui.JavaElementLabels;
@@ -87,6 +91,8 @@ import org.eclipse.jdt.ui.cleanup.ICleanUpFix;
 
 import org.eclipse.jdt.internal.ui.IJavaStatusConstants;
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.fix.FusedCleanUpTraversal;
+import org.eclipse.jdt.internal.ui.fix.IFusedCleanUpCore.FusedContext;
 import org.eclipse.jdt.internal.ui.fix.IMultiFix.MultiFixContext;
 import org.eclipse.jdt.internal.ui.fix.MapCleanUpOptions;
 import org.eclipse.jdt.internal.ui.refactoring.IScheduledRefactoring;
@@ -245,16 +251,22 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		}
 	}
 
+	/**
+	 * Monitor handed to the worker threads of a parallel clean up. Progress is reported by the
+	 * calling thread once a batch is done, only cancelation is forwarded.
+	 */
 	private static class CleanUpASTRequestor extends ASTRequestor {
 
 		private final List<ParseListElement> fUndoneElements;
 		private final Hashtable<ICompilationUnit, List<CleanUpChange>> fSolutions;
 		private final Hashtable<ICompilationUnit, ParseListElement> fCompilationUnitParseElementMap;
 		private final CleanUpRefactoringProgressMonitor fMonitor;
+		private final Object fFixLock;
 
-		public CleanUpASTRequestor(List<ParseListElement> parseList, Hashtable<ICompilationUnit, List<CleanUpChange>> solutions, CleanUpRefactoringProgressMonitor monitor) {
+		public CleanUpASTRequestor(List<ParseListElement> parseList, Hashtable<ICompilationUnit, List<CleanUpChange>> solutions, CleanUpRefactoringProgressMonitor monitor, Object fixLock) {
 			fSolutions= solutions;
 			fMonitor= monitor;
+			fFixLock= fixLock;
 			fUndoneElements= new ArrayList<>();
 			fCompilationUnitParseElementMap= new Hashtable<>(parseList.size());
 			for (ParseListElement element : parseList) {
@@ -299,7 +311,10 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			List<ICleanUp>result= new ArrayList<>();
 			CleanUpChange solution;
 			try {
-				solution= calculateChange(context, cleanUps, result, null);
+				// clean ups are stateful and not required to be thread safe, see CleanUpRefactoring#setWorkerCount(int)
+				synchronized (fFixLock) {
+					solution= calculateChange(context, cleanUps, result, null);
+				}
 			} catch (CoreException e) {
 				throw new FixCalculationException(e);
 			}
@@ -329,10 +344,16 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		private final Hashtable<ICompilationUnit, List<CleanUpChange>> fSolutions;
 		private final Hashtable<ICompilationUnit, ICompilationUnit> fWorkingCopies; // map from primary to working copy
 		private final Map<String, String> fCleanUpOptions;
+		private final Object fFixLock;
 		private final int fSize;
 		private int fIndex;
 
 		public CleanUpFixpointIterator(CleanUpTarget[] targets, ICleanUp[] cleanUps) {
+			this(targets, cleanUps, new Object(), targets.length, 1);
+		}
+
+		public CleanUpFixpointIterator(CleanUpTarget[] targets, ICleanUp[] cleanUps, Object fixLock, int size, int index) {
+			fFixLock= fixLock;
 			fSolutions= new Hashtable<>(targets.length);
 			fWorkingCopies= new Hashtable<>();
 
@@ -348,8 +369,8 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 					fCleanUpOptions.putAll(currentCleanUpOption);
 			}
 
-			fSize= targets.length;
-			fIndex= 1;
+			fSize= size;
+			fIndex= index;
 		}
 
 		public boolean hasNext() {
@@ -381,7 +402,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 				}
 
 				CleanUpRefactoringProgressMonitor cuMonitor= new CleanUpRefactoringProgressMonitor(monitor, parseList.size() + sourceList.size(), fSize, fIndex);
-				CleanUpASTRequestor requestor= new CleanUpASTRequestor(fParseList, fSolutions, cuMonitor);
+				CleanUpASTRequestor requestor= new CleanUpASTRequestor(fParseList, fSolutions, cuMonitor, fFixLock);
 				if (parseList.size() > 0) {
 					ASTBatchParser parser= new ASTBatchParser() {
 						@Override
@@ -494,6 +515,126 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		}
 	}
 
+	/**
+	 * Change used in streaming mode: the compilation units are parsed, fixed, validated and
+	 * changed one batch at a time when the change is performed, such that only the changes of
+	 * the current batch are held in memory. The undo change is composed of the undo changes of
+	 * the batches. The statuses of the condition checks and validations of the batches are
+	 * collected in the status of the change.
+	 */
+	private class StreamingCleanUpChange extends Change {
+
+		private final String fChangeName;
+		private final ICleanUp[] fStreamedCleanUps;
+		private RefactoringStatus fStatus= new RefactoringStatus();
+
+		public StreamingCleanUpChange(String name, ICleanUp[] cleanUps) {
+			fChangeName= name;
+			fStreamedCleanUps= cleanUps;
+		}
+
+		@Override
+		public String getName() {
+			return fChangeName;
+		}
+
+		@Override
+		public void initializeValidationData(IProgressMonitor pm) {
+			// each batch is validated before it is performed
+		}
+
+		@Override
+		public RefactoringStatus isValid(IProgressMonitor pm) throws CoreException, OperationCanceledException {
+			return new RefactoringStatus();
+		}
+
+		@Override
+		public Object getModifiedElement() {
+			return null;
+		}
+
+		@Override
+		public Change perform(IProgressMonitor pm) throws CoreException {
+			if (pm == null)
+				pm= new NullProgressMonitor();
+
+			fStatus= new RefactoringStatus();
+			ICleanUp[] cleanUps= fStreamedCleanUps;
+			int batchSize= Math.max(1, fMemoryBudget / MEMORY_PER_COMPILATION_UNIT);
+			List<Change> undos= new ArrayList<>();
+			pm.beginTask("", getCleanUpTargetsSize() * 2 * cleanUps.length + fProjects.size() * 4 * cleanUps.length); //$NON-NLS-1$
+			try {
+				for (Entry<IJavaProject, List<CleanUpTarget>> entry : fProjects.entrySet()) {
+					IJavaProject project= entry.getKey();
+					List<CleanUpTarget> targetsList= entry.getValue();
+					CleanUpTarget[] targets= targetsList.toArray(new CleanUpTarget[targetsList.size()]);
+					if (fUseOptionsFromProfile)
+						checkStatus(setOptionsFromProfile(project, cleanUps));
+					checkStatus(checkPreConditions(project, targets, Progress.subMonitor(pm, 3 * cleanUps.length)));
+					for (int start= 0; start < targets.length; start+= batchSize) {
+						CleanUpTarget[] batch= Arrays.copyOfRange(targets, start, Math.min(start + batchSize, targets.length));
+						Change undo= performBatch(project, batch, cleanUps, pm);
+						if (undo != null)
+							undos.add(undo);
+					}
+					checkStatus(checkPostConditions(Progress.subMonitor(pm, cleanUps.length)));
+				}
+			} catch (CoreException | RuntimeException e) {
+				revert(undos);
+				throw e;
+			} finally {
+				pm.done();
+			}
+
+			Collections.reverse(undos);
+			return new DynamicValidationStateChange(getName(), undos.toArray(new Change[undos.size()]));
+		}
+
+		private Change performBatch(IJavaProject project, CleanUpTarget[] batch, ICleanUp[] cleanUps, IProgressMonitor pm) throws CoreException {
+			Change[] changes= cleanUpProject(project, batch, cleanUps, pm);
+			if (changes.length == 0)
+				return null;
+
+			DynamicValidationStateChange change= new DynamicValidationStateChange(getName(), changes);
+			change.setSchedulingRule(getSchedulingRule());
+			try {
+				List<IResource> files= new ArrayList<>();
+				findFilesToBeModified(change, files);
+				checkStatus(Checks.validateModifiesFiles(files.toArray(new IFile[files.size()]), getValidationContext(), new NullProgressMonitor()));
+
+				change.initializeValidationData(new NullProgressMonitor());
+				checkStatus(change.isValid(new NullProgressMonitor()));
+				return change.perform(new NullProgressMonitor());
+			} finally {
+				change.dispose();
+			}
+		}
+
+		private void revert(List<Change> undos) {
+			for (int i= undos.size() - 1; i >= 0; i--) {
+				Change undo= undos.get(i);
+				try {
+					undo.perform(new NullProgressMonitor());
+				} catch (CoreException e) {
+					JavaPlugin.log(e);
+				} finally {
+					undo.dispose();
+				}
+			}
+			undos.clear();
+		}
+
+		public RefactoringStatus getStatus() {
+			return fStatus;
+		}
+
+		private void checkStatus(RefactoringStatus status) throws CoreException {
+			fStatus.merge(status);
+			if (status.hasFatalError())
+				throw new CoreException(new Status(IStatus.ERROR, JavaPlugin.getPluginId(), IJavaStatusConstants.INTERNAL_ERROR, status.getMessageMatchingSeverity(RefactoringStatus.FATAL), null));
+		}
+	}
+
 	private static final RefactoringTickProvider CLEAN_UP_REFACTORING_TICK_PROVIDER= new RefactoringTickProvider(1, 1, 0, 0);
 
 	/**
@@ -502,6 +643,19 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 	 */
 	private static final int SLOW_CLEAN_UP_THRESHOLD= 2000;
 
+	/**
+	 * Estimated heap in MiB needed to hold the AST and the bindings of one compilation unit,
+	 * same ratio as the one used by {@link ASTBatchParser}.
+	 */
+	private static final int MEMORY_PER_COMPILATION_UNIT= 5;
+
+	/** The name of the {@link ConcurrentTasks} pool that parses and fixes the batches of a project */
+	private static final String POOL_NAME= "Clean Up Worker"; //$NON-NLS-1$
+
+	private static final int DEFAULT_WORKER_COUNT= Integer.getInteger("org.eclipse.jdt.ui.cleanup.workerCount", 1).intValue(); //$NON-NLS-1$
+
+	private static final int DEFAULT_MEMORY_BUDGET= Integer.getInteger("org.eclipse.jdt.ui.cleanup.memoryBudget", (int) (Runtime.getRuntime().maxMemory() / (1 << 21))).intValue(); //$NON-NLS-1$
+
 	private final List<ICleanUp> fCleanUps;
 	private final Hashtable<IJavaProject, List<CleanUpTarget>> fProjects;
 	private Change fChange;
@@ -509,6 +663,9 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 	private final String fName;
 
 	private boolean fUseOptionsFromProfile;
+	private int fWorkerCount;
+	private int fMemoryBudget;
+	private boolean fStreaming;
 
 	public CleanUpRefactoring() {
 		this(FixMessages.CleanUpRefactoring_Refactoring_name);
@@ -519,12 +676,96 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		fCleanUps= new ArrayList<>();
 		fProjects= new Hashtable<>();
 		fUseOptionsFromProfile= false;
+		fWorkerCount= DEFAULT_WORKER_COUNT;
+		fMemoryBudget= DEFAULT_MEMORY_BUDGET;
 	}
 
 	public void setUseOptionsFromProfile(boolean enabled) {
 		fUseOptionsFromProfile= enabled;
 	}
 
+	/**
+	 * Sets the number of threads used to parse and fix the compilation units of a project. With
+	 * more than one worker the targets of each project are split into batches which are parsed
+	 * concurrently on a shared pool, which bounds the number of batches that run at the same
+	 * time; the changes are merged in the order of the targets. Projects are still
+	 * processed one after the other since clean ups keep per project state between
+	 * {@link ICleanUp#checkPreConditions(IJavaProject, ICompilationUnit[], IProgressMonitor)} and
+	 * {@link ICleanUp#checkPostConditions(IProgressMonitor)}, and the fixes themselves are
+	 * computed one at a time because clean ups are not required to be thread safe.
+	 * <p>
+	 * The default is taken from the <code>org.eclipse.jdt.ui.cleanup.workerCount</code> system
+	 * property, <code>1</code> if not set.
+	 * </p>
+	 *
+	 * @param workerCount the number of workers, <code>1</code> to run in the calling thread
+	 */
+	public void setWorkerCount(int workerCount) {
+		fWorkerCount= Math.max(1, workerCount);
+	}
+
+	public int getWorkerCount() {
+		return fWorkerCount;
+	}
+
+	/**
+	 * Sets the heap in MiB the workers of a parallel clean up may use for the ASTs they hold at
+	 * the same time. Bounds the size of the batches, see {@link #setWorkerCount(int)}.
+	 * <p>
+	 * The default is taken from the <code>org.eclipse.jdt.ui.cleanup.memoryBudget</code> system
+	 * property, half of the maximum heap if not set.
+	 * </p>
+	 *
+	 * @param memoryBudget the budget in MiB
+	 */
+	public void setMemoryBudget(int memoryBudget) {
+		fMemoryBudget= Math.max(MEMORY_PER_COMPILATION_UNIT, memoryBudget);
+	}
+
+	public int getMemoryBudget() {
+		return fMemoryBudget;
+	}
+
+	/**
+	 * Enables the streaming mode. In this mode {@link #checkFinalConditions(IProgressMonitor)}
+	 * does not compute the changes up front, the change returned by
+	 * {@link #createChange(IProgressMonitor)} parses, fixes, validates and applies the
+	 * compilation units one batch at a time instead and releases each batch before the next one
+	 * is parsed. The batch size is derived from the memory budget, see
+	 * {@link #setMemoryBudget(int)}, so the peak memory does not grow with the number of
+	 * compilation units.
+	 * <p>
+	 * Since nothing is computed before the change is performed there is no preview, and a fatal
+	 * status reported by a clean up while performing makes the change fail after the batches
+	 * applied so far have been reverted. Other statuses are available from
+	 * {@link #getStreamingStatus()} after the change was performed.
+	 * </p>
+	 *
+	 * @param streaming <code>true</code> to apply the clean ups batch by batch
+	 */
+	public void setStreaming(boolean streaming) {
+		fStreaming= streaming;
+	}
+
+	public boolean isStreaming() {
+		return fStreaming;
+	}
+
+	/**
+	 * Returns the status of the condition checks and validations done while performing the change
+	 * of a streaming run. In streaming mode these checks only run when the change is performed, so
+	 * callers must report this status like the status of the condition checking of a non-streaming
+	 * run.
+	 *
+	 * @return the status collected while performing the change, an empty status if the change
+	 *         was not performed or the refactoring is not streaming
+	 */
+	public RefactoringStatus getStreamingStatus() {
+		if (fChange instanceof StreamingCleanUpChange)
+			return ((StreamingCleanUpChange) fChange).getStatus();
+		return new RefactoringStatus();
+	}
+
 	public void addCompilationUnit(ICompilationUnit unit) {
 		addCleanUpTarget(new CleanUpTarget(unit));
 	}
@@ -619,6 +860,15 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			return new RefactoringStatus();
 		}
 
+		if (fStreaming) {
+			pm.beginTask("", 1); //$NON-NLS-1$
+			pm.worked(1);
+			pm.done();
+			fChange= new StreamingCleanUpChange(getName(), getCleanUps());
+
+			return new RefactoringStatus();
+		}
+
 		int cuCount= getCleanUpTargetsSize();
 
 		RefactoringStatus result= new RefactoringStatus();
@@ -673,23 +923,65 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 	}
 
 	private Change[] cleanUpProject(IJavaProject project, CleanUpTarget[] targets, ICleanUp[] cleanUps, IProgressMonitor monitor) throws CoreException {
-		CleanUpFixpointIterator iter= new CleanUpFixpointIterator(targets, cleanUps);
-
 		IProgressMonitor subMonitor= Progress.subMonitor(monitor, 2 * targets.length * cleanUps.length);
 		subMonitor.beginTask("", targets.length); //$NON-NLS-1$
 		subMonitor.subTask(Messages.format(FixMessages.CleanUpRefactoring_Parser_Startup_message, BasicElementLabels.getResourceName(project.getProject())));
 		try {
-			while (iter.hasNext()) {
-				iter.next(subMonitor);
+			int batchSize= getBatchSize(targets.length);
+			if (fWorkerCount > 1 && batchSize < targets.length) {
+				return cleanUpProjectParallel(targets, cleanUps, batchSize, subMonitor);
 			}
 
-			return iter.getResult();
+			CleanUpFixpointIterator iter= new CleanUpFixpointIterator(targets, cleanUps);
+			try {
+				while (iter.hasNext()) {
+					iter.next(subMonitor);
+				}
+
+				return iter.getResult();
+			} finally {
+				iter.dispose();
+			}
 		} finally {
-			iter.dispose();
 			subMonitor.done();
 		}
 	}
 
+	private int getBatchSize(int targetCount) {
+		int bySize= (targetCount + fWorkerCount - 1) / fWorkerCount;
+		int byMemory= Math.max(1, fMemoryBudget / (fWorkerCount * MEMORY_PER_COMPILATION_UNIT));
+		return Math.min(bySize, byMemory);
+	}
+
+	private Change[] cleanUpProjectParallel(CleanUpTarget[] targets, ICleanUp[] cleanUps, int batchSize, IProgressMonitor monitor) throws CoreException {
+		final Object fixLock= new Object();
+
+		List<ConcurrentTasks.Task<Change[]>> batches= new ArrayList<>();
+		for (int start= 0; start < targets.length; start+= batchSize) {
+			final CleanUpTarget[] batch= Arrays.copyOfRange(targets, start, Math.min(start + batchSize, targets.length));
+			final int index= start + 1;
+			batches.add(workerMonitor -> {
+				CleanUpFixpointIterator iter= new CleanUpFixpointIterator(batch, cleanUps, fixLock, targets.length, index);
+				try {
+					while (iter.hasNext()) {
+						iter.next(workerMonitor);
+					}
+					return iter.getResult();
+				} finally {
+					iter.dispose();
+				}
+			});
+		}
+
+		// merged in the order of the targets, independent of the order in which the batches complete
+		List<Change[]> changes= ConcurrentTasks.invokeAll(POOL_NAME, batches, SubMonitor.convert(Progress.subMonitor(monitor, targets.length), batches.size()));
+		List<Change> result= new ArrayList<>();
+		for (Change[] batchChanges : changes) {
+			Collections.addAll(result, batchChanges);
+		}
+		return result.toArray(new Change[result.size()]);
+	}
+
 	private RefactoringStatus setOptionsFromProfile(IJavaProject javaProject, ICleanUp[] cleanUps) {
 		Map<String, String> options= CleanUpPreferenceUtil.loadOptions(new ProjectScope(javaProject.getProject()));
 		if (options == null)
@@ -759,6 +1051,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		if (cleanUps.length == 0)
 			return null;
 
+		CleanUpContext fixContext= createFusedContext(context, cleanUps);
 		CleanUpChange solution= null;
 		int i= 0;
 		do {
@@ -766,11 +1059,11 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			ICleanUpFix fix;
 			if (slowCleanUps != null) {
 				long timeBefore= System.currentTimeMillis();
-				fix= cleanUp.createFix(context);
+				fix= cleanUp.createFix(fixContext);
 				if (System.currentTimeMillis() - timeBefore > SLOW_CLEAN_UP_THRESHOLD)
 					slowCleanUps.add(cleanUp);
 			} else {
-				fix= cleanUp.createFix(context);
+				fix= cleanUp.createFix(fixContext);
 			}
 			if (fix != null) {
 				CompilationUnitChange current= fix.createChange(null);
@@ -804,6 +1097,29 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		return solution;
 	}
 
+	/**
+	 * Finds the rewrite operations of the clean ups that share the AST of the context in one
+	 * traversal of the AST.
+	 *
+	 * @param context the context
+	 * @param cleanUps the clean ups, the first ones up to the next that requires a fresh AST share
+	 *            the AST of the context
+	 * @return a context with the result of the traversal, or <code>context</code> if no clean up
+	 *         takes part in it
+	 */
+	private static CleanUpContext createFusedContext(CleanUpContext context, ICleanUp[] cleanUps) {
+		if (context.getAST() == null || context instanceof MultiFixContext)
+			return context;
+
+		int end= 1;
+		while (end < cleanUps.length && !cleanUps[end].getRequirements().requiresFreshAST())
+			end++;
+		FusedCleanUpTraversal traversal= FusedCleanUpTraversal.run(context.getAST(), Arrays.asList(cleanUps).subList(0, end));
+		if (traversal == null)
+			return context;
+		return new FusedContext(context.getCompilationUnit(), context.getAST(), traversal);
+	}
+
 	private static void copyChangeGroups(CompilationUnitChange target, CompilationUnitChange source) {
 		for (TextEditBasedChangeGroup changeGroup : source.getChangeGroups()) {
 			TextEditGroup textEditGroup= changeGroup.getTextEditGroup();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,16 +13,20 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.util;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -45,6 +49,7 @@ import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
@@ -62,7 +67,9 @@ import org.eclipse.jdt.internal.ui.util.XmlProcessorFactoryJdtUi;
  * MAX_HISTORY_SIZE. If the list exceeds this size the eldest element is removed
  * from the list. An element can be added/renewed with a call to <code>accessed(Object)</code>.
  *
- * The history can be stored to/loaded from an xml file.
+ * The history can be stored to/loaded from an xml file, or from a {@link HistoryLog} to which
+ * a save only appends the changes since the last save. The history is loaded lazily, on the first
+ * access after {@link #load()}.
  *
  * @param <K> key type
  * @param <V> value type
@@ -73,6 +80,65 @@ public abstract class History<K, V> {
 	private static final String DEFAULT_INFO_NODE_NAME= "infoNode"; //$NON-NLS-1$
 	private static final int MAX_HISTORY_SIZE= 60;
 
+	/** Number of unsaved changes after which the next save writes a snapshot instead */
+	private static final int MAX_PENDING_CHANGES= 4 * MAX_HISTORY_SIZE;
+
+	/** Number of records in the log after which it is compacted */
+	private static final int MAX_LOG_RECORDS= 4 * MAX_HISTORY_SIZE;
+
+	private static final byte RECORD_ACCESSED= 1;
+	private static final byte RECORD_REMOVED= 2;
+	private static final byte RECORD_UPDATED= 3;
+
+	/**
+	 * Writes the elements of a history to the records of its {@link HistoryLog} and reads them
+	 * back.
+	 *
+	 * @param <T> value type
+	 * @since 3.32
+	 */
+	public interface IValueCodec<T> {
+
+		/**
+		 * Writes an element to a record of the history log.
+		 *
+		 * @param object the element to write
+		 * @param out the output of the record
+		 * @throws IOException if writing fails
+		 */
+		void write(T object, DataOutputStream out) throws IOException;
+
+		/**
+		 * Reads an element written by {@link #write(Object, DataOutputStream)}.
+		 *
+		 * @param in the input of the record
+		 * @return the element, or <code>null</code> if it no longer exists
+		 * @throws IOException if reading fails
+		 */
+		T read(DataInputStream in) throws IOException;
+
+		/**
+		 * Called for an element that was read from a record but is not kept in the history, for
+		 * example the element of a removal. Releases the state that {@link #read(DataInputStream)}
+		 * created for the element.
+		 *
+		 * @param object the element that is not kept
+		 */
+		default void discard(T object) {
+			// nothing to release
+		}
+	}
+
+	private static final class Change<T> {
+		final byte fKind;
+		final T fValue;
+
+		Change(byte kind, T value) {
+			fKind= kind;
+			fValue= value;
+		}
+	}
+
 	private static JavaUIException createException(Throwable t, String message) {
 		return new JavaUIException(JavaUIStatus.createError(IStatus.ERROR, message, t));
 	}
@@ -82,8 +148,33 @@ public abstract class History<K, V> {
 	private final String fFileName;
 	private final String fRootNodeName;
 	private final String fInfoNodeName;
+	private final String fLogFileName;
+	private final IValueCodec<V> fCodec;
+
+	private HistoryLog fLog;
+	private boolean fLoadPending;
+	/** The changes since the last save, <code>null</code> if the next save writes a snapshot */
+	private List<Change<V>> fChanges= new ArrayList<>();
 
 	public History(String fileName, String rootNodeName, String infoNodeName) {
+		this(fileName, rootNodeName, infoNodeName, null, null);
+	}
+
+	/**
+	 * Creates a history that is stored in a {@link HistoryLog}. A history in the xml file is read
+	 * if the log does not exist yet.
+	 *
+	 * @param fileName the name of the xml file of earlier versions
+	 * @param rootNodeName the name of the root node of the xml file
+	 * @param infoNodeName the name of the element nodes of the xml file
+	 * @param logFileName the name of the log file, or <code>null</code> to store the history in
+	 *            the xml file
+	 * @param codec the codec of the log records, <code>null</code> iff <code>logFileName</code>
+	 *            is <code>null</code>
+	 * @since 3.32
+	 */
+	public History(String fileName, String rootNodeName, String infoNodeName, String logFileName, IValueCodec<V> codec) {
+		Assert.isLegal((logFileName == null) == (codec == null));
 		fHistory= new LinkedHashMap<>(80, 0.75f, true) {
 			private static final long serialVersionUID= 1L;
 			@Override
@@ -94,6 +185,8 @@ public abstract class History<K, V> {
 		fFileName= fileName;
 		fRootNodeName= rootNodeName;
 		fInfoNodeName= infoNodeName;
+		fLogFileName= logFileName;
+		fCodec= codec;
 		fPositions= new Hashtable<>(MAX_HISTORY_SIZE);
 	}
 
@@ -102,34 +195,58 @@ public abstract class History<K, V> {
 	}
 
 	public synchronized void accessed(V object) {
+		ensureLoaded();
 		fHistory.put(getKey(object), object);
+		addChange(RECORD_ACCESSED, object);
 		rebuildPositions();
 	}
 
 	public synchronized boolean contains(V object) {
+		ensureLoaded();
 		return fHistory.containsKey(getKey(object));
 	}
 
 	public synchronized boolean containsKey(K key) {
+		ensureLoaded();
 		return fHistory.containsKey(key);
 	}
 
 	public synchronized boolean isEmpty() {
+		ensureLoaded();
 		return fHistory.isEmpty();
 	}
 
 	public synchronized Object remove(V object) {
-		Object removed= fHistory.remove(getKey(object));
+		ensureLoaded();
+		V removed= fHistory.remove(getKey(object));
+		if (removed != null)
+			addChange(RECORD_REMOVED, removed);
 		rebuildPositions();
 		return removed;
 	}
 
 	public synchronized Object removeKey(Object key) {
-		Object removed= fHistory.remove(key);
+		ensureLoaded();
+		V removed= fHistory.remove(key);
+		if (removed != null)
+			addChange(RECORD_REMOVED, removed);
 		rebuildPositions();
 		return removed;
 	}
 
+	/**
+	 * Records that the stored information of an element has changed, without changing its
+	 * position in the history.
+	 *
+	 * @param object the changed element
+	 * @since 3.32
+	 */
+	protected synchronized void changed(V object) {
+		ensureLoaded();
+		if (fHistory.containsKey(getKey(object)))
+			addChange(RECORD_UPDATED, object);
+	}
+
 	/**
 	 * Normalized position in history of object denoted by key.
 	 * The position is a value between zero and one where zero
@@ -140,6 +257,7 @@ public abstract class History<K, V> {
 	 * @return value in [0.0, 1.0] the lower the older the element
 	 */
 	public synchronized float getNormalizedPosition(K key) {
+		ensureLoaded();
 		if (!containsKey(key))
 			return 0.0f;
 
@@ -158,25 +276,27 @@ public abstract class History<K, V> {
 	 * @return value between 0 and MAX_HISTORY_SIZE - 1, or -1
 	 */
 	public synchronized int getPosition(K key) {
+		ensureLoaded();
 		if (!containsKey(key))
 			return -1;
 
 		return fPositions.get(key);
 	}
 
+	/**
+	 * Loads the history from its file. The file is read on the first access of the history.
+	 */
 	public synchronized void load() {
-		IPath stateLocation= JavaPlugin.getDefault().getStateLocation().append(fFileName);
-		File file= stateLocation.toFile();
-		if (file.exists()) {
-			try (InputStreamReader reader= new InputStreamReader(new FileInputStream(file), "utf-8")) {//$NON-NLS-1$
-				load(new InputSource(reader));
-			} catch (IOException | CoreException e) {
-				JavaPlugin.log(e);
-			}
-		}
+		fLoadPending= true;
 	}
 
 	public synchronized void save() {
+		if (fLoadPending)
+			return; // unchanged since it was loaded
+		if (fLogFileName != null) {
+			saveLog();
+			return;
+		}
 		IPath stateLocation= JavaPlugin.getDefault().getStateLocation().append(fFileName);
 		File file= stateLocation.toFile();
 		try (OutputStream out= new FileOutputStream(file)) {
@@ -189,10 +309,12 @@ public abstract class History<K, V> {
 	}
 
 	protected Set<K> getKeys() {
+		ensureLoaded();
 		return fHistory.keySet();
 	}
 
 	protected Collection<V> getValues() {
+		ensureLoaded();
 		return fHistory.values();
 	}
 
@@ -220,6 +342,116 @@ public abstract class History<K, V> {
 	 */
 	protected abstract K getKey(V object);
 
+	private void ensureLoaded() {
+		if (!fLoadPending)
+			return;
+		fLoadPending= false;
+		if (fLogFileName != null && loadLog())
+			return;
+		IPath stateLocation= JavaPlugin.getDefault().getStateLocation().append(fFileName);
+		File file= stateLocation.toFile();
+		if (file.exists()) {
+			try (InputStreamReader reader= new InputStreamReader(new FileInputStream(file), "utf-8")) {//$NON-NLS-1$
+				load(new InputSource(reader));
+			} catch (IOException | CoreException e) {
+				JavaPlugin.log(e);
+			}
+		}
+	}
+
+	private HistoryLog getLog() {
+		if (fLog == null)
+			fLog= new HistoryLog(JavaPlugin.getDefault().getStateLocation().append(fLogFileName).toFile());
+		return fLog;
+	}
+
+	/**
+	 * @return <code>true</code> if the history was read from the log, <code>false</code> if
+	 *         there is no log yet
+	 */
+	private boolean loadLog() {
+		HistoryLog log= getLog();
+		if (!log.exists()) {
+			fChanges= null; // migrate the xml file
+			return false;
+		}
+		try {
+			if (!log.read(this::replay))
+				fChanges= null;
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+			fChanges= null;
+		}
+		rebuildPositions();
+		return true;
+	}
+
+	private void replay(DataInputStream in) throws IOException {
+		byte kind= in.readByte();
+		V object= fCodec.read(in);
+		if (object == null)
+			return;
+		K key= getKey(object);
+		switch (kind) {
+			case RECORD_ACCESSED:
+				fHistory.put(key, object);
+				break;
+			case RECORD_REMOVED:
+				fHistory.remove(key);
+				fCodec.discard(object);
+				break;
+			case RECORD_UPDATED:
+				// replace without changing the access order
+				for (Map.Entry<K, V> entry : fHistory.entrySet()) {
+					if (entry.getKey().equals(key)) {
+						entry.setValue(object);
+						return;
+					}
+				}
+				fCodec.discard(object);
+				break;
+			default:
+				break;
+		}
+	}
+
+	private void addChange(byte kind, V object) {
+		if (fChanges == null)
+			return;
+		if (fChanges.size() >= MAX_PENDING_CHANGES)
+			fChanges= null; // a snapshot is smaller
+		else
+			fChanges.add(new Change<>(kind, object));
+	}
+
+	private void saveLog() {
+		HistoryLog log= getLog();
+		try {
+			if (fChanges != null && log.getRecordCount() + fChanges.size() <= Math.max(MAX_LOG_RECORDS, 2 * fHistory.size())) {
+				List<HistoryLog.IRecordWriter> records= new ArrayList<>(fChanges.size());
+				for (Change<V> change : fChanges)
+					records.add(out -> writeRecord(out, change.fKind, change.fValue));
+				log.append(records);
+			} else {
+				List<HistoryLog.IRecordWriter> records= new ArrayList<>(fHistory.size());
+				for (V object : fHistory.values())
+					records.add(out -> writeRecord(out, RECORD_ACCESSED, object));
+				log.rewrite(records);
+				// the xml file of earlier versions has been migrated
+				JavaPlugin.getDefault().getStateLocation().append(fFileName).toFile().delete();
+			}
+			fChanges= new ArrayList<>();
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+			fChanges= null;
+		}
+	}
+
+	private void writeRecord(DataOutputStream out, byte kind, V object) throws IOException {
+		out.writeByte(kind);
+		fCodec.write(object, out);
+	}
+
 	private void rebuildPositions() {
 		fPositions.clear();
 		int pos=0;
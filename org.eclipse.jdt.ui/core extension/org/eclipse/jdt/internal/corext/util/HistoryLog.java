@@ -0,0 +1,275 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only file of binary records, used to persist histories. Saving a history appends the
+ * records of the changes since the last save; loading replays all records in order. When the
+ * number of records grows too large compared to the state they describe, the owner rewrites the
+ * file with a snapshot of the state.
+ * <p>
+ * Each record is stored with its length and checksum. A record that was only partly written,
+ * for example because the workbench was killed during a save, ends the log; it is cut off by the
+ * next write.
+ * </p>
+ *
+ * @since 3.32
+ */
+public final class HistoryLog {
+
+	/**
+	 * Writes the content of a record.
+	 */
+	public interface IRecordWriter {
+		void write(DataOutputStream out) throws IOException;
+	}
+
+	/**
+	 * Reads the content of a record.
+	 */
+	public interface IRecordReader {
+		void read(DataInputStream in) throws IOException;
+	}
+
+	private static final int MAGIC= 0x4A484C31; // "JHL1"
+
+	private static final int HEADER_LENGTH= 4;
+
+	/** Upper bound of the length of a record, longer lengths denote a corrupt log */
+	private static final int MAX_RECORD_LENGTH= 1 << 20;
+
+	private final File fFile;
+
+	/** The length of the valid prefix of the file, or -1 if not known */
+	private long fValidLength= -1;
+
+	/** The number of records in the valid prefix of the file */
+	private int fRecordCount;
+
+	/**
+	 * Creates a log.
+	 *
+	 * @param file the file of the log
+	 */
+	public HistoryLog(File file) {
+		fFile= file;
+	}
+
+	/**
+	 * Returns whether the file of the log exists.
+	 *
+	 * @return <code>true</code> if the log exists
+	 */
+	public boolean exists() {
+		return fFile.isFile();
+	}
+
+	/**
+	 * Returns the number of records in the log, as of the last read or write.
+	 *
+	 * @return the number of records
+	 */
+	public int getRecordCount() {
+		return fRecordCount;
+	}
+
+	/**
+	 * Reads all records of the log in the order they were written. A record that cannot be read
+	 * ends the log.
+	 *
+	 * @param reader the reader that is called for each record
+	 * @return <code>true</code> if the log was read, <code>false</code> if it does not exist or
+	 *         is not a log
+	 * @throws IOException if the file cannot be read
+	 */
+	public boolean read(IRecordReader reader) throws IOException {
+		fValidLength= -1;
+		fRecordCount= 0;
+		if (!exists())
+			return false;
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(fFile)))) {
+			if (readInt(in) != MAGIC)
+				return false;
+			long offset= HEADER_LENGTH;
+			CRC32 crc= new CRC32();
+			while (true) {
+				byte[] record= readRecord(in, crc);
+				if (record == null)
+					break;
+				try {
+					reader.read(new DataInputStream(new ByteArrayInputStream(record)));
+				} catch (IOException e) {
+					// unreadable content, skip the record
+				}
+				offset+= 8 + record.length;
+				fRecordCount++;
+			}
+			fValidLength= offset;
+			return true;
+		}
+	}
+
+	/**
+	 * Appends records to the log. The log is created if it does not exist.
+	 *
+	 * @param records the records to append
+	 * @throws IOException if the records cannot be written
+	 */
+	public void append(List<IRecordWriter> records) throws IOException {
+		if (records.isEmpty())
+			return;
+		if (fValidLength < 0 && !read(in -> { /* only validate */ })) {
+			rewrite(records);
+			return;
+		}
+		byte[] data= toBytes(records);
+		try (RandomAccessFile file= new RandomAccessFile(fFile, "rw")) { //$NON-NLS-1$
+			file.setLength(fValidLength);
+			file.seek(fValidLength);
+			file.write(data);
+		} catch (IOException e) {
+			fValidLength= -1;
+			throw e;
+		}
+		fValidLength+= data.length;
+		fRecordCount+= records.size();
+	}
+
+	/**
+	 * Replaces the content of the log with the given records. The file is replaced atomically
+	 * where the file system supports it.
+	 *
+	 * @param records the records of the new log
+	 * @throws IOException if the records cannot be written
+	 */
+	public void rewrite(List<IRecordWriter> records) throws IOException {
+		byte[] data= toBytes(records);
+		File directory= fFile.getAbsoluteFile().getParentFile();
+		if (directory != null && !directory.isDirectory())
+			directory.mkdirs();
+		File temp= File.createTempFile(fFile.getName(), ".tmp", directory); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.write(data);
+			}
+			Files.move(temp.toPath(), fFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			fValidLength= -1;
+			throw e;
+		} finally {
+			temp.delete();
+		}
+		fValidLength= HEADER_LENGTH + data.length;
+		fRecordCount= records.size();
+	}
+
+	/**
+	 * Deletes the file of the log.
+	 */
+	public void delete() {
+		fFile.delete();
+		fValidLength= -1;
+		fRecordCount= 0;
+	}
+
+	private static byte[] toBytes(List<IRecordWriter> records) throws IOException {
+		ByteArrayOutputStream bytes= new ByteArrayOutputStream();
+		DataOutputStream out= new DataOutputStream(bytes);
+		ByteArrayOutputStream recordBytes= new ByteArrayOutputStream();
+		CRC32 crc= new CRC32();
+		for (IRecordWriter record : records) {
+			recordBytes.reset();
+			record.write(new DataOutputStream(recordBytes));
+			byte[] content= recordBytes.toByteArray();
+			crc.reset();
+			crc.update(content);
+			out.writeInt(content.length);
+			out.write(content);
+			out.writeInt((int) crc.getValue());
+		}
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * @return the content of the next record, or <code>null</code> at the end of the log
+	 */
+	private static byte[] readRecord(DataInputStream in, CRC32 crc) throws IOException {
+		try {
+			int length= in.readInt();
+			if (length < 0 || length > MAX_RECORD_LENGTH)
+				return null;
+			byte[] content= new byte[length];
+			in.readFully(content);
+			int checksum= in.readInt();
+			crc.reset();
+			crc.update(content);
+			if ((int) crc.getValue() != checksum)
+				return null;
+			return content;
+		} catch (EOFException e) {
+			return null;
+		}
+	}
+
+	private static int readInt(DataInputStream in) throws IOException {
+		try {
+			return in.readInt();
+		} catch (EOFException e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * Writes a string that may be <code>null</code>.
+	 *
+	 * @param out the output
+	 * @param value the string or <code>null</code>
+	 * @throws IOException if writing fails
+	 */
+	public static void writeString(DataOutputStream out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null)
+			out.writeUTF(value);
+	}
+
+	/**
+	 * Reads a string written by {@link #writeString(DataOutputStream, String)}.
+	 *
+	 * @param in the input
+	 * @return the string or <code>null</code>
+	 * @throws IOException if reading fails
+	 */
+	public static String readString(DataInputStream in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,9 @@
  *******************************************************************************/
  package org.eclipse.jdt.internal.corext.util;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -27,6 +30,7 @@ import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileInfo;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
@@ -55,7 +59,9 @@ import org.eclipse.jdt.core.search.TypeNameMatch;
 import org.eclipse.jdt.internal.corext.CorextMessages;
 
 /**
- * History for the open type dialog. Object and keys are both {@link TypeNameMatch}s.
+ * History for the open type dialog. Object and keys are both {@link TypeNameMatch}s. The history
+ * is stored in a {@link HistoryLog} together with the time stamps of the containers of the types,
+ * so that the consistency check only needs to look at the types whose container has changed.
  */
 public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 
@@ -148,6 +154,31 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		}
 	}
 
+	private static class TypeNameMatchCodec implements IValueCodec<TypeNameMatch> {
+		private final Map<TypeNameMatch, Long> fTimestamps;
+		public TypeNameMatchCodec(Map<TypeNameMatch, Long> timestamps) {
+			fTimestamps= timestamps;
+		}
+		@Override
+		public void write(TypeNameMatch type, DataOutputStream out) throws IOException {
+			out.writeUTF(type.getType().getHandleIdentifier());
+			out.writeInt(type.getModifiers());
+			Long timestamp= fTimestamps.get(type);
+			out.writeLong(timestamp == null ? IResource.NULL_STAMP : timestamp.longValue());
+		}
+		@Override
+		public TypeNameMatch read(DataInputStream in) throws IOException {
+			String handle= in.readUTF();
+			int modifiers= in.readInt();
+			long timestamp= in.readLong();
+			return createTypeNameMatch(handle, modifiers, timestamp, fTimestamps);
+		}
+		@Override
+		public void discard(TypeNameMatch type) {
+			fTimestamps.remove(type);
+		}
+	}
+
 	private static class UpdateJob extends Job {
 		public static final String FAMILY= UpdateJob.class.getName();
 		public UpdateJob() {
@@ -168,12 +199,13 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 	// Needs to be volatile since accesses aren't synchronized.
 	private volatile boolean fNeedsConsistencyCheck;
 	// Map of cached time stamps
-	private Map<TypeNameMatch, Long> fTimestampMapping;
+	private final Map<TypeNameMatch, Long> fTimestampMapping;
 
 	private final IElementChangedListener fDeltaListener;
 	private final UpdateJob fUpdateJob;
 
 	private static final String FILENAME= "OpenTypeHistory.xml"; //$NON-NLS-1$
+	private static final String LOG_FILENAME= "OpenTypeHistory.log"; //$NON-NLS-1$
 	private static final String NODE_ROOT= "typeInfoHistroy"; //$NON-NLS-1$
 	private static final String NODE_TYPE_INFO= "typeInfo"; //$NON-NLS-1$
 	private static final String NODE_HANDLE= "handle"; //$NON-NLS-1$
@@ -195,8 +227,12 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 	}
 
 	private OpenTypeHistory() {
-		super(FILENAME, NODE_ROOT, NODE_TYPE_INFO);
-		fTimestampMapping= new HashMap<>();
+		this(new HashMap<>());
+	}
+
+	private OpenTypeHistory(Map<TypeNameMatch, Long> timestampMapping) {
+		super(FILENAME, NODE_ROOT, NODE_TYPE_INFO, LOG_FILENAME, new TypeNameMatchCodec(timestampMapping));
+		fTimestampMapping= timestampMapping;
 		fNeedsConsistencyCheck= true;
 		load();
 		fDeltaListener= new TypeHistoryDeltaListener();
@@ -300,8 +336,10 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		List<TypeNameMatch> typesToCheck= new ArrayList<>(getKeys());
 		monitor.beginTask(CorextMessages.TypeInfoHistory_consistency_check, typesToCheck.size());
 		monitor.setTaskName(CorextMessages.TypeInfoHistory_consistency_check);
+		// types of the same archive share the time stamp of the archive
+		Map<IPath, Long> containerTimestamps= new HashMap<>();
 		for (TypeNameMatch type : typesToCheck) {
-			long currentTimestamp= getContainerTimestamp(type);
+			long currentTimestamp= getContainerTimestamp(type, containerTimestamps);
 			Long lastTested= fTimestampMapping.get(type);
 			if (lastTested != null && currentTimestamp != IResource.NULL_STAMP && currentTimestamp == lastTested.longValue() && !isContainerDirty(type))
 				continue;
@@ -316,6 +354,7 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 						replace(type, SearchEngine.createTypeNameMatch(jType, modifiers));
 					} else {
 						fTimestampMapping.put(type, currentTimestamp);
+						changed(type);
 					}
 				}
 			} catch (JavaModelException e) {
@@ -330,9 +369,28 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 	}
 
 	private long getContainerTimestamp(TypeNameMatch match) {
+		return getContainerTimestamp(match, null);
+	}
+
+	/**
+	 * Returns the time stamp of the file that contains a type.
+	 *
+	 * @param match the type
+	 * @param cache the time stamps by container path that have already been fetched, or
+	 *            <code>null</code>
+	 * @return the time stamp, or {@link IResource#NULL_STAMP} if the container does not exist
+	 */
+	private long getContainerTimestamp(TypeNameMatch match, Map<IPath, Long> cache) {
+		IType type= match.getType();
+		IResource resource= type.getResource();
+		IPath path= resource != null ? resource.getFullPath() : match.getPackageFragmentRoot().getPath();
+		if (cache != null) {
+			Long timestamp= cache.get(path);
+			if (timestamp != null)
+				return timestamp.longValue();
+		}
+		long timestamp= IResource.NULL_STAMP;
 		try {
-			IType type= match.getType();
-			IResource resource= type.getResource();
 			if (resource != null) {
 				URI location= resource.getLocationURI();
 				if (location != null) {
@@ -342,7 +400,7 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 						// if the Java element still exists.
 						IJavaElement element= JavaCore.create(resource);
 						if (element != null && element.exists())
-							return info.getLastModified();
+							timestamp= info.getLastModified();
 					}
 				}
 			} else { // external JAR
@@ -350,14 +408,16 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 				if (root.exists()) {
 					IFileInfo info= EFS.getLocalFileSystem().getStore(root.getPath()).fetchInfo();
 					if (info.exists()) {
-						return info.getLastModified();
+						timestamp= info.getLastModified();
 					}
 				}
 			}
 		} catch (CoreException e) {
 			// Fall through
 		}
-		return IResource.NULL_STAMP;
+		if (cache != null)
+			cache.put(path, Long.valueOf(timestamp));
+		return timestamp;
 	}
 
 
@@ -387,17 +447,12 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		if (handle == null )
 			return null;
 
-		IJavaElement element= JavaCore.create(handle);
-		if (!(element instanceof IType))
-			return null;
-
 		int modifiers= 0;
 		try {
 			modifiers= Integer.parseInt(type.getAttribute(NODE_MODIFIERS));
 		} catch (NumberFormatException e) {
 			// take zero
 		}
-		TypeNameMatch info= SearchEngine.createTypeNameMatch((IType) element, modifiers);
 		long timestamp= IResource.NULL_STAMP;
 		String timestampValue= type.getAttribute(NODE_TIMESTAMP);
 		if (timestampValue != null && timestampValue.length() > 0) {
@@ -407,8 +462,17 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 				// take null stamp
 			}
 		}
+		return createTypeNameMatch(handle, modifiers, timestamp, fTimestampMapping);
+	}
+
+	private static TypeNameMatch createTypeNameMatch(String handle, int modifiers, long timestamp, Map<TypeNameMatch, Long> timestamps) {
+		IJavaElement element= JavaCore.create(handle);
+		if (!(element instanceof IType))
+			return null;
+
+		TypeNameMatch info= SearchEngine.createTypeNameMatch((IType) element, modifiers);
 		if (timestamp != IResource.NULL_STAMP) {
-			fTimestampMapping.put(info, timestamp);
+			timestamps.put(info, timestamp);
 		}
 		return info;
 	}
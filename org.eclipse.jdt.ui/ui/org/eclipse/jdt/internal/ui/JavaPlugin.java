@@ -101,6 +101,7 @@ import org.eclipse.jdt.internal.corext.template.java.AbstractJavaContextType;
 import org.eclipse.jdt.internal.corext.template.java.JavaContextType;
 import org.eclipse.jdt.internal.corext.template.java.JavaPostfixContextType;
 import org.eclipse.jdt.internal.corext.template.java.SWTContextType;
+import org.eclipse.jdt.internal.corext.util.HistoryLog;
 import org.eclipse.jdt.internal.corext.util.OpenTypeHistory;
 import org.eclipse.jdt.internal.corext.util.QualifiedTypeNameHistory;
 import org.eclipse.jdt.internal.corext.util.TypeFilter;
@@ -123,6 +124,7 @@ import org.eclipse.jdt.internal.ui.propertiesfileeditor.PropertiesFileDocumentPr
 import org.eclipse.jdt.internal.ui.text.PreferencesAdapter;
 import org.eclipse.jdt.internal.ui.text.folding.JavaFoldingStructureProviderRegistry;
 import org.eclipse.jdt.internal.ui.text.java.ContentAssistHistory;
+import org.eclipse.jdt.internal.ui.text.java.HippieTokenIndex;
 import org.eclipse.jdt.internal.ui.text.java.hover.JavaEditorTextHoverDescriptor;
 import org.eclipse.jdt.internal.ui.text.spelling.SpellCheckEngine;
 import org.eclipse.jdt.internal.ui.viewsupport.ImageDescriptorRegistry;
@@ -151,6 +153,11 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 	 * @since 3.0
 	 */
 	private static final String CODE_TEMPLATES_KEY= "org.eclipse.jdt.ui.text.custom_code_templates"; //$NON-NLS-1$
+	/**
+	 * The name of the file in the state location that stores the content assist history.
+	 * @since 3.32
+	 */
+	private static final String CONTENT_ASSIST_HISTORY_LOG= "ContentAssistHistory.log"; //$NON-NLS-1$
 
 	public static boolean DEBUG_AST_PROVIDER;
 
@@ -243,6 +250,18 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 	 */
 	private ContentAssistHistory fContentAssistHistory;
 
+	/**
+	 * The log in which the content assist history is stored.
+	 * @since 3.32
+	 */
+	private HistoryLog fContentAssistHistoryLog;
+
+	/**
+	 * Word index for hippie completion.
+	 * @since 3.32
+	 */
+	private volatile HippieTokenIndex fHippieTokenIndex;
+
 	/**
 	 * The save participant registry.
 	 * @since 3.3
@@ -493,10 +512,17 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 			}
 
 			if (fContentAssistHistory != null) {
-				ContentAssistHistory.store(fContentAssistHistory, getPluginPreferences(), PreferenceConstants.CODEASSIST_LRU_HISTORY);
+				ContentAssistHistory.store(fContentAssistHistory, getContentAssistHistoryLog());
+				// the history of earlier versions has been migrated to the log
+				getPluginPreferences().setToDefault(PreferenceConstants.CODEASSIST_LRU_HISTORY);
 				fContentAssistHistory= null;
 			}
 
+			if (fHippieTokenIndex != null) {
+				fHippieTokenIndex.dispose();
+				fHippieTokenIndex= null;
+			}
+
 			if (fTemplateStore != null) {
 				fTemplateStore.stopListeningForPreferenceChanges();
 				fTemplateStore= null;
@@ -993,7 +1019,9 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 	public ContentAssistHistory getContentAssistHistory() {
 		if (fContentAssistHistory == null) {
 			try {
-				fContentAssistHistory= ContentAssistHistory.load(getPluginPreferences(), PreferenceConstants.CODEASSIST_LRU_HISTORY);
+				fContentAssistHistory= ContentAssistHistory.load(getContentAssistHistoryLog());
+				if (fContentAssistHistory == null)
+					fContentAssistHistory= ContentAssistHistory.load(getPluginPreferences(), PreferenceConstants.CODEASSIST_LRU_HISTORY);
 			} catch (CoreException x) {
 				log(x);
 			}
@@ -1004,6 +1032,32 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 		return fContentAssistHistory;
 	}
 
+	private HistoryLog getContentAssistHistoryLog() {
+		if (fContentAssistHistoryLog == null)
+			fContentAssistHistoryLog= new HistoryLog(getStateLocation().append(CONTENT_ASSIST_HISTORY_LOG).toFile());
+		return fContentAssistHistoryLog;
+	}
+
+	/**
+	 * Returns the index of the words in the workspace used by hippie completion. The index is
+	 * built in the background when this method is called the first time.
+	 *
+	 * @return the word index
+	 * @since 3.32
+	 */
+	public HippieTokenIndex getHippieTokenIndex() {
+		HippieTokenIndex result= fHippieTokenIndex;
+		if (result != null) { // First check (no locking)
+			return result;
+		}
+		synchronized(this) {
+			if (fHippieTokenIndex == null) { // Second check (with locking)
+				fHippieTokenIndex= new HippieTokenIndex();
+			}
+			return fHippieTokenIndex;
+		}
+	}
+
 	/**
 	 * Returns a section in the Java plugin's dialog settings. If the section doesn't exist yet, it is created.
 	 *
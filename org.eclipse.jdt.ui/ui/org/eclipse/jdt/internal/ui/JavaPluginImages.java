@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,6 +38,8 @@ import org.eclipse.jface.action.IAction;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.resource.ImageRegistry;
 
+import org.eclipse.ui.PlatformUI;
+
 
 /**
  * Bundle of most images used by the Java plug-in.
@@ -634,12 +636,19 @@ public class JavaPluginImages {
 	}
 
 	/**
-	 * Returns the image managed under the given key in this registry.
+	 * Returns the image managed under the given key in this registry. Might be called in a non-UI
+	 * thread, for example by a quick fix processor that runs concurrently. The image registry is not
+	 * thread-safe, so such a call gets the image from the {@link JavaPlugin#getImageDescriptorRegistry()
+	 * image descriptor registry}.
 	 *
 	 * @param key the image's key
 	 * @return the image managed under the given key
 	 */
 	public static Image get(String key) {
+		if (Display.getCurrent() == null && PlatformUI.isWorkbenchRunning()) {
+			ImageDescriptor descriptor= getDescriptor(key);
+			return descriptor != null ? JavaPlugin.getImageDescriptorRegistry().get(descriptor) : null;
+		}
 		return getImageRegistry().get(key);
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,10 +15,16 @@
 package org.eclipse.jdt.internal.ui.callhierarchy;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.swt.widgets.Display;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.jface.operation.IRunnableContext;
 import org.eclipse.jface.operation.IRunnableWithProgress;
@@ -88,6 +94,44 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
         }
     }
 
+    /**
+     * Searches the callers of the children of an expanded node in the background, so that
+     * expanding the children shows their callers from the cache.
+     *
+     * @since 3.32
+     */
+    private final class PrefetchJob extends Job {
+        private final MethodWrapper[] fWrappers;
+
+        PrefetchJob(MethodWrapper[] wrappers) {
+            super(CallHierarchyMessages.CallHierarchyContentProvider_prefetch_job);
+            fWrappers= wrappers;
+            setSystem(true);
+            setPriority(Job.DECORATE);
+        }
+
+        @Override
+		protected IStatus run(IProgressMonitor monitor) {
+            try {
+                CallerMethodWrapper.prefetchCallers(fWrappers, monitor);
+            } catch (OperationCanceledException e) {
+                return Status.CANCEL_STATUS;
+            }
+            return Status.OK_STATUS;
+        }
+
+        @Override
+		public boolean belongsTo(Object family) {
+            return family == CallHierarchyContentProvider.this;
+        }
+    }
+
+    /**
+     * Maximum number of children whose callers are searched in advance.
+     * @since 3.32
+     */
+    private static final int MAX_PREFETCHED_CHILDREN= 64;
+
     public CallHierarchyContentProvider(CallHierarchyViewPart part) {
         super();
         fPart= part;
@@ -399,7 +443,7 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
      */
     @Override
 	public void dispose() {
-        // Nothing to dispose
+        Job.getJobManager().cancel(this);
     }
 
     /**
@@ -452,6 +496,7 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
      * @param wrappers the parents to cancel jobs for
      */
     void cancelJobs(MethodWrapper[] wrappers) {
+        Job.getJobManager().cancel(this);
         if (fManager != null && wrappers != null) {
         	for (MethodWrapper wrapper : wrappers) {
         		fManager.cancel(wrapper);
@@ -462,6 +507,27 @@ public class CallHierarchyContentProvider implements ITreeContentProvider {
         }
     }
 
+    /**
+     * Searches the callers of the given children of an expanded node in the background.
+     *
+     * @param children the children, elements that are not callers are ignored
+     * @since 3.32
+     */
+    void prefetchCallers(Object[] children) {
+        List<MethodWrapper> wrappers= new ArrayList<>();
+        for (Object child : children) {
+            if (child instanceof CallerMethodWrapper && !(child instanceof RealCallers)) {
+                CallerMethodWrapper wrapper= (CallerMethodWrapper) child;
+                if (wrapper.canHaveChildren() && !shouldStopTraversion(wrapper))
+                    wrappers.add(wrapper);
+            }
+            if (wrappers.size() == MAX_PREFETCHED_CHILDREN)
+                break;
+        }
+        if (!wrappers.isEmpty())
+            new PrefetchJob(wrappers.toArray(new MethodWrapper[wrappers.size()])).schedule();
+    }
+
     public void doneFetching() {
         if (fPart != null) {
             fPart.setCancelEnabled(false);
@@ -92,13 +92,15 @@ final class CodeAssistAdvancedConfigurationBlock extends OptionsConfigurationBlo
 	private static final Key PREF_CATEGORY_ORDER= getJDTUIKey(PreferenceConstants.CODEASSIST_CATEGORY_ORDER);
 	private static final Key PREF_CODEASSIST_TIMEOUT_FOR_PARAMETER_NAME_FROM_ATTACHED_JAVADOC= getJDTCoreKey(JavaCore.TIMEOUT_FOR_PARAMETER_NAME_FROM_ATTACHED_JAVADOC);
 	private static final Key PREF_CODEASSIST_NONUITHREAD_COMPUTATION = getJDTUIKey(PreferenceConstants.CODEASSIST_NONUITHREAD_COMPUTATION);
+	private static final Key PREF_CODEASSIST_CONCURRENT_COMPUTATION = getJDTUIKey(PreferenceConstants.CODEASSIST_CONCURRENT_COMPUTATION);
 
 	private static Key[] getAllKeys() {
 		return new Key[] {
 				PREF_EXCLUDED_CATEGORIES,
 				PREF_CATEGORY_ORDER,
 				PREF_CODEASSIST_TIMEOUT_FOR_PARAMETER_NAME_FROM_ATTACHED_JAVADOC,
-				PREF_CODEASSIST_NONUITHREAD_COMPUTATION
+				PREF_CODEASSIST_NONUITHREAD_COMPUTATION,
+				PREF_CODEASSIST_CONCURRENT_COMPUTATION
 		};
 	}
 
@@ -397,6 +399,7 @@ final class CodeAssistAdvancedConfigurationBlock extends OptionsConfigurationBlo
 		createParameterTimeoutControl(composite, columns);
 		createFiller(composite, columns);
 		createNonUIThreadControl(composite, columns);
+		createConcurrentComputationControl(composite, columns);
 
 		updateControls();
 		if (fModel.elements.size() > 0) {
@@ -426,6 +429,13 @@ final class CodeAssistAdvancedConfigurationBlock extends OptionsConfigurationBlo
 		}
 	}
 
+	private void createConcurrentComputationControl(Composite composite, int columns) {
+		PixelConverter pixelConverter= new PixelConverter(composite);
+		String str= PreferencesMessages.CodeAssistAdvancedConfigurationBlock_concurrentComputation;
+		Button checkbox = addCheckBox(composite, str, PREF_CODEASSIST_CONCURRENT_COMPUTATION, new String[] { Boolean.TRUE.toString(), Boolean.FALSE.toString() }, pixelConverter.convertWidthInCharsToPixels(7));
+		checkbox.setLayoutData(new GridData(GridData.FILL, GridData.FILL, true, false, columns, 1));
+	}
+
 	private void createDefaultLabel(Composite composite, int h_span) {
 	    final ICommandService commandSvc= PlatformUI.getWorkbench().getAdapter(ICommandService.class);
 		final Command command= commandSvc.getCommand(ITextEditorActionDefinitionIds.CONTENT_ASSIST_PROPOSALS);
@@ -67,6 +67,7 @@ public final class PreferencesMessages extends NLS {
 	public static String CodeAssistAdvancedConfigurationBlock_parameterNameFromAttachedJavadoc_timeout_invalidRange;
 	public static String CodeAssistAdvancedConfigurationBlock_nonUIThread;
 	public static String CodeAssistAdvancedConfigurationBlock_nonUIThread_computersRequiringUIThread;
+	public static String CodeAssistAdvancedConfigurationBlock_concurrentComputation;
 	public static String ImportOrganizePreferencePage_title;
 	public static String ImportOrganizeConfigurationBlock_order_label;
 	public static String ImportOrganizeConfigurationBlock_other_static;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.internal.ui.search;
 
 import java.util.HashMap;
+import java.util.Map;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.dnd.DND;
@@ -96,6 +97,12 @@ public class JavaSearchResultPage extends AbstractTextSearchViewPage implements
 
 		private final ILabelProvider fLabelProvider;
 
+		/**
+		 * The labels computed since the elements last changed. Each comparison needs the labels of
+		 * two elements, and sorting or inserting many elements compares each of them many times.
+		 */
+		private final Map<Object, String> fLabels= new HashMap<>();
+
 		public DecoratorIgnoringViewerSorter(ILabelProvider labelProvider) {
 			fLabelProvider= labelProvider;
 		}
@@ -116,14 +123,34 @@ public class JavaSearchResultPage extends AbstractTextSearchViewPage implements
 	        if (cat1 != cat2) {
 				return cat1 - cat2;
 			}
-	        String name1= fLabelProvider.getText(e1);
-	        String name2= fLabelProvider.getText(e2);
-	        if (name1 == null)
-	            name1 = "";//$NON-NLS-1$
-	        if (name2 == null)
-	            name2 = "";//$NON-NLS-1$
+	        String name1= getLabel(e1);
+	        String name2= getLabel(e2);
 	        return getComparator().compare(name1, name2);
 	    }
+
+		@Override
+		public void sort(Viewer viewer, Object[] elements) {
+			clearLabels();
+			super.sort(viewer, elements);
+		}
+
+		/**
+		 * Forgets the computed labels. Must be called when the labels of elements may have changed.
+		 */
+		public void clearLabels() {
+			fLabels.clear();
+		}
+
+		private String getLabel(Object element) {
+			String label= fLabels.get(element);
+			if (label == null) {
+				label= fLabelProvider.getText(element);
+				if (label == null)
+					label= ""; //$NON-NLS-1$
+				fLabels.put(element, label);
+			}
+			return label;
+		}
 	}
 
 
@@ -303,16 +330,24 @@ public class JavaSearchResultPage extends AbstractTextSearchViewPage implements
 
 	@Override
 	protected void elementsChanged(Object[] objects) {
+		clearSortLabels();
 		if (fContentProvider != null)
 			fContentProvider.elementsChanged(objects);
 	}
 
 	@Override
 	protected void clear() {
+		clearSortLabels();
 		if (fContentProvider != null)
 			fContentProvider.clear();
 	}
 
+	private void clearSortLabels() {
+		StructuredViewer viewer= getViewer();
+		if (viewer != null && viewer.getComparator() instanceof DecoratorIgnoringViewerSorter)
+			((DecoratorIgnoringViewerSorter) viewer.getComparator()).clearLabels();
+	}
+
 	private void addDragAdapters(StructuredViewer viewer) {
 		Transfer[] transfers= new Transfer[] { LocalSelectionTransfer.getTransfer(), ResourceTransfer.getInstance() };
 		int ops= DND.DROP_COPY | DND.DROP_LINK;
@@ -347,6 +382,12 @@ public class JavaSearchResultPage extends AbstractTextSearchViewPage implements
 		addDragAdapters(viewer);
 	}
 
+	/*
+	 * The viewers are not SWT.VIRTUAL. The table content provider finds shown elements with
+	 * testFindItem(..), and the filtered match count is summed over the data of the root items.
+	 * Neither works for items that have not been materialized. Lazy content providers cannot be
+	 * combined with the sorter. The element limit bounds the number of items instead.
+	 */
 	@Override
 	protected TreeViewer createTreeViewer(Composite parent) {
 		return new ProblemTreeViewer(parent, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL);
@@ -363,6 +404,7 @@ public class JavaSearchResultPage extends AbstractTextSearchViewPage implements
 			StructuredViewer viewer= getViewer();
 			//viewer.getControl().setRedraw(false);
 			fSortingLabelProvider.setOrder(order);
+			clearSortLabels();
 			//viewer.getControl().setRedraw(true);
 			viewer.refresh();
 			getSettings().put(KEY_SORTING, fCurrentSortOrder);
@@ -398,6 +440,7 @@ public class JavaSearchResultPage extends AbstractTextSearchViewPage implements
 		fCurrentGrouping= grouping;
 		StructuredViewer viewer= getViewer();
 		LevelTreeContentProvider cp= (LevelTreeContentProvider) viewer.getContentProvider();
+		clearSortLabels();
 		cp.setLevel(grouping);
 		updateGroupingActions();
 		getSettings().put(KEY_GROUPING, fCurrentGrouping);
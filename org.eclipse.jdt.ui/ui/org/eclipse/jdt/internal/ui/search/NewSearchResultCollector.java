@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,9 +13,15 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.search;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.eclipse.core.runtime.CoreException;
 
 import org.eclipse.search.ui.text.AbstractTextSearchResult;
+import org.eclipse.search.ui.text.Match;
 
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.search.FieldDeclarationMatch;
@@ -27,10 +33,36 @@ import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchParticipant;
 import org.eclipse.jdt.core.search.SearchRequestor;
 
+/**
+ * Collects the matches of a Java search into a search result. Matches are added in batches, so that
+ * listeners of the result, like the search view, are notified once per batch and not once per
+ * match. Equal elements of different matches are replaced by one instance.
+ * <p>
+ * The matches are not kept in a separate column-oriented store. The search view, the editor
+ * annotations and the position tracking of the search framework all work on {@link Match}
+ * instances, so each match would have to be materialized again. Instead, a {@link JavaElementMatch}
+ * packs its properties into one field and shares its element, which keeps each match at one small
+ * object. Labels are computed by the viewers of {@link JavaSearchResultPage} only for the
+ * elements they show, and the element limit of the page bounds that number.
+ * </p>
+ */
 public class NewSearchResultCollector extends SearchRequestor {
+
+	/** Number of matches after which the pending matches are added to the result */
+	private static final int MAX_BATCH_SIZE= 1000;
+
+	/** Time in milliseconds after which the pending matches are added to the result */
+	private static final long MAX_BATCH_DELAY= 200;
+
 	private AbstractTextSearchResult fSearch;
 	private boolean fIgnorePotentials;
 
+	private final List<Match> fPendingMatches= new ArrayList<>();
+	private long fLastFlush;
+
+	/** The element of each match, shared by all matches of that element */
+	private final Map<IJavaElement, IJavaElement> fElements= new HashMap<>();
+
 	public NewSearchResultCollector(AbstractTextSearchResult search, boolean ignorePotentials) {
 		super();
 		fSearch= search;
@@ -63,16 +95,36 @@ public class NewSearchResultCollector extends SearchRequestor {
 				MethodReferenceMatch methodRef= (MethodReferenceMatch) match;
 				isSuperInvocation= methodRef.isSuperInvocation();
 			}
-			fSearch.addMatch(new JavaElementMatch(enclosingElement, match.getRule(), match.getOffset(), match.getLength(), match.getAccuracy(), isReadAccess, isWriteAccess, match.isInsideDocComment(), isSuperInvocation));
+			IJavaElement element= fElements.putIfAbsent(enclosingElement, enclosingElement);
+			if (element == null)
+				element= enclosingElement;
+			fPendingMatches.add(new JavaElementMatch(element, match.getRule(), match.getOffset(), match.getLength(), match.getAccuracy(), isReadAccess, isWriteAccess, match.isInsideDocComment(), isSuperInvocation));
+			if (fPendingMatches.size() >= MAX_BATCH_SIZE || System.currentTimeMillis() - fLastFlush >= MAX_BATCH_DELAY)
+				flush();
 		}
 	}
 
+	/**
+	 * Adds the pending matches to the search result.
+	 */
+	public void flush() {
+		fLastFlush= System.currentTimeMillis();
+		if (fPendingMatches.isEmpty())
+			return;
+		Match[] matches= fPendingMatches.toArray(new Match[fPendingMatches.size()]);
+		fPendingMatches.clear();
+		fSearch.addMatches(matches);
+	}
+
 	@Override
 	public void beginReporting() {
+		fLastFlush= System.currentTimeMillis();
 	}
 
 	@Override
 	public void endReporting() {
+		flush();
+		fElements.clear();
 	}
 
 	@Override
@@ -81,6 +133,7 @@ public class NewSearchResultCollector extends SearchRequestor {
 
 	@Override
 	public void exitParticipant(SearchParticipant participant) {
+		flush();
 	}
 
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -47,11 +47,13 @@ public final class ContributedProcessorDescriptor {
 	private Boolean fStatus;
 	private String fRequiredSourceLevel;
 	private final Set<String> fHandledMarkerTypes;
+	private final boolean fThreadSafe;
 
 	private static final String ID= "id"; //$NON-NLS-1$
 	private static final String CLASS= "class"; //$NON-NLS-1$
 
 	private static final String REQUIRED_SOURCE_LEVEL= "requiredSourceLevel"; //$NON-NLS-1$
+	private static final String THREAD_SAFE= "threadSafe"; //$NON-NLS-1$
 
 	private static final String HANDLED_MARKER_TYPES= "handledMarkerTypes"; //$NON-NLS-1$
 	private static final String MARKER_TYPE= "markerType"; //$NON-NLS-1$
@@ -65,6 +67,7 @@ public final class ContributedProcessorDescriptor {
 		}
 		fRequiredSourceLevel= element.getAttribute(REQUIRED_SOURCE_LEVEL);
 		fHandledMarkerTypes= testMarkerTypes ? getHandledMarkerTypes(element) : null;
+		fThreadSafe= Boolean.TRUE.toString().equals(element.getAttribute(THREAD_SAFE));
 	}
 
 	private Set<String> getHandledMarkerTypes(IConfigurationElement element) {
@@ -156,4 +159,18 @@ public final class ContributedProcessorDescriptor {
 		return fHandledMarkerTypes == null || fHandledMarkerTypes.contains(markerType);
 	}
 
+	/**
+	 * Returns the <code>threadSafe</code> flag of the described processor.
+	 *
+	 * @return <code>true</code> if the processor may run in a non-UI thread, in parallel with other
+	 *         processors
+	 */
+	public boolean isThreadSafe() {
+		return fThreadSafe;
+	}
+
+	public String getId() {
+		return fConfigurationElement.getAttribute(ID);
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,18 +18,25 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.PerformanceStats;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 
 import org.eclipse.core.resources.IMarker;
 
+import org.eclipse.jface.preference.IPreferenceStore;
+
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.contentassist.ContentAssistEvent;
 import org.eclipse.jface.text.contentassist.ICompletionListener;
@@ -42,6 +49,7 @@ import org.eclipse.jface.text.source.ISourceViewer;
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.IMarkerHelpRegistry;
 import org.eclipse.ui.IMarkerResolution;
+import org.eclipse.ui.ISharedImages;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.ide.IDE;
 import org.eclipse.ui.keys.IBindingService;
@@ -53,9 +61,12 @@ import org.eclipse.ltk.core.refactoring.NullChange;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 
+import org.eclipse.jdt.internal.core.manipulation.dom.ASTResolving;
+import org.eclipse.jdt.internal.corext.util.ConcurrentTasks;
 import org.eclipse.jdt.internal.corext.util.Messages;
 
 import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.jdt.ui.PreferenceConstants;
 import org.eclipse.jdt.ui.text.java.CompletionProposalComparator;
 import org.eclipse.jdt.ui.text.java.IInvocationContext;
 import org.eclipse.jdt.ui.text.java.IJavaCompletionProposal;
@@ -73,6 +84,17 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 	private static final String QUICKFIX_PROCESSOR_CONTRIBUTION_ID= "quickFixProcessors"; //$NON-NLS-1$
 	private static final String QUICKASSIST_PROCESSOR_CONTRIBUTION_ID= "quickAssistProcessors"; //$NON-NLS-1$
 
+	/** The name of the performance event used to trace quick fix and quick assist processors. */
+	private static final String PERFORMANCE_EVENT= JavaPlugin.getPluginId() + "/perf/correction/processors"; //$NON-NLS-1$
+	/**
+	 * If <code>true</code>, execution time of processors is measured and the data forwarded to
+	 * core's {@link PerformanceStats} service.
+	 */
+	private static final boolean MEASURE_PERFORMANCE= PerformanceStats.isEnabled(PERFORMANCE_EVENT);
+
+	private static final String POOL_NAME= "Quick Fix Collector"; //$NON-NLS-1$
+	private static boolean fgCollectedConcurrently= false;
+
 	private static ContributedProcessorDescriptor[] fgContributedAssistProcessors= null;
 	private static ContributedProcessorDescriptor[] fgContributedCorrectionProcessors= null;
 
@@ -278,24 +300,48 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 				collectMarkerProposals((SimpleMarkerAnnotation) curr, proposals);
 			}
 		}
+		IProblemLocationCore[] problemLocations= problems.toArray(new IProblemLocationCore[problems.size()]);
+		return collectProposals(context, problemLocations, addQuickFixes, addQuickAssists, proposals);
+	}
+
+	/**
+	 * Collects the quick fixes and quick assists for the given problem locations. The processors
+	 * run concurrently if {@link PreferenceConstants#EDITOR_QUICKFIX_CONCURRENT_COLLECTION} is
+	 * set, see {@link #collectConcurrently}.
+	 *
+	 * @param context the invocation context
+	 * @param problemLocations the problem locations
+	 * @param addQuickFixes whether to collect quick fixes
+	 * @param addQuickAssists whether to collect quick assists
+	 * @param proposals the collection that receives the proposals
+	 * @return the status of the processors
+	 */
+	public static IStatus collectProposals(IInvocationContext context, IProblemLocationCore[] problemLocations, boolean addQuickFixes, boolean addQuickAssists, Collection<IJavaCompletionProposal> proposals) {
 		MultiStatus resStatus= null;
 
-		IProblemLocationCore[] problemLocations= problems.toArray(new IProblemLocationCore[problems.size()]);
-		if (addQuickFixes) {
-			IStatus status= collectCorrections(context, problemLocations, proposals);
-			if (!status.isOK()) {
-				resStatus= new MultiStatus(JavaUI.ID_PLUGIN, IStatus.ERROR, CorrectionMessages.JavaCorrectionProcessor_error_quickfix_message, null);
-				resStatus.add(status);
+		IStatus correctionStatus= Status.OK_STATUS;
+		IStatus assistStatus= Status.OK_STATUS;
+		if (JavaPlugin.getDefault().getPreferenceStore().getBoolean(PreferenceConstants.EDITOR_QUICKFIX_CONCURRENT_COLLECTION)) {
+			IStatus[] statuses= collectConcurrently(context, problemLocations, addQuickFixes, addQuickAssists, proposals);
+			correctionStatus= statuses[0];
+			assistStatus= statuses[1];
+		} else {
+			if (addQuickFixes) {
+				correctionStatus= collectCorrections(context, problemLocations, proposals);
+			}
+			if (addQuickAssists) {
+				assistStatus= collectAssists(context, problemLocations, proposals);
 			}
 		}
-		if (addQuickAssists) {
-			IStatus status= collectAssists(context, problemLocations, proposals);
-			if (!status.isOK()) {
-				if (resStatus == null) {
-					resStatus= new MultiStatus(JavaUI.ID_PLUGIN, IStatus.ERROR, CorrectionMessages.JavaCorrectionProcessor_error_quickassist_message, null);
-				}
-				resStatus.add(status);
+		if (!correctionStatus.isOK()) {
+			resStatus= new MultiStatus(JavaUI.ID_PLUGIN, IStatus.ERROR, CorrectionMessages.JavaCorrectionProcessor_error_quickfix_message, null);
+			resStatus.add(correctionStatus);
+		}
+		if (!assistStatus.isOK()) {
+			if (resStatus == null) {
+				resStatus= new MultiStatus(JavaUI.ID_PLUGIN, IStatus.ERROR, CorrectionMessages.JavaCorrectionProcessor_error_quickassist_message, null);
 			}
+			resStatus.add(assistStatus);
 		}
 		if (resStatus != null) {
 			return resStatus;
@@ -359,6 +405,21 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 			return fMulti;
 		}
 
+		protected static PerformanceStats startMeter(Object processor, String operation) {
+			if (!MEASURE_PERFORMANCE) {
+				return null;
+			}
+			PerformanceStats stats= PerformanceStats.getStats(PERFORMANCE_EVENT, processor);
+			stats.startRun(operation);
+			return stats;
+		}
+
+		protected static void stopMeter(PerformanceStats stats) {
+			if (stats != null) {
+				stats.endRun();
+			}
+		}
+
 	}
 
 	private static class SafeCorrectionCollector extends SafeCorrectionProcessorAccess {
@@ -381,7 +442,13 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 			if (curr != null) {
 				List<ProblemLocation> wrapped = Arrays.asList(fLocations).stream().map(x -> new ProblemLocation(x)).collect(Collectors.toList());
 				ProblemLocation[] asArr = wrapped.toArray(new ProblemLocation[wrapped.size()]);
-				IJavaCompletionProposal[] res= curr.getCorrections(fContext, asArr);
+				IJavaCompletionProposal[] res;
+				PerformanceStats stats= startMeter(curr, "getCorrections()"); //$NON-NLS-1$
+				try {
+					res= curr.getCorrections(fContext, asArr);
+				} finally {
+					stopMeter(stats);
+				}
 				if (res != null) {
 					fProposals.addAll(Arrays.asList(res));
 				}
@@ -406,7 +473,13 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 			if (curr != null) {
 				List<ProblemLocation> wrapped = Arrays.asList(fLocations).stream().map(x -> new ProblemLocation(x)).collect(Collectors.toList());
 				ProblemLocation[] asArr = wrapped.toArray(new ProblemLocation[wrapped.size()]);
-				IJavaCompletionProposal[] res= curr.getAssists(fContext, asArr);
+				IJavaCompletionProposal[] res;
+				PerformanceStats stats= startMeter(curr, "getAssists()"); //$NON-NLS-1$
+				try {
+					res= curr.getAssists(fContext, asArr);
+				} finally {
+					stopMeter(stats);
+				}
 				if (res != null) {
 					fProposals.addAll(Arrays.asList(res));
 				}
@@ -513,6 +586,170 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 		return collector.getStatus();
 	}
 
+	/**
+	 * The invocation contexts of a concurrent collection. The processors that run in the calling
+	 * thread use the context of the invocation. Resolving a binding changes the state of the binding
+	 * resolver of an AST, and the processors create new nodes in the AST of their context. Therefore
+	 * each thread of the pool gets a context with its own AST, which the processors that run in
+	 * that thread share.
+	 */
+	private static final class CollectionContexts {
+		private final IInvocationContext fContext;
+		private final Thread fCallingThread;
+		private final Map<Thread, IInvocationContext> fWorkerContexts= new ConcurrentHashMap<>();
+
+		public CollectionContexts(IInvocationContext context) {
+			fContext= context;
+			fCallingThread= Thread.currentThread();
+		}
+
+		public IInvocationContext getContext() {
+			Thread thread= Thread.currentThread();
+			if (thread == fCallingThread) {
+				return fContext;
+			}
+			return fWorkerContexts.computeIfAbsent(thread, t -> createWorkerContext());
+		}
+
+		private IInvocationContext createWorkerContext() {
+			ICompilationUnit cu= fContext.getCompilationUnit();
+			AssistContext context;
+			if (fContext instanceof AssistContext) {
+				AssistContext assistContext= (AssistContext) fContext;
+				context= new AssistContext(cu, assistContext.getSourceViewer(), assistContext.getEditor(), assistContext.getOffset(), assistContext.getLength());
+			} else {
+				context= new AssistContext(cu, fContext.getSelectionOffset(), fContext.getSelectionLength());
+			}
+			context.setASTRoot(ASTResolving.createQuickFixAST(cu, null));
+			return context;
+		}
+	}
+
+	/**
+	 * A quick fix or quick assist processor that runs on its own in a concurrent collection.
+	 */
+	private static final class CollectionTask implements ConcurrentTasks.Task<List<IJavaCompletionProposal>> {
+		private final ContributedProcessorDescriptor fDescriptor;
+		private final CollectionContexts fContexts;
+		private final IProblemLocationCore[] fLocations;
+		private final boolean fIsCorrection;
+		private final List<IJavaCompletionProposal> fProposals;
+		/** The collector that ran the processor, or <code>null</code> if the task did not run */
+		private SafeCorrectionProcessorAccess fCollector;
+
+		public CollectionTask(ContributedProcessorDescriptor descriptor, CollectionContexts contexts, IProblemLocationCore[] locations, boolean isCorrection) {
+			fDescriptor= descriptor;
+			fContexts= contexts;
+			fLocations= locations;
+			fIsCorrection= isCorrection;
+			fProposals= new ArrayList<>();
+		}
+
+		@Override
+		public List<IJavaCompletionProposal> run(IProgressMonitor monitor) {
+			// the processors cannot be interrupted, but an abandoned task that has not started is skipped
+			if (monitor.isCanceled()) {
+				return null;
+			}
+			IInvocationContext context= fContexts.getContext();
+			if (fIsCorrection) {
+				SafeCorrectionCollector collector= new SafeCorrectionCollector(context, fProposals);
+				collector.setProblemLocations(fLocations);
+				fCollector= collector;
+			} else {
+				fCollector= new SafeAssistCollector(context, fLocations, fProposals);
+			}
+			fCollector.process(fDescriptor);
+			return fProposals;
+		}
+	}
+
+	/**
+	 * Collects the quick fixes and quick assists like {@link #collectCorrections} and
+	 * {@link #collectAssists}, but runs the processors that are declared thread-safe concurrently.
+	 * The other processors run in the calling thread meanwhile, since they may create images or
+	 * access other UI state. They use the AST of the given context. The thread-safe processors do
+	 * not use that AST, as resolving bindings and creating nodes change an AST. Each thread of the
+	 * pool parses its own AST instead, see {@link CollectionContexts}.
+	 * <p>
+	 * The proposals are added in the order of the processors. The concurrent processors that do
+	 * not complete within {@link PreferenceConstants#EDITOR_QUICKFIX_CONCURRENT_COLLECTION_TIMEOUT}
+	 * are abandoned, their proposals are dropped and they are reported in the log. The first
+	 * collection waits for all processors, since it includes loading their classes.
+	 * </p>
+	 *
+	 * @param context the invocation context
+	 * @param locations the problem locations
+	 * @param addQuickFixes whether to collect quick fixes
+	 * @param addQuickAssists whether to collect quick assists
+	 * @param proposals the collection that receives the proposals
+	 * @return the status of the quick fix and of the quick assist processors
+	 */
+	private static IStatus[] collectConcurrently(IInvocationContext context, IProblemLocationCore[] locations, boolean addQuickFixes, boolean addQuickAssists, Collection<IJavaCompletionProposal> proposals) {
+		ICompilationUnit cu= context.getCompilationUnit();
+		CollectionContexts contexts= new CollectionContexts(context);
+		List<CollectionTask> tasks= new ArrayList<>();
+		if (addQuickFixes) {
+			for (ContributedProcessorDescriptor curr : getCorrectionProcessors()) {
+				IProblemLocationCore[] handled= getHandledProblems(locations, curr);
+				if (handled != null && curr.getProcessor(cu, IQuickFixProcessor.class) != null) {
+					tasks.add(new CollectionTask(curr, contexts, handled, true));
+				}
+			}
+		}
+		if (addQuickAssists) {
+			for (ContributedProcessorDescriptor curr : getAssistProcessors()) {
+				if (curr.getProcessor(cu, IQuickAssistProcessor.class) != null) {
+					tasks.add(new CollectionTask(curr, contexts, locations, false));
+				}
+			}
+		}
+		MultiStatus correctionStatus= new MultiStatus(JavaUI.ID_PLUGIN, IStatus.OK, CorrectionMessages.JavaCorrectionProcessor_error_status, null);
+		MultiStatus assistStatus= new MultiStatus(JavaUI.ID_PLUGIN, IStatus.OK, CorrectionMessages.JavaCorrectionProcessor_error_status, null);
+		if (tasks.isEmpty()) {
+			return new IStatus[] { correctionStatus, assistStatus };
+		}
+
+		boolean isFirstCollection;
+		synchronized (JavaCorrectionProcessor.class) {
+			isFirstCollection= !fgCollectedConcurrently;
+			fgCollectedConcurrently= true;
+		}
+		if (isFirstCollection) {
+			// the workbench image registry is not thread-safe, create the shared image the processors use
+			PlatformUI.getWorkbench().getSharedImages().getImage(ISharedImages.IMG_TOOL_DELETE);
+		}
+		IPreferenceStore store= JavaPlugin.getDefault().getPreferenceStore();
+		int timeout= store.getInt(PreferenceConstants.EDITOR_QUICKFIX_CONCURRENT_COLLECTION_TIMEOUT);
+		List<List<IJavaCompletionProposal>> results;
+		try {
+			results= ConcurrentTasks.invokeAll(POOL_NAME, tasks, index -> !tasks.get(index).fDescriptor.isThreadSafe(), isFirstCollection ? -1 : timeout, null);
+		} catch (CoreException e) {
+			// the processors run in safe runners and report their failures in the statuses
+			JavaPlugin.log(e);
+			return new IStatus[] { correctionStatus, assistStatus };
+		}
+
+		List<String> dropped= new ArrayList<>();
+		for (int i= 0; i < tasks.size(); i++) {
+			CollectionTask task= tasks.get(i);
+			if (results.get(i) == null) {
+				dropped.add(task.fDescriptor.getId());
+				continue;
+			}
+			proposals.addAll(results.get(i));
+			IStatus status= task.fCollector.getStatus();
+			if (!status.isOK()) {
+				(task.fIsCorrection ? correctionStatus : assistStatus).merge(status);
+			}
+		}
+		if (!dropped.isEmpty()) {
+			JavaPlugin.log(new Status(IStatus.WARNING, JavaUI.ID_PLUGIN, IStatus.OK,
+					Messages.format(CorrectionMessages.JavaCorrectionProcessor_processors_dropped, new Object[] { Integer.valueOf(timeout), String.join(", ", dropped) }), null)); //$NON-NLS-1$
+		}
+		return new IStatus[] { correctionStatus, assistStatus };
+	}
+
 	/*
 	 * @see IContentAssistProcessor#getErrorMessage()
 	 */
@@ -34,6 +34,7 @@ import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.manipulation.JavaManipulation;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
 import org.eclipse.jdt.internal.corext.refactoring.typeconstraints.ASTCreator;
 
 import org.eclipse.jdt.ui.PreferenceConstants;
@@ -46,6 +47,7 @@ import org.eclipse.jdt.ui.text.java.JavaContentAssistInvocationContext;
 import org.eclipse.jdt.internal.ui.text.Chain;
 import org.eclipse.jdt.internal.ui.text.ChainElement;
 import org.eclipse.jdt.internal.ui.text.ChainElementAnalyzer;
+import org.eclipse.jdt.internal.ui.text.ChainElementIndex;
 import org.eclipse.jdt.internal.ui.text.ChainFinder;
 import org.eclipse.jdt.internal.ui.text.ChainType;
 import org.eclipse.jdt.internal.ui.text.template.contentassist.TemplateProposal;
@@ -164,7 +166,9 @@ public class ChainCompletionProposalComputer implements IJavaCompletionProposalC
 		final IType invocationType= ctx.getCompilationUnit().findPrimaryType();
 
 		final List<ChainType> expectedTypes= ChainElementAnalyzer.resolveBindingsForExpectedTypes(ctx.getProject(), ctx.getCoreContext());
-		final ChainFinder finder= new ChainFinder(expectedTypes, Arrays.asList(excludedTypes), invocationType);
+		final JavaManipulationPlugin plugin= JavaManipulationPlugin.getDefault();
+		final ChainElementIndex index= plugin != null ? plugin.getChainElementIndex() : null;
+		final ChainFinder finder= new ChainFinder(expectedTypes, Arrays.asList(excludedTypes), invocationType, index);
 		final ExecutorService executor= Executors.newSingleThreadExecutor();
 		try {
 			Future<?> future= executor.submit(() -> {
@@ -19,6 +19,7 @@ package org.eclipse.jdt.internal.ui.text.java;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.osgi.framework.Bundle;
 
@@ -89,6 +90,28 @@ public final class CompletionProposalCategory {
 	 */
 	private boolean fNeedsSortingAfterFiltering;
 
+	/**
+	 * Number of consecutive concurrent computations after which a category that missed their
+	 * deadline is demoted.
+	 *
+	 * @since 3.32
+	 */
+	private static final int MAX_MISSED_DEADLINES= 3;
+
+	/**
+	 * Number of consecutive concurrent computations in which this category missed the deadline.
+	 *
+	 * @since 3.32
+	 */
+	private volatile int fMissedDeadlines;
+
+	/**
+	 * Tells whether the proposals of this category are being computed in the background.
+	 *
+	 * @since 3.32
+	 */
+	private final AtomicBoolean fIsComputing= new AtomicBoolean();
+
 	CompletionProposalCategory(IConfigurationElement element, CompletionProposalComputerRegistry registry) throws CoreException {
 		fElement= element;
 		fRegistry= registry;
@@ -344,6 +367,77 @@ public final class CompletionProposalCategory {
 		return result;
 	}
 
+	/**
+	 * Returns <code>true</code> if any computer of this category in the given partition requires
+	 * to be called in the UI thread.
+	 *
+	 * @param partition the partition
+	 * @return <code>true</code> if the category must be computed in the UI thread
+	 * @since 3.32
+	 */
+	boolean requiresUIThread(String partition) {
+		List<CompletionProposalComputerDescriptor> descriptors= fRegistry.getProposalComputerDescriptors(partition);
+		for (CompletionProposalComputerDescriptor desc : descriptors) {
+			if (desc.getCategory() == this && desc.requiresUIThread())
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Marks the start of a background computation of the proposals of this category.
+	 *
+	 * @return <code>true</code> if the computation can start, <code>false</code> if a previous
+	 *         computation is still running
+	 * @since 3.32
+	 */
+	boolean startComputation() {
+		return fIsComputing.compareAndSet(false, true);
+	}
+
+	/**
+	 * Marks the end of a background computation started with {@link #startComputation()}.
+	 *
+	 * @since 3.32
+	 */
+	void endComputation() {
+		fIsComputing.set(false);
+	}
+
+	/**
+	 * Returns whether this category repeatedly missed the deadline of concurrent computations.
+	 * Concurrent computations do not wait for demoted categories.
+	 *
+	 * @return <code>true</code> if this category is demoted
+	 * @since 3.32
+	 */
+	boolean isDemoted() {
+		return fMissedDeadlines >= MAX_MISSED_DEADLINES;
+	}
+
+	/**
+	 * Records that this category computed its proposals before the deadline of a concurrent
+	 * computation.
+	 *
+	 * @since 3.32
+	 */
+	void deadlineMet() {
+		fMissedDeadlines= 0;
+	}
+
+	/**
+	 * Records that this category did not compute its proposals before the deadline of a
+	 * concurrent computation.
+	 *
+	 * @return <code>true</code> if this category has been demoted by this miss
+	 * @since 3.32
+	 */
+	boolean deadlineMissed() {
+		int missed= fMissedDeadlines + 1;
+		fMissedDeadlines= missed;
+		return missed == MAX_MISSED_DEADLINES;
+	}
+
 	/**
 	 * Safely computes context information objects of all computers of this category through their
 	 * extension. If an extension is disabled, throws an exception or otherwise does not adhere to
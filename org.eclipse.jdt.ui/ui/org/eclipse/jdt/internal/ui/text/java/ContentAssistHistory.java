@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2011 IBM Corporation and others.
+ * Copyright (c) 2005, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.text.java;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
@@ -58,6 +60,8 @@ import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeHierarchy;
 import org.eclipse.jdt.core.JavaModelException;
 
+import org.eclipse.jdt.internal.corext.util.HistoryLog;
+
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.JavaUIException;
 import org.eclipse.jdt.internal.ui.JavaUIStatus;
@@ -314,9 +318,82 @@ public final class ContentAssistHistory {
 		}
 	}
 
+	/**
+	 * Persistence in a {@link HistoryLog}. Each remembered selection is appended as a record, so
+	 * that replaying the records in order restores the history.
+	 *
+	 * @since 3.32
+	 */
+	private static final class LogReaderWriter {
+
+		private static final byte RECORD_LIMITS= 1;
+		private static final byte RECORD_SELECTION= 2;
+
+		private ContentAssistHistory fHistory;
+
+		public void store(ContentAssistHistory history, HistoryLog log) throws IOException {
+			List<HistoryLog.IRecordWriter> records= new ArrayList<>();
+			if (history.fChanges != null && log.getRecordCount() + history.fChanges.size() <= Math.max(MAX_LOG_RECORDS, 2 * history.getSelectionCount())) {
+				for (String[] change : history.fChanges)
+					records.add(out -> writeSelection(out, change[0], change[1]));
+				log.append(records);
+			} else {
+				records.add(out -> {
+					out.writeByte(RECORD_LIMITS);
+					out.writeInt(history.fMaxLHS);
+					out.writeInt(history.fMaxRHS);
+				});
+				for (Entry<String, MRUSet<String>> entry : history.fLHSCache.entrySet()) {
+					String lhs= entry.getKey();
+					for (String rhs : entry.getValue())
+						records.add(out -> writeSelection(out, lhs, rhs));
+				}
+				log.rewrite(records);
+			}
+			history.fChanges= new ArrayList<>();
+		}
+
+		private static void writeSelection(DataOutputStream out, String lhs, String rhs) throws IOException {
+			out.writeByte(RECORD_SELECTION);
+			out.writeUTF(lhs);
+			out.writeUTF(rhs);
+		}
+
+		public ContentAssistHistory load(HistoryLog log) throws IOException {
+			fHistory= null;
+			if (!log.read(this::replay))
+				return null;
+			if (fHistory == null)
+				fHistory= new ContentAssistHistory();
+			fHistory.fChanges= new ArrayList<>();
+			return fHistory;
+		}
+
+		private void replay(DataInputStream in) throws IOException {
+			switch (in.readByte()) {
+				case RECORD_LIMITS:
+					int maxLHS= in.readInt();
+					int maxRHS= in.readInt();
+					fHistory= new ContentAssistHistory(maxLHS > 0 ? maxLHS : DEFAULT_TRACKED_LHS, maxRHS > 0 ? maxRHS : DEFAULT_TRACKED_RHS);
+					break;
+				case RECORD_SELECTION:
+					String lhs= in.readUTF();
+					String rhs= in.readUTF();
+					if (fHistory == null)
+						fHistory= new ContentAssistHistory();
+					fHistory.getCache(lhs).add(rhs);
+					break;
+				default:
+					break;
+			}
+		}
+	}
+
 	private static final RHSHistory EMPTY_HISTORY= new RHSHistory(null);
 	private static final int DEFAULT_TRACKED_LHS= 100;
 	private static final int DEFAULT_TRACKED_RHS= 10;
+	/** Number of records in the log after which it is compacted */
+	private static final int MAX_LOG_RECORDS= 1000;
 
 	private static final Set<String> UNCACHEABLE;
 	static {
@@ -331,6 +408,11 @@ public final class ContentAssistHistory {
 	private final LinkedHashMap<String, MRUSet<String>> fLHSCache;
 	private final int fMaxLHS;
 	private final int fMaxRHS;
+	/**
+	 * The selections remembered since the history was loaded from or stored to a log, as pairs of
+	 * left and right hand side, or <code>null</code> if the log must be rewritten.
+	 */
+	private List<String[]> fChanges;
 
 	/**
 	 * Creates a new history.
@@ -422,8 +504,22 @@ public final class ContentAssistHistory {
 
 	private void rememberInternal(IType lhs, String rhsQualifiedName) throws JavaModelException {
 		String lhsQualifiedName= lhs.getFullyQualifiedName();
-		if (isCacheableLHS(lhs, lhsQualifiedName))
+		if (isCacheableLHS(lhs, lhsQualifiedName)) {
 			getCache(lhsQualifiedName).add(rhsQualifiedName);
+			if (fChanges != null) {
+				if (fChanges.size() >= MAX_LOG_RECORDS)
+					fChanges= null; // a snapshot is smaller
+				else
+					fChanges.add(new String[] { lhsQualifiedName, rhsQualifiedName });
+			}
+		}
+	}
+
+	private int getSelectionCount() {
+		int count= 0;
+		for (MRUSet<String> rhsCache : fLHSCache.values())
+			count+= rhsCache.size();
+		return count;
 	}
 
 	private boolean isCacheableLHS(IType type, String qualifiedName) throws JavaModelException {
@@ -481,4 +577,41 @@ public final class ContentAssistHistory {
 		}
 		return null;
 	}
+
+	/**
+	 * Stores the history into a log. Only the selections since the history was loaded from or
+	 * stored to the same log are appended, unless the log has grown too large.
+	 *
+	 * @param history the history to store
+	 * @param log the log to store the history into
+	 * @throws CoreException if writing the log fails
+	 * @see #load(HistoryLog) on how to restore a history stored by this method
+	 * @since 3.32
+	 */
+	public static void store(ContentAssistHistory history, HistoryLog log) throws CoreException {
+		try {
+			new LogReaderWriter().store(history, log);
+		} catch (IOException e) {
+			history.fChanges= null;
+			throw new JavaUIException(JavaUIStatus.createError(IStatus.ERROR, JavaTextMessages.ContentAssistHistory_serialize_error, e));
+		}
+	}
+
+	/**
+	 * Loads a history from a log.
+	 *
+	 * @param log the log to read
+	 * @return the history, or <code>null</code> if the log does not exist
+	 * @throws CoreException if reading the log fails
+	 * @see #store(ContentAssistHistory, HistoryLog) on how to store a history such that it can be
+	 *      read by this method
+	 * @since 3.32
+	 */
+	public static ContentAssistHistory load(HistoryLog log) throws CoreException {
+		try {
+			return new LogReaderWriter().load(log);
+		} catch (IOException e) {
+			throw new JavaUIException(JavaUIStatus.createError(IStatus.ERROR, JavaTextMessages.ContentAssistHistory_deserialize_error, e));
+		}
+	}
 }
@@ -23,6 +23,9 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.SelectionAdapter;
@@ -39,8 +42,10 @@ import org.eclipse.swt.widgets.Shell;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.InvalidRegistryObjectException;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
 
 import org.eclipse.jface.action.LegacyActionTools;
 import org.eclipse.jface.bindings.TriggerSequence;
@@ -68,6 +73,7 @@ import org.eclipse.ui.keys.IBindingService;
 
 import org.eclipse.ui.texteditor.ITextEditorActionDefinitionIds;
 
+import org.eclipse.jdt.internal.corext.util.ConcurrentTasks;
 import org.eclipse.jdt.internal.corext.util.Messages;
 
 import org.eclipse.jdt.ui.PreferenceConstants;
@@ -227,6 +233,22 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 	 */
 	private static final String PREF_WARN_ABOUT_EMPTY_ASSIST_CATEGORY= "EmptyDefaultAssistCategory"; //$NON-NLS-1$
 
+	/**
+	 * Interval in milliseconds in which a concurrent computation checks for cancellation while
+	 * waiting for the categories.
+	 *
+	 * @since 3.32
+	 */
+	private static final long CANCELLATION_CHECK_INTERVAL= 50;
+
+	/**
+	 * The name of the {@link ConcurrentTasks} pool computing the categories in concurrent mode,
+	 * shared by all processors. See {@link PreferenceConstants#CODEASSIST_CONCURRENT_COMPUTATION}.
+	 *
+	 * @since 3.32
+	 */
+	private static final String POOL_NAME= "Java Content Assist"; //$NON-NLS-1$
+
 	private static final Comparator<CompletionProposalCategory> ORDER_COMPARATOR= (d1, d2) -> d1.getSortOrder() - d2.getSortOrder();
 
 	private final List<CompletionProposalCategory> fCategories;
@@ -329,8 +351,19 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		boolean needsSortingAfterFiltering= false;
 		List<ICompletionProposal> proposals= new ArrayList<>();
 		List<CompletionProposalCategory> providers= getCategories();
-		for (CompletionProposalCategory cat : providers) {
-			List<ICompletionProposal> computed= cat.computeCompletionProposals(context, fPartition, Progress.subMonitor(monitor, 1));
+		List<List<ICompletionProposal>> concurrent= null;
+		if (providers.size() > 1 && isConcurrentComputation())
+			concurrent= computeConcurrently(providers, viewer, offset, monitor, context);
+		for (int i= 0; i < providers.size(); i++) {
+			CompletionProposalCategory cat= providers.get(i);
+			List<ICompletionProposal> computed;
+			if (concurrent == null) {
+				computed= cat.computeCompletionProposals(context, fPartition, Progress.subMonitor(monitor, 1));
+			} else {
+				computed= concurrent.get(i);
+				if (computed == null) // not computed in time
+					continue;
+			}
 			proposals.addAll(computed);
 			needsSortingAfterFiltering= needsSortingAfterFiltering || (cat.isSortingAfterFilteringNeeded() && !computed.isEmpty());
 			if (fErrorMessage == null) {
@@ -344,6 +377,127 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		return proposals;
 	}
 
+	private boolean isConcurrentComputation() {
+		return JavaPlugin.getDefault().getPreferenceStore().getBoolean(PreferenceConstants.CODEASSIST_CONCURRENT_COMPUTATION);
+	}
+
+	/**
+	 * Computes the proposals of the categories in parallel, with a shared deadline given by
+	 * {@link PreferenceConstants#CODEASSIST_CONCURRENT_COMPUTATION_TIMEOUT}. Categories with a
+	 * computer that requires the UI thread are computed in the calling thread while the others
+	 * run in the background. Each background category gets its own invocation context, as the
+	 * contexts cache their values without synchronization.
+	 * <p>
+	 * Results are collected as the categories finish. Categories that are not done when the
+	 * deadline has passed are canceled and contribute no proposals. Categories that repeatedly
+	 * missed the deadline are reported and demoted: they are still computed, but only their
+	 * results that are ready when the other categories are done are used.
+	 * </p>
+	 *
+	 * @param categories the categories to compute
+	 * @param viewer the text viewer
+	 * @param offset the offset
+	 * @param monitor the progress monitor
+	 * @param context the code assist invocation context
+	 * @return the proposals of each category in the order of <code>categories</code>, with
+	 *         <code>null</code> for the categories that did not finish in time
+	 * @since 3.32
+	 */
+	private List<List<ICompletionProposal>> computeConcurrently(List<CompletionProposalCategory> categories, ITextViewer viewer, int offset, IProgressMonitor monitor, ContentAssistInvocationContext context) {
+		IPreferenceStore store= JavaPlugin.getDefault().getPreferenceStore();
+		long timeout= store.getInt(PreferenceConstants.CODEASSIST_CONCURRENT_COMPUTATION_TIMEOUT);
+		long deadline= System.currentTimeMillis() + timeout;
+		int size= categories.size();
+
+		AtomicReferenceArray<List<ICompletionProposal>> results= new AtomicReferenceArray<>(size);
+		IProgressMonitor[] monitors= new IProgressMonitor[size];
+		boolean[] awaited= new boolean[size];
+		boolean[] inline= new boolean[size];
+		int awaitedCount= 0;
+		for (int i= 0; i < size; i++) {
+			CompletionProposalCategory cat= categories.get(i);
+			inline[i]= cat.requiresUIThread(fPartition);
+			if (!inline[i] && !cat.isDemoted() && cat.startComputation()) {
+				awaited[i]= true;
+				awaitedCount++;
+			}
+		}
+
+		CountDownLatch done= new CountDownLatch(awaitedCount);
+		for (int i= 0; i < size; i++) {
+			CompletionProposalCategory cat= categories.get(i);
+			if (inline[i] || !awaited[i] && !cat.startComputation())
+				continue; // a computation abandoned by an earlier invocation is still running
+			int index= i;
+			boolean isAwaited= awaited[i];
+			IProgressMonitor categoryMonitor= new NullProgressMonitor();
+			ContentAssistInvocationContext categoryContext= createContext(viewer, offset);
+			monitors[i]= categoryMonitor;
+			try {
+				ConcurrentTasks.getExecutor(POOL_NAME).execute(() -> {
+					try {
+						results.set(index, cat.computeCompletionProposals(categoryContext, fPartition, categoryMonitor));
+					} finally {
+						cat.endComputation();
+						if (isAwaited)
+							done.countDown();
+					}
+				});
+			} catch (RuntimeException x) {
+				cat.endComputation();
+				if (isAwaited)
+					done.countDown();
+				JavaPlugin.log(x);
+			}
+		}
+
+		for (int i= 0; i < size; i++) {
+			if (inline[i])
+				results.set(i, categories.get(i).computeCompletionProposals(context, fPartition, Progress.subMonitor(monitor, 1)));
+		}
+
+		int reported= 0;
+		try {
+			long remaining;
+			while ((remaining= deadline - System.currentTimeMillis()) > 0 && !monitor.isCanceled()) {
+				boolean completed= done.await(Math.min(remaining, CANCELLATION_CHECK_INTERVAL), TimeUnit.MILLISECONDS);
+				reported= reportProgress(results, inline, reported, monitor);
+				if (completed)
+					break;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		List<List<ICompletionProposal>> proposals= new ArrayList<>(size);
+		for (int i= 0; i < size; i++) {
+			CompletionProposalCategory cat= categories.get(i);
+			List<ICompletionProposal> computed= results.get(i);
+			if (computed == null && monitors[i] != null)
+				monitors[i].setCanceled(true);
+			if (!inline[i] && monitors[i] != null) {
+				if (computed != null)
+					cat.deadlineMet();
+				else if (awaited[i] && cat.deadlineMissed())
+					JavaPlugin.log(new Status(IStatus.WARNING, JavaPlugin.getPluginId(), IStatus.OK,
+							Messages.format(JavaTextMessages.ContentAssistProcessor_category_demoted, new Object[] { cat.getDisplayName(), Long.valueOf(timeout) }), null));
+			}
+			proposals.add(computed);
+		}
+		return proposals;
+	}
+
+	private static int reportProgress(AtomicReferenceArray<List<ICompletionProposal>> results, boolean[] inline, int reported, IProgressMonitor monitor) {
+		int finished= 0;
+		for (int i= 0; i < results.length(); i++) {
+			if (!inline[i] && results.get(i) != null)
+				finished++;
+		}
+		if (finished > reported)
+			monitor.worked(finished - reported);
+		return finished;
+	}
+
 	/**
 	 * Filters and sorts the proposals. The passed list may be modified
 	 * and returned, or a new list may be created and returned.
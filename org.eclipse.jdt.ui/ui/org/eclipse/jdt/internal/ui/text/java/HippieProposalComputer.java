@@ -13,11 +13,16 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.text.java;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.contentassist.CompletionProposal;
 import org.eclipse.jface.text.contentassist.ICompletionProposal;
 import org.eclipse.jface.text.contentassist.IContextInformation;
 
@@ -26,6 +31,8 @@ import org.eclipse.ui.texteditor.HippieProposalProcessor;
 import org.eclipse.jdt.ui.text.java.ContentAssistInvocationContext;
 import org.eclipse.jdt.ui.text.java.IJavaCompletionProposalComputer;
 
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
 
 /**
  * A computer wrapper for the hippie processor.
@@ -33,6 +40,13 @@ import org.eclipse.jdt.ui.text.java.IJavaCompletionProposalComputer;
  * @since 3.2
  */
 public final class HippieProposalComputer implements IJavaCompletionProposalComputer {
+	/**
+	 * The maximal number of proposals taken from the {@link HippieTokenIndex}.
+	 *
+	 * @since 3.32
+	 */
+	private static final int MAX_INDEXED_PROPOSALS= 100;
+
 	/** The wrapped processor. */
 	private final HippieProposalProcessor fProcessor= new HippieProposalProcessor();
 
@@ -47,7 +61,39 @@ public final class HippieProposalComputer implements IJavaCompletionProposalComp
 	 */
 	@Override
 	public List<ICompletionProposal> computeCompletionProposals(ContentAssistInvocationContext context, IProgressMonitor monitor) {
-		return Arrays.asList(fProcessor.computeCompletionProposals(context.getViewer(), context.getInvocationOffset()));
+		List<ICompletionProposal> proposals= new ArrayList<>(Arrays.asList(fProcessor.computeCompletionProposals(context.getViewer(), context.getInvocationOffset())));
+		addIndexedProposals(context, proposals);
+		return proposals;
+	}
+
+	/**
+	 * Adds the words of the workspace that are not proposed from the open documents.
+	 *
+	 * @param context the invocation context
+	 * @param proposals the proposals from the open documents
+	 * @since 3.32
+	 */
+	private void addIndexedProposals(ContentAssistInvocationContext context, List<ICompletionProposal> proposals) {
+		String prefix;
+		try {
+			CharSequence identifierPrefix= context.computeIdentifierPrefix();
+			if (identifierPrefix == null || identifierPrefix.length() == 0)
+				return;
+			prefix= identifierPrefix.toString();
+		} catch (BadLocationException e) {
+			return;
+		}
+
+		Set<String> proposed= new HashSet<>();
+		for (ICompletionProposal proposal : proposals)
+			proposed.add(proposal.getDisplayString());
+		int offset= context.getInvocationOffset();
+		for (String word : JavaPlugin.getDefault().getHippieTokenIndex().getWords(prefix, MAX_INDEXED_PROPOSALS)) {
+			if (proposed.add(word)) {
+				String completion= word.substring(prefix.length());
+				proposals.add(new CompletionProposal(completion, offset, 0, completion.length(), null, word, null, null));
+			}
+		}
 	}
 
 	/*
@@ -0,0 +1,408 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.java;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * Index of the words in the Java source files and properties files of the workspace, used to
+ * complete words from files that are not open. The index is built in the background when it is
+ * first used and then kept up to date from resource deltas. The words are kept in a trie with
+ * sorted child arrays, which answers prefix queries without looking at the other words.
+ *
+ * @since 3.32
+ */
+public final class HippieTokenIndex implements IResourceChangeListener {
+
+	private static final int MIN_WORD_LENGTH= 3;
+
+	private static final int MAX_WORD_LENGTH= 100;
+
+	/** Larger files are not indexed. */
+	private static final long MAX_FILE_SIZE= 1024 * 1024;
+
+	private static final String JAVA_EXTENSION= "java"; //$NON-NLS-1$
+
+	private static final String PROPERTIES_EXTENSION= "properties"; //$NON-NLS-1$
+
+	private static final char[] NO_KEYS= new char[0];
+
+	private static final Node[] NO_CHILDREN= new Node[0];
+
+	/**
+	 * A trie node. The children are sorted by their key characters.
+	 */
+	private static final class Node {
+
+		char[] fKeys= NO_KEYS;
+
+		Node[] fChildren= NO_CHILDREN;
+
+		/** Number of files containing the word ending in this node */
+		int fCount;
+
+		Node getChild(char key) {
+			int index= Arrays.binarySearch(fKeys, key);
+			return index < 0 ? null : fChildren[index];
+		}
+
+		Node getOrAddChild(char key) {
+			int index= Arrays.binarySearch(fKeys, key);
+			if (index >= 0)
+				return fChildren[index];
+			index= -index - 1;
+			int length= fKeys.length;
+			char[] keys= new char[length + 1];
+			Node[] children= new Node[length + 1];
+			System.arraycopy(fKeys, 0, keys, 0, index);
+			System.arraycopy(fChildren, 0, children, 0, index);
+			System.arraycopy(fKeys, index, keys, index + 1, length - index);
+			System.arraycopy(fChildren, index, children, index + 1, length - index);
+			Node child= new Node();
+			keys[index]= key;
+			children[index]= child;
+			fKeys= keys;
+			fChildren= children;
+			return child;
+		}
+
+		void removeChild(char key) {
+			int index= Arrays.binarySearch(fKeys, key);
+			if (index < 0)
+				return;
+			int length= fKeys.length - 1;
+			if (length == 0) {
+				fKeys= NO_KEYS;
+				fChildren= NO_CHILDREN;
+				return;
+			}
+			char[] keys= new char[length];
+			Node[] children= new Node[length];
+			System.arraycopy(fKeys, 0, keys, 0, index);
+			System.arraycopy(fChildren, 0, children, 0, index);
+			System.arraycopy(fKeys, index + 1, keys, index, length - index);
+			System.arraycopy(fChildren, index + 1, children, index, length - index);
+			fKeys= keys;
+			fChildren= children;
+		}
+
+		boolean isEmpty() {
+			return fCount == 0 && fKeys.length == 0;
+		}
+	}
+
+	private final class IndexJob extends Job {
+
+		IndexJob() {
+			super(JavaTextMessages.HippieTokenIndex_job_name);
+			setSystem(true);
+			setPriority(DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			IResource resource;
+			while (!monitor.isCanceled() && (resource= nextPending()) != null) {
+				try {
+					update(resource);
+				} catch (CoreException e) {
+					JavaPlugin.log(e);
+				}
+			}
+			return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == HippieTokenIndex.this;
+		}
+	}
+
+	private final Node fRoot= new Node();
+
+	/** The words of the indexed files, guarded by <code>this</code> */
+	private final Map<IPath, String[]> fFileWords= new HashMap<>();
+
+	/** The files and containers to index, guarded by <code>fPending</code> */
+	private final Set<IResource> fPending= new LinkedHashSet<>();
+
+	private final IndexJob fJob= new IndexJob();
+
+	/**
+	 * Creates the index and starts indexing the workspace in the background.
+	 */
+	public HippieTokenIndex() {
+		IWorkspaceRoot root= ResourcesPlugin.getWorkspace().getRoot();
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+		schedule(root);
+	}
+
+	/**
+	 * Stops indexing and drops the index.
+	 */
+	public void dispose() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		synchronized (fPending) {
+			fPending.clear();
+		}
+		fJob.cancel();
+		synchronized (this) {
+			fFileWords.clear();
+			fRoot.fKeys= NO_KEYS;
+			fRoot.fChildren= NO_CHILDREN;
+		}
+	}
+
+	/**
+	 * Returns the indexed words that start with a prefix and are longer than the prefix.
+	 *
+	 * @param prefix the prefix, case sensitive
+	 * @param maxWords the maximal number of words to return
+	 * @return the words in lexicographical order
+	 */
+	public synchronized List<String> getWords(String prefix, int maxWords) {
+		List<String> words= new ArrayList<>();
+		Node node= fRoot;
+		for (int i= 0; i < prefix.length() && node != null; i++)
+			node= node.getChild(prefix.charAt(i));
+		if (node != null) {
+			StringBuilder word= new StringBuilder(prefix);
+			for (int i= 0; i < node.fKeys.length && words.size() < maxWords; i++)
+				collect(node.fChildren[i], node.fKeys[i], word, words, maxWords);
+		}
+		return words;
+	}
+
+	private static void collect(Node node, char key, StringBuilder word, List<String> words, int maxWords) {
+		word.append(key);
+		if (node.fCount > 0)
+			words.add(word.toString());
+		for (int i= 0; i < node.fKeys.length && words.size() < maxWords; i++)
+			collect(node.fChildren[i], node.fKeys[i], word, words, maxWords);
+		word.setLength(word.length() - 1);
+	}
+
+	/**
+	 * Waits until the pending updates have been indexed. For tests.
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public void join() throws InterruptedException {
+		Job.getJobManager().join(this, null);
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta= event.getDelta();
+		if (delta == null)
+			return;
+		List<IResource> changed= new ArrayList<>();
+		try {
+			delta.accept(child -> {
+				IResource resource= child.getResource();
+				switch (resource.getType()) {
+					case IResource.PROJECT:
+						if (child.getKind() != IResourceDelta.CHANGED || (child.getFlags() & (IResourceDelta.OPEN | IResourceDelta.DESCRIPTION)) != 0) {
+							changed.add(resource);
+							return false;
+						}
+						return true;
+					case IResource.FILE:
+						if (isCandidate(resource) && (child.getKind() != IResourceDelta.CHANGED || (child.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED | IResourceDelta.ENCODING)) != 0))
+							changed.add(resource);
+						return false;
+					default:
+						return true;
+				}
+			});
+		} catch (CoreException e) {
+			JavaPlugin.log(e);
+		}
+		for (IResource resource : changed)
+			schedule(resource);
+	}
+
+	private void schedule(IResource resource) {
+		synchronized (fPending) {
+			fPending.add(resource);
+		}
+		fJob.schedule();
+	}
+
+	private IResource nextPending() {
+		synchronized (fPending) {
+			Iterator<IResource> iterator= fPending.iterator();
+			if (!iterator.hasNext())
+				return null;
+			IResource resource= iterator.next();
+			iterator.remove();
+			return resource;
+		}
+	}
+
+	private void update(IResource resource) throws CoreException {
+		if (resource.getType() == IResource.FILE) {
+			IFile file= (IFile) resource;
+			setWords(file.getFullPath(), isIndexed(file) ? readWords(file) : null);
+			return;
+		}
+
+		removeWords(resource.getFullPath());
+		if (!resource.isAccessible())
+			return;
+		List<IFile> files= new ArrayList<>();
+		((IContainer) resource).accept((IResourceProxy proxy) -> {
+			if (proxy.getType() == IResource.FILE) {
+				String name= proxy.getName();
+				if (name.endsWith('.' + JAVA_EXTENSION) || name.endsWith('.' + PROPERTIES_EXTENSION))
+					files.add((IFile) proxy.requestResource());
+				return false;
+			}
+			return !proxy.isDerived() && !proxy.isTeamPrivateMember() && (proxy.getType() != IResource.PROJECT || isJavaProject((IProject) proxy.requestResource()));
+		}, IResource.NONE);
+		synchronized (fPending) {
+			fPending.addAll(files);
+		}
+	}
+
+	private static boolean isCandidate(IResource resource) {
+		String extension= resource.getFileExtension();
+		return JAVA_EXTENSION.equals(extension) || PROPERTIES_EXTENSION.equals(extension);
+	}
+
+	private static boolean isJavaProject(IProject project) {
+		try {
+			return project.isAccessible() && project.hasNature(JavaCore.NATURE_ID);
+		} catch (CoreException e) {
+			return false;
+		}
+	}
+
+	/*
+	 * Java files in source folders and properties files outside of output folders
+	 */
+	private static boolean isIndexed(IFile file) {
+		if (!file.isAccessible() || !isJavaProject(file.getProject()) || file.isDerived(IResource.CHECK_ANCESTORS))
+			return false;
+		if (PROPERTIES_EXTENSION.equals(file.getFileExtension()))
+			return true;
+		IJavaProject project= JavaCore.create(file.getProject());
+		return project.isOnClasspath(file);
+	}
+
+	private static String[] readWords(IFile file) throws CoreException {
+		IPath location= file.getLocation();
+		if (location != null && location.toFile().length() > MAX_FILE_SIZE)
+			return null;
+		Set<String> words= new HashSet<>();
+		try (Reader reader= new BufferedReader(new InputStreamReader(file.getContents(true), file.getCharset()))) {
+			StringBuilder word= new StringBuilder();
+			int c;
+			do {
+				c= reader.read();
+				if (c != -1 && (word.length() == 0 ? Character.isJavaIdentifierStart(c) : Character.isJavaIdentifierPart(c))) {
+					word.append((char) c);
+				} else {
+					if (word.length() >= MIN_WORD_LENGTH && word.length() <= MAX_WORD_LENGTH)
+						words.add(word.toString());
+					word.setLength(0);
+				}
+			} while (c != -1);
+		} catch (IOException e) {
+			return null;
+		}
+		return words.toArray(new String[words.size()]);
+	}
+
+	private synchronized void setWords(IPath path, String[] words) {
+		String[] old= words == null ? fFileWords.remove(path) : fFileWords.put(path, words);
+		if (old != null) {
+			for (String word : old)
+				remove(fRoot, word, 0);
+		}
+		if (words != null) {
+			for (String word : words)
+				add(word);
+		}
+	}
+
+	private synchronized void removeWords(IPath container) {
+		for (Iterator<Map.Entry<IPath, String[]>> iterator= fFileWords.entrySet().iterator(); iterator.hasNext();) {
+			Map.Entry<IPath, String[]> entry= iterator.next();
+			if (container.isPrefixOf(entry.getKey())) {
+				iterator.remove();
+				for (String word : entry.getValue())
+					remove(fRoot, word, 0);
+			}
+		}
+	}
+
+	private void add(String word) {
+		Node node= fRoot;
+		for (int i= 0; i < word.length(); i++)
+			node= node.getOrAddChild(word.charAt(i));
+		node.fCount++;
+	}
+
+	/*
+	 * Returns whether the node has become empty
+	 */
+	private static boolean remove(Node node, String word, int index) {
+		if (index == word.length()) {
+			if (node.fCount > 0)
+				node.fCount--;
+		} else {
+			char key= word.charAt(index);
+			Node child= node.getChild(key);
+			if (child != null && remove(child, word, index + 1))
+				node.removeChild(key);
+		}
+		return node.isEmpty();
+	}
+}
@@ -13,12 +13,25 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.text.spelling;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.AssertionFailedException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.content.IContentType;
 
+import org.eclipse.jface.preference.IPreferenceStore;
+
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.TextUtilities;
 import org.eclipse.jface.text.source.IAnnotationModel;
 import org.eclipse.jface.text.source.ISourceViewer;
 
@@ -28,6 +41,7 @@ import org.eclipse.ui.texteditor.IDocumentProvider;
 import org.eclipse.ui.texteditor.ITextEditor;
 import org.eclipse.ui.texteditor.spelling.ISpellingProblemCollector;
 import org.eclipse.ui.texteditor.spelling.SpellingProblem;
+import org.eclipse.ui.texteditor.spelling.SpellingEngineDescriptor;
 import org.eclipse.ui.texteditor.spelling.SpellingReconcileStrategy;
 import org.eclipse.ui.texteditor.spelling.SpellingService;
 
@@ -37,6 +51,11 @@ import org.eclipse.jdt.core.IProblemRequestor;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.compiler.IProblem;
 
+import org.eclipse.jdt.ui.PreferenceConstants;
+import org.eclipse.jdt.ui.text.IJavaPartitions;
+
+import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellChecker;
+
 
 /**
  * Reconcile strategy for spell checking comments.
@@ -60,7 +79,6 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 			IProblemRequestor requestor= fRequestor;
 			if (requestor != null) {
 				try {
-					int line= getDocument().getLineOfOffset(problem.getOffset()) + 1;
 					String word= getDocument().get(problem.getOffset(), problem.getLength());
 					boolean dictionaryMatch= false;
 					boolean sentenceStart= false;
@@ -68,12 +86,14 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 						dictionaryMatch= ((JavaSpellingProblem)problem).isDictionaryMatch();
 						sentenceStart= ((JavaSpellingProblem) problem).isSentenceStart();
 					}
-					// see https://bugs.eclipse.org/bugs/show_bug.cgi?id=81514
-					IEditorInput editorInput= fEditor.getEditorInput();
-					if (editorInput != null) {
-						CoreSpellingProblem iProblem= new CoreSpellingProblem(problem.getOffset(), problem.getOffset() + problem.getLength() - 1, line, problem.getMessage(), word, dictionaryMatch, sentenceStart, getDocument(), editorInput.getName());
-						requestor.acceptProblem(iProblem);
+					CheckedPartition partition= fCheckedRun != null ? findPartition(fCheckedRun, problem.getOffset()) : null;
+					if (partition != null) {
+						fRunProblemCount++;
+						partition.fProblems.add(new CachedProblem(problem.getOffset() - partition.fOffset, problem.getLength(), problem.getMessage(), word, dictionaryMatch, sentenceStart));
 					}
+					if (fCheckedRun != null && fReportedCount++ >= fThreshold)
+						return;
+					report(requestor, problem.getOffset(), problem.getLength(), problem.getMessage(), word, dictionaryMatch, sentenceStart);
 				} catch (BadLocationException x) {
 					// drop this SpellingProblem
 				}
@@ -85,7 +105,7 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 		 */
 		@Override
 		public void beginCollecting() {
-			if (fRequestor != null)
+			if (fRequestor != null && fCheckedRun == null)
 				fRequestor.beginReporting();
 		}
 
@@ -94,11 +114,80 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 		 */
 		@Override
 		public void endCollecting() {
-			if (fRequestor != null)
+			if (fRequestor != null && fCheckedRun == null)
 				fRequestor.endReporting();
 		}
 	}
 
+	/**
+	 * A spelling problem of a checked partition.
+	 *
+	 * @since 3.32
+	 */
+	private static final class CachedProblem {
+		/** The offset relative to the partition */
+		final int fOffset;
+		final int fLength;
+		final String fMessage;
+		final String fWord;
+		final boolean fDictionaryMatch;
+		final boolean fSentenceStart;
+
+		CachedProblem(int offset, int length, String message, String word, boolean dictionaryMatch, boolean sentenceStart) {
+			fOffset= offset;
+			fLength= length;
+			fMessage= message;
+			fWord= word;
+			fDictionaryMatch= dictionaryMatch;
+			fSentenceStart= sentenceStart;
+		}
+	}
+
+	/**
+	 * The type and content of a partition. The spelling problems of a partition only depend on its
+	 * type and content, so they can be reused wherever the partition moves.
+	 *
+	 * @since 3.32
+	 */
+	private static final class PartitionKey {
+		final String fType;
+		final String fContent;
+
+		PartitionKey(String type, String content) {
+			fType= type;
+			fContent= content;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * fType.hashCode() + fContent.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof PartitionKey))
+				return false;
+			PartitionKey other= (PartitionKey) obj;
+			return fType.equals(other.fType) && fContent.equals(other.fContent);
+		}
+	}
+
+	/**
+	 * A partition checked in the current reconcile.
+	 *
+	 * @since 3.32
+	 */
+	private static final class CheckedPartition {
+		final int fOffset;
+		final PartitionKey fKey;
+		final List<CachedProblem> fProblems= new ArrayList<>();
+
+		CheckedPartition(int offset, PartitionKey key) {
+			fOffset= offset;
+			fKey= key;
+		}
+	}
+
 
 	/** The id of the problem */
 	public static final int SPELLING_PROBLEM_ID= 0x80000000;
@@ -112,6 +201,50 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 	/** The problem requester. */
 	private IProblemRequestor fRequestor;
 
+	/**
+	 * The spelling problems of the partitions of the last reconcile, relative to the partition.
+	 * Only accessed in the reconciler thread.
+	 *
+	 * @since 3.32
+	 */
+	private Map<PartitionKey, List<CachedProblem>> fCache= new HashMap<>();
+
+	/**
+	 * The spell checker and preferences the cached problems were computed with.
+	 *
+	 * @since 3.32
+	 */
+	private List<Object> fCacheState;
+
+	/**
+	 * The partitions being checked, in document order, or <code>null</code> if the problems are
+	 * not cached.
+	 *
+	 * @since 3.32
+	 */
+	private List<CheckedPartition> fCheckedRun;
+
+	/**
+	 * The number of problems found in {@link #fCheckedRun}.
+	 *
+	 * @since 3.32
+	 */
+	private int fRunProblemCount;
+
+	/**
+	 * The number of problems reported by the current incremental reconcile.
+	 *
+	 * @since 3.32
+	 */
+	private int fReportedCount;
+
+	/**
+	 * The maximum number of problems reported by the current incremental reconcile.
+	 *
+	 * @since 3.32
+	 */
+	private int fThreshold;
+
 
 	/**
 	 * Creates a new comment reconcile strategy.
@@ -129,8 +262,152 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 	 */
 	@Override
 	public void reconcile(IRegion region) {
-		if (fRequestor != null && isSpellingEnabled())
-			super.reconcile(region);
+		if (fRequestor != null && isSpellingEnabled()) {
+			ISpellChecker checker= isJavaSpellingEngine() ? SpellCheckEngine.getInstance().getSpellChecker() : null;
+			if (checker != null && getDocument() instanceof IDocumentExtension4)
+				reconcileIncrementally(region, checker);
+			else
+				super.reconcile(region);
+		}
+	}
+
+	/**
+	 * Reports the cached problems of unchanged partitions and only checks the partitions that
+	 * have changed since the last reconcile.
+	 *
+	 * @param region the region to reconcile
+	 * @param checker the current spell checker
+	 * @since 3.32
+	 */
+	private void reconcileIncrementally(IRegion region, ISpellChecker checker) {
+		IDocument document= getDocument();
+		IProblemRequestor requestor= fRequestor;
+		List<Object> state= getCacheState(checker);
+		if (!state.equals(fCacheState)) {
+			fCache.clear();
+			fCacheState= state;
+		}
+		long modificationStamp= ((IDocumentExtension4) document).getModificationStamp();
+		fThreshold= PreferenceConstants.getPreferenceStore().getInt(PreferenceConstants.SPELLING_PROBLEMS_THRESHOLD);
+		fReportedCount= 0;
+
+		Map<PartitionKey, List<CachedProblem>> cache= new HashMap<>();
+		List<CheckedPartition> run= new ArrayList<>();
+		requestor.beginReporting();
+		try {
+			for (ITypedRegion partition : TextUtilities.computePartitioning(document, IJavaPartitions.JAVA_PARTITIONING, region.getOffset(), region.getLength(), false)) {
+				String type= partition.getType();
+				if (IDocument.DEFAULT_CONTENT_TYPE.equals(type) || IJavaPartitions.JAVA_CHARACTER.equals(type))
+					continue;
+				PartitionKey key= new PartitionKey(type, document.get(partition.getOffset(), partition.getLength()));
+				List<CachedProblem> problems= fCache.get(key);
+				if (problems == null) {
+					run.add(new CheckedPartition(partition.getOffset(), key));
+					continue;
+				}
+				check(run, cache);
+				cache.put(key, problems);
+				for (CachedProblem problem : problems) {
+					if (fReportedCount++ < fThreshold)
+						report(requestor, partition.getOffset() + problem.fOffset, problem.fLength, problem.fMessage, problem.fWord, problem.fDictionaryMatch, problem.fSentenceStart);
+				}
+			}
+			check(run, cache);
+		} catch (BadLocationException | AssertionFailedException x) {
+			// ignore: the document has been changed in another thread and will be checked again
+			return;
+		} finally {
+			requestor.endReporting();
+		}
+		// results of a canceled check are incomplete
+		if (((IDocumentExtension4) document).getModificationStamp() == modificationStamp)
+			fCache= cache;
+	}
+
+	/**
+	 * Checks a run of adjacent changed partitions and clears the run.
+	 *
+	 * @param run the partitions to check
+	 * @param cache the cache to add the problems of the partitions to
+	 * @since 3.32
+	 */
+	private void check(List<CheckedPartition> run, Map<PartitionKey, List<CachedProblem>> cache) {
+		if (run.isEmpty())
+			return;
+		CheckedPartition first= run.get(0);
+		CheckedPartition last= run.get(run.size() - 1);
+		fCheckedRun= run;
+		fRunProblemCount= 0;
+		try {
+			super.reconcile(new Region(first.fOffset, last.fOffset + last.fKey.fContent.length() - first.fOffset));
+		} finally {
+			fCheckedRun= null;
+		}
+		// the check stops at the threshold, later partitions have not been checked
+		if (fRunProblemCount < fThreshold) {
+			for (CheckedPartition partition : run)
+				cache.put(partition.fKey, partition.fProblems);
+		}
+		run.clear();
+	}
+
+	private static CheckedPartition findPartition(List<CheckedPartition> partitions, int offset) {
+		int low= 0;
+		int high= partitions.size() - 1;
+		while (low <= high) {
+			int middle= (low + high) >>> 1;
+			CheckedPartition partition= partitions.get(middle);
+			if (offset < partition.fOffset)
+				high= middle - 1;
+			else if (offset >= partition.fOffset + partition.fKey.fContent.length())
+				low= middle + 1;
+			else
+				return partition;
+		}
+		return null;
+	}
+
+	private void report(IProblemRequestor requestor, int offset, int length, String message, String word, boolean dictionaryMatch, boolean sentenceStart) throws BadLocationException {
+		int line= getDocument().getLineOfOffset(offset) + 1;
+		// see https://bugs.eclipse.org/bugs/show_bug.cgi?id=81514
+		IEditorInput editorInput= fEditor.getEditorInput();
+		if (editorInput != null) {
+			CoreSpellingProblem iProblem= new CoreSpellingProblem(offset, offset + length - 1, line, message, word, dictionaryMatch, sentenceStart, getDocument(), editorInput.getName());
+			requestor.acceptProblem(iProblem);
+		}
+	}
+
+	/**
+	 * Returns the state the spelling problems depend on besides the partition contents.
+	 *
+	 * @param checker the spell checker
+	 * @return the state
+	 * @since 3.32
+	 */
+	private static List<Object> getCacheState(ISpellChecker checker) {
+		IPreferenceStore store= PreferenceConstants.getPreferenceStore();
+		return Arrays.asList(checker, Integer.valueOf(checker.getModificationStamp()),
+				Boolean.valueOf(store.getBoolean(PreferenceConstants.SPELLING_IGNORE_DIGITS)),
+				Boolean.valueOf(store.getBoolean(PreferenceConstants.SPELLING_IGNORE_MIXED)),
+				Boolean.valueOf(store.getBoolean(PreferenceConstants.SPELLING_IGNORE_SENTENCE)),
+				Boolean.valueOf(store.getBoolean(PreferenceConstants.SPELLING_IGNORE_UPPER)),
+				Boolean.valueOf(store.getBoolean(PreferenceConstants.SPELLING_IGNORE_URLS)),
+				Boolean.valueOf(store.getBoolean(PreferenceConstants.SPELLING_IGNORE_NON_LETTERS)),
+				Boolean.valueOf(store.getBoolean(PreferenceConstants.SPELLING_IGNORE_SINGLE_LETTERS)),
+				Boolean.valueOf(store.getBoolean(PreferenceConstants.SPELLING_IGNORE_JAVA_STRINGS)),
+				Integer.valueOf(store.getInt(PreferenceConstants.SPELLING_PROBLEMS_THRESHOLD)));
+	}
+
+	/**
+	 * Tells whether the active spelling engine is the Java spelling engine, the only engine
+	 * whose problems are known to depend on the partition contents only.
+	 *
+	 * @return <code>true</code> if the problems can be cached
+	 * @since 3.32
+	 */
+	private static boolean isJavaSpellingEngine() {
+		SpellingEngineDescriptor descriptor= EditorsUI.getSpellingService().getActiveSpellingEngineDescriptor(EditorsUI.getPreferenceStore());
+		return descriptor != null && DefaultSpellingEngine.class.getName().equals(descriptor.getId());
 	}
 
 	private boolean isSpellingEnabled() {
@@ -161,6 +438,8 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 	@Override
 	public void setDocument(IDocument document) {
 		super.setDocument(document);
+		fCache= new HashMap<>();
+		fCacheState= null;
 		updateProblemRequester();
 	}
 
@@ -44,6 +44,7 @@ import org.eclipse.ui.editors.text.EditorsUI;
 import org.eclipse.jdt.ui.PreferenceConstants;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.CompiledSpellDictionaryCache;
 import org.eclipse.jdt.internal.ui.text.spelling.engine.DefaultSpellChecker;
 import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellCheckEngine;
 import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellChecker;
@@ -62,6 +63,13 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 	/** The dictionary location */
 	public static final String DICTIONARY_LOCATION= "dictionaries/"; //$NON-NLS-1$
 
+	/**
+	 * The location of the compiled word lists in the state location.
+	 *
+	 * @since 3.32
+	 */
+	private static final String COMPILED_DICTIONARY_LOCATION= "dictionaries"; //$NON-NLS-1$
+
 	/** The singleton engine instance */
 	private static ISpellCheckEngine fgEngine= null;
 
@@ -72,6 +80,34 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 	 */
 	private static Set<Locale> fgLocalesWithInstalledDictionaries;
 
+	/**
+	 * The compiled word lists, shared by the dictionaries of all engines.
+	 *
+	 * @since 3.32
+	 */
+	private static CompiledSpellDictionaryCache fgCompiledDictionaryCache;
+
+	/**
+	 * Returns the cache of compiled word lists in the state location of the plug-in.
+	 *
+	 * @return the cache, or <code>null</code> if the plug-in has no state location
+	 * @since 3.32
+	 */
+	public static synchronized CompiledSpellDictionaryCache getCompiledDictionaryCache() {
+		if (fgCompiledDictionaryCache == null) {
+			JavaPlugin plugin= JavaPlugin.getDefault();
+			if (plugin == null)
+				return null;
+			try {
+				fgCompiledDictionaryCache= new CompiledSpellDictionaryCache(plugin.getStateLocation().append(COMPILED_DICTIONARY_LOCATION).toFile());
+			} catch (IllegalStateException e) {
+				// no instance location
+				return null;
+			}
+		}
+		return fgCompiledDictionaryCache;
+	}
+
 	/**
 	 * Returns the locales for which this
 	 * spell check engine has dictionaries in certain location.
@@ -281,7 +317,9 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 				for (final Iterator<Locale> iterator= getLocalesWithInstalledDictionaries(location).iterator(); iterator.hasNext();) {
 
 					locale= iterator.next();
-					fLocaleDictionaries.put(locale, new LocaleSensitiveSpellDictionary(locale, location));
+					LocaleSensitiveSpellDictionary dictionary= new LocaleSensitiveSpellDictionary(locale, location);
+					dictionary.setCompiledDictionaryCache(getCompiledDictionaryCache());
+					fLocaleDictionaries.put(locale, dictionary);
 				}
 			}
 
@@ -429,7 +467,9 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 				final URL url= new URL("file", null, filePath); //$NON-NLS-1$
 				try (InputStream stream= url.openStream()) {
 					if (stream != null) {
-						fUserDictionary= new PersistentSpellDictionary(url);
+						PersistentSpellDictionary dictionary= new PersistentSpellDictionary(url);
+						dictionary.setCompiledDictionaryCache(getCompiledDictionaryCache());
+						fUserDictionary= dictionary;
 						fChecker.addDictionary(fUserDictionary);
 					}
 				}
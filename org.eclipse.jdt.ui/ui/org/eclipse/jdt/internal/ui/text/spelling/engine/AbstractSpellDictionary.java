@@ -30,6 +30,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -131,6 +132,19 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 */
 	boolean fIsStrippingNonLetters= true;
 
+	/**
+	 * The compiled word lists, <code>null</code> to always use the text loader.
+	 * @since 3.32
+	 */
+	private CompiledSpellDictionaryCache fCompiledDictionaryCache;
+
+	/**
+	 * The compiled word list, <code>null</code> if the word list is in the hash buckets. Words
+	 * added later are in the hash buckets.
+	 * @since 3.32
+	 */
+	private volatile CompiledSpellDictionary fCompiledDictionary;
+
 	/**
 	 * Returns the initial size of dictionary.
 	 *
@@ -149,6 +163,33 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 * @return Array of candidates for the phonetic hash
 	 */
 	protected final Object getCandidates(final String hash) {
+		final Object candidates= getHashBucket(hash);
+		final CompiledSpellDictionary compiled= fCompiledDictionary;
+		if (compiled == null)
+			return candidates;
+
+		final List<byte[]> compiledCandidates= compiled.getCandidates(hash);
+		if (compiledCandidates == null)
+			return candidates;
+		if (candidates instanceof byte[]) {
+			compiledCandidates.add((byte[])candidates);
+		} else if (candidates != null) {
+			@SuppressWarnings("unchecked")
+			final List<byte[]> candidateList= (List<byte[]>)candidates;
+			compiledCandidates.addAll(candidateList);
+		}
+		return compiledCandidates;
+	}
+
+	/**
+	 * Returns the hashed words with the same phonetic hash, without the compiled word list.
+	 *
+	 * @param hash
+	 *                   The hash to retrieve the candidates of
+	 * @return The word, a list of words or <code>null</code>
+	 * @since 3.32
+	 */
+	private Object getHashBucket(final String hash) {
 		ByteArrayWrapper hashBytes;
 		try {
 			hashBytes= new ByteArrayWrapper(hash.getBytes(UTF_8));
@@ -207,7 +248,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 			}
 
 			@SuppressWarnings("unchecked")
-			final ArrayList<byte[]> candidateList= (ArrayList<byte[]>)candidates;
+			final List<byte[]> candidateList= (List<byte[]>)candidates;
 			int candidateSize= Math.min(500, candidateList.size()); // see https://bugs.eclipse.org/bugs/show_bug.cgi?id=195357
 			for (int offset= 0; offset < candidateSize; offset++) {
 
@@ -275,7 +316,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		}
 
 		@SuppressWarnings("unchecked")
-		final ArrayList<byte[]> candidateList= (ArrayList<byte[]>)candidates;
+		final List<byte[]> candidateList= (List<byte[]>)candidates;
 		final ArrayList<RankedWordProposal> matches= new ArrayList<>(candidateList.size());
 
 		for (byte[] element : candidateList) {
@@ -314,7 +355,8 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 * @since 3.3
 	 */
 	protected boolean isEmpty() {
-		return fHashBuckets.isEmpty();
+		final CompiledSpellDictionary compiled= fCompiledDictionary;
+		return fHashBuckets.isEmpty() && (compiled == null || compiled.getWordCount() == 0);
 	}
 
 	/**
@@ -506,7 +548,11 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 			// Do nothing
 		}
 
-		final Object candidates= getCandidates(fHashProvider.getHash(word));
+		final CompiledSpellDictionary compiled= fCompiledDictionary;
+		if (compiled != null && (compiled.contains(word) || compiled.contains(word.toLowerCase())))
+			return true;
+
+		final Object candidates= getHashBucket(fHashProvider.getHash(word));
 		if (candidates == null)
 			return false;
 		else if (candidates instanceof byte[]) {
@@ -589,6 +635,15 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		 if (!fMustLoad)
 			 return fLoaded;
 
+		if (url != null && fCompiledDictionaryCache != null) {
+			CompiledSpellDictionary compiled= fCompiledDictionaryCache.get(url, getEncoding(), fHashProvider);
+			if (compiled != null) {
+				fCompiledDictionary= compiled;
+				fMustLoad= false;
+				return true;
+			}
+		}
+
 		if (url != null) {
 			InputStream stream= null;
 			int line= 0;
@@ -596,6 +651,8 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 				stream= url.openStream();
 				if (stream != null) {
 					String word= null;
+					// the words to compile, hashed only if they cannot be compiled
+					final List<String> words= fCompiledDictionaryCache != null ? new ArrayList<>() : null;
 
 					// Setup a reader with a decoder in order to read over malformed input if needed.
 					CharsetDecoder decoder= Charset.forName(getEncoding()).newDecoder();
@@ -623,10 +680,16 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 								continue;
 							}
 							doRead= word != null;
-							if (doRead)
-								hashWord(word);
+							if (doRead) {
+								if (words != null)
+									words.add(word);
+								else
+									hashWord(word);
+							}
 						}
 					}
+					if (words != null)
+						compile(url, words);
 					return true;
 				}
 			} catch (FileNotFoundException ex) {
@@ -659,6 +722,35 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		return false;
 	}
 
+	/**
+	 * Compiles the word list, or hashes the words if the word list cannot be compiled.
+	 *
+	 * @param url the URL of the word list
+	 * @param words the words of the word list
+	 * @since 3.32
+	 */
+	private void compile(final URL url, final List<String> words) {
+		CompiledSpellDictionary compiled= fCompiledDictionaryCache.compile(url, getEncoding(), fHashProvider, words);
+		if (compiled != null) {
+			fCompiledDictionary= compiled;
+		} else {
+			for (String word : words)
+				hashWord(word);
+		}
+	}
+
+	/**
+	 * Sets the cache of compiled word lists. If set, the word list is compiled after it has been
+	 * loaded the first time, and later loads map the compiled word list instead of hashing the
+	 * words, until the word list changes.
+	 *
+	 * @param cache the cache, or <code>null</code> to hash the words on every load
+	 * @since 3.32
+	 */
+	public final synchronized void setCompiledDictionaryCache(final CompiledSpellDictionaryCache cache) {
+		fCompiledDictionaryCache= cache;
+	}
+
 	/**
 	 * Compacts the dictionary.
 	 *
@@ -698,6 +790,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		fLoaded= false;
 		fMustLoad= true;
 		fHashBuckets.clear();
+		fCompiledDictionary= null;
 	}
 
 	@Override
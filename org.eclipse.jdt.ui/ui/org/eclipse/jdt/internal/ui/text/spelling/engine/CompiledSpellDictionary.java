@@ -0,0 +1,443 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.spelling.engine;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * A read-only word list in a precompiled, memory-mapped file.
+ * <p>
+ * The file contains a minimal acyclic automaton of the words, used to check whether a word is
+ * contained, and a phonetic index, an open addressing hash table from the phonetic hashes to the
+ * words with that hash, used to find proposals. Lookups only decode the parts of the file they
+ * visit, the words are never loaded into the heap. Instances are immutable and can be shared by
+ * several dictionaries and threads.
+ * </p>
+ * <p>
+ * File format, all numbers big-endian:
+ * </p>
+ * <pre>
+ * header:     int MAGIC, int VERSION, string hash provider, string source, long source length,
+ *             long source time stamp, int word count, int automaton length, int root offset,
+ *             int table size, int buckets length
+ * automaton:  state*, where state is int (transitionCount &lt;&lt; 1 | final) followed by
+ *             transitionCount * (char label, int target offset), sorted by label
+ * table:      tableSize * int bucket offset, -1 for an empty slot
+ * buckets:    (string hash, int wordCount, string word * wordCount)*
+ * string:     unsigned short length, UTF-8 bytes
+ * </pre>
+ *
+ * @since 3.32
+ */
+public final class CompiledSpellDictionary {
+
+	private static final int MAGIC= 0x4a444943; // "JDIC"
+	private static final int VERSION= 1;
+
+	private static final int TRANSITION_SIZE= 6;
+	private static final int MAX_STRING_LENGTH= 0xffff;
+
+	/**
+	 * A state of the automaton under construction.
+	 */
+	private static final class State {
+		char[] fLabels= new char[2];
+		State[] fTargets= new State[2];
+		int fCount;
+		boolean fFinal;
+
+		State getLastChild() {
+			return fCount == 0 ? null : fTargets[fCount - 1];
+		}
+
+		void addTransition(char label, State target) {
+			if (fCount == fLabels.length) {
+				fLabels= Arrays.copyOf(fLabels, fCount * 2);
+				fTargets= Arrays.copyOf(fTargets, fCount * 2);
+			}
+			fLabels[fCount]= label;
+			fTargets[fCount]= target;
+			fCount++;
+		}
+
+		@Override
+		public int hashCode() {
+			int hash= fFinal ? 1 : 0;
+			for (int i= 0; i < fCount; i++) {
+				hash= 31 * hash + fLabels[i];
+				hash= 31 * hash + System.identityHashCode(fTargets[i]);
+			}
+			return hash;
+		}
+
+		/*
+		 * Equal states have the same transitions to the same (registered) states.
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof State))
+				return false;
+			State other= (State) obj;
+			if (fFinal != other.fFinal || fCount != other.fCount)
+				return false;
+			for (int i= 0; i < fCount; i++) {
+				if (fLabels[i] != other.fLabels[i] || fTargets[i] != other.fTargets[i])
+					return false;
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Builds a minimal automaton from words in lexicographic order, see Daciuk et al.,
+	 * "Incremental Construction of Minimal Acyclic Finite-State Automata".
+	 */
+	private static final class AutomatonBuilder {
+		private final State fRoot= new State();
+		private final Map<State, State> fRegister= new HashMap<>();
+		private String fPrevious= ""; //$NON-NLS-1$
+
+		void add(String word) {
+			int prefix= 0;
+			int max= Math.min(word.length(), fPrevious.length());
+			while (prefix < max && word.charAt(prefix) == fPrevious.charAt(prefix))
+				prefix++;
+
+			State state= fRoot;
+			for (int i= 0; i < prefix; i++)
+				state= state.getLastChild();
+			if (state.getLastChild() != null)
+				replaceOrRegister(state);
+
+			for (int i= prefix; i < word.length(); i++) {
+				State next= new State();
+				state.addTransition(word.charAt(i), next);
+				state= next;
+			}
+			state.fFinal= true;
+			fPrevious= word;
+		}
+
+		State finish() {
+			if (fRoot.getLastChild() != null)
+				replaceOrRegister(fRoot);
+			return fRoot;
+		}
+
+		private void replaceOrRegister(State state) {
+			State child= state.getLastChild();
+			if (child.getLastChild() != null)
+				replaceOrRegister(child);
+			State registered= fRegister.get(child);
+			if (registered != null) {
+				state.fTargets[state.fCount - 1]= registered;
+			} else {
+				fRegister.put(child, child);
+			}
+		}
+	}
+
+	/**
+	 * Writes a compiled dictionary file.
+	 *
+	 * @param words the words in the order of the word list, may contain duplicates
+	 * @param hashProvider the phonetic hash provider of the dictionary
+	 * @param source the source of the word list, checked by {@link #map(File, IPhoneticHashProvider, String, long, long)}
+	 * @param sourceLength the length of the word list
+	 * @param sourceTimeStamp the time stamp of the word list
+	 * @param file the file to write
+	 * @throws IOException if the file could not be written
+	 */
+	public static void write(List<String> words, IPhoneticHashProvider hashProvider, String source, long sourceLength, long sourceTimeStamp, File file) throws IOException {
+		String[] sorted= words.toArray(new String[words.size()]);
+		Arrays.sort(sorted);
+		AutomatonBuilder builder= new AutomatonBuilder();
+		String previous= null;
+		int wordCount= 0;
+		for (String word : sorted) {
+			if (word.equals(previous))
+				continue;
+			builder.add(word);
+			previous= word;
+			wordCount++;
+		}
+		ByteArrayOutputStream automatonBytes= new ByteArrayOutputStream();
+		DataOutputStream automaton= new DataOutputStream(automatonBytes);
+		int root= writeState(builder.finish(), automaton, new IdentityHashMap<>());
+
+		// the buckets keep the order of the word list, like the hash buckets of AbstractSpellDictionary
+		Map<String, List<String>> buckets= new LinkedHashMap<>();
+		for (String word : words) {
+			if (word.getBytes(StandardCharsets.UTF_8).length > MAX_STRING_LENGTH)
+				continue;
+			String hash= hashProvider.getHash(word);
+			if (hash.getBytes(StandardCharsets.UTF_8).length > MAX_STRING_LENGTH)
+				continue;
+			buckets.computeIfAbsent(hash, h -> new ArrayList<>(AbstractSpellDictionary.BUCKET_CAPACITY)).add(word);
+		}
+		int tableSize= Integer.highestOneBit(Math.max(1, buckets.size()) * 2) * 2;
+		int[] table= new int[tableSize];
+		Arrays.fill(table, -1);
+		ByteArrayOutputStream bucketBytes= new ByteArrayOutputStream();
+		DataOutputStream bucketData= new DataOutputStream(bucketBytes);
+		for (Entry<String, List<String>> entry : buckets.entrySet()) {
+			int slot= mix(entry.getKey().hashCode()) & (tableSize - 1);
+			while (table[slot] != -1)
+				slot= (slot + 1) & (tableSize - 1);
+			table[slot]= bucketData.size();
+			writeString(bucketData, entry.getKey());
+			bucketData.writeInt(entry.getValue().size());
+			for (String word : entry.getValue())
+				writeString(bucketData, word);
+		}
+
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			writeString(out, hashProvider.getClass().getName());
+			writeString(out, source);
+			out.writeLong(sourceLength);
+			out.writeLong(sourceTimeStamp);
+			out.writeInt(wordCount);
+			out.writeInt(automaton.size());
+			out.writeInt(root);
+			out.writeInt(tableSize);
+			out.writeInt(bucketData.size());
+			automatonBytes.writeTo(out);
+			for (int offset : table)
+				out.writeInt(offset);
+			bucketBytes.writeTo(out);
+		}
+	}
+
+	/*
+	 * Writes the targets before the state, such that their offsets are known.
+	 */
+	private static int writeState(State state, DataOutputStream out, Map<State, Integer> offsets) throws IOException {
+		Integer offset= offsets.get(state);
+		if (offset != null)
+			return offset.intValue();
+		int[] targets= new int[state.fCount];
+		for (int i= 0; i < state.fCount; i++)
+			targets[i]= writeState(state.fTargets[i], out, offsets);
+		int result= out.size();
+		out.writeInt(state.fCount << 1 | (state.fFinal ? 1 : 0));
+		for (int i= 0; i < state.fCount; i++) {
+			out.writeChar(state.fLabels[i]);
+			out.writeInt(targets[i]);
+		}
+		offsets.put(state, Integer.valueOf(result));
+		return result;
+	}
+
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		byte[] bytes= string.getBytes(StandardCharsets.UTF_8);
+		out.writeShort(bytes.length);
+		out.write(bytes);
+	}
+
+	private static int mix(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Maps a compiled dictionary file.
+	 *
+	 * @param file the file written by {@link #write(List, IPhoneticHashProvider, String, long, long, File)}
+	 * @param hashProvider the phonetic hash provider of the dictionary
+	 * @param source the source of the word list
+	 * @param sourceLength the current length of the word list
+	 * @param sourceTimeStamp the current time stamp of the word list
+	 * @return the dictionary, or <code>null</code> if the file is not a compiled dictionary of the
+	 *         given word list and hash provider or if the word list has changed
+	 * @throws IOException if the file could not be read
+	 */
+	public static CompiledSpellDictionary map(File file, IPhoneticHashProvider hashProvider, String source, long sourceLength, long sourceTimeStamp) throws IOException {
+		ByteBuffer buffer;
+		try (RandomAccessFile access= new RandomAccessFile(file, "r"); FileChannel channel= access.getChannel()) { //$NON-NLS-1$
+			buffer= channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		try {
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+				return null;
+			String hashProviderName= readString(buffer);
+			if (!hashProviderName.equals(hashProvider.getClass().getName()) || !source.equals(readString(buffer)))
+				return null;
+			if (buffer.getLong() != sourceLength || buffer.getLong() != sourceTimeStamp)
+				return null;
+			int wordCount= buffer.getInt();
+			int automatonLength= buffer.getInt();
+			int root= buffer.getInt();
+			int tableSize= buffer.getInt();
+			int bucketsLength= buffer.getInt();
+			if (Integer.bitCount(tableSize) != 1 || (long) automatonLength + tableSize * 4L + bucketsLength != buffer.remaining())
+				return null;
+			return new CompiledSpellDictionary(buffer.slice(), hashProviderName, source, sourceLength, sourceTimeStamp, wordCount, automatonLength, root, tableSize);
+		} catch (RuntimeException e) {
+			// truncated file
+			return null;
+		}
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		byte[] bytes= new byte[buffer.getShort() & 0xffff];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/** The data after the header, only accessed with absolute gets */
+	private final ByteBuffer fData;
+	private final String fHashProviderName;
+	private final String fSource;
+	private final long fSourceLength;
+	private final long fSourceTimeStamp;
+	private final int fWordCount;
+	private final int fRoot;
+	private final int fTableOffset;
+	private final int fTableSize;
+	private final int fBucketsOffset;
+
+	private CompiledSpellDictionary(ByteBuffer data, String hashProviderName, String source, long sourceLength, long sourceTimeStamp, int wordCount, int automatonLength, int root, int tableSize) {
+		fData= data;
+		fHashProviderName= hashProviderName;
+		fSource= source;
+		fSourceLength= sourceLength;
+		fSourceTimeStamp= sourceTimeStamp;
+		fWordCount= wordCount;
+		fRoot= root;
+		fTableOffset= automatonLength;
+		fTableSize= tableSize;
+		fBucketsOffset= automatonLength + tableSize * 4;
+	}
+
+	/**
+	 * Tells whether this dictionary is the compiled form of a word list.
+	 *
+	 * @param hashProvider the phonetic hash provider of the dictionary
+	 * @param source the source of the word list
+	 * @param sourceLength the current length of the word list
+	 * @param sourceTimeStamp the current time stamp of the word list
+	 * @return <code>true</code> if the word list has not changed since it was compiled with the
+	 *         given hash provider
+	 */
+	public boolean isCompiledFrom(IPhoneticHashProvider hashProvider, String source, long sourceLength, long sourceTimeStamp) {
+		return fHashProviderName.equals(hashProvider.getClass().getName()) && fSource.equals(source) && fSourceLength == sourceLength && fSourceTimeStamp == sourceTimeStamp;
+	}
+
+	/**
+	 * @return the number of distinct words
+	 */
+	public int getWordCount() {
+		return fWordCount;
+	}
+
+	/**
+	 * Tells whether the word list contains a word.
+	 *
+	 * @param word the word
+	 * @return <code>true</code> if the word is contained, <code>false</code> otherwise
+	 */
+	public boolean contains(String word) {
+		if (fWordCount == 0)
+			return false;
+		int state= fRoot;
+		for (int i= 0; i < word.length(); i++) {
+			state= getTarget(state, word.charAt(i));
+			if (state < 0)
+				return false;
+		}
+		return (fData.getInt(state) & 1) != 0;
+	}
+
+	private int getTarget(int state, char label) {
+		int low= 0;
+		int high= (fData.getInt(state) >>> 1) - 1;
+		int transitions= state + 4;
+		while (low <= high) {
+			int middle= (low + high) >>> 1;
+			int transition= transitions + middle * TRANSITION_SIZE;
+			char current= fData.getChar(transition);
+			if (current < label)
+				low= middle + 1;
+			else if (current > label)
+				high= middle - 1;
+			else
+				return fData.getInt(transition + 2);
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the words with a phonetic hash.
+	 *
+	 * @param hash the phonetic hash
+	 * @return the UTF-8 encoded words in the order of the word list, or <code>null</code> if
+	 *         there are none
+	 */
+	public List<byte[]> getCandidates(String hash) {
+		byte[] hashBytes= hash.getBytes(StandardCharsets.UTF_8);
+		int mask= fTableSize - 1;
+		int slot= mix(hash.hashCode()) & mask;
+		while (true) {
+			int bucket= fData.getInt(fTableOffset + slot * 4);
+			if (bucket == -1)
+				return null;
+			int position= fBucketsOffset + bucket;
+			if (matches(position, hashBytes)) {
+				position+= 2 + hashBytes.length;
+				int count= fData.getInt(position);
+				position+= 4;
+				List<byte[]> words= new ArrayList<>(count);
+				for (int i= 0; i < count; i++) {
+					byte[] word= new byte[fData.getShort(position) & 0xffff];
+					position+= 2;
+					for (int j= 0; j < word.length; j++)
+						word[j]= fData.get(position + j);
+					position+= word.length;
+					words.add(word);
+				}
+				return words;
+			}
+			slot= (slot + 1) & mask;
+		}
+	}
+
+	private boolean matches(int position, byte[] bytes) {
+		if ((fData.getShort(position) & 0xffff) != bytes.length)
+			return false;
+		position+= 2;
+		for (int i= 0; i < bytes.length; i++) {
+			if (fData.get(position + i) != bytes[i])
+				return false;
+		}
+		return true;
+	}
+}
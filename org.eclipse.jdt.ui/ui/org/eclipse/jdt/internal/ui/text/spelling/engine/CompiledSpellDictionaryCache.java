@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.spelling.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * Directory of {@link CompiledSpellDictionary compiled dictionaries}, one per word list and
+ * encoding. A word list is compiled after it has been loaded by the text loader of
+ * {@link AbstractSpellDictionary}; later loads map the compiled file instead, until the word list
+ * changes. The mapped dictionaries are shared by all dictionaries with the same word list.
+ *
+ * @since 3.32
+ */
+public final class CompiledSpellDictionaryCache {
+
+	private static final String EXTENSION= ".cdict"; //$NON-NLS-1$
+
+	private final File fDirectory;
+
+	/** The mapped dictionaries by source */
+	private final Map<String, CompiledSpellDictionary> fDictionaries= new HashMap<>();
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param directory the directory of the compiled files, created when needed
+	 */
+	public CompiledSpellDictionaryCache(File directory) {
+		fDirectory= directory;
+	}
+
+	/**
+	 * Returns the compiled dictionary of a word list.
+	 *
+	 * @param url the URL of the word list
+	 * @param encoding the encoding of the word list
+	 * @param hashProvider the phonetic hash provider of the dictionary
+	 * @return the dictionary, or <code>null</code> if the word list has not been compiled or has
+	 *         changed since
+	 */
+	public synchronized CompiledSpellDictionary get(URL url, String encoding, IPhoneticHashProvider hashProvider) {
+		String source= getSource(url, encoding);
+		long[] stamp= getStamp(url);
+		if (stamp == null)
+			return null;
+		CompiledSpellDictionary dictionary= fDictionaries.get(source);
+		if (dictionary != null && dictionary.isCompiledFrom(hashProvider, source, stamp[0], stamp[1]))
+			return dictionary;
+
+		File file= getFile(source, stamp);
+		if (!file.isFile())
+			return null;
+		try {
+			dictionary= CompiledSpellDictionary.map(file, hashProvider, source, stamp[0], stamp[1]);
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+			return null;
+		}
+		if (dictionary != null)
+			fDictionaries.put(source, dictionary);
+		return dictionary;
+	}
+
+	/**
+	 * Compiles a word list and returns the compiled dictionary.
+	 *
+	 * @param url the URL of the word list
+	 * @param encoding the encoding of the word list
+	 * @param hashProvider the phonetic hash provider of the dictionary
+	 * @param words the words of the word list, in the order of the list
+	 * @return the dictionary, or <code>null</code> if it could not be compiled
+	 */
+	public synchronized CompiledSpellDictionary compile(URL url, String encoding, IPhoneticHashProvider hashProvider, List<String> words) {
+		String source= getSource(url, encoding);
+		long[] stamp= getStamp(url);
+		if (stamp == null)
+			return null;
+		if (!fDirectory.isDirectory() && !fDirectory.mkdirs())
+			return null;
+		File file= getFile(source, stamp);
+		deleteStaleFiles(source, file);
+		try {
+			File temp= File.createTempFile("dictionary", ".tmp", fDirectory); //$NON-NLS-1$ //$NON-NLS-2$
+			try {
+				CompiledSpellDictionary.write(words, hashProvider, source, stamp[0], stamp[1], temp);
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			} finally {
+				temp.delete();
+			}
+			CompiledSpellDictionary dictionary= CompiledSpellDictionary.map(file, hashProvider, source, stamp[0], stamp[1]);
+			if (dictionary != null)
+				fDictionaries.put(source, dictionary);
+			return dictionary;
+		} catch (IOException e) {
+			JavaPlugin.log(e);
+			return null;
+		}
+	}
+
+	private static String getSource(URL url, String encoding) {
+		return url.toExternalForm() + '|' + encoding;
+	}
+
+	/**
+	 * @return the length and time stamp of the word list, or <code>null</code> if unknown
+	 */
+	private static long[] getStamp(URL url) {
+		try {
+			URLConnection connection= url.openConnection();
+			long length= connection.getContentLengthLong();
+			if (length < 0) // some connections only implement the int variant
+				length= connection.getContentLength();
+			long timeStamp= connection.getLastModified();
+			connection.getInputStream().close();
+			if (length < 0)
+				return null;
+			return new long[] { length, timeStamp };
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	private File getFile(String source, long[] stamp) {
+		String name= getPrefix(source) + Long.toHexString(stamp[0] * 31 + stamp[1]) + EXTENSION;
+		return new File(fDirectory, name);
+	}
+
+	private static String getPrefix(String source) {
+		return Integer.toHexString(source.hashCode()) + '_';
+	}
+
+	/*
+	 * Files of older versions of the word list. Mapped files cannot be deleted on some platforms,
+	 * they are deleted by a later compile.
+	 */
+	private void deleteStaleFiles(String source, File current) {
+		String prefix= getPrefix(source);
+		File[] files= fDirectory.listFiles((dir, name) -> name.startsWith(prefix) && name.endsWith(EXTENSION));
+		if (files == null)
+			return;
+		for (File file : files) {
+			if (!file.equals(current))
+				file.delete();
+		}
+	}
+}
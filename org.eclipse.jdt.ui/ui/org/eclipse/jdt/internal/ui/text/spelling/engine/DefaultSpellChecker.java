@@ -17,7 +17,10 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.Assert;
 
@@ -146,6 +149,37 @@ public class DefaultSpellChecker implements ISpellChecker {
 	 */
 	private Locale fLocale;
 
+	/**
+	 * The modification stamp.
+	 * @since 3.32
+	 */
+	private final AtomicInteger fModificationStamp= new AtomicInteger();
+
+	/**
+	 * The results of {@link #isCorrect(String)} in {@link #execute(ISpellEventListener, ISpellCheckIterator)},
+	 * valid for {@link #fCachedStamp} and {@link #fCachedStripNonLetters}.
+	 * @since 3.32
+	 */
+	private final Map<String, Boolean> fCorrectWords= new ConcurrentHashMap<>();
+
+	/**
+	 * The modification stamp of the cached results.
+	 * @since 3.32
+	 */
+	private volatile int fCachedStamp;
+
+	/**
+	 * The strip non-letters setting of the cached results.
+	 * @since 3.32
+	 */
+	private volatile boolean fCachedStripNonLetters;
+
+	/**
+	 * The maximum number of cached results.
+	 * @since 3.32
+	 */
+	private static final int MAX_CACHED_WORDS= 20000;
+
 	/**
 	 * Creates a new default spell checker.
 	 *
@@ -164,6 +198,7 @@ public class DefaultSpellChecker implements ISpellChecker {
 	public final void addDictionary(final ISpellDictionary dictionary) {
 		// synchronizing is necessary as this is a write access
 		fDictionaries.add(dictionary);
+		fModificationStamp.incrementAndGet();
 	}
 
 	@Override
@@ -197,6 +232,7 @@ public class DefaultSpellChecker implements ISpellChecker {
 			if (dictionary.acceptsWords())
 				dictionary.addWord(addable);
 		}
+		fModificationStamp.incrementAndGet();
 
 	}
 
@@ -204,6 +240,7 @@ public class DefaultSpellChecker implements ISpellChecker {
 	public final void checkWord(final String word) {
 		// synchronizing is necessary as this is a write access
 		fIgnored.remove(word.toLowerCase());
+		fModificationStamp.incrementAndGet();
 	}
 
 	@Override
@@ -224,6 +261,13 @@ public class DefaultSpellChecker implements ISpellChecker {
 		while (iter.hasNext())
 			iter.next().setStripNonLetters(ignoreNonLetters);
 
+		int stamp= fModificationStamp.get();
+		if (stamp != fCachedStamp || ignoreNonLetters != fCachedStripNonLetters || fCorrectWords.size() > MAX_CACHED_WORDS) {
+			fCorrectWords.clear();
+			fCachedStamp= stamp;
+			fCachedStripNonLetters= ignoreNonLetters;
+		}
+
 		String word= null;
 		boolean starts= false;
 		int problemCount= 0;
@@ -237,7 +281,7 @@ public class DefaultSpellChecker implements ISpellChecker {
 				if (!fIgnored.contains(word)) {
 
 					starts= iterator.startsSentence();
-					if (!isCorrect(word)) {
+					if (!isCorrectCached(word)) {
 
 						boolean isMixed=  isMixedCase(word, true);
 						boolean isUpper= isUpperCase(word);
@@ -284,6 +328,7 @@ public class DefaultSpellChecker implements ISpellChecker {
 	public final void ignoreWord(final String word) {
 		// synchronizing is necessary as this is a write access
 		fIgnored.add(word.toLowerCase());
+		fModificationStamp.incrementAndGet();
 	}
 
 	@Override
@@ -304,14 +349,37 @@ public class DefaultSpellChecker implements ISpellChecker {
 		return false;
 	}
 
+	/**
+	 * Returns whether a word is correctly spelled, using the results of earlier calls while the
+	 * dictionaries and ignored words are unchanged.
+	 *
+	 * @param word the word
+	 * @return <code>true</code> iff the word is correctly spelled
+	 * @since 3.32
+	 */
+	private boolean isCorrectCached(final String word) {
+		Boolean correct= fCorrectWords.get(word);
+		if (correct == null) {
+			correct= Boolean.valueOf(isCorrect(word));
+			fCorrectWords.put(word, correct);
+		}
+		return correct.booleanValue();
+	}
+
 	@Override
 	public final void removeDictionary(final ISpellDictionary dictionary) {
 		// synchronizing is necessary as this is a write access
 		fDictionaries.remove(dictionary);
+		fModificationStamp.incrementAndGet();
 	}
 
 	@Override
 	public Locale getLocale() {
 		return fLocale;
 	}
+
+	@Override
+	public int getModificationStamp() {
+		return fModificationStamp.get();
+	}
 }
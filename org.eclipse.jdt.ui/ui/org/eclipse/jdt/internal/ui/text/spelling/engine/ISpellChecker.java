@@ -110,4 +110,14 @@ public interface ISpellChecker {
 	 * @since 3.3
 	 */
 	Locale getLocale();
+
+	/**
+	 * Returns the modification stamp of this spell checker. The stamp changes whenever
+	 * dictionaries are added or removed, words are added, or words are ignored or checked again.
+	 * Results of earlier checks remain valid while the stamp is unchanged.
+	 *
+	 * @return the modification stamp
+	 * @since 3.32
+	 */
+	int getModificationStamp();
 }
@@ -0,0 +1,436 @@
+/*******************************************************************************
+ * Copyright (c) 2024 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.typehierarchy;
+
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.ITypeHierarchyChangedListener;
+import org.eclipse.jdt.core.JavaModelException;
+
+import org.eclipse.jdt.ui.JavaUI;
+
+/**
+ * A copy of a type hierarchy in which the supertypes of single types have been replaced, so that
+ * a change of the supertypes of a type does not require to compute the whole hierarchy again. The
+ * subtree of a patched type moves with it. In the hierarchy of a focus type, the types that are
+ * no longer connected to the focus type are removed.
+ * <p>
+ * {@link #patch(Map)} returns a new hierarchy, patches never modify an existing one. This
+ * hierarchy never notifies its listeners, changes are tracked by the {@link TypeHierarchyLifeCycle}.
+ * {@link #refresh(IProgressMonitor)} drops the patches, and a patched hierarchy cannot be
+ * {@linkplain #store(OutputStream, IProgressMonitor) stored}.
+ * </p>
+ * <p>
+ * {@link ITypeHierarchy} is not intended to be implemented by clients. This implementation only
+ * lives in the type hierarchy view, which hands its hierarchy to {@link
+ * org.eclipse.jdt.internal.corext.util.MethodOverrideTester} and {@link
+ * org.eclipse.jdt.internal.corext.util.JavaModelUtil#isSuperType(ITypeHierarchy, IType, IType)}.
+ * It is never passed to JDT Core, so the API problem is filtered.
+ * </p>
+ */
+public final class PatchedTypeHierarchy implements ITypeHierarchy {
+
+	private static final IType[] NO_TYPES= new IType[0];
+
+	private static final class Node {
+
+		IType fSuperclass;
+
+		IType[] fSuperInterfaces;
+
+		int fFlags;
+
+		final Set<IType> fSubtypes;
+
+		Node(IType superclass, IType[] superInterfaces, int flags) {
+			fSuperclass= superclass;
+			fSuperInterfaces= superInterfaces;
+			fFlags= flags;
+			fSubtypes= new LinkedHashSet<>();
+		}
+
+		Node(Node other) {
+			fSuperclass= other.fSuperclass;
+			fSuperInterfaces= other.fSuperInterfaces;
+			fFlags= other.fFlags;
+			fSubtypes= new LinkedHashSet<>(other.fSubtypes);
+		}
+
+		List<IType> getSupertypes() {
+			List<IType> result= new ArrayList<>(fSuperInterfaces.length + 1);
+			if (fSuperclass != null)
+				result.add(fSuperclass);
+			for (IType superInterface : fSuperInterfaces)
+				result.add(superInterface);
+			return result;
+		}
+
+		boolean isInterface() {
+			return fFlags != -1 && Flags.isInterface(fFlags);
+		}
+	}
+
+	private final ITypeHierarchy fBase;
+
+	private final IType fFocus;
+
+	private final boolean fIsSuperTypesOnly;
+
+	private final Map<IType, Node> fNodes;
+
+	/** <code>true</code> if the supertypes of a type have been replaced */
+	private boolean fPatched;
+
+	/**
+	 * Creates a copy of a type hierarchy.
+	 *
+	 * @param base the hierarchy computed by the Java model
+	 * @param isSuperTypesOnly <code>true</code> if the hierarchy only contains the supertypes of
+	 *            its focus type
+	 */
+	public PatchedTypeHierarchy(ITypeHierarchy base, boolean isSuperTypesOnly) {
+		fBase= base;
+		fFocus= base.getType();
+		fIsSuperTypesOnly= isSuperTypesOnly;
+		fNodes= new LinkedHashMap<>();
+		copyBase();
+	}
+
+	private PatchedTypeHierarchy(PatchedTypeHierarchy other) {
+		fBase= other.fBase;
+		fFocus= other.fFocus;
+		fIsSuperTypesOnly= other.fIsSuperTypesOnly;
+		fPatched= other.fPatched;
+		fNodes= new LinkedHashMap<>(other.fNodes.size() * 2);
+		for (Map.Entry<IType, Node> entry : other.fNodes.entrySet())
+			fNodes.put(entry.getKey(), new Node(entry.getValue()));
+	}
+
+	private void copyBase() {
+		fNodes.clear();
+		for (IType type : fBase.getAllTypes()) {
+			IType superclass= fBase.getSuperclass(type);
+			IType[] superInterfaces= fBase.getSuperInterfaces(type);
+			fNodes.put(type, new Node(superclass, superInterfaces != null ? superInterfaces : NO_TYPES, fBase.getCachedFlags(type)));
+		}
+		if (fFocus != null && !fNodes.containsKey(fFocus))
+			fNodes.put(fFocus, new Node(null, NO_TYPES, fBase.getCachedFlags(fFocus)));
+		for (Map.Entry<IType, Node> entry : fNodes.entrySet()) {
+			for (IType supertype : entry.getValue().getSupertypes()) {
+				Node node= fNodes.get(supertype);
+				if (node != null)
+					node.fSubtypes.add(entry.getKey());
+			}
+		}
+	}
+
+	/**
+	 * Returns a hierarchy in which the supertypes of the given types are replaced.
+	 *
+	 * @param supertypeHierarchies the types whose supertypes have changed, each mapped to its
+	 *            new supertype hierarchy. The types must be contained in this hierarchy.
+	 * @return the patched hierarchy
+	 */
+	public PatchedTypeHierarchy patch(Map<IType, ITypeHierarchy> supertypeHierarchies) {
+		PatchedTypeHierarchy result= new PatchedTypeHierarchy(this);
+		for (Map.Entry<IType, ITypeHierarchy> entry : supertypeHierarchies.entrySet())
+			result.replaceSupertypes(entry.getKey(), entry.getValue());
+		result.removeDisconnectedTypes();
+		result.fPatched= true;
+		return result;
+	}
+
+	private void replaceSupertypes(IType type, ITypeHierarchy supertypeHierarchy) {
+		Node node= fNodes.get(type);
+		if (node == null)
+			return;
+		for (IType supertype : node.getSupertypes()) {
+			Node superNode= fNodes.get(supertype);
+			if (superNode != null)
+				superNode.fSubtypes.remove(type);
+		}
+		IType[] superInterfaces= supertypeHierarchy.getSuperInterfaces(type);
+		node.fSuperclass= supertypeHierarchy.getSuperclass(type);
+		node.fSuperInterfaces= superInterfaces != null ? superInterfaces : NO_TYPES;
+		node.fFlags= supertypeHierarchy.getCachedFlags(type);
+		for (IType supertype : node.getSupertypes())
+			addSupertype(supertype, type, supertypeHierarchy);
+	}
+
+	/**
+	 * Adds a supertype and, if it is not yet in the hierarchy, its own supertypes.
+	 */
+	private void addSupertype(IType supertype, IType subtype, ITypeHierarchy supertypeHierarchy) {
+		Node node= fNodes.get(supertype);
+		if (node == null) {
+			IType[] superInterfaces= supertypeHierarchy.getSuperInterfaces(supertype);
+			node= new Node(supertypeHierarchy.getSuperclass(supertype), superInterfaces != null ? superInterfaces : NO_TYPES, supertypeHierarchy.getCachedFlags(supertype));
+			fNodes.put(supertype, node);
+			for (IType superSupertype : node.getSupertypes())
+				addSupertype(superSupertype, supertype, supertypeHierarchy);
+		}
+		node.fSubtypes.add(subtype);
+	}
+
+	/**
+	 * In the hierarchy of a focus type, keeps only the supertypes of the focus type, its subtypes
+	 * and their supertypes. A hierarchy on a region keeps all types.
+	 */
+	private void removeDisconnectedTypes() {
+		if (fFocus == null)
+			return;
+		Set<IType> connected= new HashSet<>();
+		collectSupertypes(fFocus, connected);
+		if (!fIsSuperTypesOnly) {
+			for (IType subtype : collectSubtypes(fFocus))
+				collectSupertypes(subtype, connected);
+		}
+		if (connected.size() == fNodes.size())
+			return;
+		fNodes.keySet().retainAll(connected);
+		for (Node node : fNodes.values())
+			node.fSubtypes.retainAll(connected);
+	}
+
+	private void collectSupertypes(IType type, Set<IType> result) {
+		Deque<IType> queue= new ArrayDeque<>();
+		queue.add(type);
+		while (!queue.isEmpty()) {
+			IType curr= queue.removeFirst();
+			Node node= fNodes.get(curr);
+			if (node != null && result.add(curr))
+				queue.addAll(node.getSupertypes());
+		}
+	}
+
+	private Set<IType> collectSubtypes(IType type) {
+		Set<IType> result= new LinkedHashSet<>();
+		Deque<IType> queue= new ArrayDeque<>();
+		queue.add(type);
+		while (!queue.isEmpty()) {
+			Node node= fNodes.get(queue.removeFirst());
+			if (node != null) {
+				for (IType subtype : node.fSubtypes) {
+					if (result.add(subtype))
+						queue.add(subtype);
+				}
+			}
+		}
+		return result;
+	}
+
+	private IType[] filter(Iterable<IType> types, boolean interfaces) {
+		List<IType> result= new ArrayList<>();
+		for (IType type : types) {
+			Node node= fNodes.get(type);
+			if (node != null && node.isInterface() == interfaces)
+				result.add(type);
+		}
+		return result.toArray(new IType[result.size()]);
+	}
+
+	private static IType[] toArray(Set<IType> types) {
+		return types.toArray(new IType[types.size()]);
+	}
+
+	@Override
+	public void addTypeHierarchyChangedListener(ITypeHierarchyChangedListener listener) {
+		// changes are tracked by the life cycle
+	}
+
+	@Override
+	public void removeTypeHierarchyChangedListener(ITypeHierarchyChangedListener listener) {
+		// changes are tracked by the life cycle
+	}
+
+	@Override
+	public boolean contains(IType type) {
+		return fNodes.containsKey(type);
+	}
+
+	@Override
+	public boolean exists() {
+		return fFocus == null || fFocus.exists();
+	}
+
+	@Override
+	public IType[] getAllClasses() {
+		return filter(fNodes.keySet(), false);
+	}
+
+	@Override
+	public IType[] getAllInterfaces() {
+		return filter(fNodes.keySet(), true);
+	}
+
+	@Override
+	public IType[] getAllSubtypes(IType type) {
+		return toArray(collectSubtypes(type));
+	}
+
+	@Override
+	public IType[] getAllSuperclasses(IType type) {
+		List<IType> result= new ArrayList<>();
+		Set<IType> seen= new HashSet<>();
+		IType superclass= getSuperclass(type);
+		while (superclass != null && seen.add(superclass)) {
+			result.add(superclass);
+			superclass= getSuperclass(superclass);
+		}
+		return result.toArray(new IType[result.size()]);
+	}
+
+	@Override
+	public IType[] getAllSuperInterfaces(IType type) {
+		Set<IType> supertypes= new LinkedHashSet<>();
+		collectSupertypes(type, supertypes);
+		supertypes.remove(type);
+		return filter(supertypes, true);
+	}
+
+	@Override
+	public IType[] getAllSupertypes(IType type) {
+		Set<IType> supertypes= new LinkedHashSet<>();
+		collectSupertypes(type, supertypes);
+		supertypes.remove(type);
+		return toArray(supertypes);
+	}
+
+	@Override
+	public IType[] getAllTypes() {
+		return toArray(fNodes.keySet());
+	}
+
+	@Override
+	public int getCachedFlags(IType type) {
+		Node node= fNodes.get(type);
+		return node != null ? node.fFlags : -1;
+	}
+
+	@Override
+	public IType[] getExtendingInterfaces(IType type) {
+		Node node= fNodes.get(type);
+		if (node == null || !node.isInterface())
+			return NO_TYPES;
+		return filter(node.fSubtypes, true);
+	}
+
+	@Override
+	public IType[] getImplementingClasses(IType type) {
+		Node node= fNodes.get(type);
+		if (node == null || !node.isInterface())
+			return NO_TYPES;
+		return filter(node.fSubtypes, false);
+	}
+
+	@Override
+	public IType[] getRootClasses() {
+		List<IType> result= new ArrayList<>();
+		for (Map.Entry<IType, Node> entry : fNodes.entrySet()) {
+			Node node= entry.getValue();
+			if (!node.isInterface() && node.fSuperclass == null)
+				result.add(entry.getKey());
+		}
+		return result.toArray(new IType[result.size()]);
+	}
+
+	@Override
+	public IType[] getRootInterfaces() {
+		List<IType> result= new ArrayList<>();
+		for (Map.Entry<IType, Node> entry : fNodes.entrySet()) {
+			Node node= entry.getValue();
+			if (node.isInterface() && node.fSuperInterfaces.length == 0)
+				result.add(entry.getKey());
+		}
+		return result.toArray(new IType[result.size()]);
+	}
+
+	@Override
+	public IType[] getSubclasses(IType type) {
+		Node node= fNodes.get(type);
+		if (node == null || node.isInterface())
+			return NO_TYPES;
+		return filter(node.fSubtypes, false);
+	}
+
+	@Override
+	public IType[] getSubtypes(IType type) {
+		Node node= fNodes.get(type);
+		return node != null ? toArray(node.fSubtypes) : NO_TYPES;
+	}
+
+	@Override
+	public IType getSuperclass(IType type) {
+		Node node= fNodes.get(type);
+		return node != null ? node.fSuperclass : null;
+	}
+
+	@Override
+	public IType[] getSuperInterfaces(IType type) {
+		Node node= fNodes.get(type);
+		return node != null ? node.fSuperInterfaces.clone() : NO_TYPES;
+	}
+
+	@Override
+	public IType[] getSupertypes(IType type) {
+		Node node= fNodes.get(type);
+		if (node == null)
+			return NO_TYPES;
+		List<IType> supertypes= node.getSupertypes();
+		return supertypes.toArray(new IType[supertypes.size()]);
+	}
+
+	@Override
+	public IType getType() {
+		return fFocus;
+	}
+
+	/**
+	 * Recomputes the hierarchy this copy was created from and drops the patches.
+	 */
+	@Override
+	public void refresh(IProgressMonitor monitor) throws JavaModelException {
+		fBase.refresh(monitor);
+		copyBase();
+		fPatched= false;
+	}
+
+	/**
+	 * Stores the hierarchy this copy was created from. Fails if the hierarchy has been patched,
+	 * as the stored hierarchy would not contain the patches.
+	 */
+	@Override
+	public void store(OutputStream outputStream, IProgressMonitor monitor) throws JavaModelException {
+		if (fPatched)
+			throw new JavaModelException(new CoreException(new Status(IStatus.ERROR, JavaUI.ID_PLUGIN, "A patched type hierarchy cannot be stored, refresh it first"))); //$NON-NLS-1$
+		fBase.store(outputStream, monitor);
+	}
+}
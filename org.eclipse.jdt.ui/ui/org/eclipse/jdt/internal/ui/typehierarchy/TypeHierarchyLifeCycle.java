@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,7 +16,12 @@ package org.eclipse.jdt.internal.ui.typehierarchy;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.swt.widgets.Display;
 
@@ -53,11 +58,78 @@ import org.eclipse.jdt.internal.ui.JavaPlugin;
 
 /**
  * Manages a type hierarchy, to keep it refreshed, and to allow it to be shared.
+ * <p>
+ * When a change of the Java model only changes the supertypes of types in the hierarchy, the
+ * hierarchy is not computed again. Instead the supertypes of the changed types are computed and
+ * patched into a {@link PatchedTypeHierarchy}. All other changes that affect the hierarchy lead to
+ * a full refresh.
+ * </p>
  */
 public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IElementChangedListener {
 
 	private boolean fHierarchyRefreshNeeded;
 	private ITypeHierarchy fHierarchy;
+
+	/**
+	 * The hierarchy computed by the Java model. Equal to {@link #fHierarchy} unless the hierarchy
+	 * has been patched.
+	 *
+	 * @since 3.32
+	 */
+	private ITypeHierarchy fBaseHierarchy;
+
+	/**
+	 * Listens to the base hierarchy. The base hierarchy only reports its first change after it
+	 * has been computed, later changes are detected by {@link #elementChanged(ElementChangedEvent)}.
+	 *
+	 * @since 3.32
+	 */
+	private final ITypeHierarchyChangedListener fBaseHierarchyListener= this::baseHierarchyChanged;
+
+	/**
+	 * Tells whether the base hierarchy has reported a change since it was last computed.
+	 *
+	 * @since 3.32
+	 */
+	private volatile boolean fBaseHierarchyStale;
+
+	/**
+	 * Tells whether the base hierarchy has reported a change for the event that is being
+	 * delivered.
+	 *
+	 * @since 3.32
+	 */
+	private volatile boolean fBaseHierarchyChangedInEvent;
+
+	/**
+	 * The types whose supertypes have changed since the hierarchy was last refreshed, guarded by
+	 * <code>this</code>.
+	 *
+	 * @since 3.32
+	 */
+	private final Set<IType> fPatchTypes= new LinkedHashSet<>();
+
+	/**
+	 * Tells whether a change has been found that cannot be patched, guarded by <code>this</code>.
+	 *
+	 * @since 3.32
+	 */
+	private boolean fFullRefreshNeeded;
+
+	/**
+	 * The simple names of the types in the hierarchy, or <code>null</code> if not computed yet.
+	 *
+	 * @since 3.32
+	 */
+	private Set<String> fTypeNames;
+
+	/**
+	 * The compilation units that declare types of the hierarchy, or <code>null</code> if not
+	 * computed yet.
+	 *
+	 * @since 3.32
+	 */
+	private Set<ICompilationUnit> fCompilationUnits;
 	private IJavaElement[] fInputElements;
 	private boolean fIsSuperTypesOnly;
 
@@ -119,10 +191,14 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 
 	public void freeHierarchy() {
 		if (fHierarchy != null) {
-			fHierarchy.removeTypeHierarchyChangedListener(this);
+			fBaseHierarchy.removeTypeHierarchyChangedListener(fBaseHierarchyListener);
 			JavaCore.removeElementChangedListener(this);
 			fHierarchy= null;
+			fBaseHierarchy= null;
+			fTypeNames= null;
+			fCompilationUnits= null;
 			fInputElements= null;
+			fBaseHierarchyStale= false;
 		}
 		synchronized (this) {
 			if (fRefreshHierarchyJob != null) {
@@ -269,7 +345,7 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 	 * @since 3.6
 	 */
 	protected void doHierarchyRefreshBackground(final IJavaElement[] elements, final IProgressMonitor pm) throws JavaModelException {
-		doHierarchyRefresh(elements, pm);
+		boolean patched= refreshHierarchy(elements, pm);
 		if (!pm.isCanceled()) {
 			Display.getDefault().asyncExec(() -> {
 				synchronized (TypeHierarchyLifeCycle.this) {
@@ -281,8 +357,12 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 				if (pm.isCanceled())
 					return;
 				JavaCore.runReadOnly(() -> {
-					fTypeHierarchyViewPart.setViewersInput();
-					fTypeHierarchyViewPart.updateViewers();
+					if (patched) {
+						fTypeHierarchyViewPart.refreshViewers();
+					} else {
+						fTypeHierarchyViewPart.setViewersInput();
+						fTypeHierarchyViewPart.updateViewers();
+					}
 				});
 			});
 		}
@@ -316,27 +396,132 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 
 
 	public void doHierarchyRefresh(IJavaElement[] elements, IProgressMonitor pm) throws JavaModelException {
+		refreshHierarchy(elements, pm);
+	}
+
+	/**
+	 * Computes, refreshes or patches the hierarchy.
+	 *
+	 * @param elements the java elements on which the hierarchy is computed
+	 * @param pm the progress monitor
+	 * @return <code>true</code> if the existing hierarchy has been patched
+	 * @throws JavaModelException if the hierarchy cannot be computed
+	 * @since 3.32
+	 */
+	private boolean refreshHierarchy(IJavaElement[] elements, IProgressMonitor pm) throws JavaModelException {
 		boolean hierachyCreationNeeded= (fHierarchy == null || !Arrays.equals(elements, fInputElements));
 		// to ensure the order of the two listeners always remove / add listeners on operations
 		// on type hierarchies
-		if (fHierarchy != null) {
-			fHierarchy.removeTypeHierarchyChangedListener(this);
+		if (fBaseHierarchy != null) {
+			fBaseHierarchy.removeTypeHierarchyChangedListener(fBaseHierarchyListener);
 			JavaCore.removeElementChangedListener(this);
 		}
-		if (hierachyCreationNeeded) {
-			fHierarchy= createTypeHierarchy(elements, pm);
-			if (pm != null && pm.isCanceled()) {
-				throw new OperationCanceledException();
+		Set<IType> patchTypes= takePatchTypes();
+		boolean patched= false;
+		try {
+			if (hierachyCreationNeeded) {
+				ITypeHierarchy hierarchy= createTypeHierarchy(elements, pm);
+				if (pm != null && pm.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				fBaseHierarchy= hierarchy;
+				fHierarchy= hierarchy;
+				fInputElements= elements;
+				fBaseHierarchyStale= false;
+			} else if (patchTypes != null && patchHierarchy(patchTypes, pm)) {
+				patched= true;
+			} else {
+				fBaseHierarchy.refresh(pm);
+				if (pm != null && pm.isCanceled())
+					throw new OperationCanceledException();
+				fHierarchy= fBaseHierarchy;
+				fBaseHierarchyStale= false;
 			}
-			fInputElements= elements;
+		} catch (OperationCanceledException | JavaModelException e) {
+			if (patchTypes != null)
+				restorePatchTypes(patchTypes);
+			throw e;
+		} finally {
+			fTypeNames= null;
+			fCompilationUnits= null;
+			if (fBaseHierarchy != null) {
+				fBaseHierarchy.addTypeHierarchyChangedListener(fBaseHierarchyListener);
+				JavaCore.addElementChangedListener(this);
+			}
+		}
+		fHierarchyRefreshNeeded= false;
+		return patched;
+	}
+
+	/**
+	 * Replaces the supertypes of the given types in the hierarchy.
+	 *
+	 * @param types the types whose supertypes have changed
+	 * @param pm the progress monitor
+	 * @return <code>false</code> if the hierarchy must be refreshed instead
+	 * @throws JavaModelException if the supertypes cannot be computed
+	 * @since 3.32
+	 */
+	private boolean patchHierarchy(Set<IType> types, IProgressMonitor pm) throws JavaModelException {
+		PatchedTypeHierarchy hierarchy;
+		if (fHierarchy instanceof PatchedTypeHierarchy) {
+			hierarchy= (PatchedTypeHierarchy) fHierarchy;
 		} else {
-			fHierarchy.refresh(pm);
+			hierarchy= new PatchedTypeHierarchy(fHierarchy, fIsSuperTypesOnly);
+		}
+		Map<IType, ITypeHierarchy> supertypeHierarchies= new LinkedHashMap<>();
+		for (IType type : types) {
+			if (!type.exists() || !hierarchy.contains(type))
+				return false;
+			supertypeHierarchies.put(type, type.newSupertypeHierarchy(pm));
 			if (pm != null && pm.isCanceled())
 				throw new OperationCanceledException();
 		}
-		fHierarchy.addTypeHierarchyChangedListener(this);
-		JavaCore.addElementChangedListener(this);
-		fHierarchyRefreshNeeded= false;
+		fHierarchy= hierarchy.patch(supertypeHierarchies);
+		return true;
+	}
+
+	/**
+	 * Returns the types to patch and resets the pending changes.
+	 *
+	 * @return the types to patch, or <code>null</code> if the hierarchy has to be refreshed
+	 * @since 3.32
+	 */
+	private synchronized Set<IType> takePatchTypes() {
+		Set<IType> result= fFullRefreshNeeded || fPatchTypes.isEmpty() ? null : new LinkedHashSet<>(fPatchTypes);
+		fPatchTypes.clear();
+		fFullRefreshNeeded= false;
+		return result;
+	}
+
+	private synchronized void restorePatchTypes(Set<IType> types) {
+		if (!fFullRefreshNeeded)
+			fPatchTypes.addAll(types);
+	}
+
+	/**
+	 * Drops the pending patches, the next refresh recomputes the hierarchy.
+	 *
+	 * @return <code>false</code> if a full refresh was already pending
+	 */
+	private synchronized boolean requestFullRefresh() {
+		boolean wasNeeded= fFullRefreshNeeded;
+		fFullRefreshNeeded= true;
+		fPatchTypes.clear();
+		return !wasNeeded;
+	}
+
+	/**
+	 * Adds types whose supertypes need to be patched.
+	 *
+	 * @param types the types
+	 * @return <code>false</code> if a full refresh is already pending
+	 */
+	private synchronized boolean requestPatch(Set<IType> types) {
+		if (fFullRefreshNeeded)
+			return false;
+		fPatchTypes.addAll(types);
+		return true;
 	}
 
 	/*
@@ -344,10 +529,27 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 	 */
 	@Override
 	public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
+		requestFullRefresh();
 	 	fHierarchyRefreshNeeded= true;
  		fireChange(null);
 	}
 
+	/**
+	 * Called when the base hierarchy reports a change. The change is classified by
+	 * {@link #elementChanged(ElementChangedEvent)}, which is notified after the hierarchy.
+	 *
+	 * @param typeHierarchy the base hierarchy
+	 * @since 3.32
+	 */
+	private void baseHierarchyChanged(ITypeHierarchy typeHierarchy) {
+		fBaseHierarchyStale= true;
+		if (fChangeListeners.isEmpty()) {
+			typeHierarchyChanged(typeHierarchy);
+		} else {
+			fBaseHierarchyChangedInEvent= true;
+		}
+	}
+
 	/*
 	 * @see IElementChangedListener#elementChanged(ElementChangedEvent)
 	 */
@@ -357,6 +559,12 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 			return;
 		}
 
+		boolean baseHierarchyChanged= fBaseHierarchyChangedInEvent;
+		fBaseHierarchyChangedInEvent= false;
+		if (fBaseHierarchyStale && fHierarchy != null && processHierarchyDelta(event.getDelta(), baseHierarchyChanged)) {
+			return;
+		}
+
 		if (fHierarchyRefreshNeeded) {
 			return;
 		} else {
@@ -416,6 +624,172 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 		}
 	}
 
+	/**
+	 * Looks for changes of the hierarchy once the base hierarchy no longer reports them, and
+	 * decides whether they can be patched.
+	 *
+	 * @param delta the delta
+	 * @param baseHierarchyChanged <code>true</code> if the base hierarchy has reported a change
+	 *            for this delta
+	 * @return <code>true</code> if a change of the hierarchy has been reported to the listeners
+	 * @since 3.32
+	 */
+	private boolean processHierarchyDelta(IJavaElementDelta delta, boolean baseHierarchyChanged) {
+		Set<IType> patchTypes= new LinkedHashSet<>();
+		boolean patchable;
+		try {
+			patchable= collectSupertypeChanges(delta, patchTypes);
+		} catch (JavaModelException e) {
+			patchable= false;
+		}
+		if (!patchable || (baseHierarchyChanged && patchTypes.isEmpty())) {
+			if (!requestFullRefresh()) {
+				return true;
+			}
+		} else if (patchTypes.isEmpty() || !requestPatch(patchTypes)) {
+			return false;
+		}
+		fHierarchyRefreshNeeded= true;
+		fireChange(null);
+		return true;
+	}
+
+	/**
+	 * Collects the types of the hierarchy whose supertypes have changed.
+	 *
+	 * @param delta the delta
+	 * @param patchTypes the collected types
+	 * @return <code>false</code> if the delta contains a change of the hierarchy that cannot be
+	 *         patched
+	 * @throws JavaModelException if a changed type cannot be accessed
+	 * @since 3.32
+	 */
+	private boolean collectSupertypeChanges(IJavaElementDelta delta, Set<IType> patchTypes) throws JavaModelException {
+		IJavaElement element= delta.getElement();
+		int kind= delta.getKind();
+		int flags= delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (kind != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+						| IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED)) != 0) {
+					return false;
+				}
+				return collectChildrenSupertypeChanges(delta, patchTypes);
+			case IJavaElement.COMPILATION_UNIT:
+				ICompilationUnit cu= (ICompilationUnit) element;
+				if (!JavaModelUtil.isPrimary(cu)) {
+					return true;
+				}
+				if (kind == IJavaElementDelta.ADDED) {
+					return !isAffectedByNewTypes(cu.getAllTypes());
+				} else if (kind == IJavaElementDelta.REMOVED) {
+					return !containsTypeOf(cu);
+				} else if ((flags & IJavaElementDelta.F_FINE_GRAINED) != 0) {
+					return collectChildrenSupertypeChanges(delta, patchTypes);
+				} else if ((flags & IJavaElementDelta.F_CONTENT) != 0) {
+					return !containsTypeOf(cu) && (!cu.exists() || !isAffectedByNewTypes(cu.getAllTypes()));
+				}
+				return true;
+			case IJavaElement.TYPE:
+				IType type= (IType) element;
+				if (kind == IJavaElementDelta.ADDED) {
+					return !isAffectedByNewTypes(new IType[] { type });
+				} else if (kind == IJavaElementDelta.REMOVED) {
+					return !fHierarchy.contains(type);
+				} else if ((flags & (IJavaElementDelta.F_SUPER_TYPES | IJavaElementDelta.F_MODIFIERS)) != 0) {
+					if (fHierarchy.contains(type)) {
+						patchTypes.add(type);
+					} else if ((flags & IJavaElementDelta.F_SUPER_TYPES) != 0 && isAffectedByNewTypes(new IType[] { type })) {
+						return false;
+					}
+				}
+				return collectChildrenSupertypeChanges(delta, patchTypes);
+			case IJavaElement.CLASS_FILE:
+				if (element instanceof IOrdinaryClassFile) {
+					return !fHierarchy.contains(((IOrdinaryClassFile) element).getType());
+				}
+				return true;
+			default:
+				return true;
+		}
+	}
+
+	private boolean collectChildrenSupertypeChanges(IJavaElementDelta delta, Set<IType> patchTypes) throws JavaModelException {
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (!collectSupertypeChanges(child, patchTypes)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Tells whether types that are not in the hierarchy may have to be added to it. For the
+	 * hierarchy of a focus type this is the case if a type names a type of the hierarchy as
+	 * its supertype. A hierarchy on a region always is affected.
+	 */
+	private boolean isAffectedByNewTypes(IType[] types) throws JavaModelException {
+		if (types.length == 0 || fIsSuperTypesOnly) {
+			return false;
+		}
+		if (fHierarchy.getType() == null) {
+			return true;
+		}
+		Set<String> typeNames= getTypeNames();
+		for (IType type : types) {
+			if (fHierarchy.contains(type)) {
+				return true;
+			}
+			String superclassName= type.getSuperclassName();
+			if (superclassName != null && typeNames.contains(getSimpleName(superclassName))) {
+				return true;
+			}
+			for (String superInterfaceName : type.getSuperInterfaceNames()) {
+				if (typeNames.contains(getSimpleName(superInterfaceName))) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean containsTypeOf(ICompilationUnit cu) {
+		Set<ICompilationUnit> compilationUnits= fCompilationUnits;
+		if (compilationUnits == null) {
+			compilationUnits= new HashSet<>();
+			for (IType type : fHierarchy.getAllTypes()) {
+				ICompilationUnit typeCu= type.getCompilationUnit();
+				if (typeCu != null) {
+					compilationUnits.add(typeCu);
+				}
+			}
+			fCompilationUnits= compilationUnits;
+		}
+		return compilationUnits.contains(cu);
+	}
+
+	private Set<String> getTypeNames() {
+		Set<String> typeNames= fTypeNames;
+		if (typeNames == null) {
+			IType[] types= fHierarchy.getAllTypes();
+			typeNames= new HashSet<>(types.length * 2);
+			for (IType type : types) {
+				typeNames.add(type.getElementName());
+			}
+			fTypeNames= typeNames;
+		}
+		return typeNames;
+	}
+
+	private static String getSimpleName(String typeName) {
+		int end= typeName.indexOf('<');
+		String erasure= end == -1 ? typeName : typeName.substring(0, end);
+		return erasure.substring(erasure.lastIndexOf('.') + 1).trim();
+	}
+
 	private boolean isPossibleStructuralChange(int flags) {
 		return (flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED)) == IJavaElementDelta.F_CONTENT;
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -653,6 +653,20 @@ public class TypeHierarchyViewPart extends ViewPart implements ITypeHierarchyVie
 		fSelectInEditor= true;
 	}
 
+	/**
+	 * Refreshes the viewers after the hierarchy has been patched. Unlike
+	 * {@link #updateViewers()}, the expansion state and the selection of the viewers are kept.
+	 *
+	 * @since 3.32
+	 */
+	public void refreshViewers() {
+		if (fInputElements == null)
+			return;
+		fMethodsViewer.refresh();
+		updateHierarchyViewer(false);
+		updateToolTipAndDescription();
+	}
+
 	private void processOutstandingEvents() {
 		Display display= getDisplay();
 		if (display != null && !display.isDisposed())
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -56,14 +56,8 @@ public class ImageDescriptorRegistry {
 		if (descriptor == null)
 			descriptor= ImageDescriptor.getMissingImageDescriptor();
 
-		Image result= fRegistry.get(descriptor);
-		if (result != null)
-			return result;
-
-		result= descriptor.createImage();
-		if (result != null)
-			fRegistry.put(descriptor, result);
-		return result;
+		// atomic, so that concurrent callers do not create and leak a second image
+		return fRegistry.computeIfAbsent(descriptor, ImageDescriptor::createImage);
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2024 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -126,6 +126,30 @@ public class PreferenceConstants {
 	 */
 	public static final String EDITOR_QUICKASSIST_LIGHTBULB="org.eclipse.jdt.quickassist.lightbulb"; //$NON-NLS-1$
 
+	/**
+	 * A named preference that controls whether the quick fix and quick assist processors that are
+	 * declared thread-safe run concurrently. Proposals of processors that do not finish within
+	 * {@link #EDITOR_QUICKFIX_CONCURRENT_COLLECTION_TIMEOUT} are dropped.
+	 * <p>
+	 * Value is of type <code>Boolean</code>.
+	 * </p>
+	 *
+	 * @since 3.32
+	 */
+	public static final String EDITOR_QUICKFIX_CONCURRENT_COLLECTION= "org.eclipse.jdt.quickfix.concurrentCollection"; //$NON-NLS-1$
+
+	/**
+	 * A named preference that stores the time (in milliseconds) a concurrent collection of quick
+	 * fixes and quick assists waits for the processors, see
+	 * {@link #EDITOR_QUICKFIX_CONCURRENT_COLLECTION}.
+	 * <p>
+	 * Value is of type <code>Integer</code>.
+	 * </p>
+	 *
+	 * @since 3.32
+	 */
+	public static final String EDITOR_QUICKFIX_CONCURRENT_COLLECTION_TIMEOUT= "org.eclipse.jdt.quickfix.concurrentCollectionTimeout"; //$NON-NLS-1$
+
 
 
 	/**
@@ -2996,6 +3020,25 @@ public class PreferenceConstants {
 	 */
 	public static final String CODEASSIST_NONUITHREAD_COMPUTATION= "content_assist_noUIThread_computation"; //$NON-NLS-1$
 
+	/**
+	 * A named preference that controls whether the proposal categories of content assist are
+	 * computed concurrently. Proposals of categories that are not computed within
+	 * {@link #CODEASSIST_CONCURRENT_COMPUTATION_TIMEOUT} are dropped.
+	 * <p>Value is of type <code>Boolean</code></p>
+	 *
+	 * @since 3.32
+	 */
+	public static final String CODEASSIST_CONCURRENT_COMPUTATION= "content_assist_concurrent_computation"; //$NON-NLS-1$
+
+	/**
+	 * A named preference that stores the time (in milliseconds) concurrent content assist waits
+	 * for the proposal categories, see {@link #CODEASSIST_CONCURRENT_COMPUTATION}.
+	 * <p>Value is of type <code>Integer</code></p>
+	 *
+	 * @since 3.32
+	 */
+	public static final String CODEASSIST_CONCURRENT_COMPUTATION_TIMEOUT= "content_assist_concurrent_computation_timeout"; //$NON-NLS-1$
+
 
 	/**
 	 * A named preference that controls if the Java code assist gets auto activated.
@@ -4145,6 +4188,10 @@ public class PreferenceConstants {
 		store.setDefault(PreferenceConstants.CODEASSIST_AUTOINSERT, true);
 		store.setDefault(PreferenceConstants.CODEASSIST_DISABLE_COMPLETION_PROPOSAL_TRIGGER_CHARS, false);
 		store.setDefault(PreferenceConstants.CODEASSIST_NONUITHREAD_COMPUTATION, true);
+		store.setDefault(PreferenceConstants.CODEASSIST_CONCURRENT_COMPUTATION, false);
+		store.setDefault(PreferenceConstants.CODEASSIST_CONCURRENT_COMPUTATION_TIMEOUT, 2000);
+		store.setDefault(PreferenceConstants.EDITOR_QUICKFIX_CONCURRENT_COLLECTION, false);
+		store.setDefault(PreferenceConstants.EDITOR_QUICKFIX_CONCURRENT_COLLECTION_TIMEOUT, 1000);
 		store.setDefault(PreferenceConstants.PREF_MIN_CHAIN_LENGTH, 2);
 		store.setDefault(PreferenceConstants.PREF_MAX_CHAIN_LENGTH, 4);
 		store.setDefault(PreferenceConstants.PREF_MAX_CHAINS, 20);